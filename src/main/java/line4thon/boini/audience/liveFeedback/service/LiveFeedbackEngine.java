@@ -0,0 +1,439 @@
+package line4thon.boini.audience.liveFeedback.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import line4thon.boini.global.config.AppProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.stereotype.Component;
+
+/**
+ * 방·슬라이드별 라이브 피드백 상태를 노드 메모리에서 판단합니다. (app.live-feedback.in-memory-enabled)
+ *
+ * 판단 규칙은 StickerService 의 Lua 스크립트와 같습니다.
+ *   - FIRST : 한 이모지에 반응한 청중 수가 온라인 청중의 절반 이상이고 지금까지의 최고치보다 크면
+ *   - SECOND: FIRST 가 아닌 상태에서 이모지가 두 종류 이상이면, 가장 많이 나온 이모지로
+ * 다만 스티커마다 Redis 를 읽지 않고 메모리의 카운터로 바로 판단합니다.
+ *   - 이모지별 개수: int[] (이모지 번호 1~8 을 인덱스로)
+ *   - 이모지별 반응한 청중: BitSet (방 안에서 audienceId 마다 붙인 번호를 비트로)
+ *   - 온라인 청중 수: app.live-feedback.online-count-refresh-millis 마다 한 번만 SCARD
+ *
+ * 슬라이드를 처음 다룰 때 기존 Redis 상태(상태 해시, 이모지 개수, 반응한 청중)를 한 번에 읽어 이어 가고,
+ * 바뀐 슬라이드는 app.live-feedback.checkpoint-millis 마다 기존 키에 파이프라인으로 기록합니다.
+ * (LiveFeedbackController 와 재시작한 노드는 Redis 의 값을 그대로 읽음)
+ *
+ * Redis 호출(SCARD, 슬라이드 상태 읽기)은 방 lock 밖에서 하고 lock 안에서는 결과만 반영합니다.
+ * lock 안에서 Redis 를 기다리면 그동안 같은 방의 모든 스티커 스레드가 줄을 섭니다.
+ * 체크포인트는 전용 스레드(live-feedback-checkpoint)에서 돌아 다른 @Scheduled 작업에 밀리지 않습니다.
+ *
+ * 방 하나의 스티커가 한 노드로만 들어오는 배포(단일 노드, 방 단위 sticky 라우팅)를 전제로 합니다.
+ * 여러 노드가 같은 방 스티커를 받으면 노드마다 따로 세므로 이 옵션을 끄고 Lua 경로를 쓰세요.
+ *
+ * Redis 키 (StickerService 와 같음):
+ *   - room:{id}:liveFeedback:slide:{n}                       (Hash) status, message, mostPeopleCounts
+ *   - room:{id}:liveFeedback:slide:{n}:emoji:counts          (Hash) emoji:{e} → 개수
+ *   - room:{id}:liveFeedback:slide:{n}:emoji:{e}:audience    (Set)  반응한 audienceId
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LiveFeedbackEngine {
+
+    private static final String FIRST = "FIRST";
+    private static final String SECOND = "SECOND";
+    private static final long IDLE_EVICT_MILLIS = 30 * 60 * 1000L; // 30분 동안 스티커가 없으면 메모리에서 내림
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final AppProperties props;
+
+    private final Map<String, RoomState> rooms = new ConcurrentHashMap<>();
+
+    private volatile ScheduledExecutorService checkpointer;
+
+    public record Transition(String status, String message) {}
+
+    public boolean isEnabled() {
+        return props.getLiveFeedback().isInMemoryEnabled();
+    }
+
+    @PostConstruct
+    void start() {
+        if (!isEnabled()) return;
+        long interval = Math.max(1, props.getLiveFeedback().getCheckpointMillis());
+        checkpointer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "live-feedback-checkpoint");
+            t.setDaemon(true);
+            return t;
+        });
+        checkpointer.scheduleWithFixedDelay(() -> {
+            // 예외가 밖으로 나가면 이후 체크포인트가 멈추므로 여기서 잡음
+            try {
+                checkpoint();
+            } catch (RuntimeException e) {
+                log.warn("라이브 피드백 체크포인트 실패: {}", e.toString());
+            }
+        }, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        ScheduledExecutorService current = checkpointer;
+        if (current == null) return;
+        current.shutdownNow();
+        checkpoint(); // 남은 변경분 기록
+    }
+
+    /** 이모지 1~8 만 메모리에서 다룹니다. 그 밖의 번호는 StickerService 가 Lua 경로로 처리합니다. */
+    public static boolean supports(Integer emoji) {
+        return emoji != null && emoji >= 1 && emoji <= LiveFeedbackMessages.MAX_EMOJI;
+    }
+
+    /** 스티커 하나를 반영하고, 보내야 할 라이브 피드백이 있으면 돌려줍니다. */
+    public Optional<Transition> onSticker(String roomId, int slide, int emoji, String audienceId) {
+        while (true) {
+            RoomState room = rooms.computeIfAbsent(roomId, RoomState::new);
+            long now = System.currentTimeMillis();
+            boolean needsSlide;
+            boolean needsOnline;
+            synchronized (room) {
+                needsSlide = !room.slides.containsKey(slide);
+                needsOnline = room.claimOnlineRefresh(now);
+            }
+
+            // Redis 는 lock 밖에서 읽음
+            Integer online = needsOnline ? fetchOnlineCount(roomId) : null;
+            StoredSlide stored = needsSlide ? loadSlide(roomId, slide) : null;
+
+            synchronized (room) {
+                if (room.evicted) continue; // 방금 메모리에서 내린 방: 새로 만들어 Redis 에서 이어 감
+                if (online != null) {
+                    room.onlineCount = online;
+                    room.onlineFetchedAt = now;
+                }
+                SlideState state = room.slides.get(slide);
+                if (state == null) {
+                    // 그 사이 다른 스레드가 만들었으면 그쪽을 쓰고, 아니면 방금 읽은 상태로 만듦
+                    state = room.restore(slide, stored);
+                    room.slides.put(slide, state);
+                }
+                return Optional.ofNullable(apply(room, state, emoji, audienceId));
+            }
+        }
+    }
+
+    // RoomState lock 안에서 호출
+    private Transition apply(RoomState room, SlideState state, int emoji, String audienceId) {
+        room.lastTouched = System.currentTimeMillis();
+        int total = room.onlineCount;
+
+        Transition transition = null;
+        int people = state.addAudience(emoji, room.indexOf(audienceId), audienceId);
+        if (total / 2.0 <= people && state.mostPeopleCounts < people) {
+            state.status = FIRST;
+            state.message = LiveFeedbackMessages.first(emoji);
+            state.mostPeopleCounts = people;
+            transition = new Transition(FIRST, state.message);
+        }
+
+        state.increment(emoji);
+        if (!FIRST.equals(state.status) && state.kinds() >= 2) {
+            state.status = SECOND;
+            state.message = LiveFeedbackMessages.second(state.topEmoji());
+            transition = new Transition(SECOND, state.message);
+        }
+        state.dirty = true;
+        return transition;
+    }
+
+    /** 바뀐 슬라이드를 Redis 에 기록하고, 오래 쓰지 않은 방은 메모리에서 내립니다. */
+    public void checkpoint() {
+        if (rooms.isEmpty()) return;
+        long now = System.currentTimeMillis();
+        for (Iterator<RoomState> it = rooms.values().iterator(); it.hasNext(); ) {
+            RoomState room = it.next();
+            List<Snapshot> snapshots = new ArrayList<>();
+            synchronized (room) {
+                for (SlideState state : room.slides.values()) {
+                    if (state.dirty) {
+                        snapshots.add(state.snapshot());
+                        state.dirty = false;
+                    }
+                }
+            }
+            if (!snapshots.isEmpty() && !write(room, snapshots)) {
+                continue; // 실패: 다시 dirty 로 표시했으므로 다음 주기에 재시도
+            }
+            synchronized (room) {
+                boolean clean = room.slides.values().stream().noneMatch(state -> state.dirty);
+                if (clean && now - room.lastTouched > IDLE_EVICT_MILLIS) {
+                    room.evicted = true;
+                    it.remove();
+                }
+            }
+        }
+    }
+
+    private boolean write(RoomState room, List<Snapshot> snapshots) {
+        try {
+            redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                    RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                    for (Snapshot s : snapshots) {
+                        String key = slideKey(room.roomId, s.slide);
+                        Map<String, String> fields = new HashMap<>();
+                        fields.put("mostPeopleCounts", String.valueOf(s.mostPeopleCounts));
+                        if (s.status != null) fields.put("status", s.status);
+                        if (s.message != null) fields.put("message", s.message);
+                        ops.opsForHash().putAll(key, fields);
+                        if (!s.counts.isEmpty()) ops.opsForHash().putAll(key + ":emoji:counts", s.counts);
+                        s.newAudiences.forEach((emoji, ids) ->
+                                ops.opsForSet().add(key + ":emoji:" + emoji + ":audience", ids.toArray(String[]::new)));
+                    }
+                    return null;
+                }
+            });
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("라이브 피드백 체크포인트 실패, 다음 주기에 재시도: roomId={}, err={}", room.roomId, e.toString());
+            synchronized (room) {
+                for (Snapshot s : snapshots) {
+                    SlideState state = room.slides.get(s.slide);
+                    if (state != null) state.restore(s);
+                }
+            }
+            return false;
+        }
+    }
+
+    private static String slideKey(String roomId, int slide) {
+        return "room:" + roomId + ":liveFeedback:slide:" + slide;
+    }
+
+    /** 방 하나의 상태. synchronized(this) 로 보호합니다. */
+    private final class RoomState {
+        final String roomId;
+        final Map<String, Integer> audienceIndex = new HashMap<>(); // audienceId → BitSet 비트 번호
+        final Map<Integer, SlideState> slides = new HashMap<>();
+        int onlineCount;
+        long onlineFetchedAt;
+        long lastTouched = System.currentTimeMillis();
+        boolean evicted;
+
+        RoomState(String roomId) {
+            this.roomId = roomId;
+        }
+
+        int indexOf(String audienceId) {
+            return audienceIndex.computeIfAbsent(audienceId, k -> audienceIndex.size());
+        }
+
+        /**
+         * 온라인 청중 수를 다시 읽을 차례면 true 를 돌려주고 읽은 시각을 미리 기록합니다.
+         * 한 주기에 한 스레드만 SCARD 하도록 하기 위함입니다. 다만 아직 한 번도 읽지 못했으면
+         * 0 명으로 판단하지 않도록 모든 스레드가 직접 읽습니다.
+         */
+        boolean claimOnlineRefresh(long now) {
+            if (onlineFetchedAt == 0) return true;
+            if (now - onlineFetchedAt < props.getLiveFeedback().getOnlineCountRefreshMillis()) return false;
+            onlineFetchedAt = now;
+            return true;
+        }
+
+        // Redis 에 남아 있던 슬라이드 상태로 카운터를 만듦 (stored 가 null 이면 빈 상태)
+        SlideState restore(int slide, StoredSlide stored) {
+            SlideState state = new SlideState(slide);
+            if (stored == null) return state;
+            state.status = stored.status();
+            state.message = stored.message();
+            state.mostPeopleCounts = stored.mostPeopleCounts();
+            stored.counts().forEach(state::restoreCount);
+            stored.audiences().forEach((emoji, members) -> {
+                for (String member : members) {
+                    state.restoreAudience(emoji, indexOf(member));
+                }
+            });
+            return state;
+        }
+    }
+
+    private Integer fetchOnlineCount(String roomId) {
+        try {
+            Long size = redisTemplate.opsForSet().size("room:" + roomId + ":audience:online");
+            return size == null ? 0 : size.intValue();
+        } catch (RuntimeException e) {
+            log.debug("온라인 청중 수 조회 실패, 이전 값 사용: roomId={}, err={}", roomId, e.toString());
+            return null;
+        }
+    }
+
+    // 처음 다루는 슬라이드는 Redis 에 남은 상태를 한 번에 읽어 이어 감. 실패하면 null (빈 상태로 시작)
+    private StoredSlide loadSlide(String roomId, int slide) {
+        String key = slideKey(roomId, slide);
+        List<Object> results;
+        try {
+            results = redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                    RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                    ops.opsForHash().entries(key);
+                    ops.opsForHash().entries(key + ":emoji:counts");
+                    for (int e = 1; e <= LiveFeedbackMessages.MAX_EMOJI; e++) {
+                        ops.opsForSet().members(key + ":emoji:" + e + ":audience");
+                    }
+                    return null;
+                }
+            });
+        } catch (RuntimeException e) {
+            log.warn("라이브 피드백 상태 읽기 실패, 빈 상태로 시작: roomId={}, slide={}, err={}", roomId, slide, e.toString());
+            return null;
+        }
+
+        if (results == null || results.size() < 2 + LiveFeedbackMessages.MAX_EMOJI) {
+            return null;
+        }
+        String status = null;
+        String message = null;
+        int mostPeopleCounts = 0;
+        if (results.get(0) instanceof Map<?, ?> hash) {
+            Object s = hash.get("status");
+            Object m = hash.get("message");
+            status = s == null ? null : s.toString();
+            message = m == null ? null : m.toString();
+            mostPeopleCounts = parseInt(hash.get("mostPeopleCounts"));
+        }
+        // 해시 순서 유지 (최다 이모지 동률 판단에 쓰임)
+        Map<Integer, Integer> counts = new LinkedHashMap<>();
+        if (results.get(1) instanceof Map<?, ?> hash) {
+            hash.forEach((field, value) -> {
+                String f = field.toString();
+                int colon = f.indexOf(':');
+                int emoji = colon < 0 ? -1 : parseInt(f.substring(colon + 1));
+                if (supports(emoji)) counts.put(emoji, parseInt(value));
+            });
+        }
+        Map<Integer, List<String>> audiences = new HashMap<>();
+        for (int e = 1; e <= LiveFeedbackMessages.MAX_EMOJI; e++) {
+            if (results.get(1 + e) instanceof Set<?> members && !members.isEmpty()) {
+                audiences.put(e, members.stream().map(Object::toString).toList());
+            }
+        }
+        return new StoredSlide(status, message, mostPeopleCounts, counts, audiences);
+    }
+
+    /** Redis 에서 읽은 슬라이드 상태 (lock 밖에서 읽고 lock 안에서 RoomState.restore 로 반영) */
+    private record StoredSlide(String status, String message, int mostPeopleCounts,
+                               Map<Integer, Integer> counts, Map<Integer, List<String>> audiences) {}
+
+    /** 슬라이드 하나의 카운터. RoomState 의 lock 안에서만 다룹니다. */
+    private static final class SlideState {
+        final int slide;
+        final int[] counts = new int[LiveFeedbackMessages.MAX_EMOJI + 1];
+        final BitSet[] audiences = new BitSet[LiveFeedbackMessages.MAX_EMOJI + 1];
+        final int[] people = new int[LiveFeedbackMessages.MAX_EMOJI + 1];
+        // 이모지가 처음 나온 순서 (최다 이모지 동률이면 먼저 나온 쪽, Redis 해시 순서와 같게)
+        final int[] order = new int[LiveFeedbackMessages.MAX_EMOJI];
+        int kinds;
+        String status;
+        String message;
+        int mostPeopleCounts;
+        boolean dirty;
+        // 다음 체크포인트에 SADD 할 청중 (emoji → audienceId)
+        Map<Integer, List<String>> newAudiences = new HashMap<>();
+        // 다음 체크포인트에 기록할 이모지 번호
+        BitSet changedCounts = new BitSet();
+
+        SlideState(int slide) {
+            this.slide = slide;
+        }
+
+        int addAudience(int emoji, int index, String audienceId) {
+            BitSet set = audiences[emoji];
+            if (set == null) set = audiences[emoji] = new BitSet();
+            if (!set.get(index)) {
+                set.set(index);
+                people[emoji]++;
+                newAudiences.computeIfAbsent(emoji, k -> new ArrayList<>()).add(audienceId);
+            }
+            return people[emoji];
+        }
+
+        void restoreAudience(int emoji, int index) {
+            BitSet set = audiences[emoji];
+            if (set == null) set = audiences[emoji] = new BitSet();
+            if (!set.get(index)) {
+                set.set(index);
+                people[emoji]++;
+            }
+        }
+
+        void increment(int emoji) {
+            restoreCount(emoji, counts[emoji] + 1);
+            changedCounts.set(emoji);
+        }
+
+        void restoreCount(int emoji, int count) {
+            if (counts[emoji] == 0 && count > 0) order[kinds++] = emoji;
+            counts[emoji] = count;
+        }
+
+        int kinds() {
+            return kinds;
+        }
+
+        int topEmoji() {
+            int top = order[0];
+            for (int i = 1; i < kinds; i++) {
+                if (counts[order[i]] > counts[top]) top = order[i];
+            }
+            return top;
+        }
+
+        Snapshot snapshot() {
+            Map<String, String> changed = new HashMap<>();
+            changedCounts.stream().forEach(e -> changed.put("emoji:" + e, String.valueOf(counts[e])));
+            Snapshot s = new Snapshot(slide, status, message, mostPeopleCounts, changed, newAudiences);
+            newAudiences = new HashMap<>();
+            changedCounts = new BitSet();
+            return s;
+        }
+
+        // 기록 실패: 보내지 못한 변경분을 다음 체크포인트에 다시 싣기
+        void restore(Snapshot s) {
+            s.newAudiences.forEach((emoji, ids) -> newAudiences.computeIfAbsent(emoji, k -> new ArrayList<>()).addAll(ids));
+            s.counts.keySet().forEach(field -> changedCounts.set(Integer.parseInt(field.substring("emoji:".length()))));
+            dirty = true;
+        }
+    }
+
+    private record Snapshot(int slide, String status, String message, int mostPeopleCounts,
+                            Map<String, String> counts, Map<Integer, List<String>> newAudiences) {}
+
+    private static int parseInt(Object value) {
+        if (value == null) return 0;
+        try {
+            return Integer.parseInt(value.toString());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
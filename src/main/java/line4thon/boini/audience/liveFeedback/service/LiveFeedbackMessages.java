@@ -0,0 +1,42 @@
+package line4thon.boini.audience.liveFeedback.service;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 라이브 피드백 문구. (StickerService 의 Lua 스크립트와 LiveFeedbackEngine 이 같이 씀)
+ */
+public final class LiveFeedbackMessages {
+
+    public static final int MAX_EMOJI = 8;
+
+    // 이모지 번호 → 문구에 쓰는 이름
+    private static final Map<Integer, String> EMOJI_LABELS = new TreeMap<>(Map.of(
+            1, "재미있는", 2, "놀라운", 3, "궁금한", 4, "신나는",
+            5, "열받는", 6, "슬픈", 7, "O", 8, "X"));
+    public static final String DEFAULT_EMOJI_LABEL = "기타 이모지";
+
+    private LiveFeedbackMessages() {}
+
+    public static String label(int emoji) {
+        return EMOJI_LABELS.getOrDefault(emoji, DEFAULT_EMOJI_LABEL);
+    }
+
+    /** 한 이모지에 청중 절반 이상이 반응했을 때 (FIRST) */
+    public static String first(int emoji) {
+        return "청중의 절반 이상이 '" + label(emoji) + "' 반응을 했어요!";
+    }
+
+    /** 가장 많이 나온 이모지 (SECOND) */
+    public static String second(int emoji) {
+        return "'" + label(emoji) + "' 반응이 두드러지고 있어요!";
+    }
+
+    /** Lua 테이블 표기: {[1]='재미있는',[2]='놀라운',...} */
+    public static String luaLabelTable() {
+        StringBuilder table = new StringBuilder("{");
+        EMOJI_LABELS.forEach((emoji, label) ->
+                table.append('[').append(emoji).append("]='").append(label).append("',"));
+        return table.append('}').toString();
+    }
+}
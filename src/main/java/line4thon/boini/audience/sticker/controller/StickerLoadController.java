@@ -4,10 +4,9 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import line4thon.boini.audience.sticker.dto.response.StickerLoadResponse;
 import line4thon.boini.audience.sticker.dto.response.StickerResponse;
+import line4thon.boini.audience.sticker.model.StickerRecord;
+import line4thon.boini.audience.sticker.service.StickerStream;
 import org.springframework.cglib.core.Local;
-import org.springframework.data.domain.Range;
-import org.springframework.data.redis.connection.stream.MapRecord;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.web.bind.annotation.*;
 import lombok.RequiredArgsConstructor;
 
@@ -21,7 +20,7 @@ import java.util.stream.Collectors;
 @Tag(name = "Sticker", description = "스티커 관련")
 public class StickerLoadController {
 
-    private final RedisTemplate<String, Object> objectRedisTemplate;
+    private final StickerStream stickerStream;
 
     @Operation(
             summary = "발표자용 - 새로고침 시 리액션 스티커들을 전부 가져오는 api",
@@ -31,21 +30,8 @@ public class StickerLoadController {
     )
     @GetMapping("/{sessionId}/all")
     public List<StickerLoadResponse> getAllStickers(@PathVariable String sessionId) {
-        String key = "room:" + sessionId + ":stickers";
-
-        List<MapRecord<String, Object, Object>> records =
-                objectRedisTemplate.opsForStream().range(key, Range.unbounded());
-
-        return Objects.requireNonNull(records).stream()
-                .map(record -> {
-                    Map<Object, Object> fields = record.getValue();
-                    return StickerLoadResponse.builder()
-                            .emoji((Integer) fields.get("emoji"))
-                            .x(Double.parseDouble(fields.get("x").toString()))
-                            .y(Double.parseDouble(fields.get("y").toString()))
-                            .slide((Integer) fields.get("slide"))
-                            .build();
-                })
+        return stickerStream.readAll(sessionId).stream()
+                .map(StickerLoadController::toResponse)
                 .collect(Collectors.toList());
     }
 
@@ -60,20 +46,18 @@ public class StickerLoadController {
             @PathVariable String sessionId,
             @PathVariable String audienceId) {
 
-        String key = "room:" + sessionId + ":stickers";
-
-        List<MapRecord<String, Object, Object>> records =
-                objectRedisTemplate.opsForStream().range(key, Range.unbounded());
-
-        return Objects.requireNonNull(records).stream()
-                .map(MapRecord::getValue)
-                .filter(fields -> audienceId.equals(fields.get("audienceId")))
-                .map(fields -> StickerLoadResponse.builder()
-                        .emoji((Integer) fields.get("emoji"))
-                        .x(Double.parseDouble(fields.get("x").toString()))
-                        .y(Double.parseDouble(fields.get("y").toString()))
-                        .slide((Integer) fields.get("slide"))
-                        .build())
+        return stickerStream.readAll(sessionId).stream()
+                .filter(record -> audienceId.equals(record.audienceId()))
+                .map(StickerLoadController::toResponse)
                 .collect(Collectors.toList());
     }
+
+    private static StickerLoadResponse toResponse(StickerRecord record) {
+        return StickerLoadResponse.builder()
+                .emoji(record.emoji())
+                .x(record.x())
+                .y(record.y())
+                .slide(record.slide())
+                .build();
+    }
 }
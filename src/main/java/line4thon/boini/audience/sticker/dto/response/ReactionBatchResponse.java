@@ -0,0 +1,22 @@
+package line4thon.boini.audience.sticker.dto.response;
+
+import lombok.*;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 한 틱(app.sticker.reaction-tick-millis) 동안 모인 리액션 스티커 묶음.
+ * total 이 app.sticker.reaction-burst-threshold 를 넘으면 stickers 는 앞쪽 threshold 개만 담고
+ * counts(이모지 번호 → 개수)에 전체 집계를 담습니다. 넘지 않으면 counts 는 null 입니다.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReactionBatchResponse {
+    private List<StickerResponse> stickers;
+    private Map<Integer, Integer> counts;
+    private int total;
+}
@@ -0,0 +1,16 @@
+package line4thon.boini.audience.sticker.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * room:{id}:stickers 스트림에 남기는 스티커 한 개. (StickerRecordSerializer 로 바이너리 저장)
+ */
+public record StickerRecord(
+        Integer emoji,
+        Integer slide,
+        double x,
+        double y,
+        LocalDateTime createdAt,
+        String audienceId
+) {
+}
@@ -0,0 +1,139 @@
+package line4thon.boini.audience.sticker.model;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Map;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+/**
+ * StickerRecord ↔ 고정 폭 바이너리.
+ *
+ * 기존에는 필드 6개를 각각 GenericJackson2JsonRedisSerializer 로 JSON 문서로 넣어 엔트리마다 ~150바이트였고,
+ * 리포트 집계 때마다 ObjectMapper.convertValue 를 거쳤습니다. 지금은 스트림 엔트리당 필드 하나(s)에 아래 형식으로 넣습니다.
+ *
+ *   version   u8    (1)
+ *   emoji     u16   (0xFFFF = null)
+ *   slide     u16   (0xFFFF = null)
+ *   x, y      f32   (화면 비율 좌표라 float 정밀도로 충분)
+ *   createdAt i64   UTC 기준 epoch millis (Long.MIN_VALUE = null)
+ *   audience  u8 길이 + UTF-8 바이트
+ *
+ * UUID audienceId 기준 59바이트입니다. 형식이 다른 값은 null 로 읽습니다.
+ *
+ * 배포 전 엔트리(필드 s 없이 emoji, audienceId, createdAt, x, y, slide 를 각각 JSON 으로 넣은 형식)는
+ * fromLegacyFields() 로 읽습니다. 스트림은 방이 정리될 때까지 남으므로
+ * 이 배포 이전에 만든 방이 모두 정리된 뒤에 지웁니다.
+ */
+public class StickerRecordSerializer implements RedisSerializer<StickerRecord> {
+
+    public static final String FIELD = "s";
+    static final byte VERSION = 1;
+    private static final int FIXED_BYTES = 1 + 2 + 2 + 4 + 4 + 8 + 1;
+    private static final int NULL_SHORT = 0xFFFF;
+    // 배포 전 값은 RedisConfig.redisObjectMapper 설정(JavaTimeModule, 타입 정보 없음)의 GenericJackson2JsonRedisSerializer 로 기록됨
+    private static final ObjectMapper LEGACY_MAPPER = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @Override
+    public byte[] serialize(StickerRecord record) throws SerializationException {
+        if (record == null) {
+            return new byte[0];
+        }
+        byte[] audience = record.audienceId() == null
+                ? new byte[0]
+                : record.audienceId().getBytes(StandardCharsets.UTF_8);
+        if (audience.length > 0xFF) {
+            throw new SerializationException("audienceId 가 너무 깁니다: " + audience.length + " bytes");
+        }
+        return ByteBuffer.allocate(FIXED_BYTES + audience.length)
+                .put(VERSION)
+                .putShort(unsignedShort(record.emoji(), "emoji"))
+                .putShort(unsignedShort(record.slide(), "slide"))
+                .putFloat((float) record.x())
+                .putFloat((float) record.y())
+                .putLong(record.createdAt() == null
+                        ? Long.MIN_VALUE
+                        : record.createdAt().toInstant(ZoneOffset.UTC).toEpochMilli())
+                .put((byte) audience.length)
+                .put(audience)
+                .array();
+    }
+
+    @Override
+    public StickerRecord deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length < FIXED_BYTES || bytes[0] != VERSION) {
+            return null;
+        }
+        ByteBuffer buf = ByteBuffer.wrap(bytes, 1, bytes.length - 1);
+        Integer emoji = nullableShort(buf.getShort());
+        Integer slide = nullableShort(buf.getShort());
+        double x = widen(buf.getFloat());
+        double y = widen(buf.getFloat());
+        long millis = buf.getLong();
+        int audienceLength = Byte.toUnsignedInt(buf.get());
+        if (buf.remaining() != audienceLength) {
+            return null;
+        }
+        String audienceId = audienceLength == 0 ? null
+                : new String(bytes, buf.position(), audienceLength, StandardCharsets.UTF_8);
+        LocalDateTime createdAt = millis == Long.MIN_VALUE ? null
+                : LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneOffset.UTC);
+        return new StickerRecord(emoji, slide, x, y, createdAt, audienceId);
+    }
+
+    /**
+     * 배포 전 JSON 형식 엔트리를 읽습니다. (값마다 JSON 바이트, Lua 경로에서 null 은 빈 값)
+     * 좌표를 읽을 수 없으면 null, 그 밖의 필드는 읽을 수 없으면 null 로 둡니다.
+     */
+    public static StickerRecord fromLegacyFields(Map<?, ?> fields) {
+        Double x = legacyValue(fields, "x", Double.class);
+        Double y = legacyValue(fields, "y", Double.class);
+        if (x == null || y == null) {
+            return null;
+        }
+        return new StickerRecord(
+                legacyValue(fields, "emoji", Integer.class),
+                legacyValue(fields, "slide", Integer.class),
+                x,
+                y,
+                legacyValue(fields, "createdAt", LocalDateTime.class),
+                legacyValue(fields, "audienceId", String.class));
+    }
+
+    private static <T> T legacyValue(Map<?, ?> fields, String name, Class<T> type) {
+        if (!(fields.get(name) instanceof byte[] bytes) || bytes.length == 0) {
+            return null;
+        }
+        try {
+            return LEGACY_MAPPER.readValue(bytes, type);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static short unsignedShort(Integer value, String name) {
+        if (value == null) {
+            return (short) NULL_SHORT;
+        }
+        if (value < 0 || value >= NULL_SHORT) {
+            throw new SerializationException(name + " 범위 초과: " + value);
+        }
+        return value.shortValue();
+    }
+
+    // 0.1f → 0.10000000149… 대신 0.1 로 (클라이언트에 보낸 좌표 그대로 보이게)
+    private static double widen(float value) {
+        return Double.parseDouble(Float.toString(value));
+    }
+
+    private static Integer nullableShort(short value) {
+        int unsigned = Short.toUnsignedInt(value);
+        return unsigned == NULL_SHORT ? null : unsigned;
+    }
+}
@@ -0,0 +1,126 @@
+package line4thon.boini.audience.sticker.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import line4thon.boini.audience.sticker.dto.response.ReactionBatchResponse;
+import line4thon.boini.audience.sticker.dto.response.StickerResponse;
+import line4thon.boini.global.config.AppProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * 방별 리액션 스티커 모아 보내기. (app.sticker.reaction-batch-enabled)
+ *
+ * 스티커마다 /topic/presentation/{roomId}/reactions 로 보내면 청중 500명이 동시에 반응할 때
+ * 1초에 500 × 구독자 수 만큼 소켓 쓰기가 생깁니다.
+ * 켜면 StickerService 는 add() 로 버퍼에만 넣고, 틱(app.sticker.reaction-tick-millis)마다 방별로 한 번
+ * ReactionBatchResponse 프레임을 보냅니다. 한 틱에 burst-threshold 를 넘게 모이면 스티커는 앞쪽 일부만 싣고
+ * 이모지별 개수를 함께 보내 프레임 크기도 묶어 둡니다.
+ *
+ * 틱은 전용 스레드(reaction-flush)에서 돕니다. @Scheduled 는 스프링 기본 스케줄러 스레드 하나를 모든 작업이 나눠 쓰므로
+ * 임시 파일 정리나 렌더 큐 reclaim 이 도는 동안 80ms 틱이 몇 초씩 밀렸습니다.
+ *
+ * 버퍼는 노드 메모리에 있으므로 노드 재시작 시 아직 보내지 않은 한 틱 분량은 사라집니다. (스티커 기록 자체는 Redis Stream 에 이미 저장됨)
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReactionAggregator {
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final AppProperties props;
+
+    // roomId → 이번 틱에 모인 스티커 (비면 flush 에서 제거)
+    private final Map<String, Queue<StickerResponse>> pending = new ConcurrentHashMap<>();
+
+    private volatile ScheduledExecutorService ticker;
+
+    public boolean isEnabled() {
+        return props.getSticker().isReactionBatchEnabled();
+    }
+
+    @PostConstruct
+    void start() {
+        if (!isEnabled()) return;
+        long tick = Math.max(1, props.getSticker().getReactionTickMillis());
+        ticker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "reaction-flush");
+            t.setDaemon(true);
+            return t;
+        });
+        ticker.scheduleWithFixedDelay(this::tick, tick, tick, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        ScheduledExecutorService current = ticker;
+        if (current != null) current.shutdownNow();
+    }
+
+    // 예외가 밖으로 나가면 scheduleWithFixedDelay 가 이후 틱을 멈추므로 여기서 잡음
+    private void tick() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("리액션 틱 실패: {}", e.toString());
+        }
+    }
+
+    public void add(String roomId, StickerResponse sticker) {
+        // compute 안에서 넣어야 flush 가 빈 버퍼를 지우는 것과 겹쳐도 스티커를 잃지 않음
+        pending.compute(roomId, (k, queue) -> {
+            Queue<StickerResponse> q = queue != null ? queue : new ConcurrentLinkedQueue<>();
+            q.add(sticker);
+            return q;
+        });
+    }
+
+    public void flush() {
+        if (pending.isEmpty()) return;
+        for (String roomId : pending.keySet()) {
+            Queue<StickerResponse> queue = pending.computeIfPresent(roomId, (k, q) -> q.isEmpty() ? null : q);
+            if (queue == null) continue;
+
+            List<StickerResponse> drained = new ArrayList<>();
+            StickerResponse s;
+            while ((s = queue.poll()) != null) {
+                drained.add(s);
+            }
+            if (drained.isEmpty()) continue;
+
+            try {
+                messagingTemplate.convertAndSend("/topic/presentation/" + roomId + "/reactions",
+                    toBatch(drained, props.getSticker().getReactionBurstThreshold()));
+            } catch (RuntimeException e) {
+                log.warn("리액션 묶음 전송 실패: roomId={}, count={}, err={}", roomId, drained.size(), e.toString());
+            }
+        }
+    }
+
+    static ReactionBatchResponse toBatch(List<StickerResponse> stickers, int burstThreshold) {
+        if (burstThreshold <= 0 || stickers.size() <= burstThreshold) {
+            return ReactionBatchResponse.builder().stickers(stickers).total(stickers.size()).build();
+        }
+        Map<Integer, Integer> counts = new LinkedHashMap<>();
+        for (StickerResponse s : stickers) {
+            counts.merge(s.getEmoji(), 1, Integer::sum);
+        }
+        return ReactionBatchResponse.builder()
+            .stickers(new ArrayList<>(stickers.subList(0, burstThreshold)))
+            .counts(counts)
+            .total(stickers.size())
+            .build();
+    }
+}
@@ -1,9 +1,13 @@
 package line4thon.boini.audience.sticker.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import line4thon.boini.audience.liveFeedback.service.LiveFeedbackEngine;
+import line4thon.boini.audience.liveFeedback.service.LiveFeedbackMessages;
 import line4thon.boini.audience.sticker.dto.request.StickerRequest;
 import line4thon.boini.audience.sticker.dto.response.StickerResponse;
 import line4thon.boini.audience.sticker.exception.StickerErrorCode;
+import line4thon.boini.audience.sticker.model.StickerRecord;
+import line4thon.boini.audience.sticker.model.StickerRecordSerializer;
 import line4thon.boini.global.common.exception.CustomException;
 import line4thon.boini.global.common.exception.GlobalErrorCode;
 import line4thon.boini.global.common.exception.model.BaseErrorCode;
@@ -12,11 +16,15 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.support.NullValue;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
-import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 
@@ -28,25 +36,71 @@ public class StickerService {
 
     private final SimpMessagingTemplate messagingTemplate;
     private final RedisTemplate<String, String> redisTemplate;
-    private final RedisTemplate<String, Object> objectRedisTemplate;
+    private final StickerStream stickerStream;
+    private final ReactionAggregator reactionAggregator;
+    private final LiveFeedbackEngine liveFeedbackEngine;
+
+    /**
+     * 스티커 한 개의 Redis 작업 전체 (스트림 기록 + 라이브 피드백 상태 전이)를 한 번에 처리합니다.
+     * 기존에는 XADD, SADD, SCARD, HGET, SCARD, HINCRBY, HGET, HLEN, HGETALL, HSET... 을 차례로 보내
+     * 스티커마다 8~12번 왕복했고, 그 사이에 다른 스티커가 끼어들면 FIRST 판정이 겹칠 수 있었습니다.
+     *
+     * KEYS: 1 스티커 스트림, 2 슬라이드·이모지별 반응 청중(Set), 3 슬라이드 라이브 피드백(Hash),
+     *       4 온라인 청중(Set), 5 슬라이드 이모지별 개수(Hash)
+     * ARGV: 1 audienceId (없으면 "", 반응 청중 집계와 FIRST 판정을 건너뜀), 2 이모지 번호, 3.. 스트림 필드/값 (StickerRecordSerializer 바이너리)
+     * 반환: {} 또는 {상태(FIRST|SECOND), 메시지}
+     */
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> STICKER_SCRIPT = new DefaultRedisScript<>(
+            "local labels = " + LiveFeedbackMessages.luaLabelTable() + " "
+                    + "local function label(e) return labels[tonumber(e)] or '" + LiveFeedbackMessages.DEFAULT_EMOJI_LABEL + "' end "
+                    + "redis.call('XADD', KEYS[1], '*', unpack(ARGV, 3)) "
+                    + "local result = {} "
+                    // audienceId 가 없으면 "" 가 넘어오므로 반응 청중 Set 에 넣지 않고 FIRST 판정도 건너뜀
+                    + "if ARGV[1] ~= '' then "
+                    + "  redis.call('SADD', KEYS[2], ARGV[1]) "
+                    + "  local people = redis.call('SCARD', KEYS[2]) "
+                    + "  local most = tonumber(redis.call('HGET', KEYS[3], 'mostPeopleCounts') or '0') or 0 "
+                    + "  local total = redis.call('SCARD', KEYS[4]) "
+                    + "  if total / 2.0 <= people and most < people then "
+                    + "    local msg = '청중의 절반 이상이 \\'' .. label(ARGV[2]) .. '\\' 반응을 했어요!' "
+                    + "    redis.call('HSET', KEYS[3], 'status', 'FIRST', 'message', msg, 'mostPeopleCounts', tostring(people)) "
+                    + "    result = {'FIRST', msg} "
+                    + "  end "
+                    + "end "
+                    + "redis.call('HINCRBY', KEYS[5], 'emoji:' .. ARGV[2], 1) "
+                    + "if redis.call('HGET', KEYS[3], 'status') ~= 'FIRST' and redis.call('HLEN', KEYS[5]) >= 2 then "
+                    + "  local entries = redis.call('HGETALL', KEYS[5]) "
+                    + "  local maxField, maxCount = nil, nil "
+                    + "  for i = 1, #entries, 2 do "
+                    + "    local c = tonumber(entries[i + 1]) "
+                    + "    if maxCount == nil or c > maxCount then maxField, maxCount = entries[i], c end "
+                    + "  end "
+                    + "  local msg = '\\'' .. label(string.match(maxField, ':(.*)$')) .. '\\' 반응이 두드러지고 있어요!' "
+                    + "  redis.call('HSET', KEYS[3], 'status', 'SECOND', 'message', msg) "
+                    + "  result = {'SECOND', msg} "
+                    + "end "
+                    + "return result",
+            List.class);
 
     public void sendStickerMessage(String sessionId, StickerRequest msg) {
 
 
         try{
-            String key = "room:" + sessionId + ":stickers";
-
-            Map<String, Object> fields = new HashMap<>();
-            fields.put("emoji", msg.getEmoji());
-            fields.put("audienceId", msg.getAudienceID());
-            fields.put("createdAt", msg.getCreated_at());
-            fields.put("x", msg.getX());
-            fields.put("y", msg.getY());
-            fields.put("slide", msg.getSlide());
-
-            objectRedisTemplate.opsForStream().add(key, fields);
-
-            processLiveFeedback(sessionId, msg);
+            StickerRecord record = new StickerRecord(
+                    msg.getEmoji(), msg.getSlide(), msg.getX(), msg.getY(), msg.getCreated_at(), msg.getAudienceID());
+
+            if (useLiveFeedbackEngine(msg)) {
+                // 판단은 노드 메모리에서, Redis 에는 스트림 기록만 (상태는 LiveFeedbackEngine 이 주기적으로 기록)
+                stickerStream.append(sessionId, record);
+                liveFeedbackEngine.onSticker(sessionId, msg.getSlide(), msg.getEmoji(), msg.getAudienceID())
+                        .ifPresent(t -> sendLiveFeedback(sessionId, msg.getSlide(), t.status(), t.message()));
+            } else {
+                List<?> transition = recordSticker(sessionId, msg, record);
+                if (transition != null && transition.size() == 2) {
+                    sendLiveFeedback(sessionId, msg.getSlide(), transition.get(0).toString(), transition.get(1).toString());
+                }
+            }
 
 
             StickerResponse response = StickerResponse.builder()
@@ -60,7 +114,12 @@ public class StickerService {
 
 
             // 모든 구독자에게 브로드캐스트: /topic/presentation/{sessionId}
-            messagingTemplate.convertAndSend("/topic/presentation/" + sessionId + "/reactions", response);
+            // 모아 보내기가 켜져 있으면 틱마다 방별 한 프레임으로 묶어서 전송 (ReactionAggregator)
+            if (reactionAggregator.isEnabled()) {
+                reactionAggregator.add(sessionId, response);
+            } else {
+                messagingTemplate.convertAndSend("/topic/presentation/" + sessionId + "/reactions", response);
+            }
             log.info("스티커 부착 완료: roomId={}, emoji={}, x={}, y={}, slide={}, created_at={}", sessionId, msg.getEmoji(), msg.getX(), msg.getY(), msg.getSlide(), msg.getCreated_at());
 
         } catch (Exception e){
@@ -70,109 +129,35 @@ public class StickerService {
 
     }
 
-    private void processLiveFeedback(String sessionId, StickerRequest msg) {
-        try {
-            String key3 = "room:" + sessionId + ":liveFeedback:slide:" + msg.getSlide();
-
-            String key4 = "room:" + sessionId + ":liveFeedback:slide:" + msg.getSlide() + ":emoji:" + msg.getEmoji() + ":audience";
-            redisTemplate.opsForSet().add(key4, msg.getAudienceID());
-            String slideEmojiPeopleCounts = redisTemplate.opsForSet().size(key4).toString();
-            Object ob = redisTemplate.opsForHash().get(key3, "mostPeopleCounts");
-            int mostPeopleCounts;
-            if (ob != null) {
-                mostPeopleCounts = Integer.parseInt(ob.toString());
-            }
-            else{
-                mostPeopleCounts=0;
-            }
-            int totalUser = Integer.parseInt(Objects.requireNonNull(redisTemplate.opsForSet().size("room:" + sessionId + ":audience:online")).toString()) ;
-
-            int slideEmojiPeopleCount = Integer.parseInt(slideEmojiPeopleCounts);
-
-            if((totalUser/2.0)<=slideEmojiPeopleCount && mostPeopleCounts<slideEmojiPeopleCount){
-
-                log.info("totalUser={}, slideEmojiPeopleCount={}, mostPeopleCounts={}", totalUser, slideEmojiPeopleCount, mostPeopleCounts);
-
-                String status = "FIRST";
-
-                String emojiText = switch (msg.getEmoji()) {
-                    case 1 -> "재미있는";
-                    case 2 -> "놀라운";
-                    case 3 -> "궁금한";
-                    case 4 -> "신나는";
-                    case 5 -> "열받는";
-                    case 6 -> "슬픈";
-                    case 7 -> "O";
-                    case 8 -> "X";
-                    default -> "기타 이모지";
-                };
-                String message = "청중의 절반 이상이 \'" + emojiText + "\' 반응을 했어요!";
-
-
-                redisTemplate.opsForHash().put(key3, "status", status);
-                redisTemplate.opsForHash().put(key3, "message", message);
-                redisTemplate.opsForHash().put(key3, "mostPeopleCounts", slideEmojiPeopleCounts);
-
-                messagingTemplate.convertAndSend("/topic/presentation/"+sessionId+"/liveFeedback",message);
-
-            }
-
-
-            String key2 = "room:" + sessionId + ":liveFeedback:slide:" + msg.getSlide() + ":emoji:counts";
-            redisTemplate.opsForHash().increment(key2, "emoji:"+msg.getEmoji(), 1);
-
-            Object statusObj = redisTemplate.opsForHash().get(key3, "status");
-            String status = statusObj == null ? "" : statusObj.toString();
-
-            if (!"FIRST".equals(status)) {
-                Long fieldCount = redisTemplate.opsForHash().size(key2);
-
-                if(fieldCount >= 2){
-                    Map<Object, Object> emojiCounts = redisTemplate.opsForHash().entries(key2);
-
-                    String maxEmoji = null;
-                    long maxCount = Long.MIN_VALUE;
-
-                    for (Map.Entry<Object, Object> entry : emojiCounts.entrySet()) {
-                        String field = entry.getKey().toString();
-                        long count = Long.parseLong(entry.getValue().toString());
-
-                        if (count > maxCount) {
-                            maxCount = count;
-                            maxEmoji = field;
-                        }
-                    }
-
-                    String emojiNumber = Objects.requireNonNull(maxEmoji).split(":")[1];
-
-                    if (maxEmoji != null) {
-                        System.out.println("가장 많이 선택된 이모지: " + emojiNumber + " (" + maxCount + ")");
-                    }
-
-                    status ="SECOND";
-                    String emojiText = switch (Integer.parseInt(emojiNumber)) {
-                        case 1 -> "'재미있는'";
-                        case 2 -> "'놀라운'";
-                        case 3 -> "'궁금한'";
-                        case 4 -> "'신나는'";
-                        case 5 -> "'열받는'";
-                        case 6 -> "'슬픈'";
-                        case 7 -> "'O'";
-                        case 8 -> "'X'";
-                        default -> "'기타 이모지'";
-                    };
-                    String message = emojiText+" 반응이 두드러지고 있어요!";
-
-                    redisTemplate.opsForHash().put(key3, "status", status);
-                    redisTemplate.opsForHash().put(key3, "message", message);
-
-                    messagingTemplate.convertAndSend("/topic/presentation/"+sessionId+"/liveFeedback",message);
+    private boolean useLiveFeedbackEngine(StickerRequest msg) {
+        return liveFeedbackEngine.isEnabled() && LiveFeedbackEngine.supports(msg.getEmoji())
+                && msg.getSlide() != null && msg.getAudienceID() != null;
+    }
 
-                }
-            }
-        } catch (Exception feedbackError) {
-            log.warn("라이브 피드백 처리 실패: roomId={}, err={}", sessionId, feedbackError.toString());
-        }
+    private void sendLiveFeedback(String sessionId, Integer slide, String status, String message) {
+        log.info("라이브 피드백 {}: roomId={}, slide={}", status, sessionId, slide);
+        messagingTemplate.convertAndSend("/topic/presentation/"+sessionId+"/liveFeedback", message);
     }
 
+    // STICKER_SCRIPT 실행 (Redis 왕복 1회). 반환: {} 또는 {상태, 라이브 피드백 메시지}
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private List<?> recordSticker(String sessionId, StickerRequest msg, StickerRecord record) {
+        String slideKey = "room:" + sessionId + ":liveFeedback:slide:" + msg.getSlide();
+        List<String> keys = List.of(
+                StickerStream.key(sessionId),
+                slideKey + ":emoji:" + msg.getEmoji() + ":audience",
+                slideKey,
+                "room:" + sessionId + ":audience:online",
+                slideKey + ":emoji:counts");
+
+        // 스트림 값이 바이너리(StickerRecordSerializer)라 인자는 모두 바이트로 넘김
+        Object[] args = {
+                Objects.toString(msg.getAudienceID(), "").getBytes(StandardCharsets.UTF_8),
+                String.valueOf(msg.getEmoji()).getBytes(StandardCharsets.UTF_8),
+                StickerRecordSerializer.FIELD.getBytes(StandardCharsets.UTF_8),
+                StickerStream.encode(record)
+        };
+        return redisTemplate.execute(STICKER_SCRIPT, RedisSerializer.byteArray(),
+                (RedisSerializer<List>) (RedisSerializer) RedisSerializer.string(), keys, args);
+    }
 }
@@ -0,0 +1,81 @@
+package line4thon.boini.audience.sticker.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import line4thon.boini.audience.sticker.model.StickerRecord;
+import line4thon.boini.audience.sticker.model.StickerRecordSerializer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * 방별 스티커 기록 스트림 (room:{id}:stickers).
+ * 엔트리마다 필드 하나(s)에 StickerRecordSerializer 바이너리를 넣습니다.
+ * 필드 s 가 없는 엔트리는 배포 전 JSON 형식으로 보고 StickerRecordSerializer.fromLegacyFields() 로 읽습니다.
+ *
+ * 연결:
+ *   - StickerService: 스티커 기록 (Lua 경로는 encode() 바이트를 스크립트 인자로 넘김)
+ *   - StickerLoadController: 새로고침 시 스티커 복원
+ *   - AiReportService: 리포트 집계
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StickerStream {
+
+    private static final StickerRecordSerializer SERIALIZER = new StickerRecordSerializer();
+
+    private final RedisTemplate<String, byte[]> stickerRedisTemplate;
+
+    public static String key(String roomId) {
+        return "room:" + roomId + ":stickers";
+    }
+
+    public static byte[] encode(StickerRecord record) {
+        return SERIALIZER.serialize(record);
+    }
+
+    public void append(String roomId, StickerRecord record) {
+        stickerRedisTemplate.opsForStream().add(key(roomId), Map.of(StickerRecordSerializer.FIELD, encode(record)));
+    }
+
+    /** 방의 스티커 전체 (기록 순서). 읽을 수 없는 엔트리는 건너뜁니다. */
+    public List<StickerRecord> readAll(String roomId) {
+        List<MapRecord<String, Object, Object>> entries =
+                stickerRedisTemplate.opsForStream().range(key(roomId), Range.unbounded());
+        if (entries == null || entries.isEmpty()) {
+            return List.of();
+        }
+        List<StickerRecord> records = new ArrayList<>(entries.size());
+        int skipped = 0;
+        for (MapRecord<String, Object, Object> entry : entries) {
+            Map<Object, Object> fields = entry.getValue();
+            StickerRecord record;
+            if (!fields.containsKey(StickerRecordSerializer.FIELD)) {
+                record = StickerRecordSerializer.fromLegacyFields(fields);
+            } else {
+                record = fields.get(StickerRecordSerializer.FIELD) instanceof byte[] bytes
+                        ? SERIALIZER.deserialize(bytes)
+                        : null;
+            }
+            if (record == null) {
+                skipped++;
+                continue;
+            }
+            records.add(record);
+        }
+        if (skipped > 0) {
+            log.debug("스티커 스트림에서 읽을 수 없는 엔트리 건너뜀: roomId={}, skipped={}", roomId, skipped);
+        }
+        return records;
+    }
+
+    public long size(String roomId) {
+        Long size = stickerRedisTemplate.opsForStream().size(key(roomId));
+        return size == null ? 0 : size;
+    }
+}
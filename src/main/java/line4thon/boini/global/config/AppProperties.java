@@ -1,5 +1,7 @@
 package line4thon.boini.global.config;
 
+import java.util.ArrayList;
+import java.util.List;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
@@ -14,10 +16,14 @@ public class AppProperties {
   private Jwt jwt = new Jwt();
   private Urls urls = new Urls();
   private S3 s3 = new S3();
+  private AssetCache assetCache = new AssetCache();
   private Pdf pdf = new Pdf();
   private Office office = new Office();
   private FastApi fastApi = new FastApi();
   private Fonts fonts = new Fonts();
+  private Ws ws = new Ws();
+  private Sticker sticker = new Sticker();
+  private LiveFeedback liveFeedback = new LiveFeedback();
 
   @Getter @Setter
   public static class Room {
@@ -44,6 +50,28 @@ public class AppProperties {
     private String cloudfrontDomain;
     private long presignSeconds = 3600;
     private String rootPrefix = "presentations";
+    // Presigned URL 캐시(SlideS3Helper): 같은 키는 presign-seconds 의 refresh-ratio 만큼 지날 때까지 다시 서명하지 않음
+    private boolean presignCacheEnabled = true;
+    private double presignRefreshRatio = 0.8;
+    private int presignCacheMaxEntries = 50_000;
+    // PDF 다운로드(PdfDownloadService): redirect 는 presigned URL 로 302, proxy 는 서버가 Range/ETag 지원하며 직접 전송
+    private String downloadMode = "redirect";
+    private long downloadUrlSeconds = 300;
+    // 비동기 업로드(AsyncS3Uploader): 동시에 전송 중인 PUT 상한과 재시도(지수 백오프 + full jitter)
+    private int asyncMaxInFlight = 32;
+    private int asyncMaxAttempts = 4;
+    private long asyncRetryBaseMillis = 200;
+    private long asyncRetryMaxMillis = 5_000;
+  }
+
+  @Getter @Setter
+  public static class AssetCache {
+    // 노드 로컬 디스크 캐시(LocalAssetCache): 렌더링한 WebP / source.pdf 를 디스크에서 바로 응답 (로컬/온프레미스용)
+    private boolean enabled = false;
+    private String dir = System.getProperty("java.io.tmpdir") + "/boini-asset-cache";
+    private long maxBytes = 2_147_483_648L; // 2GB, 넘으면 가장 오래 안 읽힌 파일부터 삭제
+    // 캐시된 슬라이드 URL 의 앞부분 (예: https://api.example.com). 비우면 요청받은 서버 주소 사용
+    private String publicBaseUrl = "";
   }
 
   @Getter @Setter
@@ -51,6 +79,41 @@ public class AppProperties {
     private String tempDir = System.getProperty("java.io.tmpdir") + "/boini-uploads";
     private long maxChunkSizeBytes = 2097152L; // 2MB
     private int canStartSessionAfterPages = 10;
+    // 지연 렌더링(LazyRenderService): 세션 시작 전에는 앞쪽 can-start-session-after-pages 장만 렌더링하고
+    // 나머지는 /session/start 또는 아직 없는 페이지 요청 때 렌더링 (시작되지 않는 방의 CPU / S3 쓰기 절약)
+    private boolean lazyRenderEnabled = false;
+    // 페이지 처리 파이프라인(render → encode → upload) 단계별 스레드 수 (덱 1개 기준)
+    // render 는 최대값: 실제 수는 RenderWorkerBudget 이 페이지 수와 노드 전체 예산으로 정함
+    private int renderThreads = 4;
+    private int pagesPerRenderWorker = 10; // 페이지 10장마다 render 워커 1개
+    private int renderCoreBudget = 0;      // 노드 전체 render 워커 수 예산 (0 이면 CPU 코어 수)
+    private int encodeThreads = 2;
+    private int uploadThreads = 4;
+    // 단계 사이 bounded queue 크기: 다음 단계가 밀리면 앞 단계가 대기한다 (렌더링 이미지 메모리 상한)
+    private int stageQueueCapacity = 4;
+    // 페이지 지문 기반 렌더 캐시: 재업로드 시 바뀌지 않은 슬라이드는 기존 WebP 를 복사해 재사용
+    private boolean renderCacheEnabled = true;
+    private long renderCacheTtlDays = 30;
+    // 네이티브 PDF 는 청크 수신과 동시에 S3 multipart 로 업로드 (part 크기는 청크 크기 배수로 올림, 최소 5MB)
+    private boolean multipartUploadEnabled = true;
+    private long multipartPartSizeBytes = 8_388_608L; // 8MB
+    // 페이지별 렌더링 프로필(RenderProfiler): 긴 변 목표 px 로 DPI 를 정하고 min~max 로 제한
+    private int vectorLongEdgePx = 1600;   // 텍스트/도형만 있는 페이지
+    private float vectorQuality = 0.85f;
+    private int rasterLongEdgePx = 1920;   // 사진/그라데이션이 있는 페이지
+    private float rasterQuality = 0.75f;
+    private int minDpi = 72;
+    private int maxDpi = 200;
+    // 반응형 이미지 너비(px): 원본보다 좁은 너비마다 w{너비}/ 폴더에 WebP 를 추가로 올림 (비우면 끔)
+    private List<Integer> responsiveWidths = new ArrayList<>();
+    // Redis Streams 렌더 작업 큐(RenderJobQueue): 켜면 업로드 노드가 아닌 아무 노드나 렌더링을 가져감
+    private boolean renderQueueEnabled = false;
+    private int renderQueueWorkers = 2;               // 노드당 동시에 처리할 렌더 작업 수
+    private long renderQueueClaimIdleSeconds = 120;   // 이 시간 동안 heartbeat 가 없는 작업은 다른 노드가 가져감
+    private int renderQueueMaxDeliveries = 3;         // 이 횟수만큼 가져가고도 끝나지 않은 작업은 실패 처리
+    // SSE 이벤트 로그(PdfSseRegistry): pdfId 마다 Redis Stream 에 남겨 재연결 시 Last-Event-ID 이후만 재전송
+    private int sseHistoryMaxLen = 2000;            // 스트림 최대 길이 (대략적 trim)
+    private long sseHistoryTtlMinutes = 60;         // 마지막 이벤트 이후 보관 시간
   }
 
   @Getter @Setter
@@ -59,6 +122,13 @@ public class AppProperties {
     private long conversionTimeoutSeconds = 60;
     private String fcListPath = "fc-list";
     private String fcMatchPath = "fc-match";
+    // 미리 띄워 둔 LibreOffice 워커 풀 (실패 시 변환마다 soffice 를 띄우는 방식으로 대체)
+    private boolean poolEnabled = true;
+    private int poolSize = 2;
+    private int poolBasePort = 2002;
+    private int poolMaxJobsPerProcess = 50;       // 이 건수만큼 처리하면 프로세스 재시작
+    private long poolQueueTimeoutSeconds = 10;    // 워커가 모두 바쁠 때 대기 한도 (초과 시 프로세스 방식)
+    private String poolOfficeHome;                // 비우면 soffice-path 에서 유추
   }
 
   @Getter @Setter
@@ -72,4 +142,30 @@ public class AppProperties {
     private int maxCount = 20;
     private long maxTotalBytes = 62_914_560L; // 60 MB per deck (max upload at once)
   }
+
+  @Getter @Setter
+  public static class Ws {
+    // 여러 노드 배포 시 WebSocket 브로드캐스트 전달 방식 (ClusterFanout)
+    //   local: 이 노드에 붙은 소켓에만 전달 (단일 노드)
+    //   redis: 방 토픽 메시지를 Redis pub/sub 으로 그 방 구독자가 있는 노드에도 전달
+    private String fanoutMode = "local";
+    // Redis pub/sub 리스너 대기열 크기 (RedisConfig.redisListenerExecutor). 차면 새 메시지는 버림
+    private int relayQueueCapacity = 10_000;
+  }
+
+  @Getter @Setter
+  public static class Sticker {
+    // 리액션 모아 보내기 (ReactionAggregator): 켜면 /reactions 로 스티커 대신 틱마다 ReactionBatchResponse 를 보냄
+    private boolean reactionBatchEnabled = false;
+    private long reactionTickMillis = 80;      // 방별 전송 주기
+    private int reactionBurstThreshold = 30;  // 한 틱에 이보다 많으면 스티커는 이만큼만 싣고 이모지별 개수를 함께 보냄
+  }
+
+  @Getter @Setter
+  public static class LiveFeedback {
+    // 라이브 피드백 판단을 노드 메모리에서 (LiveFeedbackEngine). 방 하나의 스티커가 한 노드로만 올 때만 켤 것
+    private boolean inMemoryEnabled = false;
+    private long checkpointMillis = 1000;          // 바뀐 상태를 Redis 해시에 기록하는 주기
+    private long onlineCountRefreshMillis = 1000;  // 온라인 청중 수(SCARD)를 다시 읽는 주기
+  }
 }
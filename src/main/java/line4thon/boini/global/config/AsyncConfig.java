@@ -1,6 +1,7 @@
 package line4thon.boini.global.config;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
@@ -20,6 +21,8 @@ public class AsyncConfig {
      * - corePoolSize(2): 평시 2개 스레드 유지 → 동시에 2개 PDF 파싱 가능
      * - maxPoolSize(4): 최대 4개까지 확장
      * - queueCapacity(20): 대기열 20개 초과 시 RejectedExecutionException 발생
+     * 이 스레드는 덱 단위 조율만 담당하고, 페이지 작업은 PageRenderPipeline 의 단계별 워커
+     * (app.pdf.render-threads / encode-threads / upload-threads)가 수행합니다.
      * 연결: PdfParseService → @Async("pdfParseExecutor")
      */
     @Bean(name = "pdfParseExecutor")
@@ -48,4 +51,40 @@ public class AsyncConfig {
         executor.initialize();
         return executor;
     }
+
+    /**
+     * 네이티브 PDF 업로드의 S3 multipart part 업로드 전용 스레드풀.
+     * 청크 수신 요청 스레드가 S3 전송을 기다리지 않도록 분리합니다.
+     * 대기열이 가득 차면 호출 스레드에서 직접 실행해 청크 수신 속도를 늦춥니다(backpressure).
+     * 연결: SourcePdfMultipartUploader
+     */
+    @Bean(name = "s3PartUploadExecutor")
+    public Executor s3PartUploadExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(4);
+        executor.setQueueCapacity(50);
+        executor.setThreadNamePrefix("s3-part-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * PPT/PPTX 발표자 노트 추출 전용 스레드풀.
+     * 오피스 변환(LibreOffice)이 업로드 요청 스레드에서 도는 동안 노트를 병렬로 읽습니다.
+     * 대기열이 가득 차면 호출 스레드에서 직접 실행합니다(변환 전에 순차 추출하던 기존 동작과 같음).
+     * 연결: SlideNotesExtractionService → @Async("notesExtractionExecutor")
+     */
+    @Bean(name = "notesExtractionExecutor")
+    public Executor notesExtractionExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(4);
+        executor.setQueueCapacity(20);
+        executor.setThreadNamePrefix("notes-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
 }
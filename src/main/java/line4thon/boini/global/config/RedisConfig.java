@@ -2,14 +2,19 @@ package line4thon.boini.global.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.util.concurrent.atomic.AtomicLong;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 @Configuration
 @Slf4j
@@ -57,6 +62,59 @@ public class RedisConfig {
     return template;
   }
 
+  // 스티커 스트림 전용 (room:{id}:stickers). 값은 StickerRecordSerializer 바이너리를 그대로 씀 (StickerStream)
+  @Bean
+  public RedisTemplate<String, byte[]> stickerRedisTemplate(RedisConnectionFactory connectionFactory) {
+    RedisTemplate<String, byte[]> template = new RedisTemplate<>();
+    template.setConnectionFactory(connectionFactory);
+    template.setKeySerializer(new StringRedisSerializer());
+    template.setValueSerializer(RedisSerializer.byteArray());
+    template.setHashKeySerializer(new StringRedisSerializer());
+    template.setHashValueSerializer(RedisSerializer.byteArray());
+    template.afterPropertiesSet();
+    return template;
+  }
+
+  // Redis pub/sub 구독용 컨테이너 (PdfSseRegistry 가 노드 간 SSE 이벤트 알림을, ClusterFanout 이 방 토픽 메시지를 받음)
+  @Bean
+  public RedisMessageListenerContainer redisMessageListenerContainer(
+          RedisConnectionFactory connectionFactory,
+          @Qualifier("redisListenerExecutor") ThreadPoolTaskExecutor redisListenerExecutor) {
+    RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+    container.setConnectionFactory(connectionFactory);
+    container.setTaskExecutor(redisListenerExecutor);
+    return container;
+  }
+
+  /**
+   * pub/sub 리스너 실행용 단일 스레드.
+   * 기본값(SimpleAsyncTaskExecutor)은 메시지마다 스레드를 새로 만들어서
+   * 리액션이 몰리면 스레드가 끝없이 늘고, 같은 방 메시지(pageChange 등)가 발행 순서와 다르게 로컬 브로커로 들어갔습니다.
+   * 스레드 하나가 받은 순서대로 처리합니다.
+   *
+   * 대기열(app.ws.relay-queue-capacity)이 차면 메시지를 버리고 개수만 셉니다.
+   * 메시지를 넘겨주는 스레드는 Lettuce 의 Netty I/O 스레드라서 여기서 기다리면 Redis 응답도 읽지 못해
+   * 이 풀에서 Redis 를 기다리는 작업과 서로 멈춥니다. 그래서 리스너는 Redis I/O 를 직접 하지 않고
+   * (PdfSseRegistry 는 알림만 받고 따라잡기는 별도 스레드에서) 빨리 끝나야 합니다.
+   */
+  @Bean
+  public ThreadPoolTaskExecutor redisListenerExecutor(AppProperties props) {
+    AtomicLong dropped = new AtomicLong();
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(1);
+    executor.setMaxPoolSize(1);
+    executor.setQueueCapacity(props.getWs().getRelayQueueCapacity());
+    executor.setThreadNamePrefix("redis-listener-");
+    executor.setRejectedExecutionHandler((task, pool) -> {
+      long count = dropped.incrementAndGet();
+      if (count == 1 || count % 1000 == 0) {
+        log.warn("Redis 리스너 대기열이 가득 차 메시지를 버림: 누적 {}건", count);
+      }
+    });
+    executor.initialize();
+    return executor;
+  }
+
   // Redis용 ObjectMapper 설정
   @Bean
   public ObjectMapper redisObjectMapper() {
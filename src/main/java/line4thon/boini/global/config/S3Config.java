@@ -3,7 +3,9 @@ package line4thon.boini.global.config;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import software.amazon.awssdk.core.retry.RetryPolicy;
 import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 
@@ -19,10 +21,19 @@ public class S3Config {
         .build();
   }
 
+  // 페이지 이미지/다운로드용 PDF 업로드용. 재시도는 AsyncS3Uploader 가 jitter 백오프로 직접 처리하므로 SDK 재시도는 끈다.
+  @Bean
+  public S3AsyncClient s3AsyncClient() {
+    return S3AsyncClient.builder()
+        .region(Region.of(props.getS3().getRegion()))
+        .overrideConfiguration(c -> c.retryPolicy(RetryPolicy.none()))
+        .build();
+  }
+
   @Bean
   public S3Presigner s3Presigner() {
     return S3Presigner.builder()
         .region(Region.of(props.getS3().getRegion()))
         .build();
   }
-}
\ No newline at end of file
+}
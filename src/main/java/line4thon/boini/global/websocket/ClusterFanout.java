@@ -0,0 +1,239 @@
+package line4thon.boini.global.websocket;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import line4thon.boini.global.config.AppProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeType;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+/**
+ * 여러 노드에 걸친 WebSocket 브로드캐스트. (app.ws.fanout-mode=redis)
+ *
+ * 심플 브로커는 이 노드에 붙은 소켓에만 보내므로, 발표자와 청중이 다른 노드에 붙으면
+ * convertAndSend("/topic/presentation/{roomId}/...") 가 상대에게 닿지 않습니다.
+ * 그래서 brokerChannel 인터셉터로 방 토픽 메시지를 잡아 Redis pub/sub 으로 다른 노드에도 보냅니다.
+ * (QuestionService / StickerService / PageService 등 호출하는 쪽은 바꿀 필요 없음)
+ *
+ *   - 보내는 노드: 평소처럼 로컬 브로커로 보내고, 같은 메시지를 ws:fanout:{roomId} 채널에 PUBLISH
+ *   - 받는 노드: 자기 노드에서 보낸 것이 아니면 brokerChannel 로 다시 넣어 로컬 구독자에게 전달
+ *     (다시 넣은 메시지는 RELAYED 헤더가 있어 재발행하지 않음)
+ *
+ * 방 채널은 이 노드에 그 방 구독이 하나라도 있을 때만 구독합니다. (SUBSCRIBE/UNSUBSCRIBE/DISCONNECT 로 집계)
+ * Redis 가 구독 중인 노드에만 전달하므로 방 하나의 메시지는 그 방 소켓이 있는 노드에서만 처리됩니다.
+ *
+ * 메시지 형식: "{nodeId}\n{destination}\n{contentType}\n" + 페이로드 바이트 (변환된 JSON 그대로)
+ * Redis 발행에 실패해도 로컬 전달은 그대로 진행합니다.
+ *
+ * 연결: WebSocketConfig.configureMessageBroker → configureBrokerChannel().interceptors(this)
+ */
+@Component
+@Slf4j
+public class ClusterFanout implements ChannelInterceptor {
+
+    static final String MODE_REDIS = "redis";
+    static final String CHANNEL_PREFIX = "ws:fanout:";
+    static final String RELAYED_HEADER = "boiniRelayed";
+    private static final Pattern ROOM_TOPIC =
+        Pattern.compile("^/topic/(?:presentation|p)/(?<rid>[A-Za-z0-9\\-]+)(/.*)?$");
+
+    private final StringRedisTemplate redis;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final MessageChannel brokerChannel;
+    private final boolean enabled;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    // 이 노드의 구독 색인 (lock 으로 보호, 구독/해제는 메시지 전달에 비해 드묾)
+    private final Object lock = new Object();
+    private final Map<String, Map<String, String>> roomsBySession = new HashMap<>(); // sessionId → (subscriptionId → roomId)
+    private final Map<String, Integer> localSubscriptions = new HashMap<>();          // roomId → 구독 수
+    private final Map<String, MessageListener> roomListeners = new HashMap<>();      // roomId → Redis 리스너
+
+    public ClusterFanout(
+        StringRedisTemplate redis, RedisMessageListenerContainer listenerContainer,
+        @Lazy @Qualifier("brokerChannel") MessageChannel brokerChannel, AppProperties props) {
+        this.redis = redis;
+        this.listenerContainer = listenerContainer;
+        this.brokerChannel = brokerChannel;
+        this.enabled = MODE_REDIS.equalsIgnoreCase(props.getWs().getFanoutMode());
+        if (enabled) {
+            log.info("[WS 팬아웃] Redis 모드: nodeId={}", nodeId);
+        }
+    }
+
+    /** 로컬에서 보낸 방 토픽 메시지를 다른 노드에도 발행합니다. 로컬 전달은 그대로 진행합니다. */
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        if (!enabled || message.getHeaders().containsKey(RELAYED_HEADER)) {
+            return message;
+        }
+        String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+        String roomId = roomIdOf(destination);
+        if (roomId == null) {
+            return message;
+        }
+        if (!(message.getPayload() instanceof byte[] payload)) {
+            log.debug("[WS 팬아웃] 바이트가 아닌 페이로드는 발행하지 않음: destination={}", destination);
+            return message;
+        }
+
+        MimeType contentType = SimpMessageHeaderAccessor.getContentType(message.getHeaders());
+        byte[] body = encode(nodeId, destination, contentType == null ? "" : contentType.toString(), payload);
+        byte[] channelName = (CHANNEL_PREFIX + roomId).getBytes(StandardCharsets.UTF_8);
+        try {
+            redis.execute((RedisCallback<Long>) connection -> connection.publish(channelName, body));
+        } catch (RuntimeException e) {
+            log.warn("[WS 팬아웃] 발행 실패, 이 노드에만 전달: destination={}, 이유={}", destination, e.getMessage());
+        }
+        return message;
+    }
+
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        if (!enabled) return;
+        SimpMessageHeaderAccessor acc = SimpMessageHeaderAccessor.wrap(event.getMessage());
+        String roomId = roomIdOf(acc.getDestination());
+        if (roomId == null || acc.getSessionId() == null || acc.getSubscriptionId() == null) return;
+
+        synchronized (lock) {
+            String previous = roomsBySession
+                .computeIfAbsent(acc.getSessionId(), k -> new HashMap<>())
+                .put(acc.getSubscriptionId(), roomId);
+            if (previous != null) release(previous); // 같은 구독 ID 재사용
+            int count = localSubscriptions.merge(roomId, 1, Integer::sum);
+            if (count == 1) listen(roomId);
+        }
+    }
+
+    @EventListener
+    public void onUnsubscribe(SessionUnsubscribeEvent event) {
+        if (!enabled) return;
+        SimpMessageHeaderAccessor acc = SimpMessageHeaderAccessor.wrap(event.getMessage());
+        synchronized (lock) {
+            Map<String, String> subscriptions = roomsBySession.get(acc.getSessionId());
+            if (subscriptions == null) return;
+            String roomId = subscriptions.remove(acc.getSubscriptionId());
+            if (subscriptions.isEmpty()) roomsBySession.remove(acc.getSessionId());
+            if (roomId != null) release(roomId);
+        }
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        if (!enabled) return;
+        synchronized (lock) {
+            Map<String, String> subscriptions = roomsBySession.remove(event.getSessionId());
+            if (subscriptions == null) return;
+            subscriptions.values().forEach(this::release);
+        }
+    }
+
+    /** 이 노드에 있는 방 구독 수 (테스트/모니터링) */
+    int localSubscriptions(String roomId) {
+        synchronized (lock) {
+            return localSubscriptions.getOrDefault(roomId, 0);
+        }
+    }
+
+    /** 다른 노드에서 발행한 메시지를 로컬 브로커로 넣습니다. */
+    void onRelay(byte[] body) {
+        Relayed relayed = decode(body);
+        if (relayed == null) {
+            log.warn("[WS 팬아웃] 잘못된 메시지, 버림: {} bytes", body.length);
+            return;
+        }
+        if (nodeId.equals(relayed.nodeId())) {
+            return; // 이미 로컬로 전달함
+        }
+        String roomId = roomIdOf(relayed.destination());
+        if (roomId == null || localSubscriptions(roomId) == 0) {
+            return;
+        }
+
+        SimpMessageHeaderAccessor acc = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        acc.setDestination(relayed.destination());
+        if (!relayed.contentType().isEmpty()) {
+            acc.setContentType(MimeType.valueOf(relayed.contentType()));
+        }
+        acc.setHeader(RELAYED_HEADER, Boolean.TRUE);
+        brokerChannel.send(MessageBuilder.createMessage(relayed.payload(), acc.getMessageHeaders()));
+    }
+
+    // lock 안에서 호출
+    private void release(String roomId) {
+        Integer left = localSubscriptions.computeIfPresent(roomId, (k, n) -> n > 1 ? n - 1 : null);
+        if (left == null) unlisten(roomId);
+    }
+
+    // lock 안에서 호출
+    private void listen(String roomId) {
+        MessageListener listener = (message, pattern) -> onRelay(message.getBody());
+        roomListeners.put(roomId, listener);
+        listenerContainer.addMessageListener(listener, new ChannelTopic(CHANNEL_PREFIX + roomId));
+        log.debug("[WS 팬아웃] 방 채널 구독: roomId={}", roomId);
+    }
+
+    // lock 안에서 호출
+    private void unlisten(String roomId) {
+        MessageListener listener = roomListeners.remove(roomId);
+        if (listener == null) return;
+        listenerContainer.removeMessageListener(listener, new ChannelTopic(CHANNEL_PREFIX + roomId));
+        log.debug("[WS 팬아웃] 방 채널 구독 해제: roomId={}", roomId);
+    }
+
+    static String roomIdOf(String destination) {
+        if (destination == null) return null;
+        Matcher m = ROOM_TOPIC.matcher(destination);
+        return m.matches() ? m.group("rid") : null;
+    }
+
+    static byte[] encode(String nodeId, String destination, String contentType, byte[] payload) {
+        byte[] head = (nodeId + "\n" + destination + "\n" + contentType + "\n").getBytes(StandardCharsets.UTF_8);
+        return ByteBuffer.allocate(head.length + payload.length).put(head).put(payload).array();
+    }
+
+    static Relayed decode(byte[] body) {
+        String[] fields = new String[3];
+        int start = 0;
+        for (int f = 0; f < fields.length; f++) {
+            int end = indexOf(body, (byte) '\n', start);
+            if (end < 0) return null;
+            fields[f] = new String(body, start, end - start, StandardCharsets.UTF_8);
+            start = end + 1;
+        }
+        byte[] payload = new byte[body.length - start];
+        System.arraycopy(body, start, payload, 0, payload.length);
+        return new Relayed(fields[0], fields[1], fields[2], payload);
+    }
+
+    private static int indexOf(byte[] bytes, byte b, int from) {
+        for (int i = from; i < bytes.length; i++) {
+            if (bytes[i] == b) return i;
+        }
+        return -1;
+    }
+
+    record Relayed(String nodeId, String destination, String contentType, byte[] payload) {}
+}
@@ -13,6 +13,7 @@ import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerCo
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
   private final StompAuthChannelInterceptor authInterceptor;
+  private final ClusterFanout clusterFanout;
 
   @Override
   public void registerStompEndpoints(StompEndpointRegistry registry) {
@@ -49,5 +50,7 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
   public void configureMessageBroker(MessageBrokerRegistry registry) {
     registry.enableSimpleBroker("/topic", "/queue");  // 서버 → 클라 (broadcast)
     registry.setApplicationDestinationPrefixes("/app"); // 클라 → 서버
+    // 서버 → 브로커 메시지를 다른 노드에도 발행 (app.ws.fanout-mode=redis 일 때만 동작)
+    registry.configureBrokerChannel().interceptors(clusterFanout);
   }
 }
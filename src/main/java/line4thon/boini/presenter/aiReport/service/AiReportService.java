@@ -1,8 +1,8 @@
 package line4thon.boini.presenter.aiReport.service;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import line4thon.boini.audience.feedback.exception.FeedbackErrorCode;
+import line4thon.boini.audience.sticker.model.StickerRecord;
+import line4thon.boini.audience.sticker.service.StickerStream;
 import line4thon.boini.global.common.exception.CustomException;
 import line4thon.boini.presenter.aiReport.dto.response.MostReactionStickerResponse;
 import line4thon.boini.presenter.aiReport.dto.response.MostRevisitResponse;
@@ -15,8 +15,6 @@ import line4thon.boini.presenter.room.entity.Report;
 import line4thon.boini.presenter.room.repository.ReportRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Range;
-import org.springframework.data.redis.connection.stream.MapRecord;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
@@ -30,44 +28,29 @@ import java.util.*;
 public class AiReportService {
 
     private final RedisTemplate<String, String> redisTemplate;
-    private final RedisTemplate<String, Object> objectRedisTemplate;
-    private final ObjectMapper objectMapper;
+    private final StickerStream stickerStream;
     private final PageService pageService;
     private final StringRedisTemplate redis;
     private final ReportRepository reportRepository;
 
 
     public List<MostReactionStickerResponse> getMostReactionSticker(String roomId) {
-        String key = "room:" + roomId + ":stickers";
-
         log.info("=== getMostReactionSticker 시작 ===");
-        log.info("Redis Stream Key: {}", key);
 
-        List<MapRecord<String, Object, Object>> records =
-                objectRedisTemplate.opsForStream().range(key, Range.unbounded());
+        List<StickerRecord> records = stickerStream.readAll(roomId);
 
         log.info("조회된 Stream 레코드 개수: {}", records.size());
 
         Map<Integer, Map<Integer, Long>> countMap = new HashMap<>();
 
-        for (MapRecord<String, Object, Object> record : records) {
-            log.info("Raw record value: {}", record.getValue());
-
-            Map<String, Object> value = objectMapper.convertValue(record.getValue(), new TypeReference<>() {
-            });
-            log.info("Converted record value: {}", value);
-
-            try {
-                int emoji = (Integer) value.get("emoji");
-                int slide = Integer.parseInt(value.get("slide").toString());
-                log.info("Parsed emoji={}, slide={}", emoji, slide);
-
-                countMap
-                        .computeIfAbsent(emoji, k -> new HashMap<>())
-                        .merge(slide, 1L, Long::sum);
-            } catch (Exception e) {
-                log.error("레코드 파싱 실패: {}", value, e);
+        for (StickerRecord record : records) {
+            if (record.emoji() == null || record.slide() == null) {
+                log.warn("이모지/슬라이드 없는 스티커 건너뜀: {}", record);
+                continue;
             }
+            countMap
+                    .computeIfAbsent(record.emoji(), k -> new HashMap<>())
+                    .merge(record.slide(), 1L, Long::sum);
         }
 
         log.info("CountMap: {}", countMap);
@@ -206,10 +189,9 @@ public class AiReportService {
 
         Optional<Report> optionalReport = reportRepository.findByRoomId(roomId);
 
-        String key1 = "room:" + roomId + ":stickers";
         String key2 = "room:" + roomId + ":questionCount";
 
-        Long emoji = objectRedisTemplate.opsForStream().size(key1);
+        Long emoji = stickerStream.size(roomId);
         System.out.println("emoji Stream size = " + emoji);
 
         String question = redisTemplate.opsForValue().get(key2);
@@ -348,27 +330,17 @@ public class AiReportService {
 
     public List<Integer> findMostReactionSlides(String roomId) {
 
-        String key = "room:" + roomId + ":stickers";
+        List<StickerRecord> records = stickerStream.readAll(roomId);
 
-        List<MapRecord<String, Object, Object>> records =
-                objectRedisTemplate.opsForStream().range(key, Range.unbounded());
-
-        if (records == null || records.isEmpty()) {
+        if (records.isEmpty()) {
             return List.of();
         }
 
         Map<Integer, Integer> slideCountMap = new HashMap<>();
 
-        for (MapRecord<String, Object, Object> record : records) {
-            Object slideObj = record.getValue().get("slide");
-            if (slideObj == null) continue;
-
-            try {
-                int slide = Integer.parseInt(slideObj.toString());
-                slideCountMap.merge(slide, 1, Integer::sum);
-            } catch (NumberFormatException e) {
-                log.warn("Invalid slide value in stream: {}", slideObj);
-            }
+        for (StickerRecord record : records) {
+            if (record.slide() == null) continue;
+            slideCountMap.merge(record.slide(), 1, Integer::sum);
         }
 
         int maxCount = slideCountMap.values().stream()
@@ -1,8 +1,10 @@
 package line4thon.boini.presenter.image.controller;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.Pattern;
 import jakarta.validation.Valid;
+import java.io.IOException;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.MediaType;
@@ -36,6 +38,7 @@ public class DeckAssetController {
       특정 프레젠테이션의 페이지(슬라이드) 원본 이미지를 다운로드할 수 있는 presigned GET URL을 발급합니다.
       - `ext` 파라미터로 확장자를 지정합니다 (기본값: png)
       - URL은 제한된 기간 동안만 유효합니다 (설정값: presignSeconds)
+      - `width` 를 주면 반응형 너비(app.pdf.responsive-widths) 중 그 이상인 가장 작은 이미지를 반환합니다 (webp 만, 없으면 원본)
       """
   )
   public BaseResponse<OriginalUrlResponse> getOriginal(
@@ -43,9 +46,10 @@ public class DeckAssetController {
       @PathVariable String deckId,
       @PathVariable @Min(1) int page,
       @RequestParam(defaultValue = "png")
-      @Pattern(regexp = "png|jpg|jpeg|webp") String ext
+      @Pattern(regexp = "png|jpg|jpeg|webp") String ext,
+      @RequestParam(required = false) @Min(1) Integer width
   ) {
-    var res = deckAssets.getOriginalUrl(roomId, deckId, page, ext);
+    var res = deckAssets.getOriginalUrl(roomId, deckId, page, ext, width);
     return BaseResponse.success(res);
   }
 
@@ -60,6 +64,26 @@ public class DeckAssetController {
     return BaseResponse.success(deckAssets.getOriginalUrl(roomId, deckId, page, ext));
   }
 
+  @GetMapping("/{roomId}/{deckId}/assets/{folder}/{page:\\d+}.{ext}")
+  @Operation(
+      summary = "슬라이드 이미지 직접 조회 (노드 로컬 캐시)",
+      description = """
+      app.asset-cache.enabled 일 때 원본/썸네일 URL 로 발급되는 주소입니다.
+      - 이 서버의 디스크 캐시에 있으면 바로 응답하고, 없으면 S3 presigned URL 로 리다이렉트합니다.
+      - `folder`: pages(원본) / thumbs(썸네일) / w{너비}(반응형)
+      """
+  )
+  public void localAsset(
+      @PathVariable String roomId,
+      @PathVariable String deckId,
+      @PathVariable @Pattern(regexp = "pages|thumbs|w\\d+") String folder,
+      @PathVariable @Min(1) int page,
+      @PathVariable @Pattern(regexp = "png|jpg|jpeg|webp") String ext,
+      HttpServletResponse response
+  ) throws IOException {
+    deckAssets.writeLocalAsset(roomId, deckId, folder, page, ext, response);
+  }
+
   // =====================================================================
   // [과거 방식] 프론트에서 PDF → 이미지 변환 후 직접 업로드하는 방식
   // 현재는 백엔드에서 청크 수신 → PDF 조립 → 이미지 변환 → SSE 스트리밍 방식으로 대체됨
@@ -91,6 +115,7 @@ public class DeckAssetController {
       업로드된 프레젠테이션의 모든 썸네일(webp) 이미지의 절대 URL 목록을 반환합니다.
       - `totalPages` 파라미터로 총 페이지 수를 전달해야 합니다.
       - CloudFront가 설정된 경우 공개 URL을, 아니면 presigned URL을 반환합니다.
+      - 렌더링이 끝난 페이지만 포함되며, manifestVersion 보다 큰 version 의 slideReady 이벤트로 나머지를 이어 받으면 됩니다.
       """
   )
   public BaseResponse<SlidesMetaResponse> meta(
@@ -1,5 +1,6 @@
 package line4thon.boini.presenter.image.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -12,4 +13,15 @@ public class ThumbnailDto {
 
   @com.fasterxml.jackson.annotation.JsonProperty("thumbnailUrl")
   private String thumbnailUrl;
-}
\ No newline at end of file
+
+  // 원본 이미지 크기(px). 슬라이드 manifest 가 있을 때만 채워집니다.
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  private Integer width;
+
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  private Integer height;
+
+  public ThumbnailDto(int page, String thumbnailUrl) {
+    this(page, thumbnailUrl, null, null);
+  }
+}
@@ -14,4 +14,7 @@ public class SlidesMetaResponse {
 
   @com.fasterxml.jackson.annotation.JsonProperty("thumbnailUrl")
   private final List<ThumbnailDto> slides;
+
+  // 슬라이드 manifest version (없으면 0). 이보다 큰 version 의 slideReady 만 반영하면 됩니다.
+  private final long manifestVersion;
 }
\ No newline at end of file
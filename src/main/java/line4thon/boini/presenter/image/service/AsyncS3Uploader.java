@@ -0,0 +1,164 @@
+package line4thon.boini.presenter.image.service;
+
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import line4thon.boini.global.config.AppProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+
+/**
+ * S3AsyncClient 기반 비동기 업로더.
+ *
+ * putObject 를 동기 S3Client 로 호출하면 PUT 한 건마다 스레드 하나가 네트워크 왕복 동안 멈춥니다.
+ * 이 업로더는 요청을 보낸 즉시 CompletableFuture 를 반환하므로 호출 스레드는 다음 작업(렌더링/인코딩)을 계속합니다.
+ *
+ *   - in-flight 상한: app.s3.async-max-in-flight 개의 PUT 만 동시에 전송합니다.
+ *     상한에 도달하면 put*() 호출이 자리가 날 때까지 블로킹되어 앞 단계(렌더러)에 backpressure 가 걸립니다.
+ *   - 재시도: 네트워크 오류, 5xx, 429(throttling) 는 app.s3.async-max-attempts 회까지 재시도합니다.
+ *     대기 시간은 지수 백오프에 full jitter 를 적용해 여러 페이지가 동시에 재시도하며 몰리지 않게 합니다.
+ *     (SDK 자체 재시도는 S3Config 에서 끔)
+ *   - 재시도 중에도 in-flight 자리를 유지하므로 실패가 몰려도 동시 요청 수는 늘지 않습니다.
+ *
+ * 반환된 future 의 콜백은 SDK 응답 스레드에서 실행되므로 콜백에서 오래 블로킹하지 않아야 합니다.
+ *
+ * 연결: PdfParseService(페이지 원본/썸네일), PdfChunkService(다운로드용 PDF), DeckAssetService.uploadPages
+ */
+@Component
+@Slf4j
+public class AsyncS3Uploader {
+
+    private final S3AsyncClient s3;
+    private final AppProperties props;
+    private final Semaphore inFlight;
+
+    private final AtomicLong retries = new AtomicLong();
+
+    public AsyncS3Uploader(S3AsyncClient s3, AppProperties props) {
+        this.s3 = s3;
+        this.props = props;
+        this.inFlight = new Semaphore(Math.max(1, props.getS3().getAsyncMaxInFlight()));
+    }
+
+    /**
+     * 바이트 배열을 업로드합니다. in-flight 상한에 도달했으면 자리가 날 때까지 대기합니다.
+     *
+     * @return 업로드 완료(재시도 포함) 시 완료되는 future. 최종 실패 시 원인 예외로 완료됩니다.
+     */
+    public CompletableFuture<Void> putBytes(String key, String contentType, byte[] body) throws InterruptedException {
+        return submit(request(key, contentType), () -> AsyncRequestBody.fromBytes(body));
+    }
+
+    /** 파일을 업로드합니다. 파일은 전송(재시도 포함)이 끝날 때까지 남아 있어야 합니다. */
+    public CompletableFuture<Void> putFile(String key, String contentType, Path file) throws InterruptedException {
+        return submit(request(key, contentType), () -> AsyncRequestBody.fromFile(file));
+    }
+
+    /** 현재 전송 중인 PUT 수 */
+    public int inFlightCount() {
+        return Math.max(1, props.getS3().getAsyncMaxInFlight()) - inFlight.availablePermits();
+    }
+
+    /** 누적 재시도 횟수 */
+    public long retryCount() {
+        return retries.get();
+    }
+
+    /** future 를 기다리고, 실패했으면 원인 예외를 RuntimeException 으로 다시 던집니다. */
+    public static void await(CompletableFuture<?> future) throws InterruptedException {
+        try {
+            future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof RuntimeException runtime ? runtime : new CompletionException(cause);
+        }
+    }
+
+    private PutObjectRequest request(String key, String contentType) {
+        return PutObjectRequest.builder()
+            .bucket(props.getS3().getBucket())
+            .key(key)
+            .contentType(contentType)
+            .build();
+    }
+
+    private CompletableFuture<Void> submit(PutObjectRequest request, Supplier<AsyncRequestBody> body)
+        throws InterruptedException {
+        inFlight.acquire();
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        result.whenComplete((ignored, error) -> inFlight.release());
+        attempt(request, body, 1, result);
+        return result;
+    }
+
+    private void attempt(PutObjectRequest request, Supplier<AsyncRequestBody> body, int attempt,
+                         CompletableFuture<Void> result) {
+        CompletableFuture<?> call;
+        try {
+            call = s3.putObject(request, body.get());
+        } catch (RuntimeException e) {
+            call = CompletableFuture.failedFuture(e);
+        }
+
+        call.whenComplete((response, error) -> {
+            if (error == null) {
+                result.complete(null);
+                return;
+            }
+            Throwable cause = unwrap(error);
+            int maxAttempts = Math.max(1, props.getS3().getAsyncMaxAttempts());
+            if (attempt >= maxAttempts || !isRetryable(cause)) {
+                log.warn("[S3] 비동기 업로드 실패: key={}, 시도={}회, 이유={}", request.key(), attempt, cause.getMessage());
+                result.completeExceptionally(cause);
+                return;
+            }
+
+            long delay = backoffMillis(attempt, props.getS3().getAsyncRetryBaseMillis(), props.getS3().getAsyncRetryMaxMillis());
+            retries.incrementAndGet();
+            log.debug("[S3] 업로드 재시도 예약: key={}, 시도={}회, {}ms 후, 이유={}", request.key(), attempt, delay, cause.getMessage());
+            CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS)
+                .execute(() -> attempt(request, body, attempt + 1, result));
+        });
+    }
+
+    /**
+     * 지수 백오프 + full jitter: [0, min(max, base * 2^(attempt-1))] 사이의 임의 값.
+     *
+     * @param attempt 실패한 시도 번호 (1부터)
+     */
+    static long backoffMillis(int attempt, long baseMillis, long maxMillis) {
+        long exponential = baseMillis << Math.min(attempt - 1, 20);
+        long ceiling = Math.max(0, Math.min(maxMillis, exponential));
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    static boolean isRetryable(Throwable error) {
+        if (error instanceof S3Exception s3Error) {
+            int status = s3Error.statusCode();
+            return status >= 500 || status == 429;
+        }
+        if (error instanceof SdkClientException) {
+            return true; // 연결 실패/타임아웃 등 네트워크 오류
+        }
+        return error instanceof SdkException sdk && sdk.retryable();
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        while ((error instanceof CompletionException || error instanceof ExecutionException) && error.getCause() != null) {
+            error = error.getCause();
+        }
+        return error;
+    }
+}
@@ -1,29 +1,34 @@
 package line4thon.boini.presenter.image.service;
 
-import java.io.ByteArrayOutputStream;
+import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import line4thon.boini.global.common.exception.CustomException;
 import line4thon.boini.presenter.image.exception.ImageAssetErrorCode;
+import line4thon.boini.presenter.pdf.service.LazyRenderService;
+import line4thon.boini.presenter.pdf.service.render.RenderPriorityHints;
 import line4thon.boini.presenter.room.exception.RoomErrorCode;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import net.coobird.thumbnailator.Thumbnails;
+import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import line4thon.boini.global.config.AppProperties;
 import line4thon.boini.presenter.image.dto.response.OriginalUrlResponse;
 import line4thon.boini.presenter.image.dto.response.SlidesMetaResponse;
 import line4thon.boini.presenter.image.dto.ThumbnailDto;
 import line4thon.boini.presenter.image.dto.response.UploadPagesResponse;
-import software.amazon.awssdk.core.exception.SdkException;
-import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
 import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
-import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 import software.amazon.awssdk.services.s3.model.S3Exception;
 
 @Service
@@ -31,12 +36,29 @@ import software.amazon.awssdk.services.s3.model.S3Exception;
 @Slf4j
 public class DeckAssetService {
 
+  private static final List<ImageVariantEncoder.Variant> THUMBNAIL_VARIANTS =
+      List.of(ImageVariantEncoder.Variant.bounded("thumbnail", 320, 0.8f));
+
   private final S3Client s3;
+  private final AsyncS3Uploader s3Uploader;
+  private final ImageVariantEncoder variantEncoder;
   private final AppProperties props;
   private final SlideS3Helper slideS3Helper;
+  private final RenderPriorityHints renderPriorityHints;
+  private final SlideManifest slideManifest;
+  private final LocalAssetCache localAssetCache;
+  private final LazyRenderService lazyRenderService;
 
   public OriginalUrlResponse getOriginalUrl(String roomId, String deckId, int page, String extHint) {
-    return getOriginalInternal(roomId, deckId, page, extHint);
+    return getOriginalInternal(roomId, deckId, page, extHint, null);
+  }
+
+  /**
+   * @param width 화면에 필요한 너비(px). app.pdf.responsive-widths 중 이 값 이상인 가장 작은 너비의 이미지를 반환합니다.
+   *              맞는 너비가 없거나 아직 올라가지 않았으면 원본을 반환합니다.
+   */
+  public OriginalUrlResponse getOriginalUrl(String roomId, String deckId, int page, String extHint, Integer width) {
+    return getOriginalInternal(roomId, deckId, page, extHint, width);
   }
 
   // =====================================================================
@@ -53,57 +75,30 @@ public class DeckAssetService {
 
     List<ThumbnailDto> thumbs = new ArrayList<>();
     String firstPageOriginalUrl = null;
+    // 원본/썸네일 PUT 은 비동기로 보내고, 다음 페이지 썸네일 생성과 겹쳐 진행한 뒤 마지막에 한꺼번에 기다립니다.
+    Map<String, CompletableFuture<Void>> originalUploads = new LinkedHashMap<>();
+    Map<String, CompletableFuture<Void>> thumbnailUploads = new LinkedHashMap<>();
 
     int page = 1;
-    for (MultipartFile f : files) {
-      String contentType = f.getContentType();
-      String ext      = guessExt(contentType);
-      String origKey  = slideS3Helper.buildKey(roomId, deckId, page, false, ext);
-      String thumbKey = slideS3Helper.buildKey(roomId, deckId, page, true, "webp");
+    try {
+      for (MultipartFile f : files) {
+        String contentType = f.getContentType();
+        String ext      = guessExt(contentType);
+        String origKey  = slideS3Helper.buildKey(roomId, deckId, page, false, ext);
+        String thumbKey = slideS3Helper.buildKey(roomId, deckId, page, true, "webp");
 
-      try (InputStream inForThumb = f.getInputStream();
-          ByteArrayOutputStream thumbOut = new ByteArrayOutputStream()) {
+        byte[] original = f.getBytes();
+        originalUploads.put(origKey, s3Uploader.putBytes(origKey, contentType, original));
 
+        // 원본은 받은 바이트 그대로 올리고, 같은 바이트를 한 번만 디코딩해서 썸네일을 만듭니다.
+        byte[] thumbnail;
         try {
-          s3.putObject(
-              PutObjectRequest.builder()
-                  .bucket(bucket)
-                  .key(origKey)
-                  .contentType(contentType)
-                  .build(),
-              RequestBody.fromInputStream(f.getInputStream(), f.getSize())
-          );
-          log.info("[S3] 원본 업로드 완료 → s3://{}/{}", bucket, origKey);
-        } catch (SdkException e) {
-          log.error("[오류] 원본 업로드 실패: key={}, 이유={}", origKey, e.getMessage(), e);
-          throw new CustomException(ImageAssetErrorCode.ORIGINAL_UPLOAD_FAILED);
-        }
-
-        try {
-          Thumbnails.of(inForThumb)
-              .size(320, 320)
-              .outputFormat("webp")
-              .outputQuality(0.8f)
-              .toOutputStream(thumbOut);
+          thumbnail = variantEncoder.decodeAndEncode(original, THUMBNAIL_VARIANTS).get("thumbnail");
         } catch (IOException tEx) {
           log.error("[오류] 썸네일 생성 실패: key={}, 이유={}", thumbKey, tEx.getMessage(), tEx);
           throw new CustomException(ImageAssetErrorCode.THUMBNAIL_GENERATION_FAILED);
         }
-
-        try {
-          s3.putObject(
-              PutObjectRequest.builder()
-                  .bucket(bucket)
-                  .key(thumbKey)
-                  .contentType("image/webp")
-                  .build(),
-              RequestBody.fromBytes(thumbOut.toByteArray())
-          );
-          log.info("[S3] 썸네일 업로드 완료 → s3://{}/{}", bucket, thumbKey);
-        } catch (SdkException e) {
-          log.error("[오류] 썸네일 업로드 실패: key={}, 이유={}", thumbKey, e.getMessage(), e);
-          throw new CustomException(ImageAssetErrorCode.THUMBNAIL_UPLOAD_FAILED);
-        }
+        thumbnailUploads.put(thumbKey, s3Uploader.putBytes(thumbKey, "image/webp", thumbnail));
 
         thumbs.add(new ThumbnailDto(page, slideS3Helper.buildUrl(thumbKey, false)));
 
@@ -112,10 +107,16 @@ public class DeckAssetService {
         }
 
         page++;
-      } catch (IOException e) {
-        log.error("[오류] 페이지 업로드 중 IO 예외: page={}, 이유={}", page, e.getMessage(), e);
-        throw new CustomException(ImageAssetErrorCode.UNKNOWN_ERROR);
       }
+
+      awaitUploads(bucket, originalUploads, "원본", ImageAssetErrorCode.ORIGINAL_UPLOAD_FAILED);
+      awaitUploads(bucket, thumbnailUploads, "썸네일", ImageAssetErrorCode.THUMBNAIL_UPLOAD_FAILED);
+    } catch (IOException e) {
+      log.error("[오류] 페이지 업로드 중 IO 예외: page={}, 이유={}", page, e.getMessage(), e);
+      throw new CustomException(ImageAssetErrorCode.UNKNOWN_ERROR);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new CustomException(ImageAssetErrorCode.UNKNOWN_ERROR);
     }
 
     if (!thumbs.isEmpty()) {
@@ -126,24 +127,66 @@ public class DeckAssetService {
     return new UploadPagesResponse(deckId, files.size(), firstPageOriginalUrl, thumbs);
   }
 
+  private void awaitUploads(String bucket, Map<String, CompletableFuture<Void>> uploads, String label,
+                            ImageAssetErrorCode failure) throws InterruptedException {
+    for (Map.Entry<String, CompletableFuture<Void>> upload : uploads.entrySet()) {
+      try {
+        AsyncS3Uploader.await(upload.getValue());
+        log.info("[S3] {} 업로드 완료 → s3://{}/{}", label, bucket, upload.getKey());
+      } catch (RuntimeException e) {
+        log.error("[오류] {} 업로드 실패: key={}, 이유={}", label, upload.getKey(), e.getMessage(), e);
+        throw new CustomException(failure);
+      }
+    }
+  }
+
   public SlidesMetaResponse getThumbnails(String roomId, String deckId, int totalPages) {
     if (totalPages <= 0) {
       throw new CustomException(ImageAssetErrorCode.INVALID_PAGE_NUMBER);
     }
 
+    // 렌더링이 끝난 페이지는 manifest 에 있으므로 Redis 한 번으로 목록을 만듭니다.
+    SlideManifest.Snapshot manifest = slideManifest.read(roomId, deckId);
+    if (manifest.exists()) {
+      List<SlideManifest.Entry> pages = manifest.pages().stream()
+          .filter(entry -> entry.page() <= totalPages)
+          .toList();
+      List<String> keys = pages.stream()
+          .map(entry -> slideS3Helper.buildKey(roomId, deckId, entry.page(), true, "webp"))
+          .toList();
+      // 덱 전체 썸네일 URL 을 한 번에 발급 (presigned 면 캐시된 서명 재사용)
+      Map<String, String> urls = slideS3Helper.buildUrls(keys, false);
+      List<ThumbnailDto> list = new ArrayList<>(pages.size());
+      for (int i = 0; i < pages.size(); i++) {
+        SlideManifest.Entry entry = pages.get(i);
+        String key = keys.get(i);
+        String url = localAssetCache.contains(key)
+            ? localAssetUrl(roomId, deckId, "thumbs", entry.page(), "webp")
+            : urls.get(key);
+        list.add(new ThumbnailDto(entry.page(), url, entry.width(), entry.height()));
+      }
+      log.info("[manifest] 총 {}개의 썸네일 메타 URL 생성 완료 (요청 totalPages={}, version={})",
+          list.size(), totalPages, manifest.version());
+      return new SlidesMetaResponse(roomId, deckId, totalPages, list, manifest.version());
+    }
+
+    // manifest 가 없는 덱(과거 uploadPages 방식, Redis 장애)은 페이지마다 HEAD 로 확인
     String bucket = props.getS3().getBucket();
     List<ThumbnailDto> list = new ArrayList<>(totalPages);
     for (int p = 1; p <= totalPages; p++) {
       String key = slideS3Helper.buildKey(roomId, deckId, p, true, "webp");
-      if (objectExists(bucket, key)) {
+      if (localAssetCache.contains(key)) {
+        list.add(new ThumbnailDto(p, localAssetUrl(roomId, deckId, "thumbs", p, "webp")));
+      } else if (objectExists(bucket, key)) {
         list.add(new ThumbnailDto(p, slideS3Helper.buildUrl(key, false)));
       }
     }
     log.info("[S3] 총 {}개의 썸네일 메타 URL 생성 완료 (요청 totalPages={})", list.size(), totalPages);
-    return new SlidesMetaResponse(roomId, deckId, totalPages, list);
+    return new SlidesMetaResponse(roomId, deckId, totalPages, list, 0);
   }
 
-  private OriginalUrlResponse getOriginalInternal(String roomId, String deckId, int page, String extHint) {
+  private OriginalUrlResponse getOriginalInternal(
+      String roomId, String deckId, int page, String extHint, Integer width) {
     if (page <= 0) {
       throw new CustomException(ImageAssetErrorCode.INVALID_PAGE_NUMBER);
     }
@@ -154,12 +197,105 @@ public class DeckAssetService {
     }
 
     String key = slideS3Helper.buildKey(roomId, deckId, page, false, ext);
+
+    // 이 노드가 렌더링해 디스크에 가지고 있는 슬라이드는 S3 를 거치지 않고 서버가 바로 응답
+    if (localAssetCache.contains(key)) {
+      Integer responsiveWidth = "webp".equals(ext) ? pickResponsiveWidth(width) : null;
+      if (responsiveWidth != null) {
+        String folder = "w" + responsiveWidth;
+        if (localAssetCache.contains(slideS3Helper.buildVariantKey(roomId, deckId, page, folder, ext))) {
+          return new OriginalUrlResponse(roomId, deckId, page, localAssetUrl(roomId, deckId, folder, page, ext));
+        }
+      }
+      return new OriginalUrlResponse(roomId, deckId, page, localAssetUrl(roomId, deckId, "pages", page, ext));
+    }
+
+    // 서버 렌더링 덱(webp)은 manifest 로 존재 여부와 반응형 너비를 확인 (S3 HEAD 없음)
+    if ("webp".equals(ext)) {
+      SlideManifest.PageLookup lookup = slideManifest.page(roomId, deckId, page);
+      if (lookup.known()) {
+        if (lookup.entry() == null) {
+          requestRender(roomId, deckId, page);
+          throw new CustomException(ImageAssetErrorCode.OBJECT_NOT_FOUND);
+        }
+        Integer responsiveWidth = pickResponsiveWidth(width);
+        if (responsiveWidth != null && lookup.entry().widths().contains(responsiveWidth)) {
+          String widthKey = slideS3Helper.buildVariantKey(roomId, deckId, page, "w" + responsiveWidth, ext);
+          return new OriginalUrlResponse(roomId, deckId, page, slideS3Helper.buildUrl(widthKey, true));
+        }
+        return new OriginalUrlResponse(roomId, deckId, page, slideS3Helper.buildUrl(key, true));
+      }
+    }
+
     if (!objectExists(props.getS3().getBucket(), key)) {
+      // 아직 렌더링되지 않은 슬라이드 → 렌더링 대기열 앞쪽으로 승격 요청 후 404 (프론트가 재시도)
+      requestRender(roomId, deckId, page);
       throw new CustomException(ImageAssetErrorCode.OBJECT_NOT_FOUND);
     }
+
+    Integer responsiveWidth = "webp".equals(ext) ? pickResponsiveWidth(width) : null;
+    if (responsiveWidth != null) {
+      String widthKey = slideS3Helper.buildVariantKey(roomId, deckId, page, "w" + responsiveWidth, ext);
+      if (objectExists(props.getS3().getBucket(), widthKey)) {
+        return new OriginalUrlResponse(roomId, deckId, page, slideS3Helper.buildUrl(widthKey, true));
+      }
+    }
     return new OriginalUrlResponse(roomId, deckId, page, slideS3Helper.buildUrl(key, true));
   }
 
+  /**
+   * 로컬 디스크 캐시의 슬라이드 파일을 응답합니다. (DeckAssetController GET .../assets/{folder}/{page}.{ext})
+   * 이 노드의 캐시에 없으면(다른 노드가 렌더링했거나 LRU 로 지워짐) S3 URL 로 리다이렉트합니다.
+   */
+  public void writeLocalAsset(String roomId, String deckId, String folder, int page, String ext,
+                              HttpServletResponse response) throws IOException {
+    String key = slideS3Helper.buildVariantKey(roomId, deckId, page, folder, ext);
+    ByteBuffer buffer = localAssetCache.read(key).orElse(null);
+    if (buffer == null) {
+      response.sendRedirect(slideS3Helper.buildUrl(key, true));
+      return;
+    }
+    response.setContentType(contentTypeOf(ext));
+    response.setContentLengthLong(buffer.remaining());
+    response.setHeader(HttpHeaders.CACHE_CONTROL, "max-age=" + props.getS3().getPresignSeconds());
+    WritableByteChannel channel = Channels.newChannel(response.getOutputStream());
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+  }
+
+  private String localAssetUrl(String roomId, String deckId, String folder, int page, String ext) {
+    String base = props.getAssetCache().getPublicBaseUrl();
+    if (base == null || base.isBlank()) {
+      base = ServletUriComponentsBuilder.fromCurrentContextPath().toUriString();
+    }
+    return "%s/api/presentations/%s/%s/assets/%s/%04d.%s".formatted(
+        base.replaceAll("/+$", ""), roomId, deckId, folder, page, ext);
+  }
+
+  private String contentTypeOf(String ext) {
+    return switch (ext) {
+      case "webp" -> "image/webp";
+      case "jpg", "jpeg" -> "image/jpeg";
+      default -> "image/png";
+    };
+  }
+
+  // 아직 없는 페이지: 렌더링 중이면 순서를 앞당기고, 지연 렌더링으로 미뤄 둔 덱이면 나머지 렌더링을 시작
+  private void requestRender(String roomId, String deckId, int page) {
+    renderPriorityHints.requestPage(roomId, deckId, page);
+    lazyRenderService.resumeDeck(roomId, deckId);
+  }
+
+  // 요청 너비 이상인 가장 작은 반응형 너비. 없으면 null → 원본
+  private Integer pickResponsiveWidth(Integer requested) {
+    if (requested == null || requested <= 0) return null;
+    return props.getPdf().getResponsiveWidths().stream()
+        .filter(w -> w >= requested)
+        .min(Integer::compare)
+        .orElse(null);
+  }
+
   private boolean objectExists(String bucket, String key) {
     try {
       s3.headObject(HeadObjectRequest.builder().bucket(bucket).key(key).build());
@@ -0,0 +1,192 @@
+package line4thon.boini.presenter.image.service;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+import net.coobird.thumbnailator.Thumbnails;
+import org.springframework.stereotype.Component;
+
+/**
+ * 이미지 한 장을 여러 크기(원본/반응형 너비/썸네일)의 WebP 로 한 번에 인코딩합니다.
+ *
+ * 기존에는 같은 이미지를 크기마다 Thumbnailator 에 따로 넘기거나(PdfParseService),
+ * 업로드 파일을 크기마다 다시 디코딩했습니다(DeckAssetService.uploadPages).
+ * 이 인코더는
+ *   - 원본을 한 번만 디코딩하고,
+ *   - 큰 variant 부터 인코딩하면서 다음 variant 는 직전에 줄인 이미지에서 다시 줄이고 (원본 전체를 매번 리샘플링하지 않음)
+ *   - 원본 크기 variant 는 리샘플링 없이 그대로 인코딩합니다.
+ *
+ * 출력 버퍼와 WebP ImageWriter 는 이 빈(싱글톤)의 작은 풀(MAX_POOLED 개)에 두고 빌려 쓰므로
+ * 페이지마다 버퍼가 32바이트부터 여러 번 늘어나며 복사되는 비용과 GC 부담이 줄어듭니다.
+ * 스레드에 묶지 않는 이유: PageRenderPipeline 의 pdf-encode-* 스레드는 덱마다 새로 만들고 끝나면 버리므로,
+ * 스레드별로 두면 덱이 끝날 때마다 버퍼도 함께 버려집니다. 풀은 페이지와 덱, 업로드 요청 스레드 사이에서 공유됩니다.
+ * 버퍼는 실제 할당 크기(capacity)가 MAX_RETAINED_BUFFER_BYTES 를 넘으면 풀에 돌려놓지 않습니다.
+ * 결과 byte[] 는 업로드가 비동기로 진행되므로 정확한 크기로 복사해 반환합니다.
+ *
+ * 연결: PdfParseService.DeckStages.encode(), DeckAssetService.uploadPages()
+ */
+@Component
+public class ImageVariantEncoder {
+
+    private static final String FORMAT = "webp";
+    private static final int MAX_RETAINED_BUFFER_BYTES = 8 * 1024 * 1024; // 할당 크기가 이보다 커진 버퍼는 풀에 남기지 않음
+    private static final int MAX_POOLED = 8; // 노드의 동시 인코딩 스레드 수 정도 (넘치는 버퍼/writer 는 버림)
+    private static final int INITIAL_BUFFER_BYTES = 256 * 1024;
+
+    /**
+     * 인코딩할 크기 하나. 비율은 항상 유지합니다.
+     *
+     * @param name      결과 Map 의 키
+     * @param maxWidth  최대 너비 px (0 이면 제한 없음)
+     * @param maxHeight 최대 높이 px (0 이면 제한 없음)
+     * @param quality   WebP 압축 품질 (0.0~1.0)
+     */
+    public record Variant(String name, int maxWidth, int maxHeight, float quality) {
+
+        /** 원본 크기 그대로 */
+        public static Variant original(String name, float quality) {
+            return new Variant(name, 0, 0, quality);
+        }
+
+        /** 가로/세로 모두 size 이하 (썸네일) */
+        public static Variant bounded(String name, int size, float quality) {
+            return new Variant(name, size, size, quality);
+        }
+
+        /** 너비만 width 이하 (반응형 이미지) */
+        public static Variant width(String name, int width, float quality) {
+            return new Variant(name, width, 0, quality);
+        }
+
+        // 정렬용: 이 variant 가 허용하는 최대 면적 (제한 없음 = 가장 큼)
+        long area() {
+            long w = maxWidth == 0 ? Integer.MAX_VALUE : maxWidth;
+            long h = maxHeight == 0 ? Integer.MAX_VALUE : maxHeight;
+            return w * h;
+        }
+    }
+
+    private final BlockingQueue<ReusableBuffer> buffers = new ArrayBlockingQueue<>(MAX_POOLED);
+    private final BlockingQueue<ImageWriter> writers = new ArrayBlockingQueue<>(MAX_POOLED);
+
+    /** 할당 크기를 알 수 있는 ByteArrayOutputStream (size() 는 내용 길이일 뿐이라 따로 둠) */
+    static final class ReusableBuffer extends ByteArrayOutputStream {
+        ReusableBuffer(int initialCapacity) {
+            super(initialCapacity);
+        }
+
+        int capacity() {
+            return buf.length;
+        }
+    }
+
+    /** 인코딩된 이미지 파일(PNG/JPEG/WebP 등)을 한 번만 디코딩해서 모든 variant 를 만듭니다. */
+    public Map<String, byte[]> decodeAndEncode(byte[] source, List<Variant> variants) throws IOException {
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(source));
+        if (image == null) {
+            throw new IOException("지원하지 않는 이미지 형식입니다.");
+        }
+        return encode(image, variants);
+    }
+
+    /**
+     * @return variant 이름 → WebP 바이트 (요청한 순서 유지)
+     */
+    public Map<String, byte[]> encode(BufferedImage image, List<Variant> variants) throws IOException {
+        Map<String, byte[]> encoded = new LinkedHashMap<>();
+        for (Variant variant : variants) {
+            encoded.put(variant.name(), null); // 요청 순서대로 결과를 돌려주기 위한 자리
+        }
+
+        // 큰 variant 부터: 다음 variant 는 직전 결과에서 줄임
+        List<Variant> largestFirst = variants.stream()
+            .sorted(Comparator.comparingLong(Variant::area).reversed())
+            .toList();
+        BufferedImage current = image;
+        for (Variant variant : largestFirst) {
+            current = downscale(current, variant);
+            encoded.put(variant.name(), write(current, variant.quality()));
+        }
+        return encoded;
+    }
+
+    private BufferedImage downscale(BufferedImage image, Variant variant) throws IOException {
+        double scale = 1.0;
+        if (variant.maxWidth() > 0) scale = Math.min(scale, (double) variant.maxWidth() / image.getWidth());
+        if (variant.maxHeight() > 0) scale = Math.min(scale, (double) variant.maxHeight() / image.getHeight());
+        if (scale >= 1.0) {
+            return image;
+        }
+        int width = Math.max(1, (int) Math.round(image.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(image.getHeight() * scale));
+        return Thumbnails.of(image).forceSize(width, height).asBufferedImage();
+    }
+
+    private byte[] write(BufferedImage image, float quality) throws IOException {
+        ReusableBuffer buffer = buffers.poll();
+        if (buffer == null) buffer = new ReusableBuffer(INITIAL_BUFFER_BYTES);
+        ImageWriter writer = writers.poll();
+        if (writer == null) writer = newWebpWriter();
+
+        boolean writerReusable = false;
+        try {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            String lossy = lossyCompressionType(param);
+            if (lossy != null) param.setCompressionType(lossy);
+            param.setCompressionQuality(quality);
+            try (ImageOutputStream out = new MemoryCacheImageOutputStream(buffer)) {
+                writer.setOutput(out);
+                writer.write(null, new IIOImage(image, null, null), param);
+            }
+            writer.reset();
+            writerReusable = true;
+            return buffer.toByteArray();
+        } finally {
+            // 실패한 writer 는 상태를 알 수 없으므로 버립니다.
+            if (!writerReusable || !writers.offer(writer)) {
+                writer.dispose();
+            }
+            if (buffer.capacity() <= MAX_RETAINED_BUFFER_BYTES) {
+                buffer.reset();
+                buffers.offer(buffer);
+            }
+        }
+    }
+
+    /** 풀에 남아 있는 버퍼 수 (테스트용) */
+    int pooledBuffers() {
+        return buffers.size();
+    }
+
+    private static String lossyCompressionType(ImageWriteParam param) {
+        String[] types = param.getCompressionTypes();
+        if (types == null || types.length == 0) return null;
+        for (String type : types) {
+            if (type.toLowerCase().contains("lossy")) return type;
+        }
+        return types[0];
+    }
+
+    private static ImageWriter newWebpWriter() {
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName(FORMAT);
+        if (!writers.hasNext()) {
+            throw new IllegalStateException("WebP ImageWriter 를 찾을 수 없습니다. (webp-imageio 확인)");
+        }
+        return writers.next();
+    }
+}
@@ -0,0 +1,268 @@
+package line4thon.boini.presenter.image.service;
+
+import jakarta.annotation.PostConstruct;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import line4thon.boini.global.config.AppProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * 노드 로컬 디스크 캐시: 렌더링한 슬라이드 WebP 와 다운로드용 source.pdf 를 S3 키 그대로 디스크에 보관합니다.
+ *
+ * 로컬/온프레미스 배포에서는 슬라이드 조회마다 S3 HEAD 와 presigned URL 왕복이 붙는 것이 병목이라
+ * PdfParseService 가 S3 업로드가 끝난 페이지의 바이트를 여기에 기록하고, 캐시에 있는 파일은
+ * DeckAssetController / PdfDownloadService 가 S3 를 거치지 않고 디스크에서 바로 응답합니다.
+ *
+ * - 경로: {app.asset-cache.dir}/{S3 키}  (임시 파일에 쓴 뒤 rename 하므로 읽는 쪽은 완성된 파일만 봄)
+ * - 크기 상한: app.asset-cache.max-bytes. 넘으면 가장 오래 안 읽힌 파일부터 지웁니다. (LRU)
+ * - 읽기: 요청마다 파일을 memory-map 해 넘깁니다. (자주 읽히는 슬라이드는 page cache 에서 바로 전송)
+ *   매핑은 항목에 들고 있지 않으므로, LRU 로 지운 파일의 매핑은 응답이 끝나 버퍼가 회수되면 함께 풀립니다.
+ * - 재시작: 디렉토리를 훑어 마지막 수정 시각 순으로 LRU 를 다시 만듭니다.
+ *
+ * 캐시는 노드마다 따로이므로 없는 키는 항상 S3 로 대체합니다. (다른 노드가 렌더링한 덱 등)
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LocalAssetCache {
+
+    private static final String TEMP_SUFFIX = ".part";
+
+    private final AppProperties props;
+
+    // S3 키 → 캐시 파일 (접근 순서: 맨 앞이 가장 오래 안 읽힌 항목). 모든 접근은 this 로 동기화
+    private final LinkedHashMap<String, CachedFile> files = new LinkedHashMap<>(256, 0.75f, true);
+    private long totalBytes;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    private record CachedFile(Path path, long size) {}
+
+    @PostConstruct
+    void loadExisting() {
+        if (!isEnabled()) return;
+        Path root = root();
+        try {
+            Files.createDirectories(root);
+            List<Path> existing;
+            try (Stream<Path> walk = Files.walk(root)) {
+                existing = walk.filter(Files::isRegularFile).toList();
+            }
+            List<Path> ordered = new ArrayList<>();
+            for (Path path : existing) {
+                if (path.getFileName().toString().endsWith(TEMP_SUFFIX)) {
+                    Files.deleteIfExists(path); // 쓰다가 종료된 파일
+                } else {
+                    ordered.add(path);
+                }
+            }
+            ordered.sort(Comparator.comparing(LocalAssetCache::lastModified));
+            synchronized (this) {
+                for (Path path : ordered) {
+                    String key = root.relativize(path).toString().replace('\\', '/');
+                    long size = Files.size(path);
+                    files.put(key, new CachedFile(path, size));
+                    totalBytes += size;
+                }
+            }
+            deleteFiles(evictOverflow());
+            log.info("[asset-cache] 기존 파일 {}개 로드: {} bytes, dir={}", files.size(), totalBytes, root);
+        } catch (IOException e) {
+            log.warn("[asset-cache] 기존 파일 로드 실패: dir={}, 이유={}", root, e.getMessage());
+        }
+    }
+
+    public boolean isEnabled() {
+        return props.getAssetCache().isEnabled();
+    }
+
+    /** 렌더링 결과를 기록합니다. 실패해도 S3 업로드에는 영향이 없으므로 로그만 남깁니다. */
+    public void put(String key, byte[] bytes) {
+        if (!isEnabled()) return;
+        store(key, bytes.length, temp -> Files.write(temp, bytes));
+    }
+
+    /** 로컬 파일(source.pdf 등)을 복사해 기록합니다. */
+    public void putFile(String key, Path source) {
+        if (!isEnabled()) return;
+        try {
+            long size = Files.size(source);
+            store(key, size, temp -> Files.copy(source, temp, StandardCopyOption.REPLACE_EXISTING));
+        } catch (IOException e) {
+            log.warn("[asset-cache] 기록 실패: key={}, 이유={}", key, e.getMessage());
+        }
+    }
+
+    public boolean contains(String key) {
+        if (!isEnabled()) return false;
+        synchronized (this) {
+            return files.containsKey(key);
+        }
+    }
+
+    /**
+     * 캐시된 파일의 읽기 전용 버퍼. 없으면 empty (호출자가 S3 로 대체)
+     * 반환된 버퍼는 호출자 전용이므로 position 을 옮겨도 됩니다.
+     */
+    public Optional<ByteBuffer> read(String key) {
+        if (!isEnabled()) return Optional.empty();
+        CachedFile file;
+        synchronized (this) {
+            file = files.get(key);
+        }
+        if (file == null) {
+            misses.incrementAndGet();
+            return Optional.empty();
+        }
+        try {
+            hits.incrementAndGet();
+            return Optional.of(map(file));
+        } catch (IOException e) {
+            // 밖에서 지워진 파일: 목록에서 빼고 S3 로 대체
+            log.warn("[asset-cache] 읽기 실패, 항목 제거: key={}, 이유={}", key, e.getMessage());
+            remove(key);
+            return Optional.empty();
+        }
+    }
+
+    public synchronized long sizeBytes() {
+        return totalBytes;
+    }
+
+    public long hitCount() {
+        return hits.get();
+    }
+
+    public long missCount() {
+        return misses.get();
+    }
+
+    private interface Writer {
+        void write(Path temp) throws IOException;
+    }
+
+    private void store(String key, long size, Writer writer) {
+        long maxBytes = props.getAssetCache().getMaxBytes();
+        if (size > maxBytes) return; // 혼자서 상한을 넘는 파일은 보관하지 않음
+
+        Path target;
+        try {
+            target = resolve(key);
+        } catch (IllegalArgumentException e) {
+            log.warn("[asset-cache] 잘못된 키 무시: key={}", key);
+            return;
+        }
+        Path temp = target.resolveSibling(target.getFileName() + "." + Thread.currentThread().getId() + TEMP_SUFFIX);
+        try {
+            Files.createDirectories(target.getParent());
+            writer.write(temp);
+            moveIntoPlace(temp, target);
+        } catch (IOException e) {
+            log.warn("[asset-cache] 기록 실패: key={}, 이유={}", key, e.getMessage());
+            try { Files.deleteIfExists(temp); } catch (IOException ignored) {}
+            return;
+        }
+
+        List<Path> evicted;
+        synchronized (this) {
+            CachedFile previous = files.put(key, new CachedFile(target, size));
+            if (previous != null) totalBytes -= previous.size;
+            totalBytes += size;
+            evicted = evictOverflow();
+        }
+        deleteFiles(evicted);
+    }
+
+    // 상한을 넘는 만큼 가장 오래 안 읽힌 항목을 목록에서 빼고 지울 파일을 반환 (파일 삭제는 락 밖에서)
+    private synchronized List<Path> evictOverflow() {
+        long maxBytes = props.getAssetCache().getMaxBytes();
+        List<Path> evicted = new ArrayList<>();
+        Iterator<Map.Entry<String, CachedFile>> it = files.entrySet().iterator();
+        while (totalBytes > maxBytes && it.hasNext()) {
+            CachedFile file = it.next().getValue();
+            it.remove();
+            totalBytes -= file.size;
+            evicted.add(file.path);
+        }
+        return evicted;
+    }
+
+    private void remove(String key) {
+        CachedFile removed;
+        synchronized (this) {
+            removed = files.remove(key);
+            if (removed != null) totalBytes -= removed.size;
+        }
+        if (removed != null) deleteFiles(List.of(removed.path));
+    }
+
+    // 응답 중인 버퍼가 있는 파일을 지워도 Linux 에서는 매핑이 풀릴 때까지 읽을 수 있음
+    private void deleteFiles(List<Path> paths) {
+        for (Path path : paths) {
+            try {
+                Files.deleteIfExists(path);
+                log.debug("[asset-cache] LRU 제거: {}", path);
+            } catch (IOException e) {
+                log.warn("[asset-cache] 파일 삭제 실패: {}, 이유={}", path, e.getMessage());
+            }
+        }
+    }
+
+    // 항목에 매핑을 캐시하면 LRU 로 빠진 뒤에도 매핑이 남아 디스크/주소 공간이 상한 밖에서 쌓이므로 읽을 때마다 매핑
+    private static MappedByteBuffer map(CachedFile file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.path(), StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, file.size());
+        }
+    }
+
+    private static void moveIntoPlace(Path temp, Path target) throws IOException {
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    // S3 키를 캐시 디렉토리 아래 경로로. 디렉토리 밖을 가리키는 키는 거부
+    private Path resolve(String key) {
+        Path root = root();
+        Path path = root.resolve(key).normalize();
+        if (!path.startsWith(root) || path.equals(root)) {
+            throw new IllegalArgumentException("cache key outside root: " + key);
+        }
+        return path;
+    }
+
+    private Path root() {
+        return Paths.get(props.getAssetCache().getDir()).toAbsolutePath().normalize();
+    }
+
+    private static FileTime lastModified(Path path) {
+        try {
+            return Files.getLastModifiedTime(path);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+}
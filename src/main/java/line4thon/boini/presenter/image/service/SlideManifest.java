@@ -0,0 +1,171 @@
+package line4thon.boini.presenter.image.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+/**
+ * 덱별 슬라이드 manifest: 렌더링이 끝난 페이지 목록을 Redis 에 페이지 단위로 쌓아 둡니다.
+ *
+ * 기존에는 /meta 요청마다 페이지 수만큼 S3 HEAD 를 보내 어떤 썸네일이 있는지 확인했고(N번 왕복),
+ * 원본 URL 요청도 매번 HEAD 로 존재 여부를 확인했습니다.
+ * 이제 PdfParseService 가 페이지 업로드(또는 렌더 캐시 재사용)가 끝날 때마다 record() 로 기록하고,
+ * DeckAssetService 는 Redis 한 번(HGETALL/HGET)으로 읽습니다. S3 키는 SlideS3Helper 규칙으로 다시 만들 수 있으므로
+ * manifest 에는 키 대신 크기/지문/반응형 너비만 저장합니다.
+ *
+ * 기록할 때마다 version 이 1씩 오르고, slideReady 브로드캐스트에 같은 version 을 실어 보냅니다.
+ * 늦게 들어온 청중은 /meta 의 manifestVersion 이후의 slideReady 만 반영하면 됩니다.
+ *
+ * Redis 키:
+ *   - deck:{roomId}:{deckId}:manifest  (Hash) {page} → "{width}|{height}|{hash}|{w1,w2}", _v → version
+ *     TTL: 방과 같은 24시간 (기록할 때마다 연장)
+ *
+ * 네이티브 렌더링 이전 방식(uploadPages)으로 올린 덱은 manifest 가 없으므로 DeckAssetService 가 HEAD 로 대체합니다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SlideManifest {
+
+    private static final String KEY = "deck:%s:%s:manifest";
+    private static final String VERSION_FIELD = "_v";
+    private static final String NO_HASH = "-";
+    private static final Duration TTL = Duration.ofHours(24);
+
+    // HSET + HINCRBY + EXPIRE 를 한 번에: 페이지 기록과 version 증가 사이에 다른 기록이 끼지 않도록 Lua 로 묶습니다.
+    private static final RedisScript<Long> RECORD_SCRIPT = new DefaultRedisScript<>(
+        "redis.call('HSET', KEYS[1], ARGV[1], ARGV[2]) "
+            + "local v = redis.call('HINCRBY', KEYS[1], '" + VERSION_FIELD + "', 1) "
+            + "redis.call('EXPIRE', KEYS[1], ARGV[3]) "
+            + "return v",
+        Long.class);
+
+    private final StringRedisTemplate redis;
+
+    /**
+     * 렌더링이 끝난 페이지 하나.
+     *
+     * @param page   1-based 페이지 번호
+     * @param hash   페이지 지문 (렌더 캐시를 끈 경우 null)
+     * @param widths 업로드된 반응형 너비 (오름차순)
+     */
+    public record Entry(int page, int width, int height, String hash, List<Integer> widths) {
+
+        String encode() {
+            String widthList = widths.stream().map(String::valueOf).collect(Collectors.joining(","));
+            return width + "|" + height + "|" + (hash == null ? NO_HASH : hash) + "|" + widthList;
+        }
+
+        static Entry decode(int page, String value) {
+            String[] parts = value.split("\\|", -1);
+            String hash = NO_HASH.equals(parts[2]) ? null : parts[2];
+            List<Integer> widths = parts[3].isEmpty()
+                ? List.of()
+                : Arrays.stream(parts[3].split(",")).map(Integer::valueOf).toList();
+            return new Entry(page, Integer.parseInt(parts[0]), Integer.parseInt(parts[1]), hash, widths);
+        }
+    }
+
+    /**
+     * @param version 0 이면 manifest 없음 (기록된 페이지 없음)
+     * @param pages   페이지 번호 오름차순
+     */
+    public record Snapshot(long version, List<Entry> pages) {
+        public static final Snapshot EMPTY = new Snapshot(0, List.of());
+
+        public boolean exists() {
+            return version > 0;
+        }
+    }
+
+    /**
+     * 페이지를 기록하고 새 version 을 반환합니다.
+     * 기록 실패는 렌더링 결과에 영향이 없으므로 로그만 남기고 -1 을 반환합니다. (조회 측은 HEAD 로 대체)
+     */
+    public long record(String roomId, String deckId, Entry entry) {
+        try {
+            Long version = redis.execute(RECORD_SCRIPT, List.of(key(roomId, deckId)),
+                String.valueOf(entry.page()), entry.encode(), String.valueOf(TTL.toSeconds()));
+            return version == null ? -1 : version;
+        } catch (RuntimeException e) {
+            log.warn("[manifest] 기록 실패: roomId={}, deckId={}, page={}, 이유={}", roomId, deckId, entry.page(), e.getMessage());
+            return -1;
+        }
+    }
+
+    /** 덱을 다시 렌더링하기 전에 이전 기록을 지웁니다. (페이지 수가 줄어든 재업로드 대비) */
+    public void clear(String roomId, String deckId) {
+        try {
+            redis.delete(key(roomId, deckId));
+        } catch (RuntimeException e) {
+            log.warn("[manifest] 초기화 실패: roomId={}, deckId={}, 이유={}", roomId, deckId, e.getMessage());
+        }
+    }
+
+    /** manifest 전체. Redis 조회에 실패하면 EMPTY (호출자가 HEAD 로 대체) */
+    public Snapshot read(String roomId, String deckId) {
+        Map<Object, Object> fields;
+        try {
+            fields = redis.opsForHash().entries(key(roomId, deckId));
+        } catch (RuntimeException e) {
+            log.warn("[manifest] 조회 실패: roomId={}, deckId={}, 이유={}", roomId, deckId, e.getMessage());
+            return Snapshot.EMPTY;
+        }
+        if (fields == null || fields.isEmpty()) return Snapshot.EMPTY;
+
+        long version = 0;
+        List<Entry> pages = new ArrayList<>(fields.size());
+        for (Map.Entry<Object, Object> field : fields.entrySet()) {
+            String name = (String) field.getKey();
+            if (VERSION_FIELD.equals(name)) {
+                version = Long.parseLong((String) field.getValue());
+                continue;
+            }
+            try {
+                pages.add(Entry.decode(Integer.parseInt(name), (String) field.getValue()));
+            } catch (RuntimeException e) {
+                log.warn("[manifest] 잘못된 항목 무시: roomId={}, deckId={}, field={}", roomId, deckId, name);
+            }
+        }
+        pages.sort(Comparator.comparingInt(Entry::page));
+        return new Snapshot(version, pages);
+    }
+
+    /**
+     * 페이지 하나의 조회 결과.
+     *
+     * @param known manifest 가 있으면 true. false 면 알 수 없음 (조회 실패 또는 기록 전) → 호출자가 HEAD 로 대체
+     * @param entry 렌더링된 페이지 기록. known=true 인데 null 이면 아직 렌더링되지 않은 페이지
+     */
+    public record PageLookup(boolean known, Entry entry) {
+        static final PageLookup UNKNOWN = new PageLookup(false, null);
+    }
+
+    /** 페이지 하나의 기록 (HMGET 한 번) */
+    public PageLookup page(String roomId, String deckId, int page) {
+        List<Object> values;
+        try {
+            values = redis.opsForHash().multiGet(key(roomId, deckId), List.of(VERSION_FIELD, String.valueOf(page)));
+        } catch (RuntimeException e) {
+            log.warn("[manifest] 조회 실패: roomId={}, deckId={}, page={}, 이유={}", roomId, deckId, page, e.getMessage());
+            return PageLookup.UNKNOWN;
+        }
+        if (values == null || values.get(0) == null) return PageLookup.UNKNOWN;
+        Object value = values.get(1);
+        return new PageLookup(true, value == null ? null : Entry.decode(page, (String) value));
+    }
+
+    private static String key(String roomId, String deckId) {
+        return String.format(KEY, roomId, deckId);
+    }
+}
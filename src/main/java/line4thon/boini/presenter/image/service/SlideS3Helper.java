@@ -4,8 +4,15 @@ import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import line4thon.boini.global.config.AppProperties;
 import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
 import software.amazon.awssdk.services.s3.presigner.S3Presigner;
@@ -17,8 +24,17 @@ import software.amazon.awssdk.services.s3.presigner.model.PresignedGetObjectRequ
  * 기존에 DeckAssetService 에만 있던 buildKey, normalizePrefix, buildPresignedUrl 등의
  * 메서드를 PdfParseService 에서도 동일하게 사용해야 해서 공통 컴포넌트로 추출했습니다.
  *
+ * Presigned URL 캐시:
+ *   CloudFront 가 없으면 URL 마다 HMAC 서명을 하는데, /meta 는 요청마다 모든 페이지를 서명하고
+ *   청중이 몰려 입장하면 같은 키를 수백 번 다시 서명합니다.
+ *   서명한 URL 을 S3 키별로 보관하고 app.s3.presign-seconds × app.s3.presign-refresh-ratio(기본 80%)가
+ *   지나기 전까지는 그대로 돌려줍니다. 남은 유효 시간이 최소 20% 이므로 받은 쪽이 바로 써도 만료되지 않습니다.
+ *   buildUrls() 는 캐시에 없거나 갱신 시점이 지난 키만 같은 시각 기준으로 서명합니다. (키마다 따로 갱신되며 덱 단위로 묶어 갱신하지는 않음)
+ *   항목 수는 app.s3.presign-cache-max-entries 로 제한하고, 갱신 시점이 지난 항목은 주기적으로 지웁니다.
+ *   캐시가 가득 찼을 때의 정리는 가장 이른 갱신 시점이 지난 뒤에만 다시 훑습니다. (지울 항목이 없는데 요청마다 전체를 훑지 않도록)
+ *
  * 연결:
- *   - DeckAssetService: 기존 이미지 직접 업로드 방식에서 URL 생성 시 사용
+ *   - DeckAssetService: 기존 이미지 직접 업로드 방식에서 URL 생성 시 사용, /meta 는 buildUrls() 로 일괄 서명
  *   - PdfParseService:  청크 조립 후 PDF 파싱 방식에서 URL 생성 시 사용
  */
 @Component
@@ -28,6 +44,18 @@ public class SlideS3Helper {
     private final S3Presigner presigner;
     private final AppProperties props;
 
+    // S3 키 → 서명된 URL (갱신 시점까지 재사용)
+    private final Map<String, SignedUrl> signedUrls = new ConcurrentHashMap<>();
+    private final AtomicLong signCount = new AtomicLong();
+    // 남은 항목 중 가장 이른 갱신 시점 (이 전에는 정리해도 지울 항목이 없음)
+    private volatile long nextStaleAtMillis;
+
+    private record SignedUrl(String url, long refreshAtMillis) {
+        boolean isFresh(long now) {
+            return now < refreshAtMillis;
+        }
+    }
+
     /**
      * S3 오브젝트 키를 생성합니다.
      * 형식: {rootPrefix}/{roomId}/{deckId}/{pages or thumbs}/{0001}.{ext}
@@ -35,8 +63,15 @@ public class SlideS3Helper {
      * @param thumb true → thumbs 폴더 (썸네일), false → pages 폴더 (원본)
      */
     public String buildKey(String roomId, String deckId, int page, boolean thumb, String ext) {
+        return buildVariantKey(roomId, deckId, page, thumb ? "thumbs" : "pages", ext);
+    }
+
+    /**
+     * 원본/썸네일 외 크기(미리보기 등)의 S3 오브젝트 키를 생성합니다.
+     * 형식: {rootPrefix}/{roomId}/{deckId}/{folder}/{0001}.{ext}
+     */
+    public String buildVariantKey(String roomId, String deckId, int page, String folder, String ext) {
         String root = normalizePrefix(props.getS3().getRootPrefix());
-        String folder = thumb ? "thumbs" : "pages";
         String fileName = "%04d.%s".formatted(page, ext);
 
         return root.isEmpty()
@@ -44,6 +79,16 @@ public class SlideS3Helper {
             : "%s/%s/%s/%s/%s".formatted(root, roomId, deckId, folder, fileName);
     }
 
+    /**
+     * 다운로드용 PDF 의 S3 오브젝트 키. (PdfChunkService 가 업로드하는 키와 같은 형식)
+     * 형식: {rootPrefix}/{roomId}/{deckId}/source.pdf
+     */
+    public String buildSourceKey(String roomId, String deckId) {
+        String root = normalizePrefix(props.getS3().getRootPrefix());
+        String path = "%s/%s/source.pdf".formatted(roomId, deckId);
+        return root.isEmpty() ? path : root + "/" + path;
+    }
+
     /**
      * CloudFront 도메인 설정 여부에 따라 공개 URL 또는 Presigned URL 을 반환합니다.
      *
@@ -59,7 +104,78 @@ public class SlideS3Helper {
             return "https://%s/%s".formatted(cf.replaceAll("/+$", ""), urlEncodePath(key));
         }
         // AWS S3 Presigned URL (서명된 임시 URL, TTL: app.s3.presign-seconds)
-        return buildPresignedUrl(key);
+        return cachedPresignedUrl(key, System.currentTimeMillis());
+    }
+
+    /**
+     * 여러 키의 URL 을 한 번에 만듭니다. (덱 전체 썸네일 등)
+     * 캐시된 URL 은 그대로 쓰고, 서명이 필요한 키만 같은 시각 기준으로 서명합니다.
+     *
+     * @return 키 → URL (keys 순서 유지)
+     */
+    public Map<String, String> buildUrls(Collection<String> keys, boolean forcePresign) {
+        Map<String, String> urls = new LinkedHashMap<>();
+        long now = System.currentTimeMillis();
+        String cf = props.getS3().getCloudfrontDomain();
+        boolean useCloudfront = !forcePresign && cf != null && !cf.isBlank();
+        for (String key : keys) {
+            urls.put(key, useCloudfront ? buildUrl(key, false) : cachedPresignedUrl(key, now));
+        }
+        return urls;
+    }
+
+    /** 지금까지 실제로 서명한 횟수 (캐시 hit 제외) */
+    public long signCount() {
+        return signCount.get();
+    }
+
+    /** 갱신 시점이 지난 캐시 항목을 지웁니다. */
+    @Scheduled(fixedDelay = 60_000L)
+    public void evictStaleUrls() {
+        long now = System.currentTimeMillis();
+        long earliest = Long.MAX_VALUE;
+        for (Iterator<SignedUrl> it = signedUrls.values().iterator(); it.hasNext(); ) {
+            SignedUrl signed = it.next();
+            if (!signed.isFresh(now)) {
+                it.remove();
+            } else {
+                earliest = Math.min(earliest, signed.refreshAtMillis());
+            }
+        }
+        nextStaleAtMillis = earliest;
+    }
+
+    private String cachedPresignedUrl(String key, long now) {
+        if (!props.getS3().isPresignCacheEnabled()) {
+            return buildPresignedUrl(key);
+        }
+        SignedUrl cached = signedUrls.get(key);
+        if (cached != null && cached.isFresh(now)) {
+            return cached.url();
+        }
+        if (signedUrls.size() >= props.getS3().getPresignCacheMaxEntries()) {
+            if (now >= nextStaleAtMillis) {
+                evictStaleUrls();
+            }
+            if (signedUrls.size() >= props.getS3().getPresignCacheMaxEntries()) {
+                return buildPresignedUrl(key); // 가득 찼으면 캐시하지 않음
+            }
+        }
+        // 같은 키를 여러 스레드가 동시에 요청해도 한 번만 서명 (서명은 CPU 작업만 하므로 compute 안에서 실행)
+        long refreshAt = refreshAt(now);
+        String url = signedUrls.compute(key, (k, existing) ->
+            existing != null && existing.isFresh(now) ? existing : new SignedUrl(buildPresignedUrl(k), refreshAt)
+        ).url();
+        // 새 항목이 정리 기준 시점보다 먼저 낡을 수 있으면 기준을 앞당김 (정리 직후 캐시가 비어 있던 경우 등)
+        if (refreshAt < nextStaleAtMillis) {
+            nextStaleAtMillis = refreshAt;
+        }
+        return url;
+    }
+
+    private long refreshAt(long signedAtMillis) {
+        double ratio = Math.max(0, Math.min(1, props.getS3().getPresignRefreshRatio()));
+        return signedAtMillis + (long) (props.getS3().getPresignSeconds() * 1000 * ratio);
     }
 
     /**
@@ -68,6 +184,7 @@ public class SlideS3Helper {
      * http → https 강제 변환 처리 포함.
      */
     private String buildPresignedUrl(String key) {
+        signCount.incrementAndGet();
         GetObjectRequest get = GetObjectRequest.builder()
             .bucket(props.getS3().getBucket())
             .key(key)
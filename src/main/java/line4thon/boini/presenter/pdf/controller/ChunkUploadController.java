@@ -7,6 +7,7 @@ import line4thon.boini.global.common.response.BaseResponse;
 import line4thon.boini.presenter.pdf.dto.request.ChunkUploadRequest;
 import line4thon.boini.presenter.pdf.dto.request.FinalizeRequest;
 import line4thon.boini.presenter.pdf.dto.response.AssemblyCompleteResponse;
+import line4thon.boini.presenter.pdf.dto.response.ChunkManifestResponse;
 import line4thon.boini.presenter.pdf.dto.response.ChunkUploadResult;
 import line4thon.boini.presenter.pdf.dto.response.FontUploadResponse;
 import line4thon.boini.presenter.pdf.service.PdfChunkService;
@@ -14,6 +15,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -57,6 +59,8 @@ public class ChunkUploadController {
         description = """
         PDF 바이너리를 청크 단위로 분할하여 업로드합니다.
         - 청크 최대 크기: 2MB
+        - chunkChecksum(선택): 청크 본문의 SHA-256 hex. 불일치 시 400, 해당 청크만 다시 전송
+        - 이미 받은 청크를 다시 보내도 한 번만 집계됩니다 (duplicate=true)
         - 수신 중: HTTP 200, status=IN_PROGRESS
         - 마지막 청크 수신 및 조립 완료: HTTP 201, status=READY + pdfId + streamUrl
         """
@@ -78,6 +82,18 @@ public class ChunkUploadController {
         return ResponseEntity.ok(BaseResponse.success(result.progress()));
     }
 
+    /**
+     * 업로드 재개용 수신 현황을 조회합니다.
+     * 연결이 끊겼던 클라이언트는 missingChunks 의 청크만 다시 전송합니다.
+     * 조립 완료 직후(10분)에는 COMPLETED 와 pdfId/streamUrl 을 돌려주므로 201 응답을 놓쳤어도 다시 올릴 필요가 없습니다.
+     */
+    @GetMapping("/{uploadId}/manifest")
+    @Operation(summary = "청크 수신 현황", description = "업로드 재개를 위해 아직 수신되지 않은 청크 인덱스 목록을 반환합니다.")
+    public ResponseEntity<BaseResponse<?>> getManifest(@PathVariable String uploadId) {
+        ChunkManifestResponse manifest = pdfChunkService.getManifest(uploadId);
+        return ResponseEntity.ok(BaseResponse.success(manifest));
+    }
+
     @PostMapping(value = "/{uploadId}/fonts", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     @Operation(summary = "폰트 업로드", description = "AWAITING_FONTS 상태의 업로드 세션에 폰트 파일을 추가합니다.")
     public ResponseEntity<BaseResponse<?>> uploadFonts(
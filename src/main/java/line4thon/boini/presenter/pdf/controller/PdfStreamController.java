@@ -6,6 +6,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
@@ -39,7 +40,7 @@ public class PdfStreamController {
      *
      * SSE 이벤트 종류 (PdfSseRegistry.emit 참고):
      *   - page     : 페이지 하나 렌더링 완료 시
-     *   - complete : 전체 페이지 처리 완료 시
+     *   - complete : 전체 페이지 처리 완료 시 (status=DEFERRED 면 지연 렌더링: 나머지는 세션 시작 후 slideReady 로 전달)
      *   - error    : 특정 페이지 렌더링 실패 시
      */
     @GetMapping(value = "/{pdfId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
@@ -50,11 +51,15 @@ public class PdfStreamController {
         - 청크 업로드 완료(HTTP 201) 직후 구독하세요.
         - 이벤트 종류: page, complete, error
         - page 이벤트의 canStartSession=true → 세션 시작 가능 신호 (첫 10페이지 완료 시)
+        - complete 이벤트의 status=DEFERRED → 세션 시작 전이라 앞쪽 페이지만 렌더링됨. 나머지는 세션 시작 후 WebSocket slideReady 로 전달
+        - 모든 이벤트에 id 가 붙습니다. 재연결 시 Last-Event-ID 헤더를 보내면 그 이후 이벤트만 재전송됩니다.
         """
     )
-    public SseEmitter stream(@PathVariable String pdfId) {
-        // PdfParseService가 이미 일부 페이지를 처리했더라도
-        // PdfSseRegistry의 버퍼 기능으로 놓친 이벤트를 즉시 재전송받습니다.
-        return sseRegistry.register(pdfId);
+    public SseEmitter stream(
+        @PathVariable String pdfId,
+        @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        // PdfParseService가 이미 일부 페이지를 처리했거나 다른 노드에서 렌더링 중이더라도
+        // PdfSseRegistry의 이벤트 로그(Redis)로 놓친 이벤트를 즉시 재전송받습니다.
+        return sseRegistry.register(pdfId, lastEventId);
     }
 }
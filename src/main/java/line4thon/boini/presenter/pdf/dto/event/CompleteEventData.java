@@ -9,5 +9,10 @@ public class CompleteEventData {
 
     private String pdfId;
     private int totalPages;
+    // SSE 스트림이 끝난 이유
+    //   DONE     : totalPages 장 모두 렌더링됨
+    //   DEFERRED : 세션 시작 전이라 앞쪽 app.pdf.can-start-session-after-pages 장만 렌더링됨 (지연 렌더링)
+    //              나머지 페이지는 이 스트림으로 오지 않고 세션 시작/페이지 요청 후 WebSocket slideReady 로만 전달됨
+    //              → complete 를 "모든 페이지 준비됨" 으로 처리하면 안 됨
     private String status;
 }
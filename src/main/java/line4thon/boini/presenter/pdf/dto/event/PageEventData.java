@@ -1,6 +1,7 @@
 package line4thon.boini.presenter.pdf.dto.event;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.List;
 import lombok.Builder;
 import lombok.Getter;
 
@@ -16,5 +17,7 @@ public class PageEventData {
     private String format;
     private Integer width;
     private Integer height;
+    // 함께 올라간 반응형 너비(px). 프론트는 GET /api/presentations/.../pages/{page}?width= 로 맞는 크기를 요청
+    private List<Integer> responsiveWidths;
     private boolean canStartSession;
 }
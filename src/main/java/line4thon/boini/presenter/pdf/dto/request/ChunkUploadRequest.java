@@ -40,4 +40,7 @@ public class ChunkUploadRequest {
 
     @Positive
     private long fileSize;
+
+    // 선택: 청크 본문의 SHA-256 (hex). 보내면 서버가 검증하고, 불일치 시 수신 처리하지 않습니다.
+    private String chunkChecksum;
 }
@@ -0,0 +1,23 @@
+package line4thon.boini.presenter.pdf.dto.response;
+
+import java.util.List;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 업로드 재개용 수신 현황.
+ * 프론트는 연결이 끊긴 뒤 missingChunks 에 있는 청크만 다시 보내면 됩니다.
+ * COMPLETED 이면 이미 조립까지 끝난 세션이므로 pdfId/streamUrl 로 바로 SSE 를 구독하면 됩니다.
+ */
+@Getter
+@Builder
+public class ChunkManifestResponse {
+
+    private String uploadId;
+    private int totalChunks;
+    private long receivedChunks;
+    private List<Integer> missingChunks;
+    private String status; // IN_PROGRESS | AWAITING_FONTS | COMPLETED
+    private String pdfId;     // COMPLETED 일 때만
+    private String streamUrl; // COMPLETED 일 때만
+}
@@ -13,4 +13,5 @@ public class ChunkReceiveResponse {
     private int totalChunks;
     private long chunkSize;
     private String status;
+    private boolean duplicate; // 이미 수신된 청크를 다시 받은 경우 true (수신 수에 반영되지 않음)
 }
@@ -13,6 +13,8 @@ public enum PdfErrorCode implements BaseErrorCode {
     CHUNK_TOO_LARGE(HttpStatus.BAD_REQUEST, "P001", "청크 크기가 허용 범위(2MB)를 초과했습니다."),
     INVALID_CHUNK_INDEX(HttpStatus.BAD_REQUEST, "P002", "청크 인덱스가 유효하지 않습니다."),
     CHUNK_SAVE_FAILED(HttpStatus.INTERNAL_SERVER_ERROR, "P003", "청크 저장에 실패했습니다."),
+    CHUNK_CHECKSUM_MISMATCH(HttpStatus.BAD_REQUEST, "P004", "청크 체크섬이 일치하지 않습니다. 해당 청크를 다시 전송해 주세요."),
+    INVALID_CHUNK_SIZE(HttpStatus.BAD_REQUEST, "P005", "청크 크기나 파일 정보가 업로드 세션과 일치하지 않습니다."),
 
     // 조립
     ASSEMBLY_FAILED(HttpStatus.INTERNAL_SERVER_ERROR, "P011", "PDF 조립에 실패했습니다."),
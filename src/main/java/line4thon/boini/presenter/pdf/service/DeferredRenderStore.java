@@ -0,0 +1,105 @@
+package line4thon.boini.presenter.pdf.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+/**
+ * 지연 렌더링으로 나머지 페이지를 미뤄 둔 덱 목록. (Redis, 노드 공통)
+ *
+ * 세션 시작 전(waiting)에 올라온 덱은 앞쪽 canStartSessionAfterPages 장만 렌더링하고 여기에 남겨 둡니다.
+ * /session/start 나 아직 없는 페이지 요청이 오면 LazyRenderService 가 claim() 으로 꺼내 이어서 렌더링합니다.
+ * claim 은 읽기와 삭제를 한 번에 하므로 여러 노드에서 동시에 요청이 와도 한 곳만 렌더링합니다.
+ * 세션이 시작되지 않은 방은 TTL 이 지나면 그대로 사라집니다. (나머지 페이지는 끝내 렌더링하지 않음)
+ *
+ * Redis 키:
+ *   - pdf:render:{roomId}:{deckId}:deferred  (Hash) RenderJob 필드 (source.pdf 키, 총 페이지 수 등)
+ *   - pdf:render:{roomId}:deferred           (Set)  이 방에서 미뤄 둔 deckId 목록
+ *   TTL: 방과 같은 24시간
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DeferredRenderStore {
+
+    private static final Duration TTL = Duration.ofHours(24);
+
+    // HGETALL + DEL: 같은 덱을 두 노드가 동시에 이어서 렌더링하지 않도록 한 번에 꺼냄
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> CLAIM_SCRIPT = new DefaultRedisScript<>(
+        "local v = redis.call('HGETALL', KEYS[1]) "
+            + "redis.call('DEL', KEYS[1]) "
+            + "redis.call('SREM', KEYS[2], ARGV[1]) "
+            + "return v",
+        List.class);
+
+    private final StringRedisTemplate redis;
+
+    public void park(RenderJob job) {
+        String deckKey = deckKey(job.roomId(), job.deckId());
+        String roomKey = roomKey(job.roomId());
+        redis.opsForHash().putAll(deckKey, job.toFields());
+        redis.expire(deckKey, TTL);
+        redis.opsForSet().add(roomKey, job.deckId());
+        redis.expire(roomKey, TTL);
+    }
+
+    /** 미뤄 둔 덱을 꺼냅니다. 없거나 이미 다른 곳에서 꺼냈으면 empty */
+    public Optional<RenderJob> claim(String roomId, String deckId) {
+        List<?> values;
+        try {
+            values = redis.execute(CLAIM_SCRIPT, List.of(deckKey(roomId, deckId), roomKey(roomId)), deckId);
+        } catch (RuntimeException e) {
+            log.warn("[지연렌더] 조회 실패: roomId={}, deckId={}, 이유={}", roomId, deckId, e.getMessage());
+            return Optional.empty();
+        }
+        if (values == null || values.isEmpty()) return Optional.empty();
+
+        Map<Object, Object> fields = new HashMap<>();
+        for (int i = 0; i + 1 < values.size(); i += 2) {
+            fields.put(values.get(i), values.get(i + 1));
+        }
+        try {
+            return Optional.of(RenderJob.fromFields(fields));
+        } catch (RuntimeException e) {
+            log.error("[지연렌더] 잘못된 항목, 버림: roomId={}, deckId={}, fields={}", roomId, deckId, fields);
+            return Optional.empty();
+        }
+    }
+
+    /** 방에서 미뤄 둔 덱을 모두 꺼냅니다. (세션 시작) */
+    public List<RenderJob> claimRoom(String roomId) {
+        Set<String> deckIds;
+        try {
+            deckIds = redis.opsForSet().members(roomKey(roomId));
+        } catch (RuntimeException e) {
+            log.warn("[지연렌더] 방 조회 실패: roomId={}, 이유={}", roomId, e.getMessage());
+            return List.of();
+        }
+        if (deckIds == null || deckIds.isEmpty()) return List.of();
+
+        List<RenderJob> jobs = new ArrayList<>(deckIds.size());
+        for (String deckId : deckIds) {
+            claim(roomId, deckId).ifPresent(jobs::add);
+        }
+        return jobs;
+    }
+
+    private static String deckKey(String roomId, String deckId) {
+        return "pdf:render:" + roomId + ":" + deckId + ":deferred";
+    }
+
+    private static String roomKey(String roomId) {
+        return "pdf:render:" + roomId + ":deferred";
+    }
+}
@@ -0,0 +1,112 @@
+package line4thon.boini.presenter.pdf.service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import line4thon.boini.global.config.AppProperties;
+import line4thon.boini.presenter.image.service.LocalAssetCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.core.sync.ResponseTransformer;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+
+/**
+ * 지연 렌더링으로 미뤄 둔 나머지 페이지를 이어서 렌더링합니다.
+ *
+ * 세션 시작 전에 올라온 덱은 PdfParseService 가 앞쪽 canStartSessionAfterPages 장만 렌더링하고
+ * DeferredRenderStore 에 남겨 둡니다. 아래 두 경우에 꺼내서 pdfParseExecutor 에서 렌더링합니다.
+ *   - 세션 시작 (RoomController.startSession → resumeRoom)
+ *   - 아직 렌더링되지 않은 페이지 요청 (DeckAssetService → resumeDeck)
+ *
+ * 업로드 때의 임시 파일은 이미 지워졌으므로 source.pdf 를 노드 로컬 캐시나 S3 에서 다시 받아 렌더링합니다.
+ * 꺼내는 것은 Redis 에서 한 번만 성공하므로 같은 덱을 여러 노드가 동시에 렌더링하지 않습니다.
+ * 렌더링을 시작하지 못하면(스레드풀 포화, source.pdf 조회 실패) 다시 미뤄 두고 다음 요청 때 재시도합니다.
+ */
+@Service
+@Slf4j
+public class LazyRenderService {
+
+    private final DeferredRenderStore deferredRenders;
+    private final PdfParseService pdfParseService;
+    private final LocalAssetCache localAssetCache;
+    private final S3Client s3;
+    private final AppProperties props;
+    private final Executor pdfParseExecutor;
+
+    public LazyRenderService(
+        DeferredRenderStore deferredRenders, PdfParseService pdfParseService, LocalAssetCache localAssetCache,
+        S3Client s3, AppProperties props, @Qualifier("pdfParseExecutor") Executor pdfParseExecutor) {
+        this.deferredRenders = deferredRenders;
+        this.pdfParseService = pdfParseService;
+        this.localAssetCache = localAssetCache;
+        this.s3 = s3;
+        this.props = props;
+        this.pdfParseExecutor = pdfParseExecutor;
+    }
+
+    /** 방에서 미뤄 둔 덱을 모두 렌더링합니다. (세션 시작) */
+    public void resumeRoom(String roomId) {
+        if (!props.getPdf().isLazyRenderEnabled()) return;
+        for (RenderJob job : deferredRenders.claimRoom(roomId)) {
+            submit(job);
+        }
+    }
+
+    /** 덱 하나의 미뤄 둔 페이지를 렌더링합니다. (아직 없는 페이지 요청) 미뤄 둔 것이 없으면 아무 일도 하지 않습니다. */
+    public void resumeDeck(String roomId, String deckId) {
+        if (!props.getPdf().isLazyRenderEnabled()) return;
+        deferredRenders.claim(roomId, deckId).ifPresent(this::submit);
+    }
+
+    private void submit(RenderJob job) {
+        try {
+            pdfParseExecutor.execute(() -> render(job));
+            log.info("[지연렌더] 나머지 페이지 렌더링 요청: pdfId={}, roomId={}, deckId={}",
+                job.pdfId(), job.roomId(), job.deckId());
+        } catch (RejectedExecutionException e) {
+            log.warn("[지연렌더] 렌더링 스레드풀 포화, 다시 미룸: pdfId={}", job.pdfId());
+            deferredRenders.park(job);
+        }
+    }
+
+    private void render(RenderJob job) {
+        Path pdfFile = Paths.get(props.getPdf().getTempDir(), "resume-" + job.pdfId(), "source.pdf");
+        try {
+            fetchSource(job.sourceKey(), pdfFile);
+            pdfParseService.renderRemaining(job, pdfFile);
+        } catch (IOException | RuntimeException e) {
+            log.error("[지연렌더] 렌더링 실패, 다시 미룸: pdfId={}, key={}, 이유={}",
+                job.pdfId(), job.sourceKey(), e.getMessage());
+            deferredRenders.park(job);
+        } finally {
+            pdfParseService.deleteLocalSource(pdfFile);
+        }
+    }
+
+    // 이 노드의 디스크 캐시에 있으면 복사, 없으면 S3 에서 다운로드
+    private void fetchSource(String sourceKey, Path target) throws IOException {
+        Files.createDirectories(target.getParent());
+        Files.deleteIfExists(target);
+
+        ByteBuffer cached = localAssetCache.read(sourceKey).orElse(null);
+        if (cached != null) {
+            try (FileChannel channel = FileChannel.open(target, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+                while (cached.hasRemaining()) {
+                    channel.write(cached);
+                }
+            }
+            return;
+        }
+        s3.getObject(
+            GetObjectRequest.builder().bucket(props.getS3().getBucket()).key(sourceKey).build(),
+            ResponseTransformer.toFile(target));
+    }
+}
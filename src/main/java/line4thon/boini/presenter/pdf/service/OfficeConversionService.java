@@ -11,16 +11,32 @@ import java.util.UUID;
 import line4thon.boini.global.common.exception.CustomException;
 import line4thon.boini.global.config.AppProperties;
 import line4thon.boini.presenter.pdf.exception.PdfErrorCode;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+/**
+ * PPT/PPTX → PDF 변환.
+ *
+ * 기본은 OfficeWorkerPool(미리 띄워 둔 LibreOffice)로 변환하고,
+ * 풀이 없거나 실패하면, 또는 업로드 폰트(fontDir)가 있으면 변환마다 soffice 프로세스를 띄웁니다.
+ */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class OfficeConversionService {
 
     private final AppProperties props;
+    private final OfficeWorkerPool workerPool; // null 이면 항상 프로세스 방식
+
+    public OfficeConversionService(AppProperties props) {
+        this(props, null);
+    }
+
+    @Autowired
+    public OfficeConversionService(AppProperties props, OfficeWorkerPool workerPool) {
+        this.props = props;
+        this.workerPool = workerPool;
+    }
 
     private static final List<String> SOFFICE_FALLBACK_PATHS = List.of(
         "/Applications/LibreOffice.app/Contents/MacOS/soffice",
@@ -34,6 +50,11 @@ public class OfficeConversionService {
 
     public Path convertToPdf(Path sourceFile, Path fontDir) {
         Path outputDir = sourceFile.getParent().resolve("converted");
+        Path pooled = convertWithPool(sourceFile, outputDir, fontDir);
+        if (pooled != null) {
+            return pooled;
+        }
+
         Path userProfile = sourceFile.getParent().resolve("lo-profile-" + UUID.randomUUID());
         try {
             Files.createDirectories(outputDir);
@@ -90,6 +111,26 @@ public class OfficeConversionService {
         }
     }
 
+    /**
+     * 워커 풀로 변환합니다. 풀을 쓸 수 없는 경우 null → 프로세스 방식으로 진행.
+     * 업로드 폰트는 프로세스 단위 FONTCONFIG_FILE 로만 주입할 수 있어 워커 풀을 쓰지 않습니다.
+     */
+    private Path convertWithPool(Path sourceFile, Path outputDir, Path fontDir) {
+        if (workerPool == null || !workerPool.isAvailable()) return null;
+        try {
+            if (hasFonts(fontDir)) return null;
+            Files.createDirectories(outputDir);
+        } catch (IOException e) {
+            return null;
+        }
+
+        Path pdfPath = outputDir.resolve(stripExtension(sourceFile.getFileName().toString()) + ".pdf");
+        if (!workerPool.tryConvert(sourceFile, pdfPath)) return null;
+
+        log.info("[Office] PDF 변환 완료(워커 풀): source={}, pdf={}", sourceFile.getFileName(), pdfPath.getFileName());
+        return pdfPath;
+    }
+
     protected Process start(ProcessBuilder builder) throws IOException {
         return builder.start();
     }
@@ -168,11 +209,15 @@ public class OfficeConversionService {
         return System.getenv("PATH");
     }
 
-    private void applyFontconfig(ProcessBuilder builder, Path workDir, Path fontDir) throws IOException {
-        if (fontDir == null || !Files.isDirectory(fontDir)) return;
+    private boolean hasFonts(Path fontDir) throws IOException {
+        if (fontDir == null || !Files.isDirectory(fontDir)) return false;
         try (var stream = Files.list(fontDir)) {
-            if (stream.findAny().isEmpty()) return;
+            return stream.findAny().isPresent();
         }
+    }
+
+    private void applyFontconfig(ProcessBuilder builder, Path workDir, Path fontDir) throws IOException {
+        if (!hasFonts(fontDir)) return;
         Path cacheDir = Files.createDirectories(workDir.resolve("fc-cache-" + UUID.randomUUID()));
         Path conf = workDir.resolve("fonts-" + UUID.randomUUID() + ".conf");
         String xml = """
@@ -0,0 +1,259 @@
+package line4thon.boini.presenter.pdf.service;
+
+import jakarta.annotation.PreDestroy;
+import java.net.ConnectException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import line4thon.boini.global.config.AppProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.jodconverter.core.office.OfficeException;
+import org.jodconverter.core.office.OfficeManager;
+import org.jodconverter.core.office.OfficeUtils;
+import org.jodconverter.local.LocalConverter;
+import org.jodconverter.local.office.LocalOfficeManager;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 미리 띄워 둔 headless LibreOffice 프로세스 풀 (JODConverter).
+ *
+ * 변환마다 soffice 를 새로 띄우면 JVM/UNO 기동 + 사용자 프로필 생성에만 수 초가 걸립니다.
+ * 이 풀은 app.office.pool-size 개의 soffice 를 로컬 소켓(app.office.pool-base-port 부터)으로 띄워 두고
+ * 변환 작업을 UNO 로 전달하므로, 작은 덱은 실제 변환 시간만 듭니다.
+ *
+ *   - 작업당 타임아웃: app.office.conversion-timeout-seconds (프로세스 방식과 동일한 값)
+ *   - 대기열 타임아웃: app.office.pool-queue-timeout-seconds (모든 워커가 바쁘면 이 시간 후 포기)
+ *   - 재활용: app.office.pool-max-jobs-per-process 건 처리 후 프로세스 재시작 (메모리 누수 방지)
+ *   - 헬스 체크: 주기적으로 풀 상태를 확인하고, 연속 실패가 쌓이면 풀 전체를 재시작
+ *     연속 실패는 프로세스/연결 문제(풀 정지, UNO 연결 끊김, 작업 타임아웃)만 셉니다.
+ *     깨진 파일처럼 문서 때문에 실패한 변환은 세지 않으므로, 잘못된 업로드가 이어져도 풀을 재시작하지 않습니다.
+ *     재시작(soffice 기동, 수 초)은 전용 스레드에서 하므로 공용 스케줄러 스레드를 막지 않고,
+ *     시작이 연속으로 실패하면 (LibreOffice 미설치 등) 재시도 간격을 1분 → 최대 30분까지 늘립니다.
+ *
+ * 풀이 준비되지 않았거나 변환이 실패하면 tryConvert() 가 false 를 반환하고,
+ * OfficeConversionService 가 기존 프로세스-per-작업 방식으로 변환합니다.
+ * 업로드 폰트가 있는 작업은 프로세스 단위 fontconfig 설정이 필요하므로 항상 프로세스 방식을 씁니다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OfficeWorkerPool {
+
+    private static final int MAX_CONSECUTIVE_FAILURES = 3;
+    private static final Duration RESTART_BACKOFF_BASE = Duration.ofMinutes(1);
+    private static final Duration RESTART_BACKOFF_MAX = Duration.ofMinutes(30);
+
+    private final AppProperties props;
+
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicInteger startFailures = new AtomicInteger();
+    private final AtomicBoolean restarting = new AtomicBoolean();
+    private final ExecutorService restarter = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "office-pool-start");
+        t.setDaemon(true);
+        return t;
+    });
+    private volatile OfficeManager officeManager;
+    private volatile long nextRestartAt;
+
+    /** 애플리케이션 기동을 막지 않도록 별도 스레드에서 풀을 띄웁니다. */
+    @EventListener(ApplicationReadyEvent.class)
+    public void startInBackground() {
+        if (!props.getOffice().isPoolEnabled()) {
+            log.info("[Office] 워커 풀 비활성화: 프로세스-per-작업 방식으로 변환합니다.");
+            return;
+        }
+        restartInBackground();
+    }
+
+    public boolean isAvailable() {
+        OfficeManager manager = officeManager;
+        return manager != null && manager.isRunning();
+    }
+
+    /**
+     * 워커 풀로 변환을 시도합니다.
+     *
+     * @return 변환 성공 시 true. 풀이 없거나 실패하면 false (호출자가 프로세스 방식으로 대체)
+     */
+    public boolean tryConvert(Path source, Path target) {
+        OfficeManager manager = officeManager;
+        if (manager == null || !manager.isRunning()) return false;
+
+        Instant start = Instant.now();
+        try {
+            LocalConverter.make(manager)
+                .convert(source.toFile())
+                .to(target.toFile())
+                .execute();
+        } catch (OfficeException e) {
+            if (!manager.isRunning() || isWorkerFailure(e)) {
+                int failures = consecutiveFailures.incrementAndGet();
+                log.warn("[Office] 워커 풀 변환 실패 ({}회 연속), 프로세스 방식으로 대체: file={}, 이유={}",
+                    failures, source.getFileName(), e.getMessage());
+            } else {
+                // 문서 자체의 문제: 풀은 정상이므로 연속 실패로 세지 않음
+                log.warn("[Office] 워커 풀 변환 실패 (문서 오류), 프로세스 방식으로 대체: file={}, 이유={}",
+                    source.getFileName(), e.getMessage());
+            }
+            return false;
+        }
+
+        if (!Files.exists(target)) {
+            // 변환은 끝났는데 결과가 없음 → 프로세스는 응답했으므로 문서 문제로 보고 세지 않음
+            log.warn("[Office] 워커 풀 변환 결과 없음, 프로세스 방식으로 대체: expected={}", target);
+            return false;
+        }
+        consecutiveFailures.set(0);
+        log.info("[⏱ 성능] 워커 풀 변환: {}ms | file={}",
+            Duration.between(start, Instant.now()).toMillis(), source.getFileName());
+        return true;
+    }
+
+    /** 풀이 멈췄거나 연속 실패가 쌓였으면 재시작합니다. */
+    @Scheduled(fixedDelay = 60_000L, initialDelay = 60_000L)
+    public void healthCheck() {
+        if (!props.getOffice().isPoolEnabled()) return;
+        if (!isUnhealthy()) return;
+        if (restarting.get() || System.currentTimeMillis() < nextRestartAt) return;
+
+        OfficeManager manager = officeManager;
+        log.warn("[Office] 워커 풀 상태 이상(running={}, 연속 실패={}), 재시작합니다.",
+            manager != null && manager.isRunning(), consecutiveFailures.get());
+        restartInBackground();
+    }
+
+    // 테스트에서 이미 떠 있는 풀을 넣을 때 사용
+    void useManager(OfficeManager manager) {
+        officeManager = manager;
+    }
+
+    boolean isUnhealthy() {
+        OfficeManager manager = officeManager;
+        return manager == null || !manager.isRunning() || consecutiveFailures.get() >= MAX_CONSECUTIVE_FAILURES;
+    }
+
+    /**
+     * 풀(프로세스/연결) 쪽 문제로 실패했는지 판단합니다.
+     *   - 작업 타임아웃 (soffice 가 멈춤): TimeoutException
+     *   - 소켓 연결 실패 / UNO 브리지 끊김: ConnectException, DisposedException 등
+     * 그 외 (문서 로드/저장 실패 등) 는 문서 문제로 봅니다.
+     */
+    static boolean isWorkerFailure(Throwable error) {
+        for (Throwable t = error; t != null; t = t.getCause()) {
+            if (t instanceof TimeoutException || t instanceof ConnectException) return true;
+            String name = t.getClass().getSimpleName();
+            if (name.equals("DisposedException") || name.equals("OfficeConnectionException")) return true;
+        }
+        return false;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        restarter.shutdownNow();
+        stop();
+    }
+
+    public synchronized void stop() {
+        OfficeManager manager = officeManager;
+        officeManager = null;
+        if (manager != null) {
+            OfficeUtils.stopQuietly(manager);
+        }
+    }
+
+    // 재시작은 한 번에 하나만, office-pool-start 스레드에서
+    private void restartInBackground() {
+        if (!restarting.compareAndSet(false, true)) return;
+        try {
+            restarter.execute(() -> {
+                try {
+                    restart();
+                } finally {
+                    restarting.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            restarting.set(false); // 종료 중
+        }
+    }
+
+    private synchronized void restart() {
+        stop();
+        AppProperties.Office office = props.getOffice();
+        int poolSize = Math.max(1, office.getPoolSize());
+        int[] ports = IntStream.range(0, poolSize).map(i -> office.getPoolBasePort() + i).toArray();
+
+        LocalOfficeManager.Builder builder = LocalOfficeManager.builder()
+            .portNumbers(ports)
+            .maxTasksPerProcess(office.getPoolMaxJobsPerProcess())
+            .taskExecutionTimeout(Duration.ofSeconds(office.getConversionTimeoutSeconds()).toMillis())
+            .taskQueueTimeout(Duration.ofSeconds(office.getPoolQueueTimeoutSeconds()).toMillis());
+        String officeHome = resolveOfficeHome(office);
+        if (officeHome != null) {
+            builder.officeHome(officeHome);
+        }
+
+        OfficeManager manager = builder.build();
+        Instant start = Instant.now();
+        try {
+            manager.start();
+        } catch (OfficeException | RuntimeException e) {
+            // LibreOffice 미설치 / 포트 충돌 등: 풀 없이 프로세스 방식으로 계속 동작
+            Duration backoff = restartBackoff(startFailures.incrementAndGet());
+            nextRestartAt = System.currentTimeMillis() + backoff.toMillis();
+            log.warn("[Office] 워커 풀 시작 실패({}회 연속), 프로세스-per-작업 방식으로 변환합니다. {}분 후 재시도: {}",
+                startFailures.get(), backoff.toMinutes(), e.getMessage());
+            OfficeUtils.stopQuietly(manager);
+            return;
+        }
+        officeManager = manager;
+        consecutiveFailures.set(0);
+        startFailures.set(0);
+        nextRestartAt = 0;
+        log.info("[Office] 워커 풀 시작: size={}, ports={}..{}, {}ms",
+            poolSize, ports[0], ports[ports.length - 1], Duration.between(start, Instant.now()).toMillis());
+    }
+
+    /** 연속 시작 실패 n 회 후 다음 재시도까지 대기 시간: 1, 2, 4, 8, 16, 30, 30... 분 */
+    static Duration restartBackoff(int failures) {
+        Duration backoff = RESTART_BACKOFF_BASE.multipliedBy(1L << Math.min(Math.max(failures - 1, 0), 5));
+        return backoff.compareTo(RESTART_BACKOFF_MAX) > 0 ? RESTART_BACKOFF_MAX : backoff;
+    }
+
+    /**
+     * LibreOffice 설치 디렉토리를 결정합니다.
+     * app.office.pool-office-home 이 있으면 그대로, 없으면 soffice 절대 경로에서 유추합니다.
+     *   /usr/lib/libreoffice/program/soffice               → /usr/lib/libreoffice
+     *   /Applications/LibreOffice.app/Contents/MacOS/soffice → /Applications/LibreOffice.app/Contents
+     * 유추할 수 없으면 null → JODConverter 기본 탐색에 맡깁니다.
+     */
+    private String resolveOfficeHome(AppProperties.Office office) {
+        String configured = office.getPoolOfficeHome();
+        if (configured != null && !configured.isBlank()) return configured.trim();
+
+        String sofficePath = office.getSofficePath();
+        if (sofficePath == null || sofficePath.isBlank()) return null;
+        try {
+            Path soffice = Paths.get(sofficePath.trim());
+            if (!soffice.isAbsolute() || !Files.exists(soffice)) return null;
+            Path binDir = soffice.toRealPath().getParent();
+            return binDir != null && binDir.getParent() != null ? binDir.getParent().toString() : null;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+}
@@ -5,26 +5,37 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import java.awt.Font;
 import java.awt.FontFormatException;
 import java.io.ByteArrayInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HexFormat;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.regex.Pattern;
 import line4thon.boini.global.common.exception.CustomException;
 import line4thon.boini.global.config.AppProperties;
+import line4thon.boini.presenter.image.service.AsyncS3Uploader;
 import line4thon.boini.presenter.image.service.SlideNoteService;
 import line4thon.boini.presenter.pdf.dto.FontEntry;
 import line4thon.boini.presenter.pdf.dto.SlideNoteDraft;
 import line4thon.boini.presenter.pdf.dto.request.ChunkUploadRequest;
 import line4thon.boini.presenter.pdf.dto.response.AssemblyCompleteResponse;
+import line4thon.boini.presenter.pdf.dto.response.ChunkManifestResponse;
 import line4thon.boini.presenter.pdf.dto.response.ChunkReceiveResponse;
 import line4thon.boini.presenter.pdf.dto.response.ChunkUploadResult;
 import line4thon.boini.presenter.pdf.dto.response.NeedsFontsResponse;
@@ -38,26 +49,28 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.pdfbox.Loader;
 import org.apache.pdfbox.pdmodel.PDDocument;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
-import software.amazon.awssdk.core.sync.RequestBody;
-import software.amazon.awssdk.services.s3.S3Client;
-import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 
 /**
  * PDF 청크 수신, 임시 저장, 조립을 담당하는 서비스.
  *
  * 흐름:
- *   1. 청크 수신 → 임시 파일로 저장 (로컬 temp 디렉토리)
- *   2. Redis INCR 으로 수신 카운트 원자적 증가
- *   3. 카운트 == totalChunks 인 스레드가 조립을 담당
+ *   1. 청크 수신 → 세션 메타의 청크 크기와 맞는지 확인 → 미리 fileSize 만큼 잡아 둔 source.{ext} 의 제 위치(offset)에 바로 기록
+ *   2. Redis 비트맵에 chunkIndex 비트를 세우고 수신 청크 수를 원자적으로 확인 (중복/재전송은 한 번만 집계)
+ *   3. 마지막 비트를 세운 스레드가 조립(복사 없음)을 담당
  *   4. 조립 완료 → 페이지 수 확인 → PdfParseService(@Async) 트리거
  *
  * 연결:
- *   - ChunkUploadController → receiveChunk() 호출
+ *   - ChunkUploadController → receiveChunk() 호출, getManifest() 로 업로드 재개 지원
  *   - PdfParseService.parseAndStream() → 조립 완료 후 비동기 파싱 시작
- *   - Redis: 청크 수신 카운팅 및 roomId/deckId 등 메타데이터 임시 저장
+ *   - RenderJobQueue: 클러스터 렌더 큐가 켜져 있으면 파싱을 큐 작업으로 등록
+ *   - Redis: 청크 수신 비트맵 및 roomId/deckId 등 메타데이터 임시 저장
+ *   - SourcePdfMultipartUploader: 네이티브 PDF 는 청크 수신 중에 다운로드용 source.pdf 를 S3 에 미리 업로드
  */
 @Service
 @RequiredArgsConstructor
@@ -66,22 +79,36 @@ public class PdfChunkService {
 
     // Redis 키 TTL: 업로드 세션 만료 시간 (1시간)
     // 이 시간 안에 모든 청크가 도착하지 않으면 세션 만료로 ASSEMBLY_FAILED 발생
-    private static final Duration UPLOAD_SESSION_TTL = Duration.ofHours(1);
+    static final Duration UPLOAD_SESSION_TTL = Duration.ofHours(1);
+
+    // 조립 완료 표시 TTL: 201 응답을 못 받은 클라이언트가 manifest 로 결과(pdfId)를 다시 받아 갈 수 있는 시간
+    static final Duration COMPLETED_MARKER_TTL = Duration.ofMinutes(10);
 
     // Redis 키 패턴
-    private static final String COUNT_KEY = "pdf:upload:%s:count"; // 수신 청크 카운터
+    private static final String RECEIVED_KEY = "pdf:upload:%s:received"; // 수신 청크 비트맵 (chunkIndex 번째 비트)
     private static final String META_KEY  = "pdf:upload:%s:meta:%s"; // roomId, deckId 등 메타
 
+    // SETBIT + BITCOUNT 를 한 번에 실행: {이전 비트, 수신 청크 수}
+    // 두 명령 사이에 다른 요청이 끼면 두 스레드가 동시에 "마지막 청크"로 판단할 수 있으므로 Lua 로 묶습니다.
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> MARK_RECEIVED_SCRIPT = new DefaultRedisScript<>(
+        "local prev = redis.call('SETBIT', KEYS[1], ARGV[1], 1) "
+            + "redis.call('EXPIRE', KEYS[1], ARGV[2]) "
+            + "return {prev, redis.call('BITCOUNT', KEYS[1])}",
+        List.class);
+
     private final AppProperties props;
     private final StringRedisTemplate redis;
     private final PdfParseService pdfParseService; // 조립 완료 후 비동기 파싱 트리거
     private final OfficeConversionService officeConversionService;
     private final SlideNotesExtractionService slideNotesExtractionService;
     private final SlideNoteService slideNoteService;
-    private final S3Client s3Client;
+    private final AsyncS3Uploader s3Uploader; // 다운로드용 PDF 비동기 업로드
     private final PresentationFontAnalysisService fontAnalysisService;
     private final FontUploadValidator fontUploadValidator;
     private final ObjectMapper objectMapper;
+    private final SourcePdfMultipartUploader multipartUploader; // 네이티브 PDF 는 수신과 동시에 S3 multipart 업로드
+    private final RenderJobQueue renderJobQueue; // app.pdf.render-queue-enabled 이면 렌더링을 클러스터 큐로 넘김
 
     /**
      * 청크 하나를 수신하고 처리합니다. (ChunkUploadController 에서 호출)
@@ -91,13 +118,27 @@ public class PdfChunkService {
      */
     public ChunkUploadResult receiveChunk(ChunkUploadRequest request) {
         validateChunk(request);
-        saveChunkFile(request);
-        saveMetaIfAbsent(request); // 첫 번째 청크에서만 실질적으로 저장됨 (setIfAbsent)
 
-        long receivedCount = incrementReceivedCount(request.getUploadId());
+        // 이미 조립까지 끝난 세션: 201 응답을 놓친 클라이언트가 청크를 다시 보낸 경우
+        // 메타/파일을 새로 만들면 (청크 1개짜리면) 조립과 렌더링이 새 pdfId 로 다시 돌므로 저장된 결과만 돌려줌
+        CompletedUpload completed = readCompleted(request.getUploadId());
+        if (completed != null) {
+            log.info("[청크] 이미 조립된 세션의 청크 재전송, 기존 결과 반환: uploadId={}, pdfId={}",
+                request.getUploadId(), completed.pdfId());
+            return ChunkUploadResult.assembled(completed.toResponse(request.getUploadId()));
+        }
+
+        long chunkSize = checkChunkLayout(request); // 첫 번째 청크의 메타 저장 포함 (setIfAbsent)
+        writeChunkAtOffset(request, (long) request.getChunkIndex() * chunkSize);
 
-        if (receivedCount == request.getTotalChunks()) {
-            // 이 스레드가 마지막 청크를 받은 스레드 → 조립 담당
+        ChunkReceipt receipt = markReceived(request.getUploadId(), request.getChunkIndex());
+        long receivedCount = receipt.receivedCount();
+        if (receipt.firstReceipt()) {
+            forwardToMultipartUpload(request);
+        }
+
+        if (receipt.firstReceipt() && receivedCount == request.getTotalChunks()) {
+            // 이 스레드가 마지막 비트를 세운 스레드 → 조립 담당 (재전송된 청크는 조립을 다시 트리거하지 않음)
             return assembleAndTriggerParsing(request);
         }
 
@@ -108,9 +149,103 @@ public class PdfChunkService {
             .totalChunks(request.getTotalChunks())
             .chunkSize(request.getChunk().getSize())
             .status("IN_PROGRESS")
+            .duplicate(!receipt.firstReceipt())
             .build());
     }
 
+    /**
+     * 네이티브 PDF 는 조립 결과가 곧 다운로드용 source.pdf 이므로, 청크가 도착하는 동안
+     * 완성된 구간을 S3 multipart part 로 미리 올립니다. (조립 완료 후 putObject 대기 시간 단축)
+     * 마지막 청크는 크기가 달라 part 크기 계산에 쓸 수 없으므로 begin 은 나머지 청크에서만 호출합니다.
+     * multipart 는 부가 최적화이므로 실패해도 청크 수신은 계속되고, 조립 후 putObject 로 대체됩니다.
+     */
+    private void forwardToMultipartUpload(ChunkUploadRequest request) {
+        boolean nativePdf = PresentationFileType.fromFileName(request.getFileName())
+            .filter(type -> type == PresentationFileType.PDF)
+            .isPresent();
+        if (!nativePdf) return;
+
+        String uploadId = request.getUploadId();
+        try {
+            if (request.getChunkIndex() < request.getTotalChunks() - 1) {
+                multipartUploader.begin(uploadId, downloadablePdfKey(request.getRoomId(), request.getDeckId()),
+                    request.getFileSize(), request.getChunk().getSize(), request.getTotalChunks());
+            }
+            if (!multipartUploader.isActive(uploadId)) return;
+
+            byte[] bitmap = readReceivedBitmap(uploadId);
+            multipartUploader.onChunkReceived(uploadId, resolveAssembledPath(uploadId, PresentationFileType.PDF),
+                request.getChunkIndex(), index -> isBitSet(bitmap, index));
+        } catch (RuntimeException e) {
+            log.warn("[S3] multipart 전달 실패, 조립 후 putObject 로 대체: uploadId={}, 이유={}", uploadId, e.getMessage());
+        }
+    }
+
+    /**
+     * 업로드 재개용 수신 현황을 반환합니다. (GET /api/upload/{uploadId}/manifest)
+     * 연결이 끊긴 클라이언트는 전체 파일이 아니라 missingChunks 만 다시 보내면 됩니다.
+     * 청크 수신은 비트맵 기반이라 이미 받은 청크를 다시 보내도 안전합니다.
+     */
+    public ChunkManifestResponse getManifest(String uploadId) {
+        requireValidUploadId(uploadId);
+
+        // 이미 조립까지 끝난 세션 (메타는 정리됨): 201 응답을 놓친 클라이언트가 다시 업로드하지 않도록 결과를 돌려줌
+        CompletedUpload completed = readCompleted(uploadId);
+        if (completed != null) {
+            return ChunkManifestResponse.builder()
+                .uploadId(uploadId)
+                .totalChunks(completed.totalChunks())
+                .receivedChunks(completed.totalChunks())
+                .missingChunks(List.of())
+                .status("COMPLETED")
+                .pdfId(completed.pdfId())
+                .streamUrl(streamUrl(completed.pdfId()))
+                .build();
+        }
+
+        String totalChunksValue = redis.opsForValue().get(metaKey(uploadId, "totalChunks"));
+        if (totalChunksValue == null) {
+            throw new CustomException(PdfErrorCode.UPLOAD_SESSION_NOT_FOUND);
+        }
+        int totalChunks = Integer.parseInt(totalChunksValue);
+
+        // 모든 청크 수신 후 폰트 대기 중인 세션: 더 보낼 청크 없음
+        if ("AWAITING_FONTS".equals(redis.opsForValue().get(stateKey(uploadId)))) {
+            return ChunkManifestResponse.builder()
+                .uploadId(uploadId)
+                .totalChunks(totalChunks)
+                .receivedChunks(totalChunks)
+                .missingChunks(List.of())
+                .status("AWAITING_FONTS")
+                .build();
+        }
+
+        byte[] bitmap = readReceivedBitmap(uploadId);
+        List<Integer> missing = new ArrayList<>();
+        for (int i = 0; i < totalChunks; i++) {
+            if (!isBitSet(bitmap, i)) missing.add(i);
+        }
+        return ChunkManifestResponse.builder()
+            .uploadId(uploadId)
+            .totalChunks(totalChunks)
+            .receivedChunks(totalChunks - missing.size())
+            .missingChunks(missing)
+            .status("IN_PROGRESS")
+            .build();
+    }
+
+    // 비트맵은 바이너리 값이라 String 직렬화 없이 원본 바이트로 읽습니다.
+    private byte[] readReceivedBitmap(String uploadId) {
+        byte[] key = RECEIVED_KEY.formatted(uploadId).getBytes(StandardCharsets.UTF_8);
+        return redis.execute((RedisCallback<byte[]>) connection -> connection.stringCommands().get(key));
+    }
+
+    // Redis SETBIT 의 offset 0 은 첫 바이트의 최상위 비트입니다.
+    static boolean isBitSet(byte[] bitmap, int index) {
+        if (bitmap == null || index / 8 >= bitmap.length) return false;
+        return (bitmap[index / 8] & (0x80 >>> (index % 8))) != 0;
+    }
+
     /**
      * 청크 크기 및 인덱스 유효성 검사.
      * 최대 크기는 application.properties → app.pdf.max-chunk-size-bytes (기본값 2MB)
@@ -127,36 +262,126 @@ public class PdfChunkService {
     }
 
     /**
-     * 청크 바이너리를 로컬 임시 파일로 저장합니다.
-     * 저장 경로: {app.pdf.temp-dir}/{uploadId}/chunk_{00000~}
-     * 조립 시 인덱스 순서대로 이 파일들을 이어붙입니다.
+     * 청크 바이너리를 조립 대상 파일의 제 위치에 바로 기록합니다. (positional write)
+     * 저장 경로: {app.pdf.temp-dir}/{uploadId}/source.{ext}
+     *
+     * 청크별 파일을 따로 쓰고 다시 이어붙이던 방식과 달리 디스크에 한 번만 쓰며,
+     * 순서가 뒤바뀌거나 재전송된 청크도 같은 위치에 덮어쓰므로 결과가 같습니다.
+     * 첫 청크에서 파일을 fileSize 만큼 미리 늘려 둡니다. 위치는 checkChunkLayout 이 세션의 청크 크기로 정합니다.
+     * chunkChecksum(SHA-256) 이 있으면 기록하기 전에 검증합니다. (청크는 max-chunk-size-bytes 이하라 메모리에 올려 둠)
+     * 불일치하면 파일을 건드리지 않고 수신 비트도 세우지 않으므로, 앞서 정상 수신된 같은 청크가 망가지지 않고
+     * 클라이언트는 같은 청크를 다시 보내면 됩니다.
      */
-    private void saveChunkFile(ChunkUploadRequest request) {
-        Path chunkPath = resolveChunkPath(request.getUploadId(), request.getChunkIndex());
+    private void writeChunkAtOffset(ChunkUploadRequest request, long offset) {
+        PresentationFileType fileType = PresentationFileType.fromFileName(request.getFileName())
+            .orElseThrow(() -> new CustomException(PdfErrorCode.UNSUPPORTED_PRESENTATION_FILE));
+        Path target = resolveAssembledPath(request.getUploadId(), fileType);
         try {
-            Files.createDirectories(chunkPath.getParent());
-            try (InputStream in = request.getChunk().getInputStream();
-                 FileOutputStream out = new FileOutputStream(chunkPath.toFile())) {
-                in.transferTo(out);
+            byte[] body = request.getChunk().getBytes();
+            if (body.length != request.getChunk().getSize()) {
+                throw new IOException("청크 본문이 예상과 다릅니다: expected=" + request.getChunk().getSize() + ", actual=" + body.length);
+            }
+            String expectedChecksum = request.getChunkChecksum();
+            if (expectedChecksum != null && !expectedChecksum.isBlank()
+                && !HexFormat.of().formatHex(newSha256().digest(body)).equalsIgnoreCase(expectedChecksum.trim())) {
+                log.warn("[청크] 체크섬 불일치: uploadId={}, index={}", request.getUploadId(), request.getChunkIndex());
+                throw new CustomException(PdfErrorCode.CHUNK_CHECKSUM_MISMATCH);
             }
-            log.debug("[청크] 저장 완료: path={}", chunkPath);
+
+            Files.createDirectories(target.getParent());
+            // 여러 요청이 동시에 같은 파일을 열어도 서로 다른 구간에만 쓰므로 안전합니다.
+            // setLength 는 파일을 늘리기만 하고, 이미 기록된 구간은 건드리지 않습니다.
+            try (RandomAccessFile file = new RandomAccessFile(target.toFile(), "rw");
+                 FileChannel channel = file.getChannel()) {
+                if (file.length() < request.getFileSize()) {
+                    file.setLength(request.getFileSize());
+                }
+                ByteBuffer buffer = ByteBuffer.wrap(body);
+                long position = offset;
+                while (buffer.hasRemaining()) {
+                    position += channel.write(buffer, position);
+                }
+            }
+            log.debug("[청크] 기록 완료: path={}, offset={}, size={}", target, offset, body.length);
         } catch (IOException e) {
             log.error("[청크] 저장 실패: uploadId={}, index={}", request.getUploadId(), request.getChunkIndex(), e);
             throw new CustomException(PdfErrorCode.CHUNK_SAVE_FAILED);
         }
     }
 
+    private MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 을 사용할 수 없습니다.", e);
+        }
+    }
+
+    /**
+     * 청크 배치가 업로드 세션과 맞는지 확인하고 세션의 청크 크기를 반환합니다.
+     * 프론트는 고정 크기로 자르므로 마지막 청크만 크기가 다릅니다.
+     *   - 나머지 청크: 자기 크기가 곧 청크 크기
+     *   - 마지막 청크: fileSize - (totalChunks - 1) * 청크 크기 (다른 청크보다 먼저 와도 청크 크기를 역산할 수 있음)
+     * 처음 도착한 청크의 값(totalChunks/fileSize/chunkSize)을 메타에 저장하고, 이후 청크가 다르면 거절합니다.
+     * 그래서 모든 비트가 세워지면 파일의 모든 구간이 정확히 한 번씩 채워진 상태입니다. (빈 구간/겹침 없음)
+     */
+    private long checkChunkLayout(ChunkUploadRequest request) {
+        long chunkSize = impliedChunkSize(request);
+        saveMetaIfAbsent(request, chunkSize);
+
+        String uploadId = request.getUploadId();
+        List<String> declared = redis.opsForValue().multiGet(List.of(
+            metaKey(uploadId, "totalChunks"), metaKey(uploadId, "fileSize"), metaKey(uploadId, "chunkSize")));
+        if (declared == null || declared.size() < 3
+            || !String.valueOf(request.getTotalChunks()).equals(declared.get(0))
+            || !String.valueOf(request.getFileSize()).equals(declared.get(1))
+            || !String.valueOf(chunkSize).equals(declared.get(2))) {
+            log.warn("[청크] 세션과 다른 청크 배치: uploadId={}, index={}, size={}, declared={}",
+                uploadId, request.getChunkIndex(), request.getChunk().getSize(), declared);
+            throw new CustomException(PdfErrorCode.INVALID_CHUNK_SIZE);
+        }
+        return chunkSize;
+    }
+
+    // 이 청크로부터 알 수 있는 청크 크기. 파일 안에 들어가지 않는 배치면 거절합니다.
+    static long impliedChunkSize(ChunkUploadRequest request) {
+        long size = request.getChunk().getSize();
+        long fileSize = request.getFileSize();
+        int others = request.getTotalChunks() - 1;
+        boolean last = request.getChunkIndex() == others;
+
+        long chunkSize;
+        if (!last) {
+            chunkSize = size;
+        } else if (others == 0) {
+            chunkSize = size;
+            if (size != fileSize) throw new CustomException(PdfErrorCode.INVALID_CHUNK_SIZE);
+        } else {
+            long rest = fileSize - size;
+            if (rest <= 0 || rest % others != 0) throw new CustomException(PdfErrorCode.INVALID_CHUNK_SIZE);
+            chunkSize = rest / others;
+        }
+
+        long lastSize = fileSize - others * chunkSize;
+        if (size <= 0 || lastSize <= 0 || lastSize > chunkSize) {
+            throw new CustomException(PdfErrorCode.INVALID_CHUNK_SIZE);
+        }
+        return chunkSize;
+    }
+
     /**
      * 업로드 세션 메타데이터를 Redis 에 저장합니다.
      * setIfAbsent: 최초 청크가 도착했을 때만 저장되고, 이후 청크는 덮어쓰지 않습니다.
      * 이 값은 조립 완료 시 PdfParseService 에 roomId/deckId 를 전달하는 데 사용됩니다.
      */
-    private void saveMetaIfAbsent(ChunkUploadRequest request) {
+    private void saveMetaIfAbsent(ChunkUploadRequest request, long chunkSize) {
         String uploadId = request.getUploadId();
         setIfAbsent(metaKey(uploadId, "roomId"), request.getRoomId());
         setIfAbsent(metaKey(uploadId, "deckId"), request.getDeckId());
         setIfAbsent(metaKey(uploadId, "fileName"), request.getFileName());
         setIfAbsent(metaKey(uploadId, "totalChunks"), String.valueOf(request.getTotalChunks()));
+        setIfAbsent(metaKey(uploadId, "fileSize"), String.valueOf(request.getFileSize()));
+        setIfAbsent(metaKey(uploadId, "chunkSize"), String.valueOf(chunkSize));
         PresentationFileType.fromFileName(request.getFileName())
             .ifPresent(type -> setIfAbsent(metaKey(uploadId, "fileType"), type.name()));
     }
@@ -166,15 +391,30 @@ public class PdfChunkService {
     }
 
     /**
-     * 수신 카운트를 Redis INCR 로 원자적으로 증가시킵니다.
-     * INCR 은 원자적 연산이므로 병렬 요청 환경에서도 정확히 한 스레드만
-     * receivedCount == totalChunks 조건을 만족하게 됩니다.
+     * 수신 비트맵에 chunkIndex 비트를 세우고 수신 청크 수를 반환합니다.
+     * SETBIT/BITCOUNT 가 Lua 스크립트로 원자적으로 실행되므로, 병렬 요청 환경에서도
+     * "처음 세운 비트로 receivedCount == totalChunks 가 된" 스레드는 정확히 하나입니다.
+     * 같은 청크가 다시 와도 비트는 이미 1 이라 수가 늘지 않습니다.
+     */
+    private ChunkReceipt markReceived(String uploadId, int chunkIndex) {
+        List<?> result = redis.execute(
+            MARK_RECEIVED_SCRIPT,
+            List.of(RECEIVED_KEY.formatted(uploadId)),
+            String.valueOf(chunkIndex),
+            String.valueOf(UPLOAD_SESSION_TTL.toSeconds()));
+        if (result == null || result.size() < 2) {
+            throw new CustomException(PdfErrorCode.CHUNK_SAVE_FAILED);
+        }
+        long previous = ((Number) result.get(0)).longValue();
+        long count = ((Number) result.get(1)).longValue();
+        return new ChunkReceipt(previous == 0, count);
+    }
+
+    /**
+     * @param firstReceipt  이번 요청이 이 청크를 처음 기록했는지 (재전송이면 false)
+     * @param receivedCount 지금까지 수신된 서로 다른 청크 수
      */
-    private long incrementReceivedCount(String uploadId) {
-        String key = COUNT_KEY.formatted(uploadId);
-        Long count = redis.opsForValue().increment(key);
-        redis.expire(key, UPLOAD_SESSION_TTL);
-        return count == null ? 0L : count;
+    private record ChunkReceipt(boolean firstReceipt, long receivedCount) {
     }
 
     /**
@@ -193,7 +433,13 @@ public class PdfChunkService {
         Instant assemblyStart = Instant.now();
         PresentationFileType fileType = PresentationFileType.fromFileName(request.getFileName())
             .orElseThrow(() -> new CustomException(PdfErrorCode.UNSUPPORTED_PRESENTATION_FILE));
-        Path assembledPath = assembleChunks(uploadId, request.getTotalChunks(), fileType);
+        Path assembledPath;
+        try {
+            assembledPath = completeAssembly(uploadId, fileType);
+        } catch (CustomException e) {
+            multipartUploader.abort(uploadId);
+            throw e;
+        }
         long assemblyMs = Duration.between(assemblyStart, Instant.now()).toMillis();
         log.info("[⏱ 성능] 청크 조립 완료: {}ms | 파일크기: {}", assemblyMs,
             formatBytes(getFileSize(assembledPath)));
@@ -207,6 +453,7 @@ public class PdfChunkService {
         // Redis TTL 만료로 메타가 사라진 경우 (업로드가 1시간을 넘긴 경우)
         if (roomId == null || deckId == null) {
             log.error("[조립] Redis 메타데이터 누락 (세션 만료 가능성): uploadId={}", uploadId);
+            multipartUploader.abort(uploadId);
             throw new CustomException(PdfErrorCode.ASSEMBLY_FAILED);
         }
 
@@ -242,6 +489,7 @@ public class PdfChunkService {
 
         AssemblyCompleteResponse response = convertSeedAndParse(
             uploadId, pdfId, roomId, deckId, assembledPath, fileType, request.getFileName(), null);
+        markCompleted(uploadId, response, request.getTotalChunks());
         cleanupRedisKeys(uploadId); // Redis 에서 임시 메타 삭제 (임시 파일은 PdfParseService finally 에서 삭제)
         log.info("[조립] 완료: uploadId={}, pdfId={}, totalPages={}", uploadId, pdfId, response.getTotalPages());
         return ChunkUploadResult.assembled(response);
@@ -266,7 +514,7 @@ public class PdfChunkService {
             Duration.between(pageCountStart, Instant.now()).toMillis(), totalPages);
 
         slideNoteService.replaceNotes(roomId, deckId, prepared.notes());
-        uploadDownloadablePdf(roomId, deckId, pdfPath, fileName);
+        CompletableFuture<Void> sourceUpload = uploadDownloadablePdf(uploadId, roomId, deckId, pdfPath, fileName);
 
         // 방 생성 시 totalPage 는 placeholder(1)로 저장된다(프론트가 업로드 전 createRoom(1) 호출).
         // 실제 페이지 수가 확정된 지금 갱신하지 않으면, audience join 응답의 totalPages 가 1로 남아
@@ -282,9 +530,19 @@ public class PdfChunkService {
             redis.opsForValue().setIfAbsent("room:" + roomId + ":revisit:" + i, "0"); // 기존 값/카운트 보존
         }
 
-        // @Async: 즉시 반환됩니다. 실제 렌더링은 pdfParseExecutor 스레드풀에서 진행됩니다.
-        // 렌더링 결과는 PdfSseRegistry 를 통해 프론트로 스트리밍됩니다.
-        pdfParseService.parseAndStream(pdfId, roomId, deckId, pdfPath, totalPages);
+        if (renderJobQueue.isEnabled()) {
+            // 클러스터 렌더 큐: S3 업로드가 끝나면 작업을 등록하고, 여유 있는 노드가 가져가 렌더링합니다.
+            // 등록에 실패하면 기존처럼 이 노드에서 렌더링합니다.
+            RenderJob job = new RenderJob(pdfId, roomId, deckId, downloadablePdfKey(roomId, deckId), totalPages);
+            renderJobQueue.enqueueWhenUploaded(job, sourceUpload,
+                () -> pdfParseService.deleteLocalSource(pdfPath),
+                () -> pdfParseService.parseAndStream(pdfId, roomId, deckId, pdfPath, totalPages,
+                    CompletableFuture.completedFuture(null)));
+        } else {
+            // @Async: 즉시 반환됩니다. 실제 렌더링은 pdfParseExecutor 스레드풀에서 진행됩니다.
+            // 렌더링 결과는 PdfSseRegistry 를 통해 프론트로 스트리밍됩니다.
+            pdfParseService.parseAndStream(pdfId, roomId, deckId, pdfPath, totalPages, sourceUpload);
+        }
 
         return AssemblyCompleteResponse.builder()
             .status("READY")
@@ -292,28 +550,52 @@ public class PdfChunkService {
             .pdfId(pdfId)
             .fileName(fileName)
             .totalPages(totalPages)
-            .streamUrl("/api/pdf/" + pdfId + "/stream") // 프론트가 SSE 구독할 URL
+            .streamUrl(streamUrl(pdfId)) // 프론트가 SSE 구독할 URL
             .build();
     }
 
-    private void uploadDownloadablePdf(String roomId, String deckId, Path pdfPath, String sourceFileName) {
+    /**
+     * 다운로드용 PDF 를 S3 에 올립니다.
+     * 네이티브 PDF 는 청크 수신 중 시작한 multipart upload 를 마무리하고,
+     * multipart 가 없거나 실패했으면 그 뒤에 AsyncS3Uploader 로 올립니다.
+     * 어느 쪽이든 전송은 기다리지 않고 future 만 받아 바로 반환합니다. (조립 응답을 막지 않음)
+     * 다운로드 키(room:{roomId}:pdfDownload:*)는 업로드가 끝난 뒤에 기록되므로, 그 전까지 다운로드는 "없음"으로 응답합니다.
+     *
+     * @return 업로드 완료 future. PdfParseService 가 임시 디렉토리를 지우기 전에 이 future 를 기다립니다.
+     */
+    private CompletableFuture<Void> uploadDownloadablePdf(
+        String uploadId, String roomId, String deckId, Path pdfPath, String sourceFileName) {
         String key = downloadablePdfKey(roomId, deckId);
+        CompletableFuture<Void> upload;
         try {
-            s3Client.putObject(
-                PutObjectRequest.builder()
-                    .bucket(props.getS3().getBucket())
-                    .key(key)
-                    .contentType("application/pdf")
-                    .build(),
-                RequestBody.fromFile(pdfPath)
-            );
-            redis.opsForValue().set(pdfDownloadS3Key(roomId), key);
-            redis.opsForValue().set(pdfDownloadFileNameKey(roomId), toPdfFileName(sourceFileName));
-            log.info("[PDF] 다운로드용 PDF 업로드 완료: roomId={}, key={}", roomId, key);
+            upload = multipartUploader.complete(uploadId, pdfPath)
+                .thenCompose(completed -> completed
+                    ? CompletableFuture.<Void>completedFuture(null)
+                    : putDownloadablePdf(key, pdfPath));
         } catch (RuntimeException e) {
             log.error("[PDF] 다운로드용 PDF 업로드 실패: roomId={}, key={}", roomId, key, e);
             throw new CustomException(PdfErrorCode.ASSEMBLY_FAILED);
         }
+
+        return upload.whenComplete((ignored, error) -> {
+            if (error != null) {
+                // 슬라이드 렌더링과는 무관하므로 덱 처리는 계속하고, 다운로드만 제공하지 않습니다.
+                log.error("[PDF] 다운로드용 PDF 업로드 실패: roomId={}, key={}", roomId, key, error);
+                return;
+            }
+            redis.opsForValue().set(pdfDownloadS3Key(roomId), key);
+            redis.opsForValue().set(pdfDownloadFileNameKey(roomId), toPdfFileName(sourceFileName));
+            log.info("[PDF] 다운로드용 PDF 업로드 완료: roomId={}, key={}", roomId, key);
+        });
+    }
+
+    private CompletableFuture<Void> putDownloadablePdf(String key, Path pdfPath) {
+        try {
+            return s3Uploader.putFile(key, "application/pdf", pdfPath);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CompletableFuture.failedFuture(e);
+        }
     }
 
     private String downloadablePdfKey(String roomId, String deckId) {
@@ -356,23 +638,19 @@ public class PdfChunkService {
     }
 
     /**
-     * 저장된 청크 파일들을 순서대로 이어붙여 하나의 PDF 파일로 조립합니다.
+     * 조립을 마무리합니다.
+     * 청크가 이미 제 위치에 기록돼 있고, 배치는 checkChunkLayout 이 청크마다 검증했으므로 복사할 것이 없습니다.
+     * (파일은 첫 청크에서 fileSize 로 미리 늘려 두므로 크기 비교는 의미가 없음)
      * 저장 경로: {uploadDir}/source.{ext}
-     * chunk_00000 → chunk_00001 → ... 순서대로 이어붙입니다.
      */
-    private Path assembleChunks(String uploadId, int totalChunks, PresentationFileType fileType) {
-        Path uploadDir = resolveUploadDir(uploadId);
-        Path assembledPath = uploadDir.resolve("source." + fileType.extension());
-        try (FileOutputStream out = new FileOutputStream(assembledPath.toFile())) {
-            for (int i = 0; i < totalChunks; i++) {
-                Files.copy(resolveChunkPath(uploadId, i), out);
-            }
-            log.info("[조립] 파일 생성 완료: path={}", assembledPath);
-            return assembledPath;
-        } catch (IOException e) {
-            log.error("[조립] 청크 병합 실패: uploadId={}", uploadId, e);
+    private Path completeAssembly(String uploadId, PresentationFileType fileType) {
+        Path assembledPath = resolveAssembledPath(uploadId, fileType);
+        if (!Files.isRegularFile(assembledPath)) {
+            log.error("[조립] 조립 파일 없음: uploadId={}, path={}", uploadId, assembledPath);
             throw new CustomException(PdfErrorCode.ASSEMBLY_FAILED);
         }
+        log.info("[조립] 파일 생성 완료: path={}", assembledPath);
+        return assembledPath;
     }
 
     private PreparedPresentation preparePresentationForParsing(
@@ -381,14 +659,22 @@ public class PdfChunkService {
             return new PreparedPresentation(assembledPath, List.of());
         }
 
-        List<SlideNoteDraft> notes = List.of();
+        // 노트 추출은 별도 스레드에서 변환과 동시에 진행 (변환이 수 초 걸리므로 노트 시간은 거의 가려짐)
+        CompletableFuture<List<SlideNoteDraft>> notes = slideNotesExtractionService.extractAsync(assembledPath, fileType);
+        Path pdfPath = officeConversionService.convertToPdf(assembledPath, fontDir);
+        return new PreparedPresentation(pdfPath, awaitNotes(notes, assembledPath));
+    }
+
+    private List<SlideNoteDraft> awaitNotes(CompletableFuture<List<SlideNoteDraft>> notes, Path assembledPath) {
+        if (notes == null) {
+            return List.of();
+        }
         try {
-            notes = slideNotesExtractionService.extract(assembledPath, fileType);
-        } catch (Exception e) {
+            return notes.join();
+        } catch (CompletionException | CancellationException e) {
             log.warn("[PPT] 발표자 노트 추출 실패, 슬라이드 변환은 계속 진행: file={}", assembledPath, e);
+            return List.of();
         }
-
-        return new PreparedPresentation(officeConversionService.convertToPdf(assembledPath, fontDir), notes);
     }
 
     private record PreparedPresentation(Path pdfPath, List<SlideNoteDraft> notes) {
@@ -418,16 +704,63 @@ public class PdfChunkService {
         redis.expire(metaKey(uploadId, "fileName"), UPLOAD_SESSION_TTL);
         redis.expire(metaKey(uploadId, "totalChunks"), UPLOAD_SESSION_TTL);
         redis.expire(metaKey(uploadId, "fileType"), UPLOAD_SESSION_TTL);
+        redis.expire(metaKey(uploadId, "fileSize"), UPLOAD_SESSION_TTL);
+        redis.expire(metaKey(uploadId, "chunkSize"), UPLOAD_SESSION_TTL);
+    }
+
+    /**
+     * 조립 완료를 잠시 남겨 둡니다. (COMPLETED_MARKER_TTL)
+     * cleanupRedisKeys 이후에는 메타가 없어 manifest 가 UPLOAD_SESSION_NOT_FOUND 가 되므로,
+     * 201 응답을 놓친 클라이언트는 이 표시로 pdfId/streamUrl 을 받아 갑니다. (manifest 조회, 청크 재전송 모두)
+     */
+    private void markCompleted(String uploadId, AssemblyCompleteResponse response, int totalChunks) {
+        try {
+            CompletedUpload completed = new CompletedUpload(
+                response.getPdfId(), totalChunks, response.getFileName(), response.getTotalPages());
+            redis.opsForValue().set(completedKey(uploadId),
+                objectMapper.writeValueAsString(completed), COMPLETED_MARKER_TTL);
+        } catch (JsonProcessingException | RuntimeException e) {
+            // 재개용 부가 정보라 실패해도 조립 결과에는 영향 없음
+            log.warn("[조립] 완료 표시 저장 실패: uploadId={}, 이유={}", uploadId, e.getMessage());
+        }
+    }
+
+    private CompletedUpload readCompleted(String uploadId) {
+        String value = redis.opsForValue().get(completedKey(uploadId));
+        if (value == null) return null;
+        try {
+            return objectMapper.readValue(value, CompletedUpload.class);
+        } catch (JsonProcessingException e) {
+            log.warn("[조립] 완료 표시 읽기 실패: uploadId={}", uploadId);
+            return null;
+        }
+    }
+
+    private record CompletedUpload(String pdfId, int totalChunks, String fileName, int totalPages) {
+
+        /** 조립 때 보낸 201 응답과 같은 내용 */
+        AssemblyCompleteResponse toResponse(String uploadId) {
+            return AssemblyCompleteResponse.builder()
+                .status("READY")
+                .uploadId(uploadId)
+                .pdfId(pdfId)
+                .fileName(fileName)
+                .totalPages(totalPages)
+                .streamUrl(streamUrl(pdfId))
+                .build();
+        }
     }
 
     // 조립 완료 후 Redis 임시 키 정리
     private void cleanupRedisKeys(String uploadId) {
-        redis.delete(COUNT_KEY.formatted(uploadId));
+        redis.delete(RECEIVED_KEY.formatted(uploadId));
         redis.delete(metaKey(uploadId, "roomId"));
         redis.delete(metaKey(uploadId, "deckId"));
         redis.delete(metaKey(uploadId, "fileName"));
         redis.delete(metaKey(uploadId, "totalChunks"));
         redis.delete(metaKey(uploadId, "fileType"));
+        redis.delete(metaKey(uploadId, "fileSize"));
+        redis.delete(metaKey(uploadId, "chunkSize"));
     }
 
     // pdfId: "pdf-" + UUID 앞 12자리 (예: pdf-a1b2c3d4e5f6)
@@ -450,15 +783,17 @@ public class PdfChunkService {
         return Paths.get(props.getPdf().getTempDir(), uploadId);
     }
 
-    // {app.pdf.temp-dir}/{uploadId}/chunk_{index:05d}
-    private Path resolveChunkPath(String uploadId, int chunkIndex) {
-        return resolveUploadDir(uploadId).resolve("chunk_%05d".formatted(chunkIndex));
+    // {app.pdf.temp-dir}/{uploadId}/source.{ext} (청크가 직접 기록되는 조립 대상 파일)
+    private Path resolveAssembledPath(String uploadId, PresentationFileType fileType) {
+        return resolveUploadDir(uploadId).resolve("source." + fileType.extension());
     }
 
     private String metaKey(String uploadId, String field) {
         return META_KEY.formatted(uploadId, field);
     }
 
+    private String completedKey(String uploadId) { return "pdf:upload:" + uploadId + ":completed"; }
+    private static String streamUrl(String pdfId) { return "/api/pdf/" + pdfId + "/stream"; }
     private String stateKey(String uploadId) { return "pdf:upload:" + uploadId + ":state"; }
     private String missingFontsKey(String uploadId) { return "pdf:upload:" + uploadId + ":missingFonts"; }
     private String sourcePathKey(String uploadId) { return "pdf:upload:" + uploadId + ":sourcePath"; }
@@ -531,8 +866,10 @@ public class PdfChunkService {
         Path fontDir = proceedWithoutFonts ? null : resolveExistingFontDir(uploadId);
         String pdfId = generatePdfId();
 
+        String totalChunks = redis.opsForValue().get(metaKey(uploadId, "totalChunks"));
         AssemblyCompleteResponse response = convertSeedAndParse(
             uploadId, pdfId, roomId, deckId, Paths.get(sourcePath), fileType, fileName, fontDir);
+        markCompleted(uploadId, response, totalChunks == null ? 0 : Integer.parseInt(totalChunks));
 
         redis.delete(stateKey(uploadId));
         redis.delete(missingFontsKey(uploadId));
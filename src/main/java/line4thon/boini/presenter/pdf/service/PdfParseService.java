@@ -1,65 +1,111 @@
 package line4thon.boini.presenter.pdf.service;
 
 import java.awt.image.BufferedImage;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import line4thon.boini.global.config.AppProperties;
+import line4thon.boini.presenter.image.service.AsyncS3Uploader;
+import line4thon.boini.presenter.image.service.ImageVariantEncoder;
+import line4thon.boini.presenter.image.service.LocalAssetCache;
+import line4thon.boini.presenter.image.service.SlideManifest;
 import line4thon.boini.presenter.image.service.SlideS3Helper;
 import line4thon.boini.presenter.pdf.dto.event.CompleteEventData;
 import line4thon.boini.presenter.pdf.dto.event.ErrorEventData;
 import line4thon.boini.presenter.pdf.dto.event.PageEventData;
+import line4thon.boini.presenter.pdf.service.render.EncodedPage;
+import line4thon.boini.presenter.pdf.service.render.OrderedPageEmitter;
+import line4thon.boini.presenter.pdf.service.render.PageFingerprinter;
+import line4thon.boini.presenter.pdf.service.render.PageRenderCache;
+import line4thon.boini.presenter.pdf.service.render.PageRenderPipeline;
+import line4thon.boini.presenter.pdf.service.render.PageResult;
+import line4thon.boini.presenter.pdf.service.render.PageRenderScheduler;
+import line4thon.boini.presenter.pdf.service.render.RenderProfiler;
+import line4thon.boini.presenter.pdf.service.render.RenderPriorityHints;
+import line4thon.boini.presenter.pdf.service.render.RenderWorkerBudget;
+import line4thon.boini.presenter.room.entity.SessionStatus;
+import line4thon.boini.presenter.room.service.RoomService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import net.coobird.thumbnailator.Thumbnails;
 import org.apache.pdfbox.Loader;
 import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
 import org.apache.pdfbox.rendering.PDFRenderer;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
-import software.amazon.awssdk.core.sync.RequestBody;
-import software.amazon.awssdk.services.s3.S3Client;
-import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 
 /**
  * 조립된 PDF 파일을 페이지별로 렌더링하고 S3에 업로드하며 SSE로 스트리밍하는 서비스.
  *
  * 흐름:
  *   1. PdfChunkService 에서 @Async 로 호출됨 → pdfParseExecutor 스레드풀에서 실행
- *   2. PDFBox 로 PDF 열기 → 각 페이지를 BufferedImage 로 렌더링
- *   3. Thumbnailator 로 WebP 변환 → S3 업로드 (원본 + 썸네일)
- *   4. 페이지 완료마다 PdfSseRegistry.emit("page", ...) 으로 프론트에 푸시
- *   5. 모든 페이지 완료 → emit("complete", ...) → sseRegistry.complete()
+ *   2. PageRenderPipeline 으로 render → encode → upload 단계를 병렬 실행
+ *      - 렌더링 순서: PageRenderScheduler 가 앞쪽 N장 → 청중 요청 페이지 → 발표자 현재 페이지 근처 순으로 결정
+ *      - render: PDFBox 로 각 페이지를 BufferedImage 로 렌더링
+ *      - encode: ImageVariantEncoder 가 한 번 디코딩한 이미지로 원본 / 반응형 폭 미리보기 / 썸네일 WebP 를 함께 만듦
+ *      - upload: S3 비동기 업로드 (AsyncS3Uploader, 전송을 기다리지 않고 다음 페이지 진행)
+ *   3. 페이지 업로드 완료 즉시 SlideManifest 에 기록하고 WebSocket slideReady 브로드캐스트 (완료 순서, manifest version 포함)
+ *   4. OrderedPageEmitter 가 페이지 순서대로 PdfSseRegistry.emit("page", ...) 으로 프론트에 푸시
+ *   5. 모든 페이지 완료 → emit("complete", status=DONE) → sseRegistry.complete()
+ *      지연 렌더링이면 앞쪽 페이지까지만 보내고 emit("complete", status=DEFERRED) 로 스트림을 닫음 (CompleteEventData 참고)
  *
  * 연결:
  *   - PdfChunkService.assembleAndTriggerParsing() → parseAndStream() 호출
  *   - SlideS3Helper: S3 키 생성 및 URL 발급 (DeckAssetService 와 공유)
  *   - PdfSseRegistry: 페이지 완료 이벤트 전달
  *   - AsyncConfig("pdfParseExecutor"): 이 서비스의 스레드풀 설정
+ *   - AppProperties.Pdf: 파이프라인 단계별 스레드 수 / 큐 크기
+ *   - RenderWorkerBudget: 덱 크기와 노드 부하에 맞춰 render 워커 수 결정 (큰 덱은 한가할 때 여러 코어 사용)
+ *   - RenderPriorityHints: 발표자 페이지 / 청중 요청 페이지를 Redis 에서 읽어 렌더링 순서에 반영
+ *   - PageRenderCache: 페이지 지문이 같으면 이전 업로드의 WebP 를 복사해 재사용 (재업로드 시 렌더링 생략)
+ *   - LocalAssetCache: 켜져 있으면 업로드가 끝난 WebP 와 source.pdf 를 노드 로컬 디스크에도 기록
+ *   - DeferredRenderStore / LazyRenderService: app.pdf.lazy-render-enabled 면 세션 시작 전에는 앞쪽 페이지만 렌더링하고
+ *     나머지는 세션 시작이나 페이지 요청 때 renderRemaining() 으로 렌더링
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class PdfParseService {
 
-    private static final int RENDER_DPI = 150;               // PDF 렌더링 해상도 (높을수록 선명, 느림)
     private static final String IMAGE_FORMAT = "webp";        // S3 저장 포맷
     private static final String IMAGE_CONTENT_TYPE = "image/webp";
     private static final float THUMBNAIL_QUALITY = 0.8f;     // 썸네일 압축률 (0.0~1.0)
     private static final int THUMBNAIL_SIZE = 320;            // 썸네일 최대 너비/높이 (px)
+    private static final String ORIGINAL_VARIANT = "original";
+    private static final String THUMBNAIL_VARIANT = "thumbnail";
+    private static final String WIDTH_FOLDER_PREFIX = "w";     // 반응형 너비 S3 폴더: w{너비} (app.pdf.responsive-widths)
 
-    private final S3Client s3;
+    private final AsyncS3Uploader s3Uploader; // 페이지 원본/썸네일 비동기 업로드 (동시 전송 수 제한 + 재시도)
     private final AppProperties props;
     private final SlideS3Helper slideS3Helper; // S3 키 생성 및 URL 발급 (DeckAssetService 와 공유)
     private final PdfSseRegistry sseRegistry;  // 렌더링 완료 이벤트를 프론트로 전달
     private final SimpMessagingTemplate messagingTemplate; // 페이지 완료 WebSocket 브로드캐스트
+    private final RenderPriorityHints priorityHints; // 렌더링 우선순위 힌트 (발표자 페이지 / 청중 요청)
+    private final PageRenderCache renderCache; // 페이지 지문 기반 렌더 결과 재사용
+    private final ImageVariantEncoder variantEncoder; // 원본/미리보기/썸네일을 한 번에 WebP 인코딩
+    private final RenderWorkerBudget workerBudget; // 덱별 render 워커 수 (페이지 수 + 노드 부하)
+    private final SlideManifest slideManifest; // 완료된 페이지 기록 (/meta, 원본 조회가 S3 HEAD 대신 사용)
+    private final LocalAssetCache localAssetCache; // 노드 로컬 디스크 캐시 (꺼져 있으면 아무것도 안 함)
+    private final RoomService roomService; // 세션 상태 (waiting 이면 지연 렌더링)
+    private final DeferredRenderStore deferredRenders; // 지연 렌더링으로 미뤄 둔 덱
 
     /**
      * PDF 파일을 페이지별로 파싱하고 SSE 로 스트리밍합니다.
@@ -67,39 +113,115 @@ public class PdfParseService {
      * @Async("pdfParseExecutor"): 호출 즉시 반환됩니다.
      *   실제 렌더링은 AsyncConfig 의 pdfParseExecutor 스레드풀에서 진행됩니다.
      *   @Async 가 동작하려면 반드시 다른 빈(PdfChunkService)에서 호출해야 합니다.
+     *   pdf-parse 스레드는 파이프라인 조율만 하고, 페이지 작업은 단계별 워커 스레드가 수행합니다.
      *
      * @param pdfFile    PdfChunkService 가 조립한 assembled.pdf 경로
      * @param totalPages PdfChunkService 가 PDFBox 로 미리 확인한 총 페이지 수
+     * @param sourceUpload 다운로드용 PDF 업로드 future. 이 업로드가 끝난 뒤에 임시 디렉토리를 지웁니다.
      */
     @Async("pdfParseExecutor")
-    public void parseAndStream(String pdfId, String roomId, String deckId, Path pdfFile, int totalPages) {
-        log.info("[PDF] 비동기 파싱 시작: pdfId={}, totalPages={}", pdfId, totalPages);
+    public void parseAndStream(
+        String pdfId, String roomId, String deckId, Path pdfFile, int totalPages, CompletableFuture<?> sourceUpload) {
+        try {
+            renderDeck(pdfId, roomId, deckId, pdfFile, totalPages);
+        } catch (InterruptedException e) {
+            // 애플리케이션 종료 등으로 렌더링 스레드가 중단된 경우 (이 경로는 다른 노드가 이어 받지 않으므로 실패로 알림)
+            Thread.currentThread().interrupt();
+            log.warn("[PDF] 파싱 중단: pdfId={}", pdfId);
+            sseRegistry.emit(pdfId, "error", ErrorEventData.builder()
+                .pdfId(pdfId)
+                .pageIndex(-1)
+                .message("PDF 파싱 중단")
+                .code("PDF_PARSE_INTERRUPTED")
+                .build());
+            sseRegistry.complete(pdfId);
+        } finally {
+            // 성공/실패 무관하게 temp 디렉토리 정리
+            // (청크가 기록된 source 파일 + 변환 결과 포함)
+            // 다운로드용 PDF 가 아직 전송 중이면 전송이 끝난 뒤에 지웁니다.
+            sourceUpload.whenComplete((ignored, error) -> deleteLocalSource(pdfFile));
+        }
+    }
+
+    /**
+     * 덱 전체를 호출 스레드에서 렌더링하고 SSE 로 스트리밍합니다. (임시 파일 정리는 호출자 책임)
+     *
+     * 연결:
+     *   - parseAndStream(): 업로드를 받은 노드에서 바로 렌더링할 때
+     *   - RenderJobQueue: Redis Streams 렌더 작업을 가져간 노드에서 렌더링할 때
+     *
+     * @throws InterruptedException 렌더링이 중단된 경우. SSE 종료 이벤트는 보내지 않으므로
+     *                              호출자가 재시도할지, 실패를 알릴지 결정합니다.
+     */
+    public void renderDeck(String pdfId, String roomId, String deckId, Path pdfFile, int totalPages)
+        throws InterruptedException {
+        renderDeck(pdfId, roomId, deckId, pdfFile, totalPages, false);
+    }
+
+    /**
+     * @param resume 중단된 작업을 이어 받은 경우 true. manifest 를 지우지 않고, 이미 기록된 페이지는
+     *               다시 렌더링하지도 SSE page 이벤트를 다시 보내지도 않습니다. (이전 이벤트는 SSE 이벤트 로그에 남아 있음)
+     */
+    public void renderDeck(String pdfId, String roomId, String deckId, Path pdfFile, int totalPages, boolean resume)
+        throws InterruptedException {
+        log.info("[PDF] 렌더링 시작: pdfId={}, totalPages={}, resume={}", pdfId, totalPages, resume);
 
         // ── [성능 측정] 전체 파싱 시간 ──
         Instant parseStart = Instant.now();
 
         try (PDDocument document = Loader.loadPDF(pdfFile.toFile())) {
-            PDFRenderer renderer = new PDFRenderer(document);
             // application.properties → app.pdf.can-start-session-after-pages (기본값 10)
             int canStartSessionAfter = props.getPdf().getCanStartSessionAfterPages();
 
-            for (int i = 0; i < totalPages; i++) {
-                processPage(pdfId, roomId, deckId, renderer, i, totalPages, canStartSessionAfter);
+            // 같은 덱을 다시 렌더링하면 이전 페이지 기록은 버림 (이어 받은 작업이면 이전 시도의 기록을 그대로 씀)
+            Set<Integer> done = resume ? renderedPages(roomId, deckId) : Set.of();
+            if (!resume) {
+                slideManifest.clear(roomId, deckId);
+            }
+
+            // SSE 는 페이지 순서대로, slideReady 는 업로드 완료 즉시 전송
+            OrderedPageEmitter orderedEmitter = new OrderedPageEmitter(
+                result -> emitPageEvent(pdfId, result, totalPages, canStartSessionAfter), done);
+
+            // 세션 시작 전(waiting)인 방은 앞쪽 canStartSessionAfter 장만 렌더링하고 나머지는 미룸
+            // (만들어지고 시작되지 않는 방이 많아서, 나머지는 세션 시작/페이지 요청 때 LazyRenderService 가 렌더링)
+            boolean deferRest = shouldDeferRest(roomId, totalPages);
+            int renderPages = deferRest ? canStartSessionAfter : totalPages;
+            List<Integer> pages = IntStream.range(0, renderPages)
+                .filter(pageIndex -> !done.contains(pageIndex))
+                .boxed()
+                .toList();
+
+            // 다운로드용 PDF 는 렌더링하는 이 파일과 같으므로 디스크 캐시에도 둠 (PdfDownloadService 가 사용)
+            localAssetCache.putFile(slideS3Helper.buildSourceKey(roomId, deckId), pdfFile);
+
+            DeckStages stages = new DeckStages(roomId, deckId);
+            if (!pages.isEmpty()) {
+                runPipeline(document, pdfFile, roomId, deckId, totalPages,
+                    pages, canStartSessionAfter, stages, orderedEmitter);
             }
 
             long totalMs = Duration.between(parseStart, Instant.now()).toMillis();
-            log.info("[⏱ 성능] 전체 파싱 완료: {}ms | 평균 {}ms/페이지 | totalPages={}",
-                totalMs, totalPages > 0 ? totalMs / totalPages : 0, totalPages);
+            log.info("[⏱ 성능] 전체 파싱 완료: {}ms | 평균 {}ms/페이지 | renderedPages={}/{} | 이전 시도에서 완료={} | 캐시 재사용={}",
+                totalMs, pages.isEmpty() ? 0 : totalMs / pages.size(), pages.size(), totalPages, done.size(),
+                stages.reusedCount());
+            log.info("[PDF] 렌더 캐시 누적: hit={}, miss={}", renderCache.hitCount(), renderCache.missCount());
 
             // 모든 페이지 처리 완료 → SSE "complete" 이벤트 전송 후 연결 종료
+            // 나머지를 미룬 경우 status=DEFERRED: 남은 페이지는 WebSocket slideReady 로만 전달됨
             sseRegistry.emit(pdfId, "complete", CompleteEventData.builder()
                 .pdfId(pdfId)
                 .totalPages(totalPages)
-                .status("DONE")
+                .status(deferRest ? "DEFERRED" : "DONE")
                 .build());
             sseRegistry.complete(pdfId);
             log.info("[PDF] 파싱 완료: pdfId={}", pdfId);
 
+            if (deferRest) {
+                deferRemaining(new RenderJob(pdfId, roomId, deckId,
+                    slideS3Helper.buildSourceKey(roomId, deckId), totalPages), document, pdfFile);
+            }
+
         } catch (IOException e) {
             // PDF 파일 자체를 열 수 없는 경우 (손상된 PDF, 잘못된 조립 등)
             log.error("[PDF] PDF 열기 실패: pdfId={}", pdfId, e);
@@ -110,82 +232,195 @@ public class PdfParseService {
                 .code("PDF_LOAD_FAILED")
                 .build());
             sseRegistry.complete(pdfId);
-        } finally {
-            // 성공/실패 무관하게 temp 디렉토리 정리
-            // (청크 파일들 + assembled.pdf 포함)
-            deleteUploadDir(resolveCleanupDir(pdfFile));
         }
     }
 
     /**
-     * 페이지 하나를 렌더링하고 S3에 업로드한 뒤 SSE "page" 이벤트를 발행합니다.
-     * 단일 페이지 처리 실패 시 SSE "error" 이벤트를 발행하고 다음 페이지로 넘어갑니다.
+     * 지연 렌더링으로 미뤄 둔 나머지 페이지를 렌더링합니다. (manifest 에 없는 페이지만, SSE 없이 slideReady 로만 전달)
+     * 연결: LazyRenderService (세션 시작 / 아직 없는 페이지 요청)
      */
-    private void processPage(
-        String pdfId, String roomId, String deckId,
-        PDFRenderer renderer, int pageIndex, int totalPages, int canStartSessionAfter
-    ) {
-        try {
-            // ── [성능 측정] 페이지별 시간 ──
-            Instant pageStart = Instant.now();
+    public void renderRemaining(RenderJob job, Path pdfFile) {
+        try (PDDocument document = Loader.loadPDF(pdfFile.toFile())) {
+            renderRemaining(job, document, pdfFile);
+        } catch (IOException e) {
+            log.error("[PDF] 미뤄 둔 페이지 렌더링용 PDF 열기 실패: pdfId={}", job.pdfId(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("[PDF] 미뤄 둔 페이지 렌더링 중단: pdfId={}", job.pdfId());
+        }
+    }
 
-            // PDFBox 렌더링: pageIndex 는 0-based, pageNumber(S3 키) 는 1-based
-            BufferedImage image = renderer.renderImageWithDPI(pageIndex, RENDER_DPI);
-            long renderMs = Duration.between(pageStart, Instant.now()).toMillis();
+    private void renderRemaining(RenderJob job, PDDocument document, Path pdfFile) throws InterruptedException {
+        Set<Integer> rendered = renderedPages(job.roomId(), job.deckId());
+        List<Integer> pages = IntStream.range(0, job.totalPages())
+            .filter(pageIndex -> !rendered.contains(pageIndex))
+            .boxed()
+            .toList();
+        if (pages.isEmpty()) return;
 
-            int pageNumber = pageIndex + 1;
+        log.info("[PDF] 미뤄 둔 페이지 렌더링 시작: pdfId={}, pages={}", job.pdfId(), pages.size());
+        Instant start = Instant.now();
+        DeckStages stages = new DeckStages(job.roomId(), job.deckId());
+        runPipeline(document, pdfFile, job.roomId(), job.deckId(), job.totalPages(), pages, 0, stages, result -> {});
+        log.info("[⏱ 성능] 미뤄 둔 페이지 렌더링 완료: {}ms | pages={} | 캐시 재사용={}",
+            Duration.between(start, Instant.now()).toMillis(), pages.size(), stages.reusedCount());
+    }
 
-            // 원본 WebP → S3 업로드 → URL 반환 (SlideS3Helper.buildUrl 로 CloudFront 분기)
-            Instant uploadStart = Instant.now();
-            String imageUrl = uploadOriginal(roomId, deckId, pageNumber, image);
+    // manifest 에 기록된(렌더링과 업로드가 끝난) 페이지 인덱스
+    private Set<Integer> renderedPages(String roomId, String deckId) {
+        return slideManifest.read(roomId, deckId).pages().stream()
+            .map(entry -> entry.page() - 1)
+            .collect(Collectors.toSet());
+    }
 
-            // 썸네일 (320x320 WebP) → S3 업로드 (DeckAssetController GET /meta 에서 사용)
-            uploadThumbnail(roomId, deckId, pageNumber, image);
-            long uploadMs = Duration.between(uploadStart, Instant.now()).toMillis();
+    /**
+     * pages 를 파이프라인으로 렌더링합니다. 완료된 페이지는 manifest 기록 → slideReady → downstream 순으로 전달됩니다.
+     * 렌더링 순서: 세션 시작에 필요한 앞쪽 페이지 → 청중 요청 페이지 → 발표자 현재 페이지 근처
+     */
+    private void runPipeline(PDDocument document, Path pdfFile, String roomId, String deckId, int totalPages,
+                             List<Integer> pages, int startupPages, DeckStages stages,
+                             Consumer<PageResult> downstream) throws InterruptedException {
+        PageRenderScheduler scheduler = new PageRenderScheduler(
+            pages, startupPages, priorityHints.forDeck(roomId, deckId));
 
-            long pageMs = Duration.between(pageStart, Instant.now()).toMillis();
-            log.info("[⏱ 성능] 페이지 {} 완료: 총 {}ms (렌더링 {}ms + S3업로드 {}ms) | {}x{}",
-                pageIndex, pageMs, renderMs, uploadMs, image.getWidth(), image.getHeight());
+        // 페이지 수와 다른 덱이 쓰는 워커 수를 보고 render 워커 수를 정함 (각 워커는 자기 PDDocument 사용)
+        try (RenderWorkerBudget.Lease lease = workerBudget.lease(pages.size())) {
+            log.info("[PDF] render 워커 {}개로 시작: deckId={}, pages={}, 노드 전체 사용 중={}",
+                lease.workers(), deckId, pages.size(), workerBudget.inUse());
+            PageRenderPipeline pipeline = new PageRenderPipeline(props.getPdf(), lease.workers(), stages);
+            pipeline.run(
+                document,
+                () -> Loader.loadPDF(pdfFile.toFile()),
+                scheduler,
+                result -> {
+                    long version = recordManifest(roomId, deckId, stages, result);
+                    broadcastSlideReady(roomId, result, totalPages, version);
+                    downstream.accept(result);
+                });
+        }
+    }
 
-            sseRegistry.emit(pdfId, "page", PageEventData.builder()
-                .pdfId(pdfId)
-                .pageIndex(pageIndex)
-                .totalPages(totalPages)
-                .imageUrl(imageUrl)
-                .format(IMAGE_FORMAT)
-                .width(image.getWidth())
-                .height(image.getHeight())
-                // canStartSession: 설정된 페이지 수(기본 10장)가 모두 완료됐을 때 true
-                // 총 페이지가 10장 미만이면 마지막 페이지에서 true
-                .canStartSession(isCanStartSession(pageIndex, totalPages, canStartSessionAfter))
-                .build());
+    // 지연 렌더링: 켜져 있고, 앞쪽 페이지보다 길고, 아직 세션이 시작되지 않은 방
+    private boolean shouldDeferRest(String roomId, int totalPages) {
+        if (!props.getPdf().isLazyRenderEnabled()) return false;
+        if (totalPages <= props.getPdf().getCanStartSessionAfterPages()) return false;
+        try {
+            return roomService.getSessionStatus(roomId) == SessionStatus.waiting;
+        } catch (RuntimeException e) {
+            // 상태를 모르면 예전처럼 전부 렌더링
+            log.warn("[PDF] 세션 상태 조회 실패, 전체 렌더링: roomId={}, 이유={}", roomId, e.getMessage());
+            return false;
+        }
+    }
 
-            // WebSocket broadcast: audience receives pages as they are parsed
-            Map<String, Object> slideReadyPayload = new LinkedHashMap<>();
-            slideReadyPayload.put("pageIndex", pageIndex);
-            slideReadyPayload.put("totalPages", totalPages);
-            slideReadyPayload.put("imageUrl", imageUrl);
-            messagingTemplate.convertAndSend(
-                "/topic/presentation/" + roomId + "/slideReady",
-                slideReadyPayload
-            );
-
-        } catch (Exception e) {
-            log.error("[PDF] 페이지 처리 실패: pdfId={}, pageIndex={}", pdfId, pageIndex, e);
-            // 단일 페이지 실패 → error 이벤트 발행 후 다음 페이지로 계속 진행
+    /**
+     * 나머지 페이지를 미뤄 둡니다.
+     * 앞쪽 페이지를 렌더링하는 사이 세션이 시작됐으면(/session/start 가 미뤄 두기 전에 지나감) 바로 이어서 렌더링합니다.
+     * claim 은 한 곳에서만 성공하므로 LazyRenderService 와 겹쳐도 한 번만 렌더링됩니다.
+     */
+    private void deferRemaining(RenderJob job, PDDocument document, Path pdfFile) throws InterruptedException {
+        try {
+            deferredRenders.park(job);
+        } catch (RuntimeException e) {
+            log.warn("[PDF] 지연 렌더링 등록 실패, 바로 렌더링: pdfId={}, 이유={}", job.pdfId(), e.getMessage());
+            renderRemaining(job, document, pdfFile);
+            return;
+        }
+        SessionStatus status;
+        try {
+            status = roomService.getSessionStatus(job.roomId());
+        } catch (RuntimeException e) {
+            status = SessionStatus.waiting; // 미뤄 둔 상태로 두면 세션 시작 때 렌더링됨
+        }
+        if (status == SessionStatus.waiting) {
+            log.info("[PDF] 나머지 페이지는 세션 시작 때 렌더링: pdfId={}, 미룬 페이지={}",
+                job.pdfId(), job.totalPages() - props.getPdf().getCanStartSessionAfterPages());
+            return;
+        }
+        if (deferredRenders.claim(job.roomId(), job.deckId()).isPresent()) {
+            renderRemaining(job, document, pdfFile);
+        }
+    }
+
+    /** 조립/변환에 쓰인 임시 업로드 디렉토리를 지웁니다. (PdfChunkService 가 렌더링을 다른 노드에 넘긴 경우에도 사용) */
+    void deleteLocalSource(Path pdfFile) {
+        deleteUploadDir(resolveCleanupDir(pdfFile));
+    }
+
+    /**
+     * 페이지 순서대로 SSE 이벤트를 발행합니다. (OrderedPageEmitter 의 downstream)
+     * 성공 → "page" 이벤트, 실패 → "error" 이벤트 (다음 페이지는 계속 진행)
+     */
+    private void emitPageEvent(String pdfId, PageResult result, int totalPages, int canStartSessionAfter) {
+        if (result.failed()) {
             sseRegistry.emit(pdfId, "error", ErrorEventData.builder()
                 .pdfId(pdfId)
-                .pageIndex(pageIndex)
+                .pageIndex(result.pageIndex())
                 .message("페이지 렌더링 실패")
                 .code("RENDER_FAILED")
                 .build());
+            return;
         }
+
+        sseRegistry.emit(pdfId, "page", PageEventData.builder()
+            .pdfId(pdfId)
+            .pageIndex(result.pageIndex())
+            .totalPages(totalPages)
+            .imageUrl(result.imageUrl())
+            .format(IMAGE_FORMAT)
+            .width(result.width())
+            .height(result.height())
+            .responsiveWidths(nullIfEmpty(responsiveWidths(result.width())))
+            // canStartSession: 설정된 페이지 수(기본 10장)가 모두 완료됐을 때 true
+            // 총 페이지가 10장 미만이면 마지막 페이지에서 true
+            .canStartSession(isCanStartSession(result.pageIndex(), totalPages, canStartSessionAfter))
+            .build());
+    }
+
+    /**
+     * 완료된 페이지를 manifest 에 기록합니다.
+     *
+     * @return manifest version (실패한 페이지거나 기록에 실패하면 -1)
+     */
+    private long recordManifest(String roomId, String deckId, DeckStages stages, PageResult result) {
+        if (result.failed()) return -1;
+        return slideManifest.record(roomId, deckId, new SlideManifest.Entry(
+            result.pageIndex() + 1, result.width(), result.height(),
+            stages.hashOf(result.pageIndex()), responsiveWidths(result.width())));
+    }
+
+    /**
+     * WebSocket broadcast: audience receives pages as they are parsed.
+     * SSE 와 달리 순서를 기다리지 않고 업로드 완료 즉시 전송합니다.
+     * version 은 manifest 의 변경 번호로, /meta 를 늦게 받은 청중이 그 이후 이벤트만 반영할 때 씁니다.
+     */
+    private void broadcastSlideReady(String roomId, PageResult result, int totalPages, long version) {
+        if (result.failed()) return;
+
+        Map<String, Object> slideReadyPayload = new LinkedHashMap<>();
+        slideReadyPayload.put("pageIndex", result.pageIndex());
+        slideReadyPayload.put("totalPages", totalPages);
+        slideReadyPayload.put("imageUrl", result.imageUrl());
+        slideReadyPayload.put("width", result.width());
+        slideReadyPayload.put("height", result.height());
+        if (version > 0) {
+            slideReadyPayload.put("version", version);
+        }
+        List<Integer> widths = responsiveWidths(result.width());
+        if (!widths.isEmpty()) {
+            slideReadyPayload.put("responsiveWidths", widths);
+        }
+        messagingTemplate.convertAndSend(
+            "/topic/presentation/" + roomId + "/slideReady",
+            slideReadyPayload
+        );
     }
 
     /**
      * canStartSession 조건:
      *   - 정상: pageIndex 가 (canStartSessionAfter - 1) 에 도달했을 때 (ex. 10번째 페이지 완료)
      *   - 총 페이지가 threshold 미만: 마지막 페이지에서 true
+     * SSE 는 페이지 순서대로 발행되므로 이 페이지가 나가는 시점엔 앞 페이지도 모두 처리된 상태입니다.
      */
     private boolean isCanStartSession(int pageIndex, int totalPages, int canStartSessionAfter) {
         int threshold = Math.min(canStartSessionAfter, totalPages);
@@ -193,59 +428,207 @@ public class PdfParseService {
     }
 
     /**
-     * 원본 이미지를 WebP 로 변환하고 S3에 업로드합니다.
-     * 키 형식: {root}/{roomId}/{deckId}/pages/{0001}.webp
-     * URL: SlideS3Helper.buildUrl(key, false) → CloudFront 설정 시 공개 URL, 아니면 presigned URL
+     * 파이프라인 단계별 작업 구현 (덱 하나 단위).
+     * 각 메서드는 서로 다른 단계의 워커 스레드에서 호출됩니다.
      */
-    private String uploadOriginal(String roomId, String deckId, int pageNumber, BufferedImage image) throws IOException {
-        ByteArrayOutputStream out = new ByteArrayOutputStream();
-        Thumbnails.of(image)
-            .scale(1.0) // 원본 크기 유지
-            .outputFormat(IMAGE_FORMAT)
-            .outputQuality(THUMBNAIL_QUALITY)
-            .toOutputStream(out);
-
-        String key = slideS3Helper.buildKey(roomId, deckId, pageNumber, false, IMAGE_FORMAT);
-        s3.putObject(
-            PutObjectRequest.builder()
-                .bucket(props.getS3().getBucket())
-                .key(key)
-                .contentType(IMAGE_CONTENT_TYPE)
-                .build(),
-            RequestBody.fromBytes(out.toByteArray())
-        );
-        log.info("[S3] 원본 업로드: {}", key);
-        return slideS3Helper.buildUrl(key, false);
+    private class DeckStages implements PageRenderPipeline.Stages {
+
+        private final String roomId;
+        private final String deckId;
+        // render 워커마다 문서가 다르므로 지문 계산기도 문서별로 둡니다 (스트림 해시 캐시 공유 목적)
+        private final Map<PDDocument, PageFingerprinter> fingerprinters =
+            Collections.synchronizedMap(new IdentityHashMap<>());
+        // 캐시 miss 페이지의 지문: 업로드 완료 후 캐시에 등록
+        private final Map<Integer, String> fingerprints = new ConcurrentHashMap<>();
+        // 모든 페이지의 지문 (hit/miss 공통): manifest 의 content hash 로 기록
+        private final Map<Integer, String> pageHashes = new ConcurrentHashMap<>();
+        private final AtomicInteger reused = new AtomicInteger();
+        // 페이지별 렌더링 설정: render 단계에서 정하고 encode 단계에서 품질로 사용
+        private final RenderProfiler profiler = new RenderProfiler(props.getPdf());
+        private final Map<Integer, RenderProfiler.RenderProfile> profiles = new ConcurrentHashMap<>();
+
+        DeckStages(String roomId, String deckId) {
+            this.roomId = roomId;
+            this.deckId = deckId;
+        }
+
+        // 페이지 지문이 렌더 캐시에 있으면 기존 WebP 를 새 덱 키로 복사하고 렌더링을 건너뜀
+        @Override
+        public PageResult reuse(PDDocument document, int pageIndex) throws IOException {
+            if (!renderCache.isEnabled()) return null;
+
+            PDPage page = document.getPage(pageIndex);
+            String fingerprint = fingerprinters
+                .computeIfAbsent(document, d -> new PageFingerprinter())
+                .fingerprint(page, renderVariant());
+
+            pageHashes.put(pageIndex, fingerprint);
+            int pageNumber = pageIndex + 1;
+            return renderCache.reuse(fingerprint, roomId, deckId, pageNumber, IMAGE_FORMAT)
+                .map(cached -> {
+                    reused.incrementAndGet();
+                    log.info("[PDF] 렌더 캐시 hit: page={}", pageNumber);
+                    return PageResult.success(pageIndex,
+                        slideS3Helper.buildUrl(cached.originalKey(), false), cached.width(), cached.height());
+                })
+                .orElseGet(() -> {
+                    fingerprints.put(pageIndex, fingerprint);
+                    return null;
+                });
+        }
+
+        int reusedCount() {
+            return reused.get();
+        }
+
+        // 렌더 캐시를 끈 경우 지문을 계산하지 않으므로 null
+        String hashOf(int pageIndex) {
+            return pageHashes.remove(pageIndex);
+        }
+
+        // PDFBox 렌더링: pageIndex 는 0-based, pageNumber(S3 키) 는 1-based
+        // DPI 는 페이지 크기와 내용(텍스트/도형 vs 사진)에 따라 RenderProfiler 가 정함
+        @Override
+        public BufferedImage render(PDFRenderer renderer, PDPage page, int pageIndex) throws IOException {
+            Instant start = Instant.now();
+            RenderProfiler.RenderProfile profile = profiler.profile(page);
+            profiles.put(pageIndex, profile);
+            BufferedImage image = renderer.renderImageWithDPI(pageIndex, profile.dpi());
+            log.debug("[⏱ 성능] 페이지 {} 렌더링: {}ms | {} {}dpi q={}", pageIndex,
+                Duration.between(start, Instant.now()).toMillis(), profile.content(), profile.dpi(), profile.quality());
+            return image;
+        }
+
+        // 원본(리샘플링 없음) + 반응형 너비(설정 시) + 썸네일(320x320) WebP 를 한 번에 인코딩
+        @Override
+        public EncodedPage encode(int pageIndex, BufferedImage image) throws IOException {
+            Instant start = Instant.now();
+            RenderProfiler.RenderProfile profile = profiles.remove(pageIndex);
+            float quality = profile != null ? profile.quality() : THUMBNAIL_QUALITY;
+            Map<String, byte[]> encoded = variantEncoder.encode(image, variants(image.getWidth(), quality));
+            Map<String, byte[]> previews = new LinkedHashMap<>();
+            encoded.forEach((name, bytes) -> {
+                if (name.startsWith(WIDTH_FOLDER_PREFIX)) previews.put(name, bytes);
+            });
+            log.debug("[⏱ 성능] 페이지 {} 인코딩: {}ms", pageIndex, Duration.between(start, Instant.now()).toMillis());
+            return new EncodedPage(pageIndex, encoded.get(ORIGINAL_VARIANT), encoded.get(THUMBNAIL_VARIANT),
+                previews, image.getWidth(), image.getHeight());
+        }
+
+        @Override
+        public String upload(EncodedPage page) {
+            try {
+                // 호출 스레드가 기다리므로 완료 후 작업도 호출 스레드에서 실행
+                PageUpload upload = startUpload(page);
+                upload.transfers().join();
+                return finishUpload(page, upload);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("페이지 업로드 중단: pageIndex=" + page.pageIndex(), e);
+            }
+        }
+
+        // 원본/썸네일(/미리보기) PUT 을 동시에 보내고 바로 반환 (upload 워커는 다음 페이지로 진행)
+        // 렌더 캐시 등록(Redis)은 S3 응답 스레드가 아니라 completionExecutor 에서 실행
+        @Override
+        public CompletableFuture<String> uploadAsync(EncodedPage page, Executor completionExecutor)
+            throws InterruptedException {
+            PageUpload upload = startUpload(page);
+            return upload.transfers().thenApplyAsync(ignored -> finishUpload(page, upload), completionExecutor);
+        }
+
+        private PageUpload startUpload(EncodedPage page) throws InterruptedException {
+            Instant start = Instant.now();
+            int pageNumber = page.pageIndex() + 1;
+            String originalKey = slideS3Helper.buildKey(roomId, deckId, pageNumber, false, IMAGE_FORMAT);
+            String thumbnailKey = slideS3Helper.buildKey(roomId, deckId, pageNumber, true, IMAGE_FORMAT);
+
+            // 원본 WebP: {root}/{roomId}/{deckId}/pages/{0001}.webp, URL 은 SlideS3Helper.buildUrl 로 CloudFront 분기
+            // 썸네일 (320x320 WebP): {root}/{roomId}/{deckId}/thumbs/{0001}.webp, DeckAssetController GET /meta 에서 사용
+            List<CompletableFuture<Void>> uploads = new ArrayList<>();
+            uploads.add(s3Uploader.putBytes(originalKey, IMAGE_CONTENT_TYPE, page.original()));
+            uploads.add(s3Uploader.putBytes(thumbnailKey, IMAGE_CONTENT_TYPE, page.thumbnail()));
+            // 미리보기 WebP: {root}/{roomId}/{deckId}/{folder}/{0001}.webp
+            Map<String, String> previewKeys = new LinkedHashMap<>();
+            for (Map.Entry<String, byte[]> preview : page.previews().entrySet()) {
+                String previewKey = slideS3Helper.buildVariantKey(roomId, deckId, pageNumber, preview.getKey(), IMAGE_FORMAT);
+                previewKeys.put(preview.getKey(), previewKey);
+                uploads.add(s3Uploader.putBytes(previewKey, IMAGE_CONTENT_TYPE, preview.getValue()));
+            }
+
+            return new PageUpload(start, originalKey, thumbnailKey, previewKeys,
+                CompletableFuture.allOf(uploads.toArray(CompletableFuture[]::new)));
+        }
+
+        // 모든 PUT 이 성공한 뒤 호출
+        private String finishUpload(EncodedPage page, PageUpload upload) {
+            log.info("[S3] 원본/썸네일 업로드: {}, {}", upload.originalKey(), upload.thumbnailKey());
+
+            // 디스크 캐시는 S3 에 올라간 파일만 기록 (업로드가 실패한 페이지를 이 노드만 응답하는 일이 없도록)
+            localAssetCache.put(upload.originalKey(), page.original());
+            localAssetCache.put(upload.thumbnailKey(), page.thumbnail());
+            for (Map.Entry<String, String> preview : upload.previewKeys().entrySet()) {
+                localAssetCache.put(preview.getValue(), page.previews().get(preview.getKey()));
+            }
+
+            // 다음 재업로드에서 재사용할 수 있도록 렌더 캐시에 등록
+            String fingerprint = fingerprints.remove(page.pageIndex());
+            if (fingerprint != null) {
+                renderCache.store(fingerprint, new PageRenderCache.CachedPage(
+                    upload.originalKey(), upload.thumbnailKey(), upload.previewKeys(), page.width(), page.height()));
+            }
+
+            log.info("[⏱ 성능] 페이지 {} 업로드 완료: {}ms | {}x{}", page.pageIndex(),
+                Duration.between(upload.start(), Instant.now()).toMillis(), page.width(), page.height());
+            return slideS3Helper.buildUrl(upload.originalKey(), false);
+        }
+    }
+
+    /** 한 페이지의 S3 전송 (원본/썸네일/미리보기 키와 전체 PUT 완료 future) */
+    private record PageUpload(Instant start, String originalKey, String thumbnailKey,
+                              Map<String, String> previewKeys, CompletableFuture<Void> transfers) {}
+
+    private static List<Integer> nullIfEmpty(List<Integer> widths) {
+        return widths.isEmpty() ? null : widths;
     }
 
     /**
-     * 썸네일 이미지를 WebP 로 변환하고 S3에 업로드합니다.
-     * 키 형식: {root}/{roomId}/{deckId}/thumbs/{0001}.webp
-     * 연결: DeckAssetController GET /{roomId}/{deckId}/meta 에서 이 키의 URL을 반환합니다.
+     * 인코딩할 크기 목록. 반응형 너비는 원본보다 좁은 것만 만듭니다. (확대 없음)
+     * variant 이름이 그대로 S3 폴더명(w{너비})이 됩니다.
      */
-    private void uploadThumbnail(String roomId, String deckId, int pageNumber, BufferedImage image) throws IOException {
-        ByteArrayOutputStream out = new ByteArrayOutputStream();
-        Thumbnails.of(image)
-            .size(THUMBNAIL_SIZE, THUMBNAIL_SIZE)
-            .outputFormat(IMAGE_FORMAT)
-            .outputQuality(THUMBNAIL_QUALITY)
-            .toOutputStream(out);
-
-        String key = slideS3Helper.buildKey(roomId, deckId, pageNumber, true, IMAGE_FORMAT);
-        s3.putObject(
-            PutObjectRequest.builder()
-                .bucket(props.getS3().getBucket())
-                .key(key)
-                .contentType(IMAGE_CONTENT_TYPE)
-                .build(),
-            RequestBody.fromBytes(out.toByteArray())
-        );
-        log.info("[S3] 썸네일 업로드: {}", key);
+    private List<ImageVariantEncoder.Variant> variants(int originalWidth, float quality) {
+        List<ImageVariantEncoder.Variant> variants = new ArrayList<>();
+        variants.add(ImageVariantEncoder.Variant.original(ORIGINAL_VARIANT, quality));
+        for (int width : responsiveWidths(originalWidth)) {
+            variants.add(ImageVariantEncoder.Variant.width(WIDTH_FOLDER_PREFIX + width, width, quality));
+        }
+        variants.add(ImageVariantEncoder.Variant.bounded(THUMBNAIL_VARIANT, THUMBNAIL_SIZE, THUMBNAIL_QUALITY));
+        return variants;
+    }
+
+    /** 원본 너비보다 좁은 반응형 너비 (오름차순). 프론트는 이 중 화면에 맞는 너비를 골라 요청합니다. */
+    private List<Integer> responsiveWidths(int originalWidth) {
+        return props.getPdf().getResponsiveWidths().stream()
+            .filter(width -> width > 0 && width < originalWidth)
+            .distinct()
+            .sorted()
+            .toList();
+    }
+
+    // 렌더 캐시 지문에 함께 넣는 렌더링 설정. 렌더링/인코딩 설정이 바뀌면 기존 캐시를 쓰지 않도록 같이 바꿉니다.
+    // (페이지별 DPI/품질은 페이지 내용과 아래 설정으로 정해지므로 설정값만 넣으면 충분)
+    private String renderVariant() {
+        AppProperties.Pdf pdf = props.getPdf();
+        return IMAGE_FORMAT + ";vector=" + pdf.getVectorLongEdgePx() + "@" + pdf.getVectorQuality()
+            + ";raster=" + pdf.getRasterLongEdgePx() + "@" + pdf.getRasterQuality()
+            + ";dpi=" + pdf.getMinDpi() + "-" + pdf.getMaxDpi()
+            + ";thumb=" + THUMBNAIL_SIZE + "@" + THUMBNAIL_QUALITY
+            + ";widths=" + pdf.getResponsiveWidths();
     }
 
     /**
      * 임시 업로드 디렉토리를 재귀적으로 삭제합니다.
-     * parseAndStream 의 finally 블록에서 호출되어 청크 파일과 assembled.pdf 를 정리합니다.
+     * parseAndStream 의 finally 블록에서 호출되어 조립된 source 파일과 변환 결과를 정리합니다.
      */
     private void deleteUploadDir(Path dir) {
         if (dir == null || !Files.exists(dir)) return;
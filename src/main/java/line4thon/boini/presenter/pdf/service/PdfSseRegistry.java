@@ -1,147 +1,320 @@
 package line4thon.boini.presenter.pdf.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
+import line4thon.boini.global.config.AppProperties;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.http.MediaType;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.Limit;
+import org.springframework.data.redis.connection.RedisStreamCommands.XAddOptions;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Component;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 /**
- * SSE 연결과 이벤트 히스토리를 관리하는 레지스트리.
+ * SSE 연결과 이벤트 로그를 관리하는 레지스트리. (클러스터 공용)
  *
- * 존재 이유 (히스토리가 필요한 이유):
+ * 존재 이유 (이벤트 로그가 필요한 이유):
  *   청크 업로드 201 반환 → PdfParseService가 @Async로 즉시 파싱 시작
  *   → 프론트가 SSE 구독하기 전에 이미 몇 페이지가 처리될 수 있음
- *   → SSE 미연결/재연결 상태에서도 모든 이벤트를 히스토리에서 재전송
+ *   → SSE 미연결/재연결 상태에서도 놓친 이벤트를 재전송
  *
- * 리프레시 대응:
- *   이벤트를 히스토리에 항상 누적하고, register() 시 전체 히스토리를 재전송합니다.
- *   히스토리는 complete(pdfId) 호출 시에만 삭제됩니다.
+ * 기존에는 emitter 와 히스토리를 노드 메모리에 두었기 때문에
+ * 재연결이 로드밸런서 뒤의 다른 노드로 가면 이벤트를 하나도 받지 못했고, 재시작하면 히스토리가 사라졌습니다.
+ * 지금은
+ *   - emit(): 이벤트를 pdfId 별 Redis Stream(pdf:sse:{pdfId})에 XADD 하고 (스트림 엔트리 ID = SSE id)
+ *             pdf:sse:events 채널에 pdfId 를 PUBLISH 합니다.
+ *   - 구독자가 있는 노드는 알림을 받으면 마지막으로 보낸 ID 이후의 엔트리를 스트림에서 읽어 보냅니다.
+ *     (pub/sub 은 깨우기 신호로만 쓰고 내용은 항상 스트림에서 읽으므로, 알림 순서가 바뀌거나 유실돼도 다음 알림에서 따라잡습니다)
+ *   - register(): Last-Event-ID 가 있으면 그 이후 이벤트만, 없으면 전체를 재전송합니다.
+ *   - complete(): 종료 표시(END_EVENT)를 스트림에 남기고 보관 시간을 줄입니다.
+ *     구독 중인 노드는 종료 표시를 읽으면 연결을 닫고, 종료 후 재연결해도 남은 이벤트를 받은 뒤 바로 닫힙니다.
+ *
+ * Redis 에 쓸 수 없으면 이 노드에 연결된 구독자에게만 바로 전송합니다. (id 없음, 재전송 불가)
+ *
+ * Redis 키:
+ *   - pdf:sse:{pdfId}  (Stream) 필드 event, data(JSON). app.pdf.sse-history-max-len 으로 길이 제한,
+ *                      마지막 이벤트 후 app.pdf.sse-history-ttl-minutes 동안 보관 (종료 후 5분)
+ *   - pdf:sse:events   (pub/sub) 메시지 = pdfId
  *
  * 연결:
  *   - PdfStreamController.stream() → register() 호출 (프론트 SSE 구독 시)
- *   - PdfParseService.processPage() → emit() 호출 (페이지 렌더링 완료 시)
- *   - PdfParseService.parseAndStream() → complete() 호출 (전체 완료 시)
+ *   - PdfParseService.renderDeck() → emit() 호출 (페이지 렌더링 완료 시), complete() 호출 (전체 완료 시)
+ *   - RenderJobQueue: 렌더링을 가져간 노드에서 emit() → 구독 중인 노드로 전달
  */
 @Component
+@RequiredArgsConstructor
 @Slf4j
 public class PdfSseRegistry {
 
     private static final long SSE_TIMEOUT_MS = 10 * 60 * 1000L; // 10분
+    static final String CHANNEL = "pdf:sse:events";
+    private static final String STREAM_KEY = "pdf:sse:%s";
+    private static final String FIELD_EVENT = "event";
+    private static final String FIELD_DATA = "data";
+    static final String END_EVENT = "_end"; // 내부 표시: 스트림 종료 (클라이언트로 보내지 않음)
+    private static final Duration ENDED_TTL = Duration.ofMinutes(5);
+    private static final Pattern EVENT_ID = Pattern.compile("\\d+-\\d+");
+    private static final int CATCH_UP_THREADS = 4;
+    private static final int CATCH_UP_BATCH = 200; // 따라잡기 한 번에 읽는 이벤트 수 (XRANGE COUNT)
+
+    private final StringRedisTemplate redis;
+    private final ObjectMapper objectMapper;
+    private final AppProperties props;
+    private final RedisMessageListenerContainer listenerContainer;
 
-    // pdfId → SseEmitter: 현재 SSE 연결이 맺어진 emitter
-    private final Map<String, SseEmitter> emitters = new ConcurrentHashMap<>();
+    // pdfId → 이 노드에 연결된 구독자들 (같은 덱을 여러 탭에서 보거나 재연결이 겹칠 수 있음, identity 로 구분)
+    private final Map<String, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    // 알림 후 따라잡기(XRANGE + emitter.send) 전용. pub/sub 리스너 스레드는 ClusterFanout 과 함께 쓰므로
+    // 느린 SSE 클라이언트나 Redis 조회가 그 스레드를 붙잡지 않도록 넘깁니다.
+    private final ExecutorService catchUpExecutor =
+        Executors.newFixedThreadPool(CATCH_UP_THREADS, new CustomizableThreadFactory("sse-catchup-"));
+
+    @PostConstruct
+    void subscribe() {
+        listenerContainer.addMessageListener(
+            (message, pattern) -> onNotify(new String(message.getBody(), StandardCharsets.UTF_8)),
+            new ChannelTopic(CHANNEL));
+    }
 
-    // pdfId → 이벤트 히스토리: 파싱 중 발생한 모든 이벤트를 보관 (재연결 시 재전송용)
-    // complete(pdfId) 호출 시에만 삭제됩니다.
-    // ConcurrentLinkedQueue: 여러 스레드(pdfParseExecutor)가 동시에 add 할 수 있어 thread-safe 자료구조 사용
-    private final Map<String, ConcurrentLinkedQueue<BufferedEvent>> history = new ConcurrentHashMap<>();
+    @PreDestroy
+    void shutdown() {
+        catchUpExecutor.shutdownNow();
+    }
 
-    // 히스토리에 저장할 이벤트 단위 (SSE event name + data)
-    private record BufferedEvent(String name, Object data) {}
+    /** Last-Event-ID 없이 등록합니다. (전체 재전송) */
+    public SseEmitter register(String pdfId) {
+        return register(pdfId, null);
+    }
 
     /**
      * SSE 연결을 등록합니다. (PdfStreamController 에서 호출)
-     * 등록 즉시 히스토리에 쌓인 모든 이벤트를 재전송합니다 (리프레시 대응).
+     * 등록 즉시 lastEventId 이후의 이벤트를 재전송합니다 (리프레시/재연결 대응).
+     *
+     * @param lastEventId 브라우저가 재연결 시 보내는 Last-Event-ID 헤더. 없거나 형식이 틀리면 처음부터 재전송
      */
-    public SseEmitter register(String pdfId) {
+    public SseEmitter register(String pdfId, String lastEventId) {
         SseEmitter emitter = new SseEmitter(SSE_TIMEOUT_MS);
+        String resumeFrom = lastEventId != null && EVENT_ID.matcher(lastEventId).matches() ? lastEventId : null;
+        Subscriber subscriber = new Subscriber(pdfId, emitter, resumeFrom);
 
-        // 클라이언트 연결 종료 / 타임아웃 / 오류 발생 시 emitter만 제거 (히스토리는 보존)
-        emitter.onTimeout(() -> removeEmitter(pdfId, emitter));
-        emitter.onError(e -> removeEmitter(pdfId, emitter));
-        emitter.onCompletion(() -> removeEmitter(pdfId, emitter));
+        // 클라이언트 연결 종료 / 타임아웃 / 오류 발생 시 구독자만 제거 (이벤트 로그는 보존)
+        emitter.onTimeout(() -> removeSubscriber(subscriber));
+        emitter.onError(e -> removeSubscriber(subscriber));
+        emitter.onCompletion(() -> removeSubscriber(subscriber));
 
-        emitters.put(pdfId, emitter);
+        // 먼저 등록한 뒤 따라잡아야 그 사이에 발행된 이벤트도 놓치지 않습니다.
+        subscribers.computeIfAbsent(pdfId, k -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        subscriber.catchUp();
 
-        // emitter 등록 후 히스토리에 쌓인 모든 이벤트 재전송 (히스토리는 삭제하지 않음)
-        replayHistory(pdfId, emitter);
-
-        log.info("[SSE] 연결 등록: pdfId={}", pdfId);
+        log.info("[SSE] 연결 등록: pdfId={}, lastEventId={}", pdfId, resumeFrom);
         return emitter;
     }
 
     /**
      * 이벤트를 전송합니다. (PdfParseService 에서 호출)
-     * 항상 히스토리에 누적하고, SSE 연결 중이면 즉시 live 전송합니다.
+     * 이벤트 로그에 남기고 모든 노드에 알립니다. 구독자가 있는 노드가 전송합니다.
      *
      * @param eventName SSE 이벤트 이름 ("page" | "complete" | "error")
      * @param data      JSON 직렬화될 이벤트 데이터 (PageEventData, CompleteEventData, ErrorEventData)
      */
     public void emit(String pdfId, String eventName, Object data) {
-        // 항상 히스토리에 누적 (재연결 시 재전송을 위해)
-        history.computeIfAbsent(pdfId, k -> new ConcurrentLinkedQueue<>())
-            .add(new BufferedEvent(eventName, data));
-
-        SseEmitter emitter = emitters.get(pdfId);
-        if (emitter != null) {
-            // 연결된 emitter에 즉시 live 전송
-            sendEvent(pdfId, emitter, eventName, data);
-        } else {
-            log.debug("[SSE] 이벤트 히스토리 적재 (SSE 미연결): pdfId={}, event={}", pdfId, eventName);
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(data);
+        } catch (JsonProcessingException e) {
+            log.error("[SSE] 이벤트 직렬화 실패: pdfId={}, event={}", pdfId, eventName, e);
+            return;
         }
+        append(pdfId, eventName, json);
     }
 
     /**
-     * SSE 스트림을 종료하고 리소스를 정리합니다. (PdfParseService 에서 호출)
+     * SSE 스트림을 종료합니다. (PdfParseService 에서 호출)
      * complete 또는 error 이벤트 전송 후 호출됩니다.
-     * emitter와 히스토리를 모두 제거합니다 (파싱 종료 후에는 재연결이 불필요).
+     * 종료 후 재연결하는 클라이언트가 남은 이벤트를 받을 수 있도록 이벤트 로그는 잠시 더 보관합니다.
      */
     public void complete(String pdfId) {
-        SseEmitter emitter = emitters.get(pdfId);
-        if (emitter != null) {
-            emitter.complete();
+        append(pdfId, END_EVENT, "");
+        try {
+            redis.expire(streamKey(pdfId), ENDED_TTL);
+        } catch (RuntimeException e) {
+            log.debug("[SSE] 이벤트 로그 만료 설정 실패: pdfId={}, 이유={}", pdfId, e.getMessage());
         }
-        // 파싱 종료: emitter와 히스토리 모두 정리
-        emitters.remove(pdfId);
-        history.remove(pdfId);
         log.info("[SSE] 스트림 종료: pdfId={}", pdfId);
     }
 
+    private void append(String pdfId, String eventName, String json) {
+        String key = streamKey(pdfId);
+        try {
+            MapRecord<String, String, String> record = StreamRecords.newRecord()
+                .in(key)
+                .ofMap(Map.of(FIELD_EVENT, eventName, FIELD_DATA, json));
+            redis.opsForStream().add(record,
+                XAddOptions.maxlen(props.getPdf().getSseHistoryMaxLen()).approximateTrimming(true));
+            redis.expire(key, Duration.ofMinutes(props.getPdf().getSseHistoryTtlMinutes()));
+        } catch (RuntimeException e) {
+            // Redis 장애: 이 노드의 구독자에게만 바로 전송
+            log.warn("[SSE] 이벤트 로그 기록 실패, 로컬 구독자에게만 전송: pdfId={}, event={}, 이유={}",
+                pdfId, eventName, e.getMessage());
+            for (Subscriber subscriber : subscribersOf(pdfId)) {
+                subscriber.deliver(null, eventName, json);
+            }
+            return;
+        }
+
+        try {
+            redis.convertAndSend(CHANNEL, pdfId);
+        } catch (RuntimeException e) {
+            // 알림 실패: 이 노드의 구독자는 직접 따라잡고, 다른 노드는 다음 알림에서 따라잡음
+            log.warn("[SSE] 이벤트 알림 실패: pdfId={}, 이유={}", pdfId, e.getMessage());
+            onNotify(pdfId);
+        }
+    }
+
     /**
-     * 특정 emitter만 제거합니다. 히스토리는 보존합니다.
-     * ConcurrentHashMap.remove(key, value): stale 콜백이 더 새로운 emitter를 지우지 못하도록 방어합니다.
-     * onTimeout / onError / onCompletion 콜백에서 호출됩니다.
+     * pub/sub 알림 수신: 이 노드에 구독자가 있으면 스트림에서 새 이벤트를 읽어 보냅니다.
+     * 읽기와 전송은 catchUpExecutor 에서 하고, 이미 예약된 구독자는 한 번만 따라잡습니다.
      */
-    private void removeEmitter(String pdfId, SseEmitter emitter) {
-        emitters.remove(pdfId, emitter);
-        log.debug("[SSE] emitter 제거 (히스토리 보존): pdfId={}", pdfId);
+    void onNotify(String pdfId) {
+        for (Subscriber subscriber : subscribersOf(pdfId)) {
+            subscriber.scheduleCatchUp();
+        }
+    }
+
+    private Set<Subscriber> subscribersOf(String pdfId) {
+        return subscribers.getOrDefault(pdfId, Set.of());
     }
 
     /**
-     * SseEmitter 로 이벤트를 실제 전송합니다.
-     * 전송 실패(클라이언트 연결 끊김) 시 emitter만 제거하고 히스토리는 보존합니다.
-     *
-     * MediaType.APPLICATION_JSON: data 필드를 JSON 으로 직렬화해서 전송
+     * 특정 구독자만 제거합니다. 이벤트 로그는 보존합니다.
+     * 같은 pdfId 의 다른 구독자(다른 탭, 새로 붙은 재연결)는 그대로 두고, 마지막 구독자가 빠지면 항목을 지웁니다.
      */
-    private void sendEvent(String pdfId, SseEmitter emitter, String eventName, Object data) {
-        try {
-            emitter.send(
-                SseEmitter.event()
-                    .name(eventName)
-                    .data(data, MediaType.APPLICATION_JSON)
-            );
-        } catch (IOException | IllegalStateException e) {
-            log.warn("[SSE] 이벤트 전송 실패 (클라이언트 연결 끊김): pdfId={}, event={}", pdfId, eventName);
-            removeEmitter(pdfId, emitter);
-        }
+    private void removeSubscriber(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.pdfId, (k, set) -> {
+            set.remove(subscriber);
+            return set.isEmpty() ? null : set;
+        });
+        log.debug("[SSE] 구독자 제거 (이벤트 로그 보존): pdfId={}", subscriber.pdfId);
+    }
+
+    private static String streamKey(String pdfId) {
+        return String.format(STREAM_KEY, pdfId);
+    }
+
+    /** 스트림 엔트리 ID 비교 ("{ms}-{seq}") */
+    static int compareIds(String a, String b) {
+        int dashA = a.indexOf('-');
+        int dashB = b.indexOf('-');
+        int byTime = Long.compare(Long.parseLong(a.substring(0, dashA)), Long.parseLong(b.substring(0, dashB)));
+        if (byTime != 0) return byTime;
+        return Long.compare(Long.parseLong(a.substring(dashA + 1)), Long.parseLong(b.substring(dashB + 1)));
     }
 
     /**
-     * 히스토리에 쌓인 모든 이벤트를 순서대로 재전송합니다.
-     * register() 에서 emitter 등록 직후 호출됩니다.
-     * 히스토리는 삭제하지 않으므로 다음 재연결 시에도 재전송 가능합니다.
+     * 이 노드에 연결된 SSE 구독자 하나.
+     * 재전송과 알림 처리가 서로 다른 스레드에서 동시에 들어올 수 있으므로 전송은 synchronized 로 순서를 지킵니다.
      */
-    private void replayHistory(String pdfId, SseEmitter emitter) {
-        ConcurrentLinkedQueue<BufferedEvent> buffered = history.get(pdfId);
-        if (buffered == null || buffered.isEmpty()) return;
+    private final class Subscriber {
+
+        private final String pdfId;
+        private final SseEmitter emitter;
+        private String lastId; // 마지막으로 보낸 스트림 엔트리 ID (null 이면 처음부터)
+        private boolean closed;
+        private final AtomicBoolean catchUpScheduled = new AtomicBoolean();
+
+        Subscriber(String pdfId, SseEmitter emitter, String lastId) {
+            this.pdfId = pdfId;
+            this.emitter = emitter;
+            this.lastId = lastId;
+        }
+
+        /** 따라잡기를 예약합니다. 실행 전 들어온 알림은 합쳐지고, 실행 중 들어온 알림은 한 번 더 예약됩니다. */
+        void scheduleCatchUp() {
+            if (!catchUpScheduled.compareAndSet(false, true)) return;
+            try {
+                catchUpExecutor.execute(() -> {
+                    catchUpScheduled.set(false);
+                    catchUp();
+                });
+            } catch (RejectedExecutionException e) {
+                catchUpScheduled.set(false); // 종료 중
+            }
+        }
+
+        /**
+         * lastId 이후의 이벤트를 스트림에서 최대 CATCH_UP_BATCH 개 읽어 순서대로 보냅니다.
+         * 더 남았으면 이어서 읽도록 다시 예약합니다. (재연결한 클라이언트 하나가 따라잡기 스레드를 오래 붙잡지 않도록)
+         */
+        synchronized void catchUp() {
+            if (closed) return;
+            List<MapRecord<String, Object, Object>> records;
+            // lastId 자신도 읽히므로(inclusive) 한 개 더 읽음
+            int count = lastId == null ? CATCH_UP_BATCH : CATCH_UP_BATCH + 1;
+            try {
+                Range<String> range = lastId == null
+                    ? Range.unbounded()
+                    : Range.rightUnbounded(Range.Bound.inclusive(lastId));
+                records = redis.opsForStream().range(streamKey(pdfId), range, Limit.limit().count(count));
+            } catch (RuntimeException e) {
+                log.warn("[SSE] 이벤트 로그 조회 실패: pdfId={}, 이유={}", pdfId, e.getMessage());
+                return;
+            }
+            if (records == null) return;
+
+            for (MapRecord<String, Object, Object> record : records) {
+                String id = record.getId().getValue();
+                if (lastId != null && compareIds(id, lastId) <= 0) continue;
+                deliver(id, (String) record.getValue().get(FIELD_EVENT), (String) record.getValue().get(FIELD_DATA));
+                if (closed) return;
+            }
+            if (records.size() >= count) {
+                scheduleCatchUp();
+            }
+        }
+
+        /** @param id 스트림 엔트리 ID (Redis 장애로 로그에 남기지 못한 이벤트는 null) */
+        synchronized void deliver(String id, String eventName, String json) {
+            if (closed) return;
+            if (id != null) lastId = id;
+
+            if (END_EVENT.equals(eventName)) {
+                closed = true;
+                emitter.complete();
+                removeSubscriber(this);
+                return;
+            }
 
-        log.info("[SSE] 히스토리 재전송: pdfId={}, count={}", pdfId, buffered.size());
-        for (BufferedEvent event : buffered) {
-            sendEvent(pdfId, emitter, event.name(), event.data());
+            SseEmitter.SseEventBuilder event = SseEmitter.event().name(eventName).data(json);
+            if (id != null) event.id(id);
+            try {
+                emitter.send(event);
+            } catch (IOException | IllegalStateException e) {
+                // 전송 실패(클라이언트 연결 끊김): 구독자만 제거하고 이벤트 로그는 보존
+                log.warn("[SSE] 이벤트 전송 실패 (클라이언트 연결 끊김): pdfId={}, event={}", pdfId, eventName);
+                closed = true;
+                removeSubscriber(this);
+            }
         }
     }
 }
@@ -0,0 +1,175 @@
+package line4thon.boini.presenter.pdf.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import line4thon.boini.presenter.pdf.dto.SlideNoteDraft;
+import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.openxml4j.opc.PackagePart;
+import org.apache.poi.openxml4j.opc.PackageRelationship;
+import org.apache.poi.openxml4j.opc.PackageRelationshipCollection;
+import org.apache.poi.openxml4j.opc.PackageRelationshipTypes;
+import org.apache.poi.openxml4j.opc.PackagingURIHelper;
+
+/**
+ * PPTX 발표자 노트를 StAX 로 스트리밍해서 읽습니다.
+ *
+ * XMLSlideShow 는 슬라이드/레이아웃/마스터/이미지까지 전체 모델을 메모리에 올려서
+ * 이미지가 많은 덱에서는 힙을 크게 쓰고 느립니다. 노트에 필요한 것은
+ *   /ppt/presentation.xml 의 슬라이드 순서(sldIdLst) → 슬라이드별 notesSlide 관계 → /ppt/notesSlides/*.xml 의 텍스트
+ * 뿐이므로 OPC 패키지(zip)에서 이 파트들만 열어 순서대로 읽습니다. (슬라이드 XML 본문과 미디어는 읽지 않음)
+ *
+ * 텍스트 규칙은 기존 XSLFTextShape.getText() 와 같습니다: 도형(p:sp)별로 문단을 줄바꿈으로 잇고,
+ * 도형 사이도 줄바꿈으로 잇습니다. 다만 슬라이드 번호/날짜/머리글/바닥글 자리 표시자는 노트가 아니므로 제외합니다.
+ */
+final class PptxNotesReader {
+
+    private static final String NS_P = "http://schemas.openxmlformats.org/presentationml/2006/main";
+    private static final String NS_A = "http://schemas.openxmlformats.org/drawingml/2006/main";
+    private static final String NS_R = "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+    private static final String NOTES_SLIDE_REL = NS_R + "/notesSlide";
+    private static final Set<String> SKIPPED_PLACEHOLDERS = Set.of("sldNum", "dt", "hdr", "ftr", "sldImg");
+
+    private static final XMLInputFactory XML = newInputFactory();
+
+    private PptxNotesReader() {}
+
+    static List<SlideNoteDraft> read(Path pptx) throws IOException {
+        try (OPCPackage pkg = OPCPackage.open(pptx.toFile(), PackageAccess.READ)) {
+            PackagePart presentation = mainPart(pkg);
+            List<String> slideRelIds = readSlideOrder(presentation);
+
+            List<SlideNoteDraft> notes = new ArrayList<>();
+            for (int i = 0; i < slideRelIds.size(); i++) {
+                PackagePart slide = related(pkg, presentation, presentation.getRelationship(slideRelIds.get(i)));
+                if (slide == null) continue;
+                PackageRelationshipCollection notesRels = slide.getRelationshipsByType(NOTES_SLIDE_REL);
+                if (notesRels.isEmpty()) continue;
+                PackagePart notesPart = related(pkg, slide, notesRels.getRelationship(0));
+                if (notesPart == null) continue;
+
+                String text = readNotesText(notesPart);
+                if (!text.isEmpty()) {
+                    notes.add(new SlideNoteDraft(i + 1, text));
+                }
+            }
+            return notes;
+        } catch (InvalidFormatException e) {
+            throw new IOException("PPTX 열기 실패", e);
+        } catch (XMLStreamException e) {
+            throw new IOException("PPTX 노트 XML 읽기 실패", e);
+        }
+    }
+
+    private static PackagePart mainPart(OPCPackage pkg) throws IOException, InvalidFormatException {
+        PackageRelationshipCollection rels = pkg.getRelationshipsByType(PackageRelationshipTypes.CORE_DOCUMENT);
+        if (rels.isEmpty()) {
+            throw new IOException("PPTX presentation.xml 없음");
+        }
+        PackagePart part = pkg.getPart(rels.getRelationship(0));
+        if (part == null) {
+            throw new IOException("PPTX presentation.xml 없음");
+        }
+        return part;
+    }
+
+    private static PackagePart related(OPCPackage pkg, PackagePart source, PackageRelationship rel)
+        throws InvalidFormatException {
+        if (rel == null) return null;
+        return pkg.getPart(PackagingURIHelper.createPartName(
+            PackagingURIHelper.resolvePartUri(source.getPartName().getURI(), rel.getTargetURI())));
+    }
+
+    // <p:sldIdLst><p:sldId id=".." r:id="rId2"/>... 의 r:id 를 문서 순서대로
+    private static List<String> readSlideOrder(PackagePart presentation) throws IOException, XMLStreamException {
+        List<String> ids = new ArrayList<>();
+        try (InputStream in = presentation.getInputStream()) {
+            XMLStreamReader reader = XML.createXMLStreamReader(in);
+            try {
+                while (reader.hasNext()) {
+                    int event = reader.next();
+                    if (event == XMLStreamConstants.START_ELEMENT && isElement(reader, NS_P, "sldId")) {
+                        String relId = reader.getAttributeValue(NS_R, "id");
+                        if (relId != null) ids.add(relId);
+                    } else if (event == XMLStreamConstants.END_ELEMENT && isElement(reader, NS_P, "sldIdLst")) {
+                        break; // 뒤쪽(notesSz, defaultTextStyle 등)은 읽지 않음
+                    }
+                }
+            } finally {
+                reader.close();
+            }
+        }
+        return ids;
+    }
+
+    private static String readNotesText(PackagePart notesPart) throws IOException, XMLStreamException {
+        List<String> shapes = new ArrayList<>();
+        try (InputStream in = notesPart.getInputStream()) {
+            XMLStreamReader reader = XML.createXMLStreamReader(in);
+            try {
+                StringBuilder paragraph = null;  // 현재 a:p 의 텍스트
+                List<String> paragraphs = new ArrayList<>();
+                boolean skipShape = false;
+                boolean inText = false;          // a:t 안
+                int depth = 0;                   // p:sp 중첩 깊이 (0 이면 도형 밖)
+                while (reader.hasNext()) {
+                    int event = reader.next();
+                    if (event == XMLStreamConstants.START_ELEMENT) {
+                        if (isElement(reader, NS_P, "sp")) {
+                            if (depth++ == 0) {
+                                paragraphs.clear();
+                                skipShape = false;
+                            }
+                        } else if (depth > 0 && isElement(reader, NS_P, "ph")) {
+                            skipShape |= SKIPPED_PLACEHOLDERS.contains(reader.getAttributeValue(null, "type"));
+                        } else if (depth > 0 && isElement(reader, NS_A, "p")) {
+                            paragraph = new StringBuilder();
+                        } else if (paragraph != null && isElement(reader, NS_A, "t")) {
+                            inText = true;
+                        } else if (paragraph != null && isElement(reader, NS_A, "br")) {
+                            paragraph.append('\n');
+                        }
+                        // a:tab 은 본문이 아니라 a:pPr/a:tabLst 의 탭 위치 정의이므로 무시 (본문의 탭은 a:t 안의 \t 문자)
+                    } else if (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA) {
+                        if (inText) paragraph.append(reader.getText());
+                    } else if (event == XMLStreamConstants.END_ELEMENT) {
+                        if (isElement(reader, NS_A, "t")) {
+                            inText = false;
+                        } else if (paragraph != null && isElement(reader, NS_A, "p")) {
+                            paragraphs.add(paragraph.toString());
+                            paragraph = null;
+                        } else if (isElement(reader, NS_P, "sp") && --depth == 0) {
+                            String text = String.join("\n", paragraphs).trim();
+                            if (!skipShape && !text.isEmpty()) shapes.add(text);
+                        }
+                    }
+                }
+            } finally {
+                reader.close();
+            }
+        }
+        return String.join("\n", shapes).trim();
+    }
+
+    private static boolean isElement(XMLStreamReader reader, String namespace, String localName) {
+        return localName.equals(reader.getLocalName()) && namespace.equals(reader.getNamespaceURI());
+    }
+
+    // 업로드된 파일을 읽으므로 DTD / 외부 엔티티는 막습니다. (XXE)
+    private static XMLInputFactory newInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        return factory;
+    }
+}
@@ -0,0 +1,36 @@
+package line4thon.boini.presenter.pdf.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Redis Streams 렌더 작업 큐(RenderJobQueue)에 들어가는 작업 하나.
+ *
+ * 렌더링할 PDF 는 업로드 노드의 로컬 디스크가 아니라 S3 의 다운로드용 PDF(sourceKey)에서 읽으므로
+ * 어느 노드든 이 작업을 가져가 처리할 수 있습니다.
+ *
+ * @param sourceKey  렌더링할 PDF 의 S3 키 ({root}/{roomId}/{deckId}/source.pdf)
+ * @param totalPages 덱 전체 페이지 수
+ */
+public record RenderJob(String pdfId, String roomId, String deckId, String sourceKey, int totalPages) {
+
+    /** 스트림 엔트리 필드로 변환 */
+    Map<String, String> toFields() {
+        Map<String, String> fields = new LinkedHashMap<>();
+        fields.put("pdfId", pdfId);
+        fields.put("roomId", roomId);
+        fields.put("deckId", deckId);
+        fields.put("sourceKey", sourceKey);
+        fields.put("totalPages", String.valueOf(totalPages));
+        return fields;
+    }
+
+    static RenderJob fromFields(Map<?, ?> fields) {
+        return new RenderJob(
+            (String) fields.get("pdfId"),
+            (String) fields.get("roomId"),
+            (String) fields.get("deckId"),
+            (String) fields.get("sourceKey"),
+            Integer.parseInt((String) fields.get("totalPages")));
+    }
+}
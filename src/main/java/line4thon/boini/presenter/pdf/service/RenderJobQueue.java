@@ -0,0 +1,364 @@
+package line4thon.boini.presenter.pdf.service;
+
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import line4thon.boini.global.config.AppProperties;
+import line4thon.boini.presenter.pdf.dto.event.ErrorEventData;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.RedisSystemException;
+import org.springframework.data.redis.connection.RedisStreamCommands.XClaimOptions;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.PendingMessage;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.core.sync.ResponseTransformer;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+
+/**
+ * Redis Streams 기반 클러스터 공용 렌더 작업 큐.
+ *
+ * 기존에는 업로드를 받은 노드가 @Async("pdfParseExecutor") 로 직접 렌더링했기 때문에
+ * 업로드가 몰린 노드는 대기열(20)이 넘치면 작업을 거절하고, 다른 노드는 놀고, 재시작하면 진행 중인 작업이 사라졌습니다.
+ * app.pdf.render-queue-enabled=true 이면
+ *   1. 업로드 노드는 다운로드용 PDF 가 S3 에 올라간 뒤 작업을 스트림에 추가(XADD)하고 로컬 임시 파일을 지웁니다.
+ *   2. 모든 노드가 같은 consumer group 으로 작업을 읽고(XREADGROUP), 여유가 있는 노드만 다음 작업을 가져갑니다.
+ *      (노드당 동시 작업 수: app.pdf.render-queue-workers)
+ *   3. 작업을 가져간 노드는 S3 에서 PDF 를 받아 PdfParseService.renderDeck() 으로 렌더링하고 XACK 합니다.
+ *   4. 처리 중인 작업은 주기적으로 자기 자신에게 XCLAIM(JUSTID)해서 idle 시간을 초기화합니다. (heartbeat)
+ *      노드가 죽어 heartbeat 가 app.pdf.render-queue-claim-idle-seconds 이상 끊기면 다른 노드가 XCLAIM 해서 이어 처리합니다.
+ *      이어 받은 노드는 manifest 에 이미 기록된 페이지를 건너뛰고, 그 페이지의 SSE 이벤트도 다시 보내지 않습니다.
+ *      heartbeat/인계는 전용 스레드(render-queue-heartbeat)에서 돌므로 공용 @Scheduled 스레드가 막혀도 늦어지지 않습니다.
+ *   5. app.pdf.render-queue-max-deliveries 번 가져가고도 끝나지 않은 작업은 실패 이벤트를 보내고 버립니다.
+ *      렌더링이 중단되거나 실패해도 그 전에는 SSE error/종료 이벤트를 보내지 않습니다. (다른 노드가 이어 받으므로)
+ *
+ * 작업 단위는 덱 전체입니다. (페이지 범위로 나누지 않음)
+ * SSE page 이벤트 순서(OrderedPageEmitter), 덱 단위 manifest 초기화, 지연 렌더링(앞쪽 페이지만 먼저)이
+ * 모두 한 노드에서 덱 전체를 렌더링한다는 전제라서, 큰 덱은 여러 노드로 나누는 대신
+ * 가져간 노드 안에서 RenderWorkerBudget 이 render 워커를 늘려 처리합니다.
+ * 따라서 이 큐가 나누는 것은 덱 사이의 부하이고, 덱 하나는 한 노드에서 끝까지 렌더링됩니다.
+ *
+ * 진행 이벤트는 PdfSseRegistry 가 Redis 로 전달하므로 프론트가 어느 노드에 SSE 를 연결했든 받을 수 있습니다.
+ *
+ * Redis 키:
+ *   - pdf:render:jobs  (Stream) consumer group "renderers", 완료된 엔트리는 XACK 후 XDEL
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RenderJobQueue {
+
+    static final String STREAM_KEY = "pdf:render:jobs";
+    static final String GROUP = "renderers";
+    private static final Duration READ_BLOCK = Duration.ofSeconds(5);
+    private static final int RECLAIM_SCAN = 20;
+    private static final Duration HEARTBEAT_INTERVAL = Duration.ofSeconds(20);
+    private static final Duration RECLAIM_INTERVAL = Duration.ofSeconds(30);
+
+    private final StringRedisTemplate redis;
+    private final S3Client s3;
+    private final AppProperties props;
+    private final PdfParseService pdfParseService;
+    private final PdfSseRegistry sseRegistry;
+
+    // 이 노드의 consumer 이름 (pid@host)
+    private final String consumerName = ManagementFactory.getRuntimeMXBean().getName();
+    // 이 노드가 처리 중인 엔트리 (heartbeat 대상)
+    private final Map<RecordId, RenderJob> inFlight = new ConcurrentHashMap<>();
+
+    private volatile boolean running;
+    private volatile Semaphore capacity;
+    private volatile ExecutorService workers;
+    private volatile Thread poller;
+    private volatile ScheduledExecutorService scheduler;
+
+    public boolean isEnabled() {
+        return props.getPdf().isRenderQueueEnabled();
+    }
+
+    /**
+     * 다운로드용 PDF 업로드가 끝나면 렌더 작업을 큐에 넣습니다.
+     *
+     * @param onQueued 작업이 등록된 뒤 실행 (업로드 노드의 임시 파일 정리)
+     * @param fallback 업로드나 등록이 실패하면 실행 (업로드 노드에서 직접 렌더링)
+     */
+    public void enqueueWhenUploaded(RenderJob job, CompletableFuture<?> sourceUpload, Runnable onQueued, Runnable fallback) {
+        sourceUpload.whenComplete((ignored, error) -> {
+            if (error != null) {
+                log.warn("[렌더큐] 원본 PDF 업로드 실패, 이 노드에서 직접 렌더링: pdfId={}", job.pdfId());
+                fallback.run();
+                return;
+            }
+            try {
+                RecordId id = streamOps().add(StreamRecords.mapBacked(job.toFields()).withStreamKey(STREAM_KEY));
+                log.info("[렌더큐] 작업 등록: pdfId={}, id={}, totalPages={}", job.pdfId(), id, job.totalPages());
+            } catch (RuntimeException e) {
+                log.warn("[렌더큐] 작업 등록 실패, 이 노드에서 직접 렌더링: pdfId={}, 이유={}", job.pdfId(), e.getMessage());
+                fallback.run();
+                return;
+            }
+            onQueued.run();
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (!isEnabled() || running) return;
+        ensureGroup();
+
+        int workerCount = Math.max(1, props.getPdf().getRenderQueueWorkers());
+        capacity = new Semaphore(workerCount);
+        workers = Executors.newFixedThreadPool(workerCount, new CustomizableThreadFactory("render-queue-"));
+        running = true;
+        poller = new Thread(this::pollLoop, "render-queue-poller");
+        poller.setDaemon(true);
+        poller.start();
+        // heartbeat 가 claim-idle 보다 늦어지면 다른 노드가 멀쩡한 작업을 가져가므로 공용 스케줄러와 분리
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "render-queue-heartbeat");
+            t.setDaemon(true);
+            return t;
+        });
+        scheduler.scheduleWithFixedDelay(this::heartbeat,
+            HEARTBEAT_INTERVAL.toMillis(), HEARTBEAT_INTERVAL.toMillis(), TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(this::reclaimSafely,
+            RECLAIM_INTERVAL.toMillis(), RECLAIM_INTERVAL.toMillis(), TimeUnit.MILLISECONDS);
+        log.info("[렌더큐] 시작: consumer={}, workers={}", consumerName, workerCount);
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (!running) return;
+        running = false;
+        poller.interrupt();
+        scheduler.shutdownNow();
+        // 처리 중인 작업은 ACK 하지 않고 끝나므로 claim-idle 이후 다른 노드가 이어 받습니다.
+        workers.shutdownNow();
+    }
+
+    /** 처리 중인 작업의 idle 시간을 초기화해서 다른 노드가 가져가지 않게 합니다. */
+    void heartbeat() {
+        if (!running || inFlight.isEmpty()) return;
+        RecordId[] ids = inFlight.keySet().toArray(RecordId[]::new);
+        try {
+            byte[] key = STREAM_KEY.getBytes(StandardCharsets.UTF_8);
+            redis.execute((RedisCallback<List<RecordId>>) connection -> connection.streamCommands()
+                .xClaimJustId(key, GROUP, consumerName, XClaimOptions.minIdle(Duration.ZERO).ids(ids)));
+        } catch (RuntimeException e) {
+            log.warn("[렌더큐] heartbeat 실패: {}", e.getMessage());
+        }
+    }
+
+    // 예외로 주기 작업이 멈추지 않도록 (ScheduledExecutorService 는 예외가 나면 이후 실행을 취소함)
+    private void reclaimSafely() {
+        try {
+            reclaimStalled();
+        } catch (RuntimeException e) {
+            log.warn("[렌더큐] 멈춘 작업 인계 실패: {}", e.getMessage());
+        }
+    }
+
+    /** heartbeat 가 끊긴(노드 장애) 작업을 이 노드로 가져와 이어 처리합니다. */
+    void reclaimStalled() {
+        if (!running) return;
+        Duration claimIdle = Duration.ofSeconds(props.getPdf().getRenderQueueClaimIdleSeconds());
+
+        PendingMessages pending;
+        try {
+            pending = streamOps().pending(STREAM_KEY, GROUP, Range.unbounded(), RECLAIM_SCAN);
+        } catch (RuntimeException e) {
+            log.warn("[렌더큐] pending 조회 실패: {}", e.getMessage());
+            return;
+        }
+
+        for (PendingMessage message : pending) {
+            if (inFlight.containsKey(message.getId())) continue;
+            if (message.getElapsedTimeSinceLastDelivery().compareTo(claimIdle) < 0) continue;
+            if (!capacity.tryAcquire()) return; // 이 노드도 여유가 없으면 다른 노드에 맡김
+
+            List<MapRecord<String, Object, Object>> claimed;
+            try {
+                claimed = streamOps().claim(STREAM_KEY, GROUP, consumerName,
+                    XClaimOptions.minIdle(claimIdle).ids(message.getId()));
+            } catch (RuntimeException e) {
+                capacity.release();
+                log.warn("[렌더큐] XCLAIM 실패: id={}, 이유={}", message.getId(), e.getMessage());
+                continue;
+            }
+            if (claimed == null || claimed.isEmpty()) {
+                capacity.release(); // 그 사이 다른 노드가 가져감
+                continue;
+            }
+
+            MapRecord<String, Object, Object> record = claimed.get(0);
+            // XCLAIM 으로 이번 전달 횟수가 이미 더해졌으므로 +1
+            if (message.getTotalDeliveryCount() + 1 > props.getPdf().getRenderQueueMaxDeliveries()) {
+                capacity.release();
+                giveUp(record);
+                continue;
+            }
+            log.info("[렌더큐] 멈춘 작업 인계: id={}, 이전 consumer={}, idle={}s",
+                record.getId(), message.getConsumerName(), message.getElapsedTimeSinceLastDelivery().toSeconds());
+            submit(record, true);
+        }
+    }
+
+    private void pollLoop() {
+        while (running) {
+            try {
+                capacity.acquire(); // 빈 워커가 있을 때만 새 작업을 읽음 → 바쁜 노드는 작업을 가져가지 않음
+            } catch (InterruptedException e) {
+                return;
+            }
+
+            List<MapRecord<String, Object, Object>> records;
+            try {
+                records = streamOps().read(
+                    Consumer.from(GROUP, consumerName),
+                    StreamReadOptions.empty().count(1).block(READ_BLOCK),
+                    StreamOffset.create(STREAM_KEY, ReadOffset.lastConsumed()));
+            } catch (RuntimeException e) {
+                capacity.release();
+                if (!running) return;
+                log.warn("[렌더큐] 작업 읽기 실패, 잠시 후 재시도: {}", e.getMessage());
+                ensureGroup(); // 스트림이 지워졌으면 group 도 같이 사라지므로 다시 만듦
+                sleepQuietly(Duration.ofSeconds(1));
+                continue;
+            }
+
+            if (records == null || records.isEmpty()) {
+                capacity.release();
+                continue;
+            }
+            submit(records.get(0), false);
+        }
+    }
+
+    // capacity 를 이미 확보한 상태에서 호출합니다. 처리가 끝나면 반납합니다.
+    // resume: 다른 시도가 중단한 작업을 이어 받은 경우 (이미 렌더링된 페이지는 건너뜀)
+    private void submit(MapRecord<String, Object, Object> record, boolean resume) {
+        try {
+            workers.execute(() -> {
+                try {
+                    process(record, resume);
+                } finally {
+                    capacity.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            // 종료 중: ACK 하지 않았으므로 다른 노드가 가져감
+            capacity.release();
+        }
+    }
+
+    private void process(MapRecord<String, Object, Object> record, boolean resume) {
+        RecordId id = record.getId();
+        RenderJob job;
+        try {
+            job = RenderJob.fromFields(record.getValue());
+        } catch (RuntimeException e) {
+            log.error("[렌더큐] 잘못된 작업, 버림: id={}, fields={}", id, record.getValue());
+            acknowledge(id);
+            return;
+        }
+
+        inFlight.put(id, job);
+        Path pdfFile = Paths.get(props.getPdf().getTempDir(), "render-" + job.pdfId(), "source.pdf");
+        try {
+            download(job.sourceKey(), pdfFile);
+            pdfParseService.renderDeck(job.pdfId(), job.roomId(), job.deckId(), pdfFile, job.totalPages(), resume);
+            acknowledge(id);
+        } catch (InterruptedException e) {
+            // ACK 도 SSE 종료 이벤트도 보내지 않음 → 다른 노드가 이어 받고, 재시도 한도를 넘으면 giveUp() 이 실패를 알림
+            Thread.currentThread().interrupt();
+            log.warn("[렌더큐] 종료로 렌더링 중단, 다른 노드가 이어 받음: pdfId={}", job.pdfId());
+        } catch (IOException | RuntimeException e) {
+            // ACK 하지 않음 → claim-idle 이후 이 노드나 다른 노드가 다시 시도
+            log.warn("[렌더큐] 작업 처리 실패, 재시도 대기: pdfId={}, 이유={}", job.pdfId(), e.getMessage());
+        } finally {
+            inFlight.remove(id);
+            pdfParseService.deleteLocalSource(pdfFile);
+        }
+    }
+
+    private void download(String sourceKey, Path target) throws IOException {
+        Files.createDirectories(target.getParent());
+        Files.deleteIfExists(target);
+        s3.getObject(
+            GetObjectRequest.builder().bucket(props.getS3().getBucket()).key(sourceKey).build(),
+            ResponseTransformer.toFile(target));
+    }
+
+    private void giveUp(MapRecord<String, Object, Object> record) {
+        String pdfId = String.valueOf(record.getValue().get("pdfId"));
+        log.error("[렌더큐] 재시도 한도 초과, 작업 실패 처리: id={}, pdfId={}", record.getId(), pdfId);
+        sseRegistry.emit(pdfId, "error", ErrorEventData.builder()
+            .pdfId(pdfId)
+            .pageIndex(-1)
+            .message("PDF 렌더링 실패")
+            .code("RENDER_JOB_FAILED")
+            .build());
+        sseRegistry.complete(pdfId);
+        acknowledge(record.getId());
+    }
+
+    private void acknowledge(RecordId id) {
+        try {
+            streamOps().acknowledge(STREAM_KEY, GROUP, id);
+            streamOps().delete(STREAM_KEY, id);
+        } catch (RuntimeException e) {
+            log.warn("[렌더큐] ACK 실패: id={}, 이유={}", id, e.getMessage());
+        }
+    }
+
+    private void ensureGroup() {
+        try {
+            streamOps().createGroup(STREAM_KEY, ReadOffset.from("0"), GROUP);
+        } catch (RedisSystemException e) {
+            // BUSYGROUP: 이미 있음
+        } catch (RuntimeException e) {
+            log.warn("[렌더큐] consumer group 생성 실패: {}", e.getMessage());
+        }
+    }
+
+    private StreamOperations<String, Object, Object> streamOps() {
+        return redis.opsForStream();
+    }
+
+    private static void sleepQuietly(Duration duration) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
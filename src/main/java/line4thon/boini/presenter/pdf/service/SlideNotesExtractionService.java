@@ -6,6 +6,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import line4thon.boini.presenter.pdf.dto.SlideNoteDraft;
 import line4thon.boini.presenter.pdf.model.PresentationFileType;
 import lombok.extern.slf4j.Slf4j;
@@ -14,17 +15,27 @@ import org.apache.poi.hslf.usermodel.HSLFShape;
 import org.apache.poi.hslf.usermodel.HSLFSlide;
 import org.apache.poi.hslf.usermodel.HSLFSlideShow;
 import org.apache.poi.hslf.usermodel.HSLFTextShape;
-import org.apache.poi.xslf.usermodel.XMLSlideShow;
-import org.apache.poi.xslf.usermodel.XSLFNotes;
-import org.apache.poi.xslf.usermodel.XSLFShape;
-import org.apache.poi.xslf.usermodel.XSLFSlide;
-import org.apache.poi.xslf.usermodel.XSLFTextShape;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
 @Service
 @Slf4j
 public class SlideNotesExtractionService {
 
+    /**
+     * 오피스 변환(LibreOffice)과 동시에 노트를 추출합니다. 둘 다 원본 파일을 읽기만 하므로 서로 독립적입니다.
+     * 실패하면 예외로 완료된 future 를 돌려줍니다.
+     * 연결: PdfChunkService.preparePresentationForParsing → @Async("notesExtractionExecutor")
+     */
+    @Async("notesExtractionExecutor")
+    public CompletableFuture<List<SlideNoteDraft>> extractAsync(Path sourceFile, PresentationFileType type) {
+        try {
+            return CompletableFuture.completedFuture(extract(sourceFile, type));
+        } catch (IOException | RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
     public List<SlideNoteDraft> extract(Path sourceFile, PresentationFileType type) throws IOException {
         return switch (type) {
             case PPTX -> extractPptx(sourceFile);
@@ -33,37 +44,11 @@ public class SlideNotesExtractionService {
         };
     }
 
+    // XMLSlideShow 로 덱 전체를 올리지 않고 노트 파트만 스트리밍으로 읽음 (PptxNotesReader)
     private List<SlideNoteDraft> extractPptx(Path sourceFile) throws IOException {
-        try (InputStream input = Files.newInputStream(sourceFile);
-             XMLSlideShow slideShow = new XMLSlideShow(input)) {
-            List<SlideNoteDraft> notes = new ArrayList<>();
-            List<XSLFSlide> slides = slideShow.getSlides();
-            for (int i = 0; i < slides.size(); i++) {
-                XSLFNotes slideNotes = slides.get(i).getNotes();
-                String text = extractPptxNotesText(slideNotes);
-                if (hasText(text)) {
-                    notes.add(new SlideNoteDraft(i + 1, text));
-                }
-            }
-            log.info("[PPTX] 발표자 노트 추출 완료: file={}, notes={}", sourceFile.getFileName(), notes.size());
-            return notes;
-        }
-    }
-
-    private String extractPptxNotesText(XSLFNotes notes) {
-        if (notes == null) {
-            return "";
-        }
-        List<String> parts = new ArrayList<>();
-        for (XSLFShape shape : notes.getShapes()) {
-            if (shape instanceof XSLFTextShape textShape) {
-                String text = textShape.getText();
-                if (hasText(text)) {
-                    parts.add(text.trim());
-                }
-            }
-        }
-        return String.join("\n", parts).trim();
+        List<SlideNoteDraft> notes = PptxNotesReader.read(sourceFile);
+        log.info("[PPTX] 발표자 노트 추출 완료: file={}, notes={}", sourceFile.getFileName(), notes.size());
+        return notes;
     }
 
     private List<SlideNoteDraft> extractPpt(Path sourceFile) throws IOException {
@@ -0,0 +1,271 @@
+package line4thon.boini.presenter.pdf.service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.IntPredicate;
+import line4thon.boini.global.config.AppProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+
+/**
+ * 네이티브 PDF 업로드를 청크 수신과 동시에 S3 multipart upload 로 올리는 컴포넌트.
+ *
+ * 청크는 source.pdf 의 제 위치에 바로 기록되므로(PdfChunkService.writeChunkAtOffset),
+ * 연속된 청크 묶음이 모두 도착하면 그 구간을 파일에서 읽어 part 로 바로 업로드할 수 있습니다.
+ * 마지막 청크가 도착했을 때는 남은 part 만 올리고 complete 하면 되므로
+ * 조립 완료 응답까지의 시간이 줄어듭니다.
+ *
+ *   - part 크기: app.pdf.multipart-part-size-bytes 를 청크 크기의 배수로 올림 (S3 최소 5MB)
+ *   - part 가 2개 미만인 작은 파일은 기존처럼 조립 후 putObject 한 번으로 올립니다.
+ *   - 청크 파일이 노드 로컬 디스크에 있으므로 세션 상태도 노드 메모리에 둡니다.
+ *   - 업로드 세션이 PdfChunkService.UPLOAD_SESSION_TTL 을 넘기면 주기적으로 abort 합니다.
+ *     (프로세스 재시작으로 남은 multipart 는 버킷 lifecycle 의 AbortIncompleteMultipartUpload 로 정리)
+ *
+ * complete() 는 남은 part 전송과 completeMultipartUpload 를 기다리지 않고 future 를 바로 반환합니다.
+ * (조립 완료 응답이 S3 전송을 기다리지 않도록, putObject 경로인 AsyncS3Uploader.putFile 과 같은 방식)
+ * 어떤 이유로든 실패하면 future 가 false 로 끝나고, 호출자가 그 뒤에 putObject 로 대체합니다.
+ */
+@Component
+@Slf4j
+public class SourcePdfMultipartUploader {
+
+    private static final long MIN_PART_SIZE = 5L * 1024 * 1024; // S3 multipart 최소 part 크기 (마지막 part 제외)
+
+    private final S3Client s3;
+    private final AppProperties props;
+    private final Executor partUploadExecutor;
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+
+    public SourcePdfMultipartUploader(
+        S3Client s3, AppProperties props, @Qualifier("s3PartUploadExecutor") Executor partUploadExecutor) {
+        this.s3 = s3;
+        this.props = props;
+        this.partUploadExecutor = partUploadExecutor;
+    }
+
+    /**
+     * 업로드 세션의 multipart upload 를 시작합니다. 이미 시작했으면 아무 일도 하지 않습니다.
+     *
+     * @param chunkSize 마지막 청크가 아닌 청크의 크기 (= 프론트가 자른 고정 크기)
+     */
+    public void begin(String uploadId, String s3Key, long fileSize, long chunkSize, int totalChunks) {
+        if (!props.getPdf().isMultipartUploadEnabled() || chunkSize <= 0) return;
+
+        int chunksPerPart = (int) Math.max(1, ceilDiv(Math.max(props.getPdf().getMultipartPartSizeBytes(), MIN_PART_SIZE), chunkSize));
+        long partSize = chunksPerPart * chunkSize;
+        int totalParts = (int) ceilDiv(fileSize, partSize);
+        if (totalParts < 2) return;
+
+        sessions.computeIfAbsent(uploadId, id -> {
+            String s3UploadId = s3.createMultipartUpload(CreateMultipartUploadRequest.builder()
+                .bucket(props.getS3().getBucket())
+                .key(s3Key)
+                .contentType("application/pdf")
+                .build()).uploadId();
+            log.info("[S3] multipart 시작: uploadId={}, key={}, parts={}, partSize={}", id, s3Key, totalParts, partSize);
+            return new Session(s3Key, s3UploadId, fileSize, partSize, chunksPerPart, totalChunks, totalParts);
+        });
+    }
+
+    /** 이 업로드 세션의 multipart upload 가 진행 중인지 */
+    public boolean isActive(String uploadId) {
+        return sessions.containsKey(uploadId);
+    }
+
+    /**
+     * 청크 수신 후 호출됩니다. 이 청크가 속한 part 의 청크가 모두 도착했으면 part 업로드를 시작합니다.
+     *
+     * @param received 수신 비트맵 조회 (chunkIndex → 수신 여부)
+     */
+    public void onChunkReceived(String uploadId, Path file, int chunkIndex, IntPredicate received) {
+        Session session = sessions.get(uploadId);
+        if (session == null || session.failed) return;
+
+        int part = chunkIndex / session.chunksPerPart;
+        int firstChunk = part * session.chunksPerPart;
+        int lastChunk = Math.min(session.totalChunks, firstChunk + session.chunksPerPart) - 1;
+        for (int i = firstChunk; i <= lastChunk; i++) {
+            if (!received.test(i)) return;
+        }
+        submitPart(session, file, part);
+    }
+
+    /**
+     * 남은 part 를 모두 올리고 multipart upload 를 완료합니다. (모든 청크 수신 후 호출)
+     * 호출 스레드는 part 전송을 맡기기만 하고 바로 반환합니다. 완료 요청은 마지막 part 가 끝난 뒤 s3PartUploadExecutor 에서 보냅니다.
+     *
+     * @return 완료되면 true 로 끝나는 future. 세션이 없거나 실패했으면 false (호출자가 putObject 로 대체)
+     */
+    public CompletableFuture<Boolean> complete(String uploadId, Path file) {
+        Session session = sessions.remove(uploadId);
+        if (session == null) return CompletableFuture.completedFuture(false);
+
+        Instant start = Instant.now();
+        CompletableFuture<?>[] parts = new CompletableFuture<?>[session.totalParts];
+        try {
+            for (int part = 0; part < session.totalParts; part++) {
+                submitPart(session, file, part);
+                parts[part] = session.parts.get(part);
+            }
+        } catch (RuntimeException e) {
+            return fallBack(session, e);
+        }
+
+        return CompletableFuture.allOf(parts)
+            .thenApplyAsync(ignored -> {
+                List<CompletedPart> completed = new ArrayList<>(session.totalParts);
+                for (int part = 0; part < session.totalParts; part++) {
+                    completed.add(session.parts.get(part).join());
+                }
+                s3.completeMultipartUpload(CompleteMultipartUploadRequest.builder()
+                    .bucket(props.getS3().getBucket())
+                    .key(session.s3Key)
+                    .uploadId(session.s3UploadId)
+                    .multipartUpload(CompletedMultipartUpload.builder().parts(completed).build())
+                    .build());
+                log.info("[⏱ 성능] multipart 완료: 마지막 청크 후 {}ms | key={}",
+                    Duration.between(start, Instant.now()).toMillis(), session.s3Key);
+                return true;
+            }, partUploadExecutor)
+            .exceptionally(e -> fallBack(session, e).join());
+    }
+
+    private CompletableFuture<Boolean> fallBack(Session session, Throwable e) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        log.warn("[S3] multipart 완료 실패, putObject 로 대체: key={}, 이유={}", session.s3Key, cause.getMessage());
+        abortQuietly(session);
+        return CompletableFuture.completedFuture(false);
+    }
+
+    /** 업로드 세션을 포기할 때 호출합니다. */
+    public void abort(String uploadId) {
+        Session session = sessions.remove(uploadId);
+        if (session != null) abortQuietly(session);
+    }
+
+    /** 업로드 세션 TTL 을 넘긴 multipart 를 정리합니다. */
+    @Scheduled(fixedDelay = 600_000L)
+    public void abortExpired() {
+        Instant expiredBefore = Instant.now().minus(PdfChunkService.UPLOAD_SESSION_TTL);
+        sessions.forEach((uploadId, session) -> {
+            if (session.createdAt.isBefore(expiredBefore) && sessions.remove(uploadId, session)) {
+                log.info("[S3] 만료된 multipart 정리: uploadId={}, key={}", uploadId, session.s3Key);
+                abortQuietly(session);
+            }
+        });
+    }
+
+    // part 마다 한 번만 업로드되도록 future 를 먼저 등록한 스레드만 실행합니다.
+    private void submitPart(Session session, Path file, int part) {
+        CompletableFuture<CompletedPart> future = new CompletableFuture<>();
+        if (session.parts.putIfAbsent(part, future) != null) return;
+        try {
+            partUploadExecutor.execute(() -> {
+                try {
+                    future.complete(uploadPart(session, file, part));
+                } catch (RuntimeException e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (RuntimeException e) {
+            session.failed = true;
+            future.completeExceptionally(e);
+        }
+    }
+
+    private CompletedPart uploadPart(Session session, Path file, int part) {
+        long offset = part * session.partSize;
+        int length = (int) Math.min(session.partSize, session.fileSize - offset);
+        int partNumber = part + 1; // S3 part 번호는 1부터
+        try {
+            byte[] bytes = readRange(file, offset, length);
+            String eTag = s3.uploadPart(UploadPartRequest.builder()
+                    .bucket(props.getS3().getBucket())
+                    .key(session.s3Key)
+                    .uploadId(session.s3UploadId)
+                    .partNumber(partNumber)
+                    .contentLength((long) length)
+                    .build(),
+                RequestBody.fromBytes(bytes)).eTag();
+            log.debug("[S3] part 업로드 완료: key={}, part={}, size={}", session.s3Key, partNumber, length);
+            return CompletedPart.builder().partNumber(partNumber).eTag(eTag).build();
+        } catch (IOException | RuntimeException e) {
+            session.failed = true;
+            throw new IllegalStateException("part " + partNumber + " 업로드 실패: " + e.getMessage(), e);
+        }
+    }
+
+    private byte[] readRange(Path file, long offset, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, offset + buffer.position()) < 0) {
+                    throw new IOException("파일이 예상보다 짧습니다: " + file);
+                }
+            }
+        }
+        return buffer.array();
+    }
+
+    private void abortQuietly(Session session) {
+        try {
+            s3.abortMultipartUpload(AbortMultipartUploadRequest.builder()
+                .bucket(props.getS3().getBucket())
+                .key(session.s3Key)
+                .uploadId(session.s3UploadId)
+                .build());
+        } catch (RuntimeException e) {
+            log.warn("[S3] multipart abort 실패: key={}, 이유={}", session.s3Key, e.getMessage());
+        }
+    }
+
+    private static long ceilDiv(long a, long b) {
+        return (a + b - 1) / b;
+    }
+
+    private static final class Session {
+        final String s3Key;
+        final String s3UploadId;
+        final long fileSize;
+        final long partSize;
+        final int chunksPerPart;
+        final int totalChunks;
+        final int totalParts;
+        final Instant createdAt = Instant.now();
+        final Map<Integer, CompletableFuture<CompletedPart>> parts = new ConcurrentHashMap<>();
+        volatile boolean failed;
+
+        Session(String s3Key, String s3UploadId, long fileSize, long partSize,
+                int chunksPerPart, int totalChunks, int totalParts) {
+            this.s3Key = s3Key;
+            this.s3UploadId = s3UploadId;
+            this.fileSize = fileSize;
+            this.partSize = partSize;
+            this.chunksPerPart = chunksPerPart;
+            this.totalChunks = totalChunks;
+            this.totalParts = totalParts;
+        }
+    }
+}
@@ -2,12 +2,14 @@ package line4thon.boini.presenter.pdf.service.font;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.nio.charset.StandardCharsets;
+import java.io.StringReader;
 import java.nio.file.Path;
 import java.util.LinkedHashSet;
 import java.util.Set;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import org.apache.poi.openxml4j.opc.OPCPackage;
 import org.apache.poi.openxml4j.opc.PackageAccess;
 import org.apache.poi.openxml4j.opc.PackagePart;
@@ -19,10 +21,15 @@ public final class PptxFontReferences {
     // theme's primary major/minor fonts). The theme's per-script fallback table uses
     // <a:font script="..."> and must NOT be counted — otherwise a normal default theme reports its
     // ~40 script fallback fonts (맑은 고딕, 游ゴシック, 等线, Segoe UI, ...) as "used".
-    private static final Pattern RUN_FONT =
-        Pattern.compile("<a:(?:latin|ea|cs)\\b[^>]*\\btypeface=\"([^\"]*)\"");
-    private static final Pattern EMBEDDED_FONT =
-        Pattern.compile("<p:embeddedFont>.*?typeface=\"([^\"]*)\"", Pattern.DOTALL);
+    private static final Set<String> RUN_FONT_ELEMENTS = Set.of("latin", "ea", "cs");
+    private static final String EMBEDDED_FONT = "embeddedFont";
+    private static final String PRESENTATION_PART = "/ppt/presentation.xml";
+
+    // Parts are streamed with StAX instead of being read into Strings for regex matching: a large
+    // deck's slides/layouts add up to hundreds of MB of transient strings. Not namespace-aware so
+    // that prefixed fragments without xmlns declarations (tests, addReferencedFonts) still parse;
+    // element names are compared by local name only. DTDs/external entities are disabled (XXE).
+    private static final XMLInputFactory XML = newInputFactory();
 
     private PptxFontReferences() {}
 
@@ -30,23 +37,20 @@ public final class PptxFontReferences {
         Set<String> referenced = new LinkedHashSet<>();
         Set<String> embedded = new LinkedHashSet<>();
         try (OPCPackage pkg = OPCPackage.open(pptx.toFile(), PackageAccess.READ)) {
+            // Parts are read one after another on the calling thread. Scanning is cheap next to the
+            // conversion it precedes, and POI's package is not meant to be read from several threads
+            // (a parallel stream would also borrow the JVM-wide common ForkJoinPool).
             for (PackagePart part : pkg.getParts()) {
                 String name = part.getPartName().getName();
                 boolean relevant = name.startsWith("/ppt/theme/") || name.startsWith("/ppt/slides/")
                     || name.startsWith("/ppt/slideLayouts/") || name.startsWith("/ppt/slideMasters/")
-                    || name.equals("/ppt/presentation.xml");
-                if (!relevant) continue;
-                String xml = readPart(part);
-                if (name.equals("/ppt/presentation.xml")) {
-                    Matcher em = EMBEDDED_FONT.matcher(xml);
-                    while (em.find()) addName(embedded, em.group(1));
-                }
-                addReferencedFonts(xml, referenced);
+                    || name.equals(PRESENTATION_PART);
+                if (relevant) scanPart(part, referenced, embedded);
             }
+            return new Result(referenced, embedded);
         } catch (org.apache.poi.openxml4j.exceptions.InvalidFormatException e) {
             throw new IOException("PPTX 열기 실패", e);
         }
-        return new Result(referenced, embedded);
     }
 
     /**
@@ -57,21 +61,92 @@ public final class PptxFontReferences {
      * captured there.
      */
     static void addReferencedFonts(String xml, Set<String> out) {
-        Matcher m = RUN_FONT.matcher(xml);
-        while (m.find()) {
-            String v = m.group(1);
-            if (v != null && !v.isBlank() && !v.startsWith("+")) addName(out, v);
+        try {
+            XMLStreamReader reader = XML.createXMLStreamReader(new StringReader(xml));
+            try {
+                scan(reader, out, null);
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException e) {
+            throw new IllegalArgumentException("XML 파싱 실패", e);
+        }
+    }
+
+    private static void scanPart(PackagePart part, Set<String> referenced, Set<String> embedded)
+        throws IOException {
+        boolean presentation = part.getPartName().getName().equals(PRESENTATION_PART);
+        try (InputStream in = part.getInputStream()) {
+            XMLStreamReader reader = XML.createXMLStreamReader(in);
+            try {
+                scan(reader, referenced, presentation ? embedded : null);
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException e) {
+            throw new IOException("PPTX 파트 읽기 실패: " + part.getPartName().getName(), e);
         }
     }
 
+    /**
+     * Streams one part and collects its font references.
+     *
+     * @param embedded if not null, also collects the first typeface inside each
+     *                 {@code <p:embeddedFont>} (its {@code <p:font>} element).
+     */
+    private static void scan(XMLStreamReader reader, Set<String> referenced, Set<String> embedded)
+        throws XMLStreamException {
+        boolean inEmbedded = false;
+        boolean embeddedTaken = false;
+        while (reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                String local = localName(reader.getLocalName());
+                if (RUN_FONT_ELEMENTS.contains(local)) {
+                    String v = typeface(reader);
+                    if (v != null && !v.isBlank() && !v.startsWith("+")) addName(referenced, v);
+                } else if (embedded != null && EMBEDDED_FONT.equals(local)) {
+                    inEmbedded = true;
+                    embeddedTaken = false;
+                } else if (inEmbedded && !embeddedTaken) {
+                    String v = typeface(reader);
+                    if (v != null) {
+                        addName(embedded, v);
+                        embeddedTaken = true;
+                    }
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT
+                && inEmbedded && EMBEDDED_FONT.equals(localName(reader.getLocalName()))) {
+                inEmbedded = false;
+            }
+        }
+    }
+
+    private static String typeface(XMLStreamReader reader) {
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            if ("typeface".equals(localName(reader.getAttributeLocalName(i)))) {
+                return reader.getAttributeValue(i);
+            }
+        }
+        return null;
+    }
+
+    // Without namespace awareness some StAX implementations report "a:latin" as the local name.
+    private static String localName(String name) {
+        int colon = name.indexOf(':');
+        return colon < 0 ? name : name.substring(colon + 1);
+    }
+
     private static void addName(Set<String> set, String value) {
         String t = value == null ? "" : value.trim();
         if (!t.isEmpty()) set.add(t);
     }
 
-    private static String readPart(PackagePart part) throws IOException {
-        try (InputStream in = part.getInputStream()) {
-            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
-        }
+    private static XMLInputFactory newInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, false);
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
     }
 }
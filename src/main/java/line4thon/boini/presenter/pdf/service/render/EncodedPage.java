@@ -0,0 +1,20 @@
+package line4thon.boini.presenter.pdf.service.render;
+
+import java.util.Map;
+
+/**
+ * encode 단계 결과: 업로드만 남은 페이지.
+ *
+ * @param original  원본 크기 WebP 바이트
+ * @param thumbnail 썸네일 WebP 바이트
+ * @param previews  추가 크기 WebP 바이트 (S3 폴더명 → 바이트, 설정하지 않았으면 비어 있음)
+ * @param width     렌더링된 원본 이미지 너비(px)
+ * @param height    렌더링된 원본 이미지 높이(px)
+ */
+public record EncodedPage(
+    int pageIndex, byte[] original, byte[] thumbnail, Map<String, byte[]> previews, int width, int height) {
+
+    public EncodedPage(int pageIndex, byte[] original, byte[] thumbnail, int width, int height) {
+        this(pageIndex, original, thumbnail, Map.of(), width, height);
+    }
+}
@@ -0,0 +1,66 @@
+package line4thon.boini.presenter.pdf.service.render;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * 완료 순서가 뒤섞인 PageResult 를 페이지 순서대로 다시 정렬해 downstream 에 전달합니다.
+ *
+ * 파이프라인에서는 upload 워커가 여러 개라 5페이지가 4페이지보다 먼저 끝날 수 있습니다.
+ * SSE "page" 이벤트는 프론트가 pageIndex 순서를 전제로 처리하므로,
+ * 앞 페이지가 모두 도착할 때까지 뒤 페이지를 보관했다가 연속 구간이 생기면 한꺼번에 내보냅니다.
+ *
+ * 이어 받은 렌더링(RenderJobQueue 재시도)에서는 이전 시도가 이미 보낸 페이지를 건너뛰고 그 다음 페이지부터 기다립니다.
+ *
+ * accept() 는 여러 스레드에서 호출되므로 synchronized 로 직렬화합니다.
+ * downstream 도 lock 안에서 호출되어 SSE 전송 순서가 보장됩니다.
+ */
+public class OrderedPageEmitter implements Consumer<PageResult> {
+
+    private final Consumer<PageResult> downstream;
+    private final Set<Integer> alreadyEmitted;
+    private final Map<Integer, PageResult> pending = new HashMap<>();
+    private int nextIndex = 0;
+
+    public OrderedPageEmitter(Consumer<PageResult> downstream) {
+        this(downstream, Set.of());
+    }
+
+    /** @param alreadyEmitted 이전 시도에서 이미 내보낸 페이지 (다시 내보내지 않고 순서 계산에서 건너뜀) */
+    public OrderedPageEmitter(Consumer<PageResult> downstream, Set<Integer> alreadyEmitted) {
+        this.downstream = downstream;
+        this.alreadyEmitted = alreadyEmitted;
+        advance();
+    }
+
+    @Override
+    public synchronized void accept(PageResult result) {
+        // 이미 내보냈거나 보관 중인 페이지의 중복 결과는 무시
+        if (result.pageIndex() < nextIndex || alreadyEmitted.contains(result.pageIndex())
+            || pending.containsKey(result.pageIndex())) {
+            return;
+        }
+        pending.put(result.pageIndex(), result);
+        advance();
+    }
+
+    private void advance() {
+        while (true) {
+            if (alreadyEmitted.contains(nextIndex)) {
+                nextIndex++;
+                continue;
+            }
+            PageResult next = pending.remove(nextIndex);
+            if (next == null) return;
+            downstream.accept(next);
+            nextIndex++;
+        }
+    }
+
+    /** 지금까지 순서대로 내보낸 페이지 수 (이전 시도에서 내보낸 페이지 포함) */
+    public synchronized int emittedCount() {
+        return nextIndex;
+    }
+}
@@ -0,0 +1,190 @@
+package line4thon.boini.presenter.pdf.service.render;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.apache.pdfbox.cos.COSArray;
+import org.apache.pdfbox.cos.COSBase;
+import org.apache.pdfbox.cos.COSBoolean;
+import org.apache.pdfbox.cos.COSDictionary;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.cos.COSNumber;
+import org.apache.pdfbox.cos.COSObject;
+import org.apache.pdfbox.cos.COSStream;
+import org.apache.pdfbox.cos.COSString;
+import org.apache.pdfbox.pdmodel.PDPage;
+
+/**
+ * 페이지 렌더링 결과를 결정하는 내용(콘텐츠 스트림 + 리소스)의 SHA-256 지문을 계산합니다.
+ *
+ * 페이지 딕셔너리부터 COS 객체 그래프를 따라가며 해시하므로
+ * 같은 슬라이드는 덱 안의 위치나 파일이 달라도 같은 지문이 나옵니다.
+ *   - /Parent, /P 처럼 페이지 트리로 거슬러 올라가는 키는 제외합니다. (다른 페이지 내용이 섞이지 않도록)
+ *   - /StructParents, /Metadata 등 렌더링 결과와 무관하고 재변환마다 달라질 수 있는 키도 제외합니다.
+ *   - 주석(/Annots)은 따로 해시합니다. 업로드한 PDF 의 도장, 잉크, 양식 위젯, FreeText 는
+ *     /AP 외형 스트림으로 그려지므로 /Subtype, /Rect, /F, /AP, /AS 등은 지문에 넣고,
+ *     링크 대상(/Dest, /A)이나 다른 객체를 가리키는 키(/P, /Parent, /Popup, /IRT)만 뺍니다.
+ *     (링크 대상까지 넣으면 다른 페이지를 따라가 지문이 덱 전체에 의존하게 됨)
+ *   - 스트림은 디코딩하지 않은 원본 바이트를 해시합니다.
+ *
+ * 폰트/이미지 스트림은 여러 페이지가 공유하므로 문서 단위로 스트림 해시를 캐싱합니다.
+ * PDDocument 와 마찬가지로 thread-safe 하지 않으므로 render 워커(문서)마다 하나씩 사용합니다.
+ *
+ * 연결: PdfParseService.DeckStages.reuse() → PageRenderCache 조회 키
+ */
+public class PageFingerprinter {
+
+    private static final Set<String> IGNORED_KEYS = Set.of(
+        "Parent", "P", "StructParents", "StructParent", "Metadata", "PieceInfo", "LastModified", "Annots");
+    // 주석 딕셔너리에서 빼는 키: 링크 대상, 다른 페이지/주석 참조, 재변환마다 달라지는 식별자/수정 시각
+    private static final Set<String> IGNORED_ANNOTATION_KEYS = Set.of(
+        "Dest", "A", "PA", "P", "Parent", "Popup", "IRT", "NM", "M", "StructParent");
+
+    private final Map<COSStream, byte[]> streamDigests = new IdentityHashMap<>();
+
+    /**
+     * @param variant 렌더링 설정(DPI, 포맷, 품질 등). 설정이 바뀌면 다른 지문이 되도록 함께 해시합니다.
+     */
+    public String fingerprint(PDPage page, String variant) throws IOException {
+        MessageDigest digest = newDigest();
+        digest.update(variant.getBytes(StandardCharsets.UTF_8));
+        // 상속 가능한 속성은 부모 노드에 있을 수 있으므로 해석된 값을 직접 넣습니다.
+        digest.update(page.getMediaBox().toString().getBytes(StandardCharsets.UTF_8));
+        digest.update(page.getCropBox().toString().getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) (page.getRotation() / 90));
+        Map<COSBase, Integer> visited = new IdentityHashMap<>();
+        if (page.getResources() != null) {
+            update(digest, page.getResources().getCOSObject(), visited);
+        }
+        update(digest, page.getCOSObject(), visited);
+        updateAnnotations(digest, page.getCOSObject().getDictionaryObject(COSName.ANNOTS), visited);
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private void update(MessageDigest digest, COSBase base, Map<COSBase, Integer> visited) throws IOException {
+        if (base instanceof COSObject reference) {
+            base = reference.getObject();
+        }
+        if (base == null) {
+            digest.update((byte) 'n');
+            return;
+        }
+
+        // 순환 참조(페이지 ↔ 주석 등) 방지: 이미 방문한 객체는 방문 순번만 기록
+        Integer seen = visited.get(base);
+        if (seen != null) {
+            digest.update((byte) 'r');
+            digest.update(intBytes(seen));
+            return;
+        }
+
+        if (base instanceof COSStream stream) {
+            visited.put(base, visited.size());
+            digest.update((byte) 's');
+            updateDictionary(digest, stream, visited);
+            digest.update(streamDigest(stream));
+        } else if (base instanceof COSDictionary dictionary) {
+            visited.put(base, visited.size());
+            digest.update((byte) 'd');
+            updateDictionary(digest, dictionary, visited);
+        } else if (base instanceof COSArray array) {
+            visited.put(base, visited.size());
+            digest.update((byte) 'a');
+            digest.update(intBytes(array.size()));
+            for (int i = 0; i < array.size(); i++) {
+                update(digest, array.get(i), visited);
+            }
+        } else if (base instanceof COSName name) {
+            digest.update((byte) '/');
+            digest.update(name.getName().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+        } else if (base instanceof COSString string) {
+            digest.update((byte) '(');
+            digest.update(intBytes(string.getBytes().length));
+            digest.update(string.getBytes());
+        } else if (base instanceof COSNumber number) {
+            digest.update((byte) '#');
+            digest.update(Float.toString(number.floatValue()).getBytes(StandardCharsets.UTF_8));
+        } else if (base instanceof COSBoolean bool) {
+            digest.update((byte) (bool.getValue() ? 'T' : 'F'));
+        } else {
+            digest.update((byte) 'n');
+        }
+    }
+
+    // 주석은 페이지 딕셔너리 순회에서 빠지므로 여기서 그림에 영향을 주는 키만 해시합니다.
+    private void updateAnnotations(MessageDigest digest, COSBase annots, Map<COSBase, Integer> visited)
+        throws IOException {
+        digest.update((byte) 'A');
+        if (!(annots instanceof COSArray array)) {
+            digest.update(intBytes(0));
+            return;
+        }
+        digest.update(intBytes(array.size()));
+        for (int i = 0; i < array.size(); i++) {
+            COSBase annotation = array.getObject(i);
+            if (annotation instanceof COSDictionary dictionary) {
+                digest.update((byte) 'd');
+                updateDictionary(digest, dictionary, visited, IGNORED_ANNOTATION_KEYS);
+            } else {
+                digest.update((byte) 'n');
+            }
+        }
+    }
+
+    private void updateDictionary(MessageDigest digest, COSDictionary dictionary, Map<COSBase, Integer> visited)
+        throws IOException {
+        updateDictionary(digest, dictionary, visited, IGNORED_KEYS);
+    }
+
+    private void updateDictionary(MessageDigest digest, COSDictionary dictionary, Map<COSBase, Integer> visited,
+                                  Set<String> ignoredKeys) throws IOException {
+        // 딕셔너리 키 순서는 PDF 작성기마다 다르므로 정렬해서 해시합니다.
+        List<Map.Entry<COSName, COSBase>> entries = dictionary.entrySet().stream()
+            .filter(e -> !ignoredKeys.contains(e.getKey().getName()))
+            .sorted(Comparator.comparing(e -> e.getKey().getName()))
+            .toList();
+        digest.update(intBytes(entries.size()));
+        for (Map.Entry<COSName, COSBase> entry : entries) {
+            update(digest, entry.getKey(), visited);
+            update(digest, entry.getValue(), visited);
+        }
+    }
+
+    private byte[] streamDigest(COSStream stream) throws IOException {
+        byte[] cached = streamDigests.get(stream);
+        if (cached != null) return cached;
+
+        MessageDigest digest = newDigest();
+        try (InputStream in = stream.createRawInputStream()) {
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        byte[] result = digest.digest();
+        streamDigests.put(stream, result);
+        return result;
+    }
+
+    private static byte[] intBytes(int value) {
+        return new byte[] {(byte) (value >>> 24), (byte) (value >>> 16), (byte) (value >>> 8), (byte) value};
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 을 사용할 수 없습니다.", e);
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package line4thon.boini.presenter.pdf.service.render;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import line4thon.boini.global.config.AppProperties;
+import line4thon.boini.presenter.image.service.SlideS3Helper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.CopyObjectRequest;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+
+/**
+ * 페이지 지문(PageFingerprinter) 기반 렌더링 결과 캐시.
+ *
+ * 발표자가 작은 수정 후 같은 PPTX 를 다시 올리면 대부분의 슬라이드는 지문이 같습니다.
+ * 이미 렌더링된 지문이면 기존 WebP 원본/썸네일을 새 덱 키로 S3 서버 측 복사만 하고
+ * 렌더링/인코딩/업로드를 건너뜁니다. (한 장 수정 → 한 장만 렌더링)
+ *
+ * 새 덱 키로 복사하므로 DeckAssetService 의 키 규칙(SlideS3Helper.buildKey)은 그대로 유지됩니다.
+ *
+ * Redis 키:
+ *   - pdf:renderCache:{fingerprint}  (Hash) original / thumbnail / width / height / preview:{folder}
+ *     TTL: app.pdf.render-cache-ttl-days (조회될 때마다 연장)
+ *
+ * 지표: hitCount()/missCount() 누적값, 덱 단위 결과는 PdfParseService 가 로그로 남깁니다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PageRenderCache {
+
+    private static final String PREVIEW_FIELD_PREFIX = "preview:";
+
+    /**
+     * 캐시된 (또는 새 덱으로 복사된) 페이지 자산
+     *
+     * @param previewKeys 추가 크기 이미지 (S3 폴더명 → 키)
+     */
+    public record CachedPage(String originalKey, String thumbnailKey, Map<String, String> previewKeys, int width, int height) {
+        public CachedPage(String originalKey, String thumbnailKey, int width, int height) {
+            this(originalKey, thumbnailKey, Map.of(), width, height);
+        }
+    }
+
+    private final StringRedisTemplate redisTemplate;
+    private final S3Client s3;
+    private final SlideS3Helper slideS3Helper;
+    private final AppProperties props;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public boolean isEnabled() {
+        return props.getPdf().isRenderCacheEnabled();
+    }
+
+    /**
+     * 지문이 캐시에 있으면 원본/썸네일을 새 덱 위치로 복사하고 복사된 키를 반환합니다.
+     * 캐시에 없거나 원본 오브젝트가 사라졌으면 empty (→ 정상 렌더링).
+     */
+    public Optional<CachedPage> reuse(String fingerprint, String roomId, String deckId, int pageNumber, String ext) {
+        Optional<CachedPage> cached = lookup(fingerprint);
+        if (cached.isEmpty()) {
+            misses.incrementAndGet();
+            return Optional.empty();
+        }
+
+        CachedPage source = cached.get();
+        String originalKey = slideS3Helper.buildKey(roomId, deckId, pageNumber, false, ext);
+        String thumbnailKey = slideS3Helper.buildKey(roomId, deckId, pageNumber, true, ext);
+        Map<String, String> previewKeys = new LinkedHashMap<>();
+        try {
+            copy(source.originalKey(), originalKey);
+            copy(source.thumbnailKey(), thumbnailKey);
+            for (Map.Entry<String, String> preview : source.previewKeys().entrySet()) {
+                String previewKey = slideS3Helper.buildVariantKey(roomId, deckId, pageNumber, preview.getKey(), ext);
+                copy(preview.getValue(), previewKey);
+                previewKeys.put(preview.getKey(), previewKey);
+            }
+        } catch (NoSuchKeyException e) {
+            evict(fingerprint);
+            misses.incrementAndGet();
+            return Optional.empty();
+        } catch (S3Exception e) {
+            if (e.statusCode() == 404) evict(fingerprint);
+            log.warn("[PDF] 렌더 캐시 복사 실패, 다시 렌더링: fingerprint={}, 이유={}", fingerprint, e.getMessage());
+            misses.incrementAndGet();
+            return Optional.empty();
+        }
+
+        hits.incrementAndGet();
+        redisTemplate.expire(cacheKey(fingerprint), ttl());
+        return Optional.of(new CachedPage(originalKey, thumbnailKey, previewKeys, source.width(), source.height()));
+    }
+
+    /** 새로 렌더링/업로드한 페이지를 캐시에 등록합니다. */
+    public void store(String fingerprint, CachedPage page) {
+        String key = cacheKey(fingerprint);
+        try {
+            Map<String, String> fields = new LinkedHashMap<>();
+            fields.put("original", page.originalKey());
+            fields.put("thumbnail", page.thumbnailKey());
+            fields.put("width", String.valueOf(page.width()));
+            fields.put("height", String.valueOf(page.height()));
+            page.previewKeys().forEach((folder, previewKey) -> fields.put(PREVIEW_FIELD_PREFIX + folder, previewKey));
+            redisTemplate.opsForHash().putAll(key, fields);
+            redisTemplate.expire(key, ttl());
+        } catch (RuntimeException e) {
+            // 캐시 등록 실패는 렌더링 결과에 영향이 없으므로 로그만 남깁니다.
+            log.warn("[PDF] 렌더 캐시 등록 실패: fingerprint={}, 이유={}", fingerprint, e.getMessage());
+        }
+    }
+
+    public long hitCount() {
+        return hits.get();
+    }
+
+    public long missCount() {
+        return misses.get();
+    }
+
+    private Optional<CachedPage> lookup(String fingerprint) {
+        Map<Object, Object> entry;
+        try {
+            entry = redisTemplate.opsForHash().entries(cacheKey(fingerprint));
+        } catch (RuntimeException e) {
+            log.warn("[PDF] 렌더 캐시 조회 실패: fingerprint={}, 이유={}", fingerprint, e.getMessage());
+            return Optional.empty();
+        }
+        if (entry == null || entry.isEmpty()) return Optional.empty();
+
+        try {
+            Map<String, String> previewKeys = new LinkedHashMap<>();
+            entry.forEach((field, value) -> {
+                String name = (String) field;
+                if (name.startsWith(PREVIEW_FIELD_PREFIX)) {
+                    previewKeys.put(name.substring(PREVIEW_FIELD_PREFIX.length()), (String) value);
+                }
+            });
+            return Optional.of(new CachedPage(
+                (String) entry.get("original"),
+                (String) entry.get("thumbnail"),
+                previewKeys,
+                Integer.parseInt((String) entry.get("width")),
+                Integer.parseInt((String) entry.get("height"))));
+        } catch (RuntimeException e) {
+            // 필드가 빠지거나 깨진 항목은 지우고 miss 로 처리
+            evict(fingerprint);
+            return Optional.empty();
+        }
+    }
+
+    private void copy(String sourceKey, String destinationKey) {
+        if (sourceKey.equals(destinationKey)) return;
+        String bucket = props.getS3().getBucket();
+        s3.copyObject(CopyObjectRequest.builder()
+            .sourceBucket(bucket)
+            .sourceKey(sourceKey)
+            .destinationBucket(bucket)
+            .destinationKey(destinationKey)
+            .build());
+    }
+
+    private void evict(String fingerprint) {
+        try {
+            redisTemplate.delete(cacheKey(fingerprint));
+        } catch (RuntimeException ignored) {
+        }
+    }
+
+    private Duration ttl() {
+        return Duration.ofDays(props.getPdf().getRenderCacheTtlDays());
+    }
+
+    private String cacheKey(String fingerprint) {
+        return "pdf:renderCache:" + fingerprint;
+    }
+}
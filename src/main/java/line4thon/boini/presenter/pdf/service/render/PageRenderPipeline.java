@@ -0,0 +1,309 @@
+package line4thon.boini.presenter.pdf.service.render;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import line4thon.boini.global.config.AppProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.rendering.PDFRenderer;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * 덱 하나의 페이지 처리를 render → encode → upload 3단계로 나눠 병렬 실행하는 파이프라인.
+ *
+ * 구조:
+ *   PageSource → render 워커 N개 → [bounded queue] → encode 워커 M개 → [bounded queue] → upload 워커 K개 → sink
+ *
+ *   - 단계 사이 큐는 app.pdf.stage-queue-capacity 로 크기가 제한됩니다.
+ *     업로드가 밀리면 encode 가, encode 가 밀리면 render 가 put() 에서 대기하므로
+ *     렌더링된 BufferedImage 가 메모리에 무한정 쌓이지 않습니다.
+ *   - 단계별 스레드 수는 app.pdf.render-threads / encode-threads / upload-threads 로 설정합니다.
+ *     render 워커 수는 덱마다 RenderWorkerBudget 이 정한 값을 생성자로 받을 수 있습니다.
+ *     스레드는 파이프라인 실행 동안만 존재하고, 동시에 처리되는 덱 수는 pdfParseExecutor 가 제한합니다.
+ *   - PDFBox PDDocument 는 thread-safe 하지 않으므로 render 워커마다 별도의 PDDocument 를 엽니다.
+ *     첫 번째 워커는 호출자가 이미 연 문서를 그대로 사용합니다.
+ *   - 페이지 단위 실패는 PageResult.failure 로 sink 에 전달되고 나머지 페이지는 계속 처리됩니다.
+ *   - Stages.reuse() 가 결과를 돌려주면 (렌더 캐시 hit) 그 페이지는 render 이후 단계를 건너뜁니다.
+ *   - upload 워커는 Stages.uploadAsync() 로 전송만 시작하고 다음 페이지를 꺼냅니다.
+ *     결과는 전송 완료 후 sink 로 전달되고, 파이프라인은 남은 전송이 끝날 때까지 기다린 뒤 반환합니다.
+ *     전송 완료 후 작업(렌더 캐시 등록, sink 의 manifest 기록 / slideReady / SSE 등 Redis·브로커 호출)은
+ *     S3 SDK 응답 스레드가 아니라 upload-threads 개의 완료 처리 스레드(pdf-upload-done-)에서 실행합니다.
+ *     SDK 응답 스레드를 막으면 다른 전송의 응답 처리까지 밀리기 때문입니다.
+ *     동시 전송 수 상한(AsyncS3Uploader)에 걸리면 uploadAsync() 가 블로킹되어 앞 단계로 backpressure 가 전달됩니다.
+ *
+ * sink 는 render/encode/upload 스레드(또는 완료 처리 스레드)에서 완료 순서대로 호출되므로 thread-safe 해야 합니다.
+ * 페이지 순서가 필요하면 OrderedPageEmitter 로 감싸서 넘깁니다.
+ *
+ * 연결: PdfParseService.parseAndStream() 이 Stages 구현(렌더링/WebP 인코딩/S3 업로드)을 넘겨 실행합니다.
+ */
+@Slf4j
+public class PageRenderPipeline {
+
+    /** 단계별 실제 작업. PdfParseService 가 구현합니다. */
+    public interface Stages {
+        /**
+         * 렌더링 전에 호출됩니다. 이미 같은 내용의 결과가 있으면 재사용한 결과를 반환하고,
+         * 이 페이지의 render/encode/upload 는 건너뜁니다. null 이면 정상 처리합니다.
+         */
+        default PageResult reuse(PDDocument document, int pageIndex) throws IOException {
+            return null;
+        }
+
+        /** @param page renderer 의 문서에서 꺼낸 pageIndex 페이지 (렌더링 설정을 정할 때 사용) */
+        BufferedImage render(PDFRenderer renderer, PDPage page, int pageIndex) throws IOException;
+
+        EncodedPage encode(int pageIndex, BufferedImage image) throws IOException;
+
+        /** @return 원본 이미지 URL */
+        String upload(EncodedPage page);
+
+        /**
+         * 업로드를 시작하고 완료 시 원본 이미지 URL 로 완료되는 future 를 반환합니다.
+         * 기본 구현은 upload() 를 호출 스레드에서 실행합니다.
+         */
+        default CompletableFuture<String> uploadAsync(EncodedPage page) throws InterruptedException {
+            return CompletableFuture.completedFuture(upload(page));
+        }
+
+        /**
+         * uploadAsync() 와 같지만 전송 완료 후 작업을 completionExecutor 에서 실행합니다.
+         * 전송 완료 콜백(S3 SDK 응답 스레드)에서 블로킹 작업을 하는 구현은 이쪽을 재정의합니다.
+         */
+        default CompletableFuture<String> uploadAsync(EncodedPage page, Executor completionExecutor)
+            throws InterruptedException {
+            return uploadAsync(page);
+        }
+    }
+
+    /** 추가 render 워커용 PDDocument 를 엽니다. */
+    @FunctionalInterface
+    public interface DocumentOpener {
+        PDDocument open() throws IOException;
+    }
+
+    private record RenderedPage(int pageIndex, BufferedImage image) {}
+
+    // 다음 단계 워커에게 "더 이상 입력 없음"을 알리는 poison pill (identity 비교)
+    private static final RenderedPage RENDER_END = new RenderedPage(-1, null);
+    private static final EncodedPage ENCODE_END = new EncodedPage(-1, null, null, 0, 0);
+
+    private final Stages stages;
+    private final int renderThreads;
+    private final int encodeThreads;
+    private final int uploadThreads;
+    private final int queueCapacity;
+
+    public PageRenderPipeline(AppProperties.Pdf budget, Stages stages) {
+        this(budget, budget.getRenderThreads(), stages);
+    }
+
+    /** @param renderThreads 이 덱에 쓸 render 워커 수 (RenderWorkerBudget.Lease) */
+    public PageRenderPipeline(AppProperties.Pdf budget, int renderThreads, Stages stages) {
+        this.stages = stages;
+        this.renderThreads = Math.max(1, renderThreads);
+        this.encodeThreads = Math.max(1, budget.getEncodeThreads());
+        this.uploadThreads = Math.max(1, budget.getUploadThreads());
+        this.queueCapacity = Math.max(1, budget.getStageQueueCapacity());
+    }
+
+    /**
+     * 파이프라인을 실행하고 모든 단계가 끝날 때까지 블로킹합니다.
+     *
+     * @param primary 호출자가 연 문서. 첫 번째 render 워커가 사용하며 닫는 책임은 호출자에게 있습니다.
+     * @param opener  두 번째 이후 render 워커용 문서를 여는 함수
+     * @param source  렌더링할 페이지 공급원
+     * @param sink    페이지별 결과 수신자 (여러 스레드에서 호출됨)
+     */
+    public void run(PDDocument primary, DocumentOpener opener, PageSource source, Consumer<PageResult> sink)
+        throws InterruptedException {
+        BlockingQueue<RenderedPage> encodeQueue = new ArrayBlockingQueue<>(queueCapacity);
+        BlockingQueue<EncodedPage> uploadQueue = new ArrayBlockingQueue<>(queueCapacity);
+
+        ExecutorService renderPool = Executors.newFixedThreadPool(renderThreads, new CustomizableThreadFactory("pdf-render-"));
+        ExecutorService encodePool = Executors.newFixedThreadPool(encodeThreads, new CustomizableThreadFactory("pdf-encode-"));
+        ExecutorService uploadPool = Executors.newFixedThreadPool(uploadThreads, new CustomizableThreadFactory("pdf-upload-"));
+        // 전송 완료 후 작업용. 대기 작업 수는 동시 전송 수(AsyncS3Uploader 상한)를 넘지 않습니다.
+        ExecutorService completionPool =
+            Executors.newFixedThreadPool(uploadThreads, new CustomizableThreadFactory("pdf-upload-done-"));
+
+        try {
+            List<Future<?>> renders = new ArrayList<>();
+            for (int i = 0; i < renderThreads; i++) {
+                PDDocument document = i == 0 ? primary : null;
+                renders.add(renderPool.submit(() -> renderLoop(document, opener, source, encodeQueue, sink)));
+            }
+            List<Future<?>> encodes = new ArrayList<>();
+            for (int i = 0; i < encodeThreads; i++) {
+                encodes.add(encodePool.submit(() -> encodeLoop(encodeQueue, uploadQueue, sink)));
+            }
+            List<Future<?>> uploads = new ArrayList<>();
+            for (int i = 0; i < uploadThreads; i++) {
+                uploads.add(uploadPool.submit(() -> uploadLoop(uploadQueue, sink, completionPool)));
+            }
+
+            // 앞 단계가 모두 끝나면 다음 단계 워커 수만큼 poison pill 을 넣어 종료시킵니다.
+            awaitAll(renders);
+            for (int i = 0; i < encodeThreads; i++) encodeQueue.put(RENDER_END);
+            awaitAll(encodes);
+            for (int i = 0; i < uploadThreads; i++) uploadQueue.put(ENCODE_END);
+            awaitAll(uploads);
+        } finally {
+            renderPool.shutdownNow();
+            encodePool.shutdownNow();
+            uploadPool.shutdownNow();
+            completionPool.shutdownNow();
+        }
+    }
+
+    private void renderLoop(
+        PDDocument primary, DocumentOpener opener, PageSource source,
+        BlockingQueue<RenderedPage> out, Consumer<PageResult> sink
+    ) {
+        PDDocument document = primary;
+        boolean owned = false;
+        try {
+            if (document == null) {
+                document = opener.open();
+                owned = true;
+            }
+            PDFRenderer renderer = new PDFRenderer(document);
+            int pageIndex;
+            while ((pageIndex = source.next()) >= 0) {
+                PageResult reused = tryReuse(document, pageIndex);
+                if (reused != null) {
+                    deliver(sink, reused);
+                    continue;
+                }
+
+                BufferedImage image;
+                try {
+                    image = stages.render(renderer, document.getPage(pageIndex), pageIndex);
+                } catch (Exception e) {
+                    log.error("[PDF] 페이지 렌더링 실패: pageIndex={}", pageIndex, e);
+                    deliver(sink, PageResult.failure(pageIndex));
+                    continue;
+                }
+                out.put(new RenderedPage(pageIndex, image));
+            }
+        } catch (IOException e) {
+            // 추가 워커용 문서 열기 실패: 이 워커만 빠지고 나머지 워커가 남은 페이지를 가져갑니다.
+            log.warn("[PDF] render 워커 문서 열기 실패, 워커 1개 없이 진행: {}", e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (owned) closeQuietly(document);
+        }
+    }
+
+    private void encodeLoop(BlockingQueue<RenderedPage> in, BlockingQueue<EncodedPage> out, Consumer<PageResult> sink) {
+        try {
+            while (true) {
+                RenderedPage page = in.take();
+                if (page == RENDER_END) return;
+
+                EncodedPage encoded;
+                try {
+                    encoded = stages.encode(page.pageIndex(), page.image());
+                } catch (Exception e) {
+                    log.error("[PDF] 페이지 인코딩 실패: pageIndex={}", page.pageIndex(), e);
+                    deliver(sink, PageResult.failure(page.pageIndex()));
+                    continue;
+                }
+                out.put(encoded);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void uploadLoop(BlockingQueue<EncodedPage> in, Consumer<PageResult> sink, Executor completionPool) {
+        List<CompletableFuture<?>> pending = new ArrayList<>();
+        try {
+            while (true) {
+                EncodedPage page = in.take();
+                if (page == ENCODE_END) break;
+
+                CompletableFuture<String> upload;
+                try {
+                    upload = stages.uploadAsync(page, completionPool);
+                } catch (InterruptedException e) {
+                    throw e;
+                } catch (Exception e) {
+                    log.error("[PDF] 페이지 업로드 실패: pageIndex={}", page.pageIndex(), e);
+                    deliver(sink, PageResult.failure(page.pageIndex()));
+                    continue;
+                }
+                pending.add(upload.handleAsync((imageUrl, error) -> {
+                    if (error != null) {
+                        log.error("[PDF] 페이지 업로드 실패: pageIndex={}", page.pageIndex(), error);
+                        deliver(sink, PageResult.failure(page.pageIndex()));
+                    } else {
+                        deliver(sink, PageResult.success(page.pageIndex(), imageUrl, page.width(), page.height()));
+                    }
+                    return null;
+                }, completionPool));
+                pending.removeIf(CompletableFuture::isDone);
+            }
+            // 전송 중인 페이지의 결과까지 전달된 뒤에 워커를 끝냅니다.
+            CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new)).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            // handle() 안에서 결과 전달까지 끝나므로 도달하지 않지만, 워커가 죽지 않도록 로그만 남깁니다.
+            log.error("[PDF] 업로드 완료 대기 실패", e.getCause());
+        }
+    }
+
+    /** 재사용 확인 실패는 페이지 실패가 아니므로 로그만 남기고 정상 렌더링으로 진행합니다. */
+    private PageResult tryReuse(PDDocument document, int pageIndex) {
+        try {
+            return stages.reuse(document, pageIndex);
+        } catch (Exception e) {
+            log.warn("[PDF] 렌더 결과 재사용 확인 실패, 렌더링 진행: pageIndex={}, 이유={}", pageIndex, e.getMessage());
+            return null;
+        }
+    }
+
+    private void awaitAll(List<Future<?>> futures) throws InterruptedException {
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                log.error("[PDF] 파이프라인 워커 비정상 종료", e.getCause());
+            }
+        }
+    }
+
+    /**
+     * sink 예외가 워커를 죽이지 않도록 격리합니다.
+     * 워커가 죽으면 poison pill 을 소비하지 못하거나 앞 단계가 put() 에서 영원히 대기할 수 있습니다.
+     */
+    private void deliver(Consumer<PageResult> sink, PageResult result) {
+        try {
+            sink.accept(result);
+        } catch (RuntimeException e) {
+            log.error("[PDF] 페이지 결과 전달 실패: pageIndex={}", result.pageIndex(), e);
+        }
+    }
+
+    private void closeQuietly(PDDocument document) {
+        if (document == null) return;
+        try {
+            document.close();
+        } catch (IOException e) {
+            log.debug("[PDF] render 워커 문서 닫기 실패: {}", e.getMessage());
+        }
+    }
+}
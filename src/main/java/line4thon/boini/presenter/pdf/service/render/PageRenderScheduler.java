@@ -0,0 +1,146 @@
+package line4thon.boini.presenter.pdf.service.render;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+/**
+ * 우선순위 기반 PageSource. render 워커가 next() 를 호출할 때마다 "지금 가장 필요한 페이지"를 고릅니다.
+ *
+ * 우선순위:
+ *   1. 세션 시작 조건인 앞쪽 canStartSessionAfterPages 장 (낮은 인덱스부터)
+ *   2. 청중이 아직 렌더링되지 않은 슬라이드를 요청한 경우 (DeckAssetController → 승격)
+ *   3. 발표자 현재 페이지(room:{id}:presenterPage)에 가까운 페이지 (같은 거리면 앞으로 넘길 페이지 우선)
+ *   4. 그 외 남은 페이지 (낮은 인덱스부터)
+ *
+ * 청중 요청이 있어도 발표자가 세션을 시작할 수 있는 시점은 늦추지 않도록 앞쪽 페이지가 먼저입니다.
+ *
+ * 힌트(발표자 페이지/청중 요청)는 HintSource 로 가져오며, Redis 호출을 줄이기 위해
+ * HINT_REFRESH_MS 간격으로만 갱신합니다. 조회는 락 밖에서 한 스레드만 하고 (나머지는 이전 힌트로 진행),
+ * 결과 반영과 페이지 선택만 synchronized 로 처리합니다.
+ */
+public class PageRenderScheduler implements PageSource {
+
+    private static final long HINT_REFRESH_MS = 200;
+
+    /** 렌더링 우선순위 힌트 공급원. 페이지 인덱스는 모두 0-based 입니다. */
+    public interface HintSource {
+        Hint fetch();
+    }
+
+    /**
+     * @param presenterPageIndex 발표자 현재 페이지 (모르면 null)
+     * @param requestedPages     마지막 조회 이후 청중이 요청한 페이지들
+     */
+    public record Hint(Integer presenterPageIndex, List<Integer> requestedPages) {
+        public static final Hint NONE = new Hint(null, List.of());
+    }
+
+    private final TreeSet<Integer> pending = new TreeSet<>();
+    private final Deque<Integer> promoted = new ArrayDeque<>();
+    private final int startupPages;
+    private final HintSource hints;
+
+    private final AtomicLong lastHintAt = new AtomicLong();
+
+    private Integer presenterPageIndex;
+
+    public PageRenderScheduler(int totalPages, int startupPages, HintSource hints) {
+        this(IntStream.range(0, totalPages).boxed().toList(), startupPages, hints);
+    }
+
+    /**
+     * 덱의 일부 페이지만 렌더링할 때 사용합니다. (지연 렌더링: 앞쪽 페이지만 / 미뤄 둔 나머지만)
+     * pages 에 없는 페이지는 힌트로 요청돼도 무시됩니다.
+     */
+    public PageRenderScheduler(Collection<Integer> pages, int startupPages, HintSource hints) {
+        pending.addAll(pages);
+        this.startupPages = Math.max(0, startupPages);
+        this.hints = hints;
+    }
+
+    @Override
+    public int next() {
+        if (remaining() == 0) return -1;
+        refreshHints(); // Redis 왕복은 락 밖에서
+        return pick();
+    }
+
+    private synchronized int pick() {
+        if (pending.isEmpty()) return -1;
+
+        // 1. 세션 시작에 필요한 앞쪽 페이지
+        int first = pending.first();
+        if (first < startupPages) {
+            pending.remove(first);
+            return first;
+        }
+
+        // 2. 청중 요청으로 승격된 페이지
+        Integer requested;
+        while ((requested = promoted.pollFirst()) != null) {
+            if (pending.remove(requested)) return requested;
+        }
+
+        // 3. 발표자 현재 페이지 근처
+        if (presenterPageIndex != null) {
+            int nearest = nearestTo(presenterPageIndex);
+            pending.remove(nearest);
+            return nearest;
+        }
+
+        // 4. 나머지는 순서대로
+        return pending.pollFirst();
+    }
+
+    /** 특정 페이지를 다음 렌더링 대상으로 승격합니다. 이미 렌더링됐거나 범위 밖이면 무시됩니다. */
+    public synchronized void promote(int pageIndex) {
+        if (pending.contains(pageIndex)) {
+            promoted.addFirst(pageIndex);
+        }
+    }
+
+    /** 아직 렌더링 대상으로 나가지 않은 페이지 수 */
+    public synchronized int remaining() {
+        return pending.size();
+    }
+
+    private int nearestTo(int target) {
+        Integer ahead = pending.ceiling(target);
+        Integer behind = pending.lower(target);
+        if (ahead == null) return behind;
+        if (behind == null) return ahead;
+        // 같은 거리면 발표자가 곧 넘어갈 앞쪽(ahead) 페이지 우선
+        return (ahead - target) <= (target - behind) ? ahead : behind;
+    }
+
+    private void refreshHints() {
+        if (hints == null) return;
+        long now = System.currentTimeMillis();
+        long last = lastHintAt.get();
+        // 갱신 주기마다 한 스레드만 조회
+        if (now - last < HINT_REFRESH_MS || !lastHintAt.compareAndSet(last, now)) return;
+
+        Hint hint;
+        try {
+            hint = hints.fetch();
+        } catch (RuntimeException e) {
+            // 힌트 조회 실패(Redis 장애 등)는 렌더링을 막지 않습니다. 이전 힌트로 계속 진행합니다.
+            return;
+        }
+        if (hint != null) applyHint(hint);
+    }
+
+    private synchronized void applyHint(Hint hint) {
+        presenterPageIndex = hint.presenterPageIndex();
+        for (Integer page : hint.requestedPages()) {
+            if (page != null && pending.contains(page)) {
+                promoted.addLast(page);
+            }
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package line4thon.boini.presenter.pdf.service.render;
+
+/**
+ * 파이프라인을 빠져나온 페이지 하나의 처리 결과.
+ * failed=true 이면 render/encode/upload 중 한 단계에서 실패한 페이지입니다.
+ *
+ * @param pageIndex 0-based 페이지 인덱스
+ * @param imageUrl  원본 WebP URL (실패 시 null)
+ */
+public record PageResult(int pageIndex, String imageUrl, int width, int height, boolean failed) {
+
+    public static PageResult success(int pageIndex, String imageUrl, int width, int height) {
+        return new PageResult(pageIndex, imageUrl, width, height, false);
+    }
+
+    public static PageResult failure(int pageIndex) {
+        return new PageResult(pageIndex, null, 0, 0, true);
+    }
+}
@@ -0,0 +1,25 @@
+package line4thon.boini.presenter.pdf.service.render;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * render 워커들이 다음에 렌더링할 페이지를 가져가는 공급원.
+ * 여러 render 스레드가 동시에 호출하므로 구현체는 thread-safe 해야 합니다.
+ */
+public interface PageSource {
+
+    /**
+     * 다음에 렌더링할 0-based 페이지 인덱스를 반환합니다.
+     * 더 이상 렌더링할 페이지가 없으면 -1 을 반환합니다.
+     */
+    int next() throws InterruptedException;
+
+    /** 0 → totalPages-1 순서대로 한 번씩만 내주는 기본 공급원. */
+    static PageSource sequential(int totalPages) {
+        AtomicInteger cursor = new AtomicInteger();
+        return () -> {
+            int index = cursor.getAndIncrement();
+            return index < totalPages ? index : -1;
+        };
+    }
+}
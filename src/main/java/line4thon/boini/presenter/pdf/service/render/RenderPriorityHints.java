@@ -0,0 +1,81 @@
+package line4thon.boini.presenter.pdf.service.render;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * 렌더링 우선순위 힌트를 Redis 로 주고받는 컴포넌트.
+ *
+ * 렌더링은 업로드를 받은 노드에서만 진행되지만, 발표자 페이지 변경과 청중의 슬라이드 요청은
+ * 어느 노드로든 들어올 수 있으므로 로컬 메모리가 아닌 Redis 를 통해 전달합니다.
+ *
+ * Redis 키:
+ *   - room:{roomId}:presenterPage                    발표자 현재 페이지 (1-based, PageService 가 갱신)
+ *   - pdf:render:{roomId}:{deckId}:requested         아직 렌더링되지 않은 페이지 요청 목록 (1-based, List)
+ *
+ * 연결:
+ *   - DeckAssetService.getOriginalUrl(): 원본이 아직 없으면 requestPage() 로 요청 기록
+ *   - PdfParseService.parseAndStream(): forDeck() 를 PageRenderScheduler 의 HintSource 로 사용
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RenderPriorityHints {
+
+    private static final Duration REQUEST_TTL = Duration.ofMinutes(10);
+    private static final int DRAIN_BATCH = 32;
+
+    private final StringRedisTemplate redisTemplate;
+
+    /** 청중이 요청한 페이지를 렌더링 대기열 앞쪽으로 올려달라고 기록합니다. */
+    public void requestPage(String roomId, String deckId, int pageNumber) {
+        String key = requestedKey(roomId, deckId);
+        try {
+            redisTemplate.opsForList().rightPush(key, String.valueOf(pageNumber));
+            redisTemplate.expire(key, REQUEST_TTL);
+        } catch (RuntimeException e) {
+            // 우선순위 힌트는 부가 기능이므로 실패해도 요청 흐름을 막지 않습니다.
+            log.debug("[PDF] 렌더링 우선순위 요청 기록 실패: roomId={}, deckId={}, page={}", roomId, deckId, pageNumber);
+        }
+    }
+
+    /** 덱 하나에 대한 HintSource. 반환하는 페이지 인덱스는 0-based 입니다. */
+    public PageRenderScheduler.HintSource forDeck(String roomId, String deckId) {
+        return () -> new PageRenderScheduler.Hint(
+            readPresenterPageIndex(roomId),
+            drainRequestedIndexes(roomId, deckId));
+    }
+
+    private Integer readPresenterPageIndex(String roomId) {
+        String value = redisTemplate.opsForValue().get("room:" + roomId + ":presenterPage");
+        if (value == null) return null;
+        try {
+            return Integer.parseInt(value.trim()) - 1;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private List<Integer> drainRequestedIndexes(String roomId, String deckId) {
+        List<String> values = redisTemplate.opsForList().leftPop(requestedKey(roomId, deckId), DRAIN_BATCH);
+        if (values == null || values.isEmpty()) return List.of();
+
+        List<Integer> indexes = new ArrayList<>(values.size());
+        for (String value : values) {
+            try {
+                indexes.add(Integer.parseInt(value) - 1);
+            } catch (NumberFormatException ignored) {
+            }
+        }
+        return indexes;
+    }
+
+    private String requestedKey(String roomId, String deckId) {
+        return "pdf:render:" + roomId + ":" + deckId + ":requested";
+    }
+}
@@ -0,0 +1,107 @@
+package line4thon.boini.presenter.pdf.service.render;
+
+import java.io.IOException;
+import java.util.List;
+import line4thon.boini.global.config.AppProperties;
+import org.apache.pdfbox.contentstream.PDContentStream;
+import org.apache.pdfbox.contentstream.operator.Operator;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.pdfparser.PDFStreamParser;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDResources;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.graphics.PDXObject;
+import org.apache.pdfbox.pdmodel.graphics.form.PDFormXObject;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
+
+/**
+ * 페이지마다 렌더링 DPI 와 WebP 품질(RenderProfile)을 정합니다.
+ *
+ * 모든 페이지를 같은 DPI/품질로 처리하면 글자·도형뿐인 슬라이드도 사진 슬라이드만큼 크게 렌더링됩니다.
+ * 이 클래스는 렌더링 전에 콘텐츠 스트림 연산자만 훑어서(렌더링/디코딩 없음, 수 ms) 페이지 종류를 나눕니다.
+ *   - VECTOR: 텍스트/도형만 있는 페이지 → app.pdf.vector-long-edge-px, app.pdf.vector-quality
+ *     (넓은 단색 영역이 많아 품질을 올려도 용량이 작고, 글자 가장자리가 깨끗함)
+ *   - RASTER: 이미지(XObject/인라인)나 그라데이션(sh)이 있는 페이지 → app.pdf.raster-long-edge-px, app.pdf.raster-quality
+ *     (사진은 품질을 낮춰도 눈에 띄지 않고 용량 차이가 큼)
+ *
+ * DPI 는 페이지 크기에서 계산합니다: 긴 변이 목표 px 가 되도록 한 뒤 app.pdf.min-dpi ~ max-dpi 로 제한.
+ * 같은 설정과 같은 페이지 내용이면 항상 같은 결과이므로 렌더 캐시 지문과 함께 써도 됩니다.
+ *
+ * PDDocument 와 마찬가지로 render 워커 스레드에서만 호출합니다. (인스턴스 자체는 상태 없음)
+ */
+public class RenderProfiler {
+
+    /** 페이지 종류 */
+    public enum PageContent { VECTOR, RASTER }
+
+    /** 페이지 하나의 렌더링 설정 */
+    public record RenderProfile(PageContent content, float dpi, float quality) {}
+
+    private static final int MAX_FORM_DEPTH = 3; // 중첩 Form XObject 탐색 깊이 (순환 방지)
+
+    private final AppProperties.Pdf config;
+
+    public RenderProfiler(AppProperties.Pdf config) {
+        this.config = config;
+    }
+
+    public RenderProfile profile(PDPage page) {
+        PageContent content = hasRasterContent(page) ? PageContent.RASTER : PageContent.VECTOR;
+        int targetLongEdge = content == PageContent.RASTER ? config.getRasterLongEdgePx() : config.getVectorLongEdgePx();
+        float quality = content == PageContent.RASTER ? config.getRasterQuality() : config.getVectorQuality();
+        return new RenderProfile(content, dpiFor(page.getCropBox(), targetLongEdge), quality);
+    }
+
+    /** 긴 변이 targetLongEdge px 가 되는 DPI (1pt = 1/72 inch) */
+    float dpiFor(PDRectangle box, int targetLongEdge) {
+        float longEdgePt = Math.max(box.getWidth(), box.getHeight());
+        if (longEdgePt <= 0) return config.getMaxDpi();
+        float dpi = targetLongEdge * 72f / longEdgePt;
+        return Math.max(config.getMinDpi(), Math.min(config.getMaxDpi(), Math.round(dpi)));
+    }
+
+    private boolean hasRasterContent(PDPage page) {
+        try {
+            return scan(page, page.getResources(), 0);
+        } catch (IOException | RuntimeException e) {
+            // 분석에 실패하면 안전하게 사진 페이지로 취급 (해상도를 낮추지 않음)
+            return true;
+        }
+    }
+
+    private boolean scan(PDContentStream stream, PDResources resources, int depth) throws IOException {
+        List<Object> tokens = new PDFStreamParser(stream).parse();
+        COSName lastName = null;
+        for (Object token : tokens) {
+            if (token instanceof COSName name) {
+                lastName = name;
+                continue;
+            }
+            if (!(token instanceof Operator operator)) continue;
+
+            switch (operator.getName()) {
+                case "BI", "sh" -> {
+                    return true;
+                }
+                case "Do" -> {
+                    if (lastName != null && resources != null && isRasterXObject(resources, lastName, depth)) {
+                        return true;
+                    }
+                }
+                default -> { }
+            }
+            lastName = null;
+        }
+        return false;
+    }
+
+    private boolean isRasterXObject(PDResources resources, COSName name, int depth) throws IOException {
+        PDXObject xObject = resources.getXObject(name);
+        if (xObject instanceof PDImageXObject) return true;
+        if (xObject instanceof PDFormXObject form && depth < MAX_FORM_DEPTH) {
+            PDResources formResources = form.getResources() != null ? form.getResources() : resources;
+            return scan(form, formResources, depth + 1);
+        }
+        return false;
+    }
+}
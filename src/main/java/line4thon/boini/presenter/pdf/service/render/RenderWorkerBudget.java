@@ -0,0 +1,81 @@
+package line4thon.boini.presenter.pdf.service.render;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import line4thon.boini.global.config.AppProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 노드 전체의 render 워커 수 예산. 덱마다 render 워커를 몇 개 띄울지 정합니다.
+ *
+ * 기존에는 덱 크기와 상관없이 render 워커를 고정 개수(2개)로 띄웠기 때문에
+ *   - 한가한 노드에서 200페이지 덱 하나가 들어와도 코어 2개만 쓰고,
+ *   - 바쁜 노드에서 덱 4개가 동시에 들어오면 코어 수보다 많은 render 스레드가 경쟁했습니다.
+ * 이 클래스는 덱을 시작할 때
+ *   원하는 워커 수 = ceil(totalPages / app.pdf.pages-per-render-worker), 최대 app.pdf.render-threads
+ *   받는 워커 수   = min(원하는 수, 예산 - 지금 다른 덱이 쓰는 워커 수), 최소 1
+ * 로 정하고, 덱이 끝나면 돌려받습니다. 예산은 app.pdf.render-core-budget (0 이면 CPU 코어 수) 입니다.
+ *
+ * 각 render 워커는 자기 PDDocument 를 열고 PageRenderScheduler 에서 페이지를 하나씩 가져가므로
+ * (PageRenderPipeline 참고) 덱이 워커 수만큼 병렬로 렌더링되고, 결과는 OrderedPageEmitter 가 페이지 순서로 합칩니다.
+ *
+ * 연결: PdfParseService.renderDeck()
+ */
+@Component
+public class RenderWorkerBudget {
+
+    private final AppProperties.Pdf config;
+    private final int budget;
+    private final AtomicInteger inUse = new AtomicInteger();
+
+    public RenderWorkerBudget(AppProperties props) {
+        this.config = props.getPdf();
+        int configured = config.getRenderCoreBudget();
+        this.budget = configured > 0 ? configured : Runtime.getRuntime().availableProcessors();
+    }
+
+    /** 덱 하나에 쓸 render 워커 수를 빌립니다. 예산이 바닥나도 최소 1개는 받습니다. */
+    public Lease lease(int totalPages) {
+        int desired = desiredWorkers(totalPages);
+        while (true) {
+            int active = inUse.get();
+            int granted = Math.max(1, Math.min(desired, budget - active));
+            if (inUse.compareAndSet(active, active + granted)) {
+                return new Lease(granted);
+            }
+        }
+    }
+
+    /** 현재 모든 덱이 쓰고 있는 render 워커 수 */
+    public int inUse() {
+        return inUse.get();
+    }
+
+    int desiredWorkers(int totalPages) {
+        int pagesPerWorker = Math.max(1, config.getPagesPerRenderWorker());
+        int byPages = (Math.max(1, totalPages) + pagesPerWorker - 1) / pagesPerWorker;
+        return Math.max(1, Math.min(config.getRenderThreads(), byPages));
+    }
+
+    /** 빌린 워커 수. close() 로 돌려줍니다. (여러 번 호출해도 한 번만 반납) */
+    public final class Lease implements AutoCloseable {
+
+        private final int workers;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Lease(int workers) {
+            this.workers = workers;
+        }
+
+        public int workers() {
+            return workers;
+        }
+
+        @Override
+        public void close() {
+            if (released.compareAndSet(false, true)) {
+                inUse.addAndGet(-workers);
+            }
+        }
+    }
+}
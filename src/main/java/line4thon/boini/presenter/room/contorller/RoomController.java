@@ -3,6 +3,7 @@ package line4thon.boini.presenter.room.contorller;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import line4thon.boini.audience.feedback.entity.FeedbackEntity;
 import line4thon.boini.audience.feedback.repository.FeedbackAnswerRepository;
@@ -20,31 +21,26 @@ import line4thon.boini.global.jwt.service.JwtService;
 import line4thon.boini.global.websocket.JwtHandshakeInterceptor;
 import line4thon.boini.presenter.aiReport.exception.ReportErrorCode;
 import line4thon.boini.presenter.page.service.PageService;
+import line4thon.boini.presenter.pdf.service.LazyRenderService;
 import line4thon.boini.presenter.room.dto.response.CreateRoomResponse;
 import line4thon.boini.presenter.room.dto.response.TokenResponse;
 import line4thon.boini.presenter.room.entity.SessionStatus;
 import line4thon.boini.presenter.room.service.CodeService;
+import line4thon.boini.presenter.room.service.PdfDownloadService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.core.io.InputStreamResource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.web.bind.annotation.*;
-import software.amazon.awssdk.core.ResponseInputStream;
-import software.amazon.awssdk.services.s3.S3Client;
-import software.amazon.awssdk.services.s3.model.GetObjectRequest;
-import software.amazon.awssdk.services.s3.model.GetObjectResponse;
-import software.amazon.awssdk.services.s3.model.S3Exception;
 
 import line4thon.boini.presenter.room.dto.request.CreateRoomRequest;
 import line4thon.boini.presenter.room.dto.request.RefreshPresenterTokenRequest;
 import line4thon.boini.presenter.room.service.PresenterAuthService;
 import line4thon.boini.presenter.room.service.RoomService;
 
+import java.io.IOException;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.util.Map;
@@ -66,7 +62,8 @@ public class RoomController {
   private final SimpMessagingTemplate messagingTemplate;
   private final FeedbackRepository feedbackRepository;
   private final FeedbackAnswerRepository feedbackAnswerRepository;
-  private final S3Client s3Client;
+  private final PdfDownloadService pdfDownloadService;
+  private final LazyRenderService lazyRenderService;
   private final AppProperties props;
 
   @Autowired
@@ -212,6 +209,8 @@ public class RoomController {
   )
   public BaseResponse<Map<String, String>> startSession(@PathVariable String roomId) {
     roomService.setSessionStatus(roomId, SessionStatus.live);
+    // 세션 시작 전에 미뤄 둔 슬라이드(지연 렌더링)를 이어서 렌더링
+    lazyRenderService.resumeRoom(roomId);
     return BaseResponse.success(Map.of(
         "roomId", roomId,
         "status", "live"
@@ -281,12 +280,17 @@ public class RoomController {
       summary = "PDF 다운로드",
       description = """
         세션 종료 후 별점과 주관식 피드백을 모두 제출한 청중에게만 발표 자료 PDF를 다운로드합니다.
+        기본(app.s3.download-mode=redirect)은 짧은 유효 시간의 S3 presigned URL 로 302 리다이렉트하고,
+        proxy 모드는 Range(206) / If-None-Match(304) 를 지원하며 서버가 직접 전송합니다.
         """
   )
-  public ResponseEntity<InputStreamResource> downloadPdf(
+  public void downloadPdf(
       @PathVariable String roomId,
-      @RequestParam String audienceId
-  ) {
+      @RequestParam String audienceId,
+      @RequestHeader(value = HttpHeaders.RANGE, required = false) String range,
+      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+      HttpServletResponse response
+  ) throws IOException {
     if (!canDownloadPdf(roomId, audienceId)) {
       throw new CustomException(GlobalErrorCode.FORBIDDEN);
     }
@@ -296,24 +300,7 @@ public class RoomController {
       throw new CustomException(GlobalErrorCode.RESOURCE_NOT_FOUND);
     }
 
-    try {
-      ResponseInputStream<GetObjectResponse> s3Object = s3Client.getObject(GetObjectRequest.builder()
-          .bucket(props.getS3().getBucket())
-          .key(key)
-          .build());
-
-      return ResponseEntity.ok()
-          .contentType(MediaType.APPLICATION_PDF)
-          .contentLength(s3Object.response().contentLength())
-          .header(HttpHeaders.CONTENT_DISPOSITION, contentDisposition(roomId))
-          .header(HttpHeaders.ACCESS_CONTROL_EXPOSE_HEADERS, HttpHeaders.CONTENT_DISPOSITION)
-          .body(new InputStreamResource(s3Object));
-    } catch (S3Exception e) {
-      log.error("PDF 다운로드 S3 조회 실패: roomId={}, key={}", roomId, key, e);
-      throw new CustomException(e.statusCode() == 404
-          ? GlobalErrorCode.RESOURCE_NOT_FOUND
-          : GlobalErrorCode.INTERNAL_SERVER_ERROR);
-    }
+    pdfDownloadService.send(key, contentDisposition(roomId), range, ifNoneMatch, response);
   }
 
   private boolean canDownloadPdf(String roomId, String audienceId) {
@@ -0,0 +1,226 @@
+package line4thon.boini.presenter.room.service;
+
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.time.Duration;
+import line4thon.boini.global.common.exception.CustomException;
+import line4thon.boini.global.common.exception.GlobalErrorCode;
+import line4thon.boini.global.config.AppProperties;
+import line4thon.boini.presenter.image.service.LocalAssetCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+
+/**
+ * 발표 자료 PDF 다운로드 응답을 만드는 서비스. (권한 확인은 RoomController 에서 끝난 뒤 호출)
+ *
+ * 기존에는 S3 오브젝트 전체를 앱 서버가 InputStreamResource 로 중계해서
+ * 발표가 끝나고 청중이 한꺼번에 내려받으면 전송 시간 내내 서블릿 스레드와 S3 연결을 붙잡고 있었고,
+ * Range 요청(이어받기)도 지원하지 않았습니다.
+ *
+ * app.s3.download-mode:
+ *   - redirect (기본): 짧은 유효 시간(app.s3.download-url-seconds)의 S3 presigned URL 로 302 리다이렉트합니다.
+ *     파일명/Content-Type 은 서명된 response-content-disposition / response-content-type 으로 지정되므로
+ *     브라우저가 받는 결과는 기존과 같고, 전송은 S3 가 직접 처리합니다. (Range/ETag 도 S3 가 처리)
+ *     CloudFront 공개 URL 은 권한 확인 없이 누구나 받을 수 있게 되므로 쓰지 않습니다.
+ *   - proxy: S3 에 직접 접근할 수 없는 클라이언트용. Range / If-None-Match 를 S3 로 그대로 넘기고
+ *     고정 크기 버퍼로 응답에 복사합니다. (206 / 304 지원)
+ *
+ * 이 노드의 LocalAssetCache 에 PDF 가 있으면 모드와 관계없이 디스크(memory-map)에서 바로 응답합니다. (Range 지원)
+ *
+ * 연결: RoomController.downloadPdf()
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PdfDownloadService {
+
+    static final String MODE_PROXY = "proxy";
+    private static final int COPY_BUFFER_BYTES = 64 * 1024;
+    private static final String EXPOSED_HEADERS = String.join(", ",
+        HttpHeaders.CONTENT_DISPOSITION, HttpHeaders.CONTENT_RANGE, HttpHeaders.ACCEPT_RANGES, HttpHeaders.ETAG);
+
+    private final S3Client s3Client;
+    private final S3Presigner presigner;
+    private final AppProperties props;
+    private final LocalAssetCache localAssetCache;
+
+    /**
+     * @param contentDisposition 다운로드 파일명이 들어간 Content-Disposition 값
+     * @param range              요청의 Range 헤더 (없으면 null)
+     * @param ifNoneMatch        요청의 If-None-Match 헤더 (없으면 null)
+     */
+    public void send(String key, String contentDisposition, String range, String ifNoneMatch,
+                     HttpServletResponse response) throws IOException {
+        ByteBuffer local = localAssetCache.read(key).orElse(null);
+        if (local != null) {
+            writeLocal(local, contentDisposition, range, response);
+            return;
+        }
+        if (MODE_PROXY.equalsIgnoreCase(props.getS3().getDownloadMode())) {
+            proxy(key, contentDisposition, range, ifNoneMatch, response);
+        } else {
+            redirect(key, contentDisposition, response);
+        }
+    }
+
+    private void redirect(String key, String contentDisposition, HttpServletResponse response) throws IOException {
+        String url = presignedDownloadUrl(key, contentDisposition);
+        // 서명된 URL 은 요청마다 다르고 금방 만료되므로 캐시하지 않음
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-store");
+        response.sendRedirect(url);
+    }
+
+    String presignedDownloadUrl(String key, String contentDisposition) {
+        GetObjectRequest get = GetObjectRequest.builder()
+            .bucket(props.getS3().getBucket())
+            .key(key)
+            .responseContentType(MediaType.APPLICATION_PDF_VALUE)
+            .responseContentDisposition(contentDisposition)
+            .build();
+        String url = presigner.presignGetObject(b -> b
+            .signatureDuration(Duration.ofSeconds(props.getS3().getDownloadUrlSeconds()))
+            .getObjectRequest(get)).url().toString();
+        return url.startsWith("http://") ? "https://" + url.substring(7) : url;
+    }
+
+    private void proxy(String key, String contentDisposition, String range, String ifNoneMatch,
+                       HttpServletResponse response) throws IOException {
+        GetObjectRequest.Builder request = GetObjectRequest.builder()
+            .bucket(props.getS3().getBucket())
+            .key(key);
+        if (isSingleByteRange(range)) request.range(range);
+        if (ifNoneMatch != null && !ifNoneMatch.isBlank()) request.ifNoneMatch(ifNoneMatch);
+
+        ResponseInputStream<GetObjectResponse> s3Object;
+        try {
+            s3Object = s3Client.getObject(request.build());
+        } catch (S3Exception e) {
+            if (e.statusCode() == HttpServletResponse.SC_NOT_MODIFIED) {
+                response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+                response.setHeader(HttpHeaders.ETAG, ifNoneMatch);
+                return;
+            }
+            if (e.statusCode() == HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE) {
+                response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+            log.error("PDF 다운로드 S3 조회 실패: key={}", key, e);
+            throw new CustomException(e.statusCode() == 404
+                ? GlobalErrorCode.RESOURCE_NOT_FOUND
+                : GlobalErrorCode.INTERNAL_SERVER_ERROR);
+        }
+
+        GetObjectResponse meta = s3Object.response();
+        boolean partial = meta.contentRange() != null;
+        response.setStatus(partial ? HttpServletResponse.SC_PARTIAL_CONTENT : HttpServletResponse.SC_OK);
+        response.setContentType(MediaType.APPLICATION_PDF_VALUE);
+        response.setContentLengthLong(meta.contentLength());
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, contentDisposition);
+        response.setHeader(HttpHeaders.ACCESS_CONTROL_EXPOSE_HEADERS, EXPOSED_HEADERS);
+        if (meta.eTag() != null) response.setHeader(HttpHeaders.ETAG, meta.eTag());
+        if (partial) response.setHeader(HttpHeaders.CONTENT_RANGE, meta.contentRange());
+
+        copy(s3Object, response.getOutputStream());
+    }
+
+    private void writeLocal(ByteBuffer buffer, String contentDisposition, String range,
+                            HttpServletResponse response) throws IOException {
+        long length = buffer.remaining();
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.ACCESS_CONTROL_EXPOSE_HEADERS, EXPOSED_HEADERS);
+
+        long[] span = isSingleByteRange(range) ? parseRange(range.substring("bytes=".length()), length) : null;
+        if (span != null && span.length == 0) {
+            response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+            return;
+        }
+        if (span != null) {
+            buffer.position((int) span[0]).limit((int) span[1] + 1);
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes %d-%d/%d".formatted(span[0], span[1], length));
+        } else {
+            response.setStatus(HttpServletResponse.SC_OK);
+        }
+        response.setContentType(MediaType.APPLICATION_PDF_VALUE);
+        response.setContentLengthLong(buffer.remaining());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, contentDisposition);
+
+        WritableByteChannel channel = Channels.newChannel(response.getOutputStream());
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * "a-b", "a-", "-n" 형식의 단일 구간을 [시작, 끝] (끝 포함) 으로 바꿉니다.
+     *
+     * @return 형식이 틀리면 null (전체 전송), 파일 범위를 벗어나면 빈 배열 (416)
+     */
+    static long[] parseRange(String spec, long length) {
+        int dash = spec.indexOf('-');
+        if (dash < 0) return null;
+        try {
+            String first = spec.substring(0, dash).trim();
+            String last = spec.substring(dash + 1).trim();
+            if (first.isEmpty()) {
+                long suffix = Long.parseLong(last);
+                if (suffix <= 0 || length == 0) return new long[0];
+                return new long[] {Math.max(0, length - suffix), length - 1};
+            }
+            long start = Long.parseLong(first);
+            long end = last.isEmpty() ? length - 1 : Math.min(Long.parseLong(last), length - 1);
+            if (start >= length || start > end) return new long[0];
+            return new long[] {start, end};
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 고정 크기 버퍼로 복사합니다. 클라이언트가 중간에 끊으면 S3 응답을 끝까지 읽지 않고 연결을 버립니다.
+     */
+    static void copy(ResponseInputStream<GetObjectResponse> in, OutputStream out) throws IOException {
+        boolean completed = false;
+        try {
+            byte[] buffer = new byte[COPY_BUFFER_BYTES];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            out.flush();
+            completed = true;
+        } finally {
+            if (!completed) in.abort();
+            closeQuietly(in);
+        }
+    }
+
+    // S3 GetObject 는 단일 구간만 지원: 여러 구간이나 형식이 틀린 Range 는 무시하고 전체를 보냅니다.
+    static boolean isSingleByteRange(String range) {
+        return range != null && range.startsWith("bytes=") && range.indexOf(',') < 0 && range.length() > "bytes=".length();
+    }
+
+    private static void closeQuietly(InputStream in) {
+        try {
+            in.close();
+        } catch (IOException e) {
+            log.debug("PDF 다운로드 S3 스트림 닫기 실패: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package line4thon.boini.audience.liveFeedback.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import line4thon.boini.global.config.AppProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.SetOperations;
+
+class LiveFeedbackEngineTest {
+
+    @SuppressWarnings("unchecked")
+    private final RedisTemplate<String, String> redisTemplate = mock(RedisTemplate.class);
+    @SuppressWarnings("unchecked")
+    private final SetOperations<String, String> setOps = mock(SetOperations.class);
+    private final LiveFeedbackEngine engine = new LiveFeedbackEngine(redisTemplate, new AppProperties());
+
+    {
+        doReturn(setOps).when(redisTemplate).opsForSet();
+        doReturn(List.of()).when(redisTemplate).executePipelined(any(SessionCallback.class));
+    }
+
+    @Test
+    void firstFiresWhenHalfTheOnlineAudienceReactsWithTheSameEmoji() {
+        when(setOps.size("room:r1:audience:online")).thenReturn(4L);
+
+        assertThat(engine.onSticker("r1", 1, 2, "a1")).isEmpty();
+        assertThat(engine.onSticker("r1", 1, 2, "a1")).isEmpty(); // 같은 청중은 한 번만 셈
+        assertThat(engine.onSticker("r1", 1, 2, "a2"))
+                .contains(new LiveFeedbackEngine.Transition("FIRST", "청중의 절반 이상이 '놀라운' 반응을 했어요!"));
+        assertThat(engine.onSticker("r1", 1, 5, "a3")).isEmpty(); // FIRST 이후에는 SECOND 없음
+    }
+
+    @Test
+    void secondNamesTheMostFrequentEmojiOnceTwoKindsAppear() {
+        when(setOps.size("room:r1:audience:online")).thenReturn(10L);
+
+        assertThat(engine.onSticker("r1", 1, 7, "a1")).isEmpty();
+        engine.onSticker("r1", 1, 7, "a1");
+        assertThat(engine.onSticker("r1", 1, 8, "a2"))
+                .contains(new LiveFeedbackEngine.Transition("SECOND", "'O' 반응이 두드러지고 있어요!"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void checkpointsOnlyDirtySlides() {
+        when(setOps.size("room:r1:audience:online")).thenReturn(10L);
+        engine.onSticker("r1", 1, 1, "a1"); // 슬라이드 읽기 1회
+
+        engine.checkpoint();                  // 기록 1회
+        engine.checkpoint();                  // 바뀐 것 없음
+
+        verify(redisTemplate, times(2)).executePipelined(any(SessionCallback.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void slowSlideLoadDoesNotBlockOtherStickersInTheRoom() throws Exception {
+        when(setOps.size("room:r1:audience:online")).thenReturn(10L);
+        engine.onSticker("r1", 1, 1, "a1"); // 슬라이드 1 은 이미 메모리에 있음
+
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            loading.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return List.of();
+        }).when(redisTemplate).executePipelined(any(SessionCallback.class));
+
+        CompletableFuture<?> slowLoad = CompletableFuture.runAsync(() -> engine.onSticker("r1", 2, 1, "a2"));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+        try {
+            // 슬라이드 2 를 Redis 에서 읽는 동안에도 같은 방 스티커가 바로 처리됨
+            CompletableFuture<?> other = CompletableFuture.runAsync(() -> engine.onSticker("r1", 1, 2, "a3"));
+            other.get(1, TimeUnit.SECONDS);
+        } finally {
+            release.countDown();
+        }
+        slowLoad.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void onlyEmojiOneToEightAreHandledInMemory() {
+        assertThat(LiveFeedbackEngine.supports(1)).isTrue();
+        assertThat(LiveFeedbackEngine.supports(8)).isTrue();
+        assertThat(LiveFeedbackEngine.supports(9)).isFalse();
+        assertThat(LiveFeedbackEngine.supports(null)).isFalse();
+    }
+}
@@ -0,0 +1,41 @@
+package line4thon.boini.audience.sticker.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+class StickerRecordSerializerTest {
+
+    private final StickerRecordSerializer serializer = new StickerRecordSerializer();
+
+    @Test
+    void roundTripsEveryField() {
+        StickerRecord record = new StickerRecord(3, 12, 0.25, 0.1,
+                LocalDateTime.of(2025, 11, 2, 14, 30, 5, 123_000_000), "8f14e45f-ceea-467e-a1c4-3f0b7c1d2e9a");
+
+        byte[] bytes = serializer.serialize(record);
+
+        assertThat(bytes).hasSize(59);
+        assertThat(serializer.deserialize(bytes)).isEqualTo(record);
+    }
+
+    @Test
+    void keepsNullFields() {
+        StickerRecord record = new StickerRecord(null, null, 0.5, 0.5, null, null);
+
+        assertThat(serializer.deserialize(serializer.serialize(record))).isEqualTo(record);
+    }
+
+    @Test
+    void readsOldJsonEntriesAsNull() {
+        GenericJackson2JsonRedisSerializer json = new GenericJackson2JsonRedisSerializer();
+
+        assertThat(serializer.deserialize(json.serialize(1))).isNull();
+        assertThat(serializer.deserialize(json.serialize("a1"))).isNull();
+        assertThat(serializer.deserialize("{\"emoji\":1}".getBytes(StandardCharsets.UTF_8))).isNull();
+        assertThat(serializer.deserialize(new byte[0])).isNull();
+    }
+}
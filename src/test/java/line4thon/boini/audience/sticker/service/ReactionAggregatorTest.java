@@ -0,0 +1,96 @@
+package line4thon.boini.audience.sticker.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import line4thon.boini.audience.sticker.dto.response.ReactionBatchResponse;
+import line4thon.boini.audience.sticker.dto.response.StickerResponse;
+import line4thon.boini.global.config.AppProperties;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+class ReactionAggregatorTest {
+
+    private final SimpMessagingTemplate messagingTemplate = mock(SimpMessagingTemplate.class);
+    private final AppProperties props = new AppProperties();
+    private final ReactionAggregator aggregator = new ReactionAggregator(messagingTemplate, props);
+
+    @Test
+    void sendsOneFramePerRoomPerTick() {
+        aggregator.add("r1", sticker(1));
+        aggregator.add("r1", sticker(2));
+        aggregator.add("r2", sticker(3));
+
+        aggregator.flush();
+
+        ArgumentCaptor<Object> frame = ArgumentCaptor.forClass(Object.class);
+        verify(messagingTemplate).convertAndSend(eq("/topic/presentation/r1/reactions"), frame.capture());
+        ReactionBatchResponse batch = (ReactionBatchResponse) frame.getValue();
+        assertThat(batch.getTotal()).isEqualTo(2);
+        assertThat(batch.getStickers()).extracting(StickerResponse::getEmoji).containsExactly(1, 2);
+        assertThat(batch.getCounts()).isNull();
+        verify(messagingTemplate).convertAndSend(eq("/topic/presentation/r2/reactions"), any(Object.class));
+    }
+
+    @Test
+    void emptyTickSendsNothing() {
+        aggregator.add("r1", sticker(1));
+        aggregator.flush();
+        aggregator.flush();
+
+        verify(messagingTemplate, times(1)).convertAndSend(anyString(), any(Object.class));
+    }
+
+    @Test
+    void flushesOnItsOwnThreadWhenEnabled() {
+        props.getSticker().setReactionBatchEnabled(true);
+        props.getSticker().setReactionTickMillis(10);
+        List<String> threads = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> threads.add(Thread.currentThread().getName()))
+            .when(messagingTemplate).convertAndSend(anyString(), any(Object.class));
+
+        aggregator.start();
+        try {
+            aggregator.add("r1", sticker(1));
+            verify(messagingTemplate, timeout(1000)).convertAndSend(eq("/topic/presentation/r1/reactions"), any(Object.class));
+        } finally {
+            aggregator.stop();
+        }
+        assertThat(threads).containsOnly("reaction-flush");
+    }
+
+    @Test
+    void burstCarriesSampleAndPerEmojiCounts() {
+        List<StickerResponse> stickers = new ArrayList<>();
+        for (int i = 0; i < 10; i++) stickers.add(sticker(i % 2 == 0 ? 1 : 7));
+
+        ReactionBatchResponse batch = ReactionAggregator.toBatch(stickers, 4);
+
+        assertThat(batch.getTotal()).isEqualTo(10);
+        assertThat(batch.getStickers()).hasSize(4);
+        assertThat(batch.getCounts()).containsEntry(1, 5).containsEntry(7, 5);
+    }
+
+    @Test
+    void disabledByDefault() {
+        assertThat(aggregator.isEnabled()).isFalse();
+        aggregator.flush();
+        verify(messagingTemplate, never()).convertAndSend(anyString(), any(Object.class));
+    }
+
+    private static StickerResponse sticker(int emoji) {
+        return StickerResponse.builder().emoji(emoji).x(0.5).y(0.5).slide(1).build();
+    }
+}
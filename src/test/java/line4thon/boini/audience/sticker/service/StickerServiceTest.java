@@ -0,0 +1,67 @@
+package line4thon.boini.audience.sticker.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import line4thon.boini.audience.liveFeedback.service.LiveFeedbackEngine;
+import line4thon.boini.audience.sticker.dto.request.StickerRequest;
+import line4thon.boini.global.config.AppProperties;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+class StickerServiceTest {
+
+    private final SimpMessagingTemplate messagingTemplate = mock(SimpMessagingTemplate.class);
+    @SuppressWarnings("unchecked")
+    private final RedisTemplate<String, String> redisTemplate = mock(RedisTemplate.class);
+    private final AppProperties props = new AppProperties();
+    private final StickerService service = new StickerService(messagingTemplate, redisTemplate, mock(StickerStream.class),
+            new ReactionAggregator(messagingTemplate, props), new LiveFeedbackEngine(redisTemplate, props));
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void recordsStickerAndLiveFeedbackInOneScriptCall() {
+        when(redisTemplate.execute(any(RedisScript.class), any(RedisSerializer.class), any(RedisSerializer.class), anyList(), any(Object[].class)))
+                .thenReturn(List.of("FIRST", "청중의 절반 이상이 '놀라운' 반응을 했어요!"));
+
+        service.sendStickerMessage("r1", sticker(2));
+
+        ArgumentCaptor<List<String>> keys = ArgumentCaptor.forClass(List.class);
+        verify(redisTemplate).execute(any(RedisScript.class), any(RedisSerializer.class), any(RedisSerializer.class), keys.capture(), any(Object[].class));
+        assertThat(keys.getValue()).containsExactly(
+                "room:r1:stickers",
+                "room:r1:liveFeedback:slide:3:emoji:2:audience",
+                "room:r1:liveFeedback:slide:3",
+                "room:r1:audience:online",
+                "room:r1:liveFeedback:slide:3:emoji:counts");
+        verify(messagingTemplate).convertAndSend("/topic/presentation/r1/liveFeedback",
+                "청중의 절반 이상이 '놀라운' 반응을 했어요!");
+        verify(messagingTemplate).convertAndSend(eq("/topic/presentation/r1/reactions"), any(Object.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void noTransitionSendsOnlyTheReaction() {
+        when(redisTemplate.execute(any(RedisScript.class), any(RedisSerializer.class), any(RedisSerializer.class), anyList(), any(Object[].class))).thenReturn(List.of());
+
+        service.sendStickerMessage("r1", sticker(1));
+
+        verify(messagingTemplate, never()).convertAndSend(eq("/topic/presentation/r1/liveFeedback"), any(Object.class));
+        verify(messagingTemplate).convertAndSend(eq("/topic/presentation/r1/reactions"), any(Object.class));
+    }
+
+    private static StickerRequest sticker(int emoji) {
+        return StickerRequest.builder().emoji(emoji).audienceID("a1").x(0.1).y(0.2).slide(3).build();
+    }
+}
@@ -0,0 +1,72 @@
+package line4thon.boini.audience.sticker.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import line4thon.boini.audience.sticker.model.StickerRecord;
+import line4thon.boini.audience.sticker.model.StickerRecordSerializer;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+class StickerStreamTest {
+
+    // 배포 전 objectRedisTemplate 과 같은 값 직렬화 (RedisConfig.redisObjectMapper)
+    private static final GenericJackson2JsonRedisSerializer LEGACY_JSON =
+            new GenericJackson2JsonRedisSerializer(new ObjectMapper().registerModule(new JavaTimeModule()));
+
+    @SuppressWarnings("unchecked")
+    private final RedisTemplate<String, byte[]> template = mock(RedisTemplate.class);
+    @SuppressWarnings("unchecked")
+    private final StreamOperations<String, Object, Object> streamOps = mock(StreamOperations.class);
+    private final StickerStream stream = new StickerStream(template);
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void readsOldJsonEntriesAlongsideBinaryOnes() {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 11, 2, 14, 30, 5);
+        StickerRecord binary = new StickerRecord(4, 2, 0.5, 0.75, createdAt, "a2");
+
+        Map<Object, Object> legacy = new HashMap<>();
+        legacy.put("emoji", LEGACY_JSON.serialize(3));
+        legacy.put("audienceId", LEGACY_JSON.serialize("a1"));
+        legacy.put("createdAt", LEGACY_JSON.serialize(createdAt));
+        legacy.put("x", LEGACY_JSON.serialize(0.25));
+        legacy.put("y", LEGACY_JSON.serialize(0.1));
+        legacy.put("slide", LEGACY_JSON.serialize(1));
+
+        // Lua 경로로 기록된 옛 엔트리: null 값은 빈 문자열
+        Map<Object, Object> legacyLua = new HashMap<>(legacy);
+        legacyLua.put("slide", new byte[0]);
+
+        doReturn(streamOps).when(template).opsForStream();
+        doReturn(List.of(
+                entry(legacy),
+                entry(Map.<Object, Object>of(StickerRecordSerializer.FIELD, StickerStream.encode(binary))),
+                entry(legacyLua),
+                entry(Map.<Object, Object>of("emoji", LEGACY_JSON.serialize(1))))) // 좌표 없음: 건너뜀
+                .when(streamOps).range(eq("room:r1:stickers"), any(Range.class));
+
+        assertThat(stream.readAll("r1")).containsExactly(
+                new StickerRecord(3, 1, 0.25, 0.1, createdAt, "a1"),
+                binary,
+                new StickerRecord(3, null, 0.25, 0.1, createdAt, "a1"));
+    }
+
+    private static MapRecord<String, Object, Object> entry(Map<Object, Object> fields) {
+        return StreamRecords.<String, Object, Object>mapBacked(fields).withStreamKey("room:r1:stickers");
+    }
+}
@@ -13,4 +13,13 @@ class AppPropertiesTest {
         assertThat(props.getFonts().getMaxCount()).isEqualTo(20);
         assertThat(props.getFonts().getMaxTotalBytes()).isEqualTo(62_914_560L);
     }
+
+    @Test
+    void pdfPipelineDefaults() {
+        AppProperties props = new AppProperties();
+        assertThat(props.getPdf().getRenderThreads()).isEqualTo(4);
+        assertThat(props.getPdf().getEncodeThreads()).isEqualTo(2);
+        assertThat(props.getPdf().getUploadThreads()).isEqualTo(4);
+        assertThat(props.getPdf().getStageQueueCapacity()).isEqualTo(4);
+    }
 }
@@ -0,0 +1,162 @@
+package line4thon.boini.global.websocket;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import line4thon.boini.global.config.AppProperties;
+import line4thon.boini.global.config.RedisConfig;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+
+class ClusterFanoutTest {
+
+    private final StringRedisTemplate redis = mock(StringRedisTemplate.class);
+    private final RedisMessageListenerContainer container = mock(RedisMessageListenerContainer.class);
+    private final MessageChannel brokerChannel = mock(MessageChannel.class);
+    private final ClusterFanout fanout = new ClusterFanout(redis, container, brokerChannel, redisMode());
+
+    @Test
+    void extractsRoomIdFromRoomTopics() {
+        assertThat(ClusterFanout.roomIdOf("/topic/presentation/room-1/reactions")).isEqualTo("room-1");
+        assertThat(ClusterFanout.roomIdOf("/topic/p/room-2/public")).isEqualTo("room-2");
+        assertThat(ClusterFanout.roomIdOf("/queue/errors")).isNull();
+    }
+
+    @Test
+    void envelopeRoundTrips() {
+        byte[] payload = "{\"a\":\"줄\\n바꿈\"}".getBytes(StandardCharsets.UTF_8);
+        ClusterFanout.Relayed relayed = ClusterFanout.decode(
+            ClusterFanout.encode("node-1", "/topic/p/r/public", "application/json", payload));
+
+        assertThat(relayed.nodeId()).isEqualTo("node-1");
+        assertThat(relayed.destination()).isEqualTo("/topic/p/r/public");
+        assertThat(relayed.contentType()).isEqualTo("application/json");
+        assertThat(relayed.payload()).isEqualTo(payload);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void publishesRoomTopicMessagesButNotRelayedOnes() {
+        fanout.preSend(message("/topic/presentation/r1/reactions", false), brokerChannel);
+        fanout.preSend(message("/topic/presentation/r1/reactions", true), brokerChannel);
+        fanout.preSend(message("/queue/other", false), brokerChannel);
+
+        verify(redis, times(1)).execute(any(RedisCallback.class));
+    }
+
+    @Test
+    void listensToARoomChannelOnlyWhileItHasLocalSubscribers() {
+        fanout.onSubscribe(subscribe("s1", "sub-0", "/topic/presentation/r1/pageChange"));
+        fanout.onSubscribe(subscribe("s2", "sub-0", "/topic/presentation/r1/reactions"));
+        verify(container, times(1)).addMessageListener(any(MessageListener.class), eq(new ChannelTopic("ws:fanout:r1")));
+        assertThat(fanout.localSubscriptions("r1")).isEqualTo(2);
+
+        fanout.onDisconnect(disconnect("s1"));
+        verify(container, never()).removeMessageListener(any(MessageListener.class), any(ChannelTopic.class));
+
+        fanout.onDisconnect(disconnect("s2"));
+        verify(container).removeMessageListener(any(MessageListener.class), eq(new ChannelTopic("ws:fanout:r1")));
+        assertThat(fanout.localSubscriptions("r1")).isZero();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void relaysOtherNodesMessagesIntoTheLocalBroker() {
+        fanout.onSubscribe(subscribe("s1", "sub-0", "/topic/presentation/r1/reactions"));
+
+        fanout.onRelay(ClusterFanout.encode("other-node", "/topic/presentation/r1/reactions", "application/json",
+            "{}".getBytes(StandardCharsets.UTF_8)));
+
+        ArgumentCaptor<Message<?>> sent = ArgumentCaptor.forClass(Message.class);
+        verify(brokerChannel).send(sent.capture());
+        assertThat(SimpMessageHeaderAccessor.getDestination(sent.getValue().getHeaders()))
+            .isEqualTo("/topic/presentation/r1/reactions");
+        assertThat(sent.getValue().getHeaders()).containsKey(ClusterFanout.RELAYED_HEADER);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void relaysMessagesInPublishOrderThroughTheListenerExecutor() throws Exception {
+        fanout.onSubscribe(subscribe("s1", "sub-0", "/topic/presentation/r1/pageChange"));
+        // 첫 메시지 전달이 느려도 두 번째가 앞지르면 안 됨
+        doAnswer(invocation -> {
+            Message<byte[]> sent = invocation.getArgument(0);
+            if (new String(sent.getPayload(), StandardCharsets.UTF_8).equals("1")) Thread.sleep(100);
+            return true;
+        }).when(brokerChannel).send(any());
+
+        ThreadPoolTaskExecutor executor = new RedisConfig().redisListenerExecutor(redisMode());
+        for (String payload : new String[] {"1", "2"}) {
+            byte[] body = ClusterFanout.encode("other-node", "/topic/presentation/r1/pageChange", "",
+                payload.getBytes(StandardCharsets.UTF_8));
+            executor.execute(() -> fanout.onRelay(body));
+        }
+        executor.getThreadPoolExecutor().shutdown();
+        assertThat(executor.getThreadPoolExecutor().awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+
+        ArgumentCaptor<Message<byte[]>> sent = ArgumentCaptor.forClass(Message.class);
+        verify(brokerChannel, times(2)).send(sent.capture());
+        assertThat(sent.getAllValues())
+            .extracting(message -> new String(message.getPayload(), StandardCharsets.UTF_8))
+            .containsExactly("1", "2");
+    }
+
+    @Test
+    void ignoresRelayedMessagesForRoomsWithoutLocalSubscribers() {
+        fanout.onRelay(ClusterFanout.encode("other-node", "/topic/presentation/r9/reactions", "",
+            new byte[0]));
+
+        verify(brokerChannel, never()).send(any());
+    }
+
+    private static AppProperties redisMode() {
+        AppProperties props = new AppProperties();
+        props.getWs().setFanoutMode("redis");
+        return props;
+    }
+
+    private static Message<byte[]> message(String destination, boolean relayed) {
+        SimpMessageHeaderAccessor acc = SimpMessageHeaderAccessor.create();
+        acc.setDestination(destination);
+        if (relayed) acc.setHeader(ClusterFanout.RELAYED_HEADER, Boolean.TRUE);
+        return MessageBuilder.createMessage("{}".getBytes(StandardCharsets.UTF_8), acc.getMessageHeaders());
+    }
+
+    private static SessionSubscribeEvent subscribe(String sessionId, String subscriptionId, String destination) {
+        StompHeaderAccessor acc = StompHeaderAccessor.create(StompCommand.SUBSCRIBE);
+        acc.setSessionId(sessionId);
+        acc.setSubscriptionId(subscriptionId);
+        acc.setDestination(destination);
+        return new SessionSubscribeEvent(new Object(), MessageBuilder.createMessage(new byte[0], acc.getMessageHeaders()));
+    }
+
+    private static SessionDisconnectEvent disconnect(String sessionId) {
+        StompHeaderAccessor acc = StompHeaderAccessor.create(StompCommand.DISCONNECT);
+        acc.setSessionId(sessionId);
+        return new SessionDisconnectEvent(new Object(),
+            MessageBuilder.createMessage(new byte[0], acc.getMessageHeaders()), sessionId, CloseStatus.NORMAL);
+    }
+}
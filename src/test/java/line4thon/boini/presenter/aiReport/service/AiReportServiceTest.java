@@ -4,8 +4,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import java.util.Set;
+import line4thon.boini.audience.sticker.service.StickerStream;
 import line4thon.boini.presenter.page.service.PageService;
 import line4thon.boini.presenter.room.repository.ReportRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -18,7 +18,6 @@ import org.springframework.data.redis.core.ValueOperations;
 class AiReportServiceTest {
 
     private RedisTemplate<String, String> redisTemplate;
-    private RedisTemplate<String, Object> objectRedisTemplate;
     private ValueOperations<String, String> valueOps;
     private SetOperations<String, String> setOps;
     private AiReportService service;
@@ -27,7 +26,6 @@ class AiReportServiceTest {
     @BeforeEach
     void setUp() {
         redisTemplate = mock(RedisTemplate.class);
-        objectRedisTemplate = mock(RedisTemplate.class);
         valueOps = mock(ValueOperations.class);
         setOps = mock(SetOperations.class);
 
@@ -36,8 +34,7 @@ class AiReportServiceTest {
 
         service = new AiReportService(
                 redisTemplate,
-                objectRedisTemplate,
-                new ObjectMapper(),
+                mock(StickerStream.class),
                 mock(PageService.class),
                 mock(StringRedisTemplate.class),
                 mock(ReportRepository.class)
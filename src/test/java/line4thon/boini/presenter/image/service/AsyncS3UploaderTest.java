@@ -0,0 +1,97 @@
+package line4thon.boini.presenter.image.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import line4thon.boini.global.config.AppProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectResponse;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+
+class AsyncS3UploaderTest {
+
+    private final S3AsyncClient s3 = mock(S3AsyncClient.class);
+    private AsyncS3Uploader uploader;
+
+    @BeforeEach
+    void setUp() {
+        AppProperties props = new AppProperties();
+        props.getS3().setBucket("bucket");
+        props.getS3().setAsyncMaxInFlight(1);
+        props.getS3().setAsyncMaxAttempts(3);
+        props.getS3().setAsyncRetryBaseMillis(1);
+        props.getS3().setAsyncRetryMaxMillis(5);
+        uploader = new AsyncS3Uploader(s3, props);
+    }
+
+    @Test
+    void retriesServerErrorsAndSucceeds() throws Exception {
+        when(s3.putObject(any(PutObjectRequest.class), any(AsyncRequestBody.class)))
+            .thenReturn(CompletableFuture.failedFuture(status(503)))
+            .thenReturn(CompletableFuture.completedFuture(PutObjectResponse.builder().build()));
+
+        uploader.putBytes("k", "image/webp", new byte[] {1}).get(5, TimeUnit.SECONDS);
+
+        verify(s3, times(2)).putObject(any(PutObjectRequest.class), any(AsyncRequestBody.class));
+        assertThat(uploader.retryCount()).isEqualTo(1);
+        assertThat(uploader.inFlightCount()).isZero();
+    }
+
+    @Test
+    void clientErrorsFailWithoutRetry() throws Exception {
+        when(s3.putObject(any(PutObjectRequest.class), any(AsyncRequestBody.class)))
+            .thenReturn(CompletableFuture.failedFuture(status(403)));
+
+        CompletableFuture<Void> upload = uploader.putBytes("k", "image/webp", new byte[] {1});
+
+        assertThatThrownBy(() -> AsyncS3Uploader.await(upload)).isInstanceOf(S3Exception.class);
+        verify(s3, times(1)).putObject(any(PutObjectRequest.class), any(AsyncRequestBody.class));
+        assertThat(uploader.inFlightCount()).isZero();
+    }
+
+    @Test
+    void givesUpAfterMaxAttempts() throws Exception {
+        when(s3.putObject(any(PutObjectRequest.class), any(AsyncRequestBody.class)))
+            .thenReturn(CompletableFuture.failedFuture(status(500)));
+
+        CompletableFuture<Void> upload = uploader.putBytes("k", "image/webp", new byte[] {1});
+
+        assertThatThrownBy(() -> AsyncS3Uploader.await(upload)).isInstanceOf(S3Exception.class);
+        verify(s3, times(3)).putObject(any(PutObjectRequest.class), any(AsyncRequestBody.class));
+    }
+
+    @Test
+    void inFlightSlotIsHeldUntilUploadCompletes() throws Exception {
+        CompletableFuture<PutObjectResponse> pending = new CompletableFuture<>();
+        when(s3.putObject(any(PutObjectRequest.class), any(AsyncRequestBody.class))).thenReturn(pending);
+
+        uploader.putBytes("k", "image/webp", new byte[] {1});
+        assertThat(uploader.inFlightCount()).isEqualTo(1);
+
+        pending.complete(PutObjectResponse.builder().build());
+        assertThat(uploader.inFlightCount()).isZero();
+    }
+
+    @Test
+    void backoffStaysWithinCap() {
+        for (int attempt = 1; attempt <= 30; attempt++) {
+            assertThat(AsyncS3Uploader.backoffMillis(attempt, 200, 5_000)).isBetween(0L, 5_000L);
+        }
+        assertThat(AsyncS3Uploader.backoffMillis(1, 200, 5_000)).isLessThanOrEqualTo(200L);
+    }
+
+    private static S3Exception status(int code) {
+        return (S3Exception) S3Exception.builder().statusCode(code).message("status " + code).build();
+    }
+}
@@ -0,0 +1,101 @@
+package line4thon.boini.presenter.image.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import javax.imageio.ImageIO;
+import org.junit.jupiter.api.Test;
+
+class ImageVariantEncoderTest {
+
+    private final ImageVariantEncoder encoder = new ImageVariantEncoder();
+
+    private static final List<ImageVariantEncoder.Variant> VARIANTS = List.of(
+        ImageVariantEncoder.Variant.original("original", 0.8f),
+        ImageVariantEncoder.Variant.bounded("thumbnail", 320, 0.8f),
+        ImageVariantEncoder.Variant.width("w400", 400, 0.8f));
+
+    @Test
+    void encodesEveryVariantInRequestedOrderWithExpectedSizes() throws Exception {
+        Map<String, byte[]> encoded = encoder.encode(slide(800, 600), VARIANTS);
+
+        assertThat(encoded).containsOnlyKeys("original", "thumbnail", "w400");
+        assertThat(encoded.keySet()).containsExactly("original", "thumbnail", "w400");
+        assertSize(encoded.get("original"), 800, 600);
+        assertSize(encoded.get("w400"), 400, 300);
+        assertSize(encoded.get("thumbnail"), 320, 240);
+    }
+
+    @Test
+    void widthVariantOnlyLimitsWidthAndNeverUpscales() throws Exception {
+        Map<String, byte[]> portrait = encoder.encode(slide(600, 900), VARIANTS);
+        assertSize(portrait.get("w400"), 400, 600);
+        assertSize(portrait.get("thumbnail"), 213, 320);
+
+        Map<String, byte[]> small = encoder.encode(slide(300, 200), VARIANTS);
+        assertSize(small.get("w400"), 300, 200);
+    }
+
+    @Test
+    void decodesUploadedImageOnceForAllVariants() throws Exception {
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(slide(640, 480), "png", png);
+
+        Map<String, byte[]> encoded = encoder.decodeAndEncode(png.toByteArray(),
+            List.of(ImageVariantEncoder.Variant.bounded("thumbnail", 320, 0.8f)));
+
+        assertSize(encoded.get("thumbnail"), 320, 240);
+    }
+
+    @Test
+    void reusedBufferDoesNotLeakIntoPreviousResults() throws Exception {
+        byte[] first = encoder.encode(slide(200, 100), VARIANTS).get("original");
+        byte[] snapshot = first.clone();
+
+        encoder.encode(slide(300, 300), VARIANTS);
+
+        assertThat(first).isEqualTo(snapshot);
+        assertSize(first, 200, 100);
+    }
+
+    @Test
+    void buffersOutliveTheThreadsThatUsedThem() throws Exception {
+        for (int deck = 0; deck < 3; deck++) {
+            // 덱마다 새 인코딩 스레드풀 (PageRenderPipeline 과 같은 조건)
+            ExecutorService encodePool = Executors.newSingleThreadExecutor();
+            try {
+                encodePool.submit(() -> encoder.encode(slide(400, 300), VARIANTS)).get();
+            } finally {
+                encodePool.shutdownNow();
+            }
+        }
+
+        assertThat(encoder.pooledBuffers()).isEqualTo(1);
+    }
+
+    private static BufferedImage slide(int width, int height) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        g.setColor(Color.WHITE);
+        g.fillRect(0, 0, width, height);
+        g.setColor(Color.BLUE);
+        g.fillRect(width / 4, height / 4, width / 2, height / 2);
+        g.dispose();
+        return image;
+    }
+
+    private static void assertSize(byte[] webp, int width, int height) throws Exception {
+        BufferedImage decoded = ImageIO.read(new ByteArrayInputStream(webp));
+        assertThat(decoded).isNotNull();
+        assertThat(decoded.getWidth()).isEqualTo(width);
+        assertThat(decoded.getHeight()).isEqualTo(height);
+    }
+}
@@ -0,0 +1,90 @@
+package line4thon.boini.presenter.image.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import line4thon.boini.global.config.AppProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class LocalAssetCacheTest {
+
+    @TempDir
+    Path dir;
+
+    private final AppProperties props = new AppProperties();
+    private LocalAssetCache cache;
+
+    @BeforeEach
+    void setUp() {
+        props.getAssetCache().setEnabled(true);
+        props.getAssetCache().setDir(dir.toString());
+        props.getAssetCache().setMaxBytes(10);
+        cache = new LocalAssetCache(props);
+        cache.loadExisting();
+    }
+
+    @Test
+    void readsBackWhatWasStoredUnderTheS3Key() {
+        cache.put("presentations/r/d/pages/0001.webp", new byte[] {1, 2, 3});
+
+        ByteBuffer buffer = cache.read("presentations/r/d/pages/0001.webp").orElseThrow();
+
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        assertThat(bytes).containsExactly(1, 2, 3);
+        assertThat(Files.exists(dir.resolve("presentations/r/d/pages/0001.webp"))).isTrue();
+    }
+
+    @Test
+    void evictsLeastRecentlyReadFileOverTheSizeCap() {
+        cache.put("a", new byte[4]);
+        cache.put("b", new byte[4]);
+        cache.read("a");
+
+        cache.put("c", new byte[4]);
+
+        assertThat(cache.contains("a")).isTrue();
+        assertThat(cache.contains("b")).isFalse();
+        assertThat(cache.contains("c")).isTrue();
+        assertThat(cache.sizeBytes()).isEqualTo(8);
+        assertThat(Files.exists(dir.resolve("b"))).isFalse();
+    }
+
+    @Test
+    void rebuildsIndexFromDiskOnRestart() {
+        cache.put("presentations/r/d/thumbs/0001.webp", new byte[] {9});
+
+        LocalAssetCache restarted = new LocalAssetCache(props);
+        restarted.loadExisting();
+
+        assertThat(restarted.contains("presentations/r/d/thumbs/0001.webp")).isTrue();
+        assertThat(restarted.sizeBytes()).isEqualTo(1);
+    }
+
+    @Test
+    void rejectsKeysOutsideTheCacheDirectory() {
+        cache.put("../escape", new byte[] {1});
+
+        assertThat(cache.contains("../escape")).isFalse();
+        assertThat(Files.exists(dir.resolveSibling("escape"))).isFalse();
+    }
+
+    @Test
+    void evictingAFileWhileItIsBeingReadFreesItsSpace() {
+        cache.put("a", new byte[] {1, 2, 3, 4, 5, 6});
+        ByteBuffer inFlight = cache.read("a").orElseThrow();
+
+        cache.put("b", new byte[] {7, 8, 9, 10, 11, 12});
+
+        // 응답 중인 버퍼가 있어도 상한 계산에서는 빠지고, 다시 읽으면 S3 로 대체
+        assertThat(cache.contains("a")).isFalse();
+        assertThat(cache.sizeBytes()).isEqualTo(6);
+        assertThat(cache.read("a")).isEmpty();
+        assertThat(cache.read("b").orElseThrow().get(0)).isEqualTo((byte) 7);
+        assertThat(inFlight.remaining()).isEqualTo(6);
+    }
+}
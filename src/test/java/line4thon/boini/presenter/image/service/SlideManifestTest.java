@@ -0,0 +1,65 @@
+package line4thon.boini.presenter.image.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+class SlideManifestTest {
+
+    @SuppressWarnings("unchecked")
+    private final HashOperations<String, Object, Object> hashOps = mock(HashOperations.class);
+    private final StringRedisTemplate redis = mock(StringRedisTemplate.class);
+    private final SlideManifest manifest = new SlideManifest(redis);
+
+    @Test
+    void entryRoundTripsThroughCompactEncoding() {
+        SlideManifest.Entry withWidths = new SlideManifest.Entry(3, 1920, 1080, "abc123", List.of(640, 1280));
+        SlideManifest.Entry bare = new SlideManifest.Entry(4, 1600, 900, null, List.of());
+
+        assertThat(SlideManifest.Entry.decode(3, withWidths.encode())).isEqualTo(withWidths);
+        assertThat(SlideManifest.Entry.decode(4, bare.encode())).isEqualTo(bare);
+    }
+
+    @Test
+    void readsSnapshotSortedByPageWithVersion() {
+        Map<Object, Object> fields = new LinkedHashMap<>();
+        fields.put("_v", "3");
+        fields.put("10", "1600|900|h10|");
+        fields.put("2", "1600|900|h2|640");
+        fields.put("1", "1600|900|-|");
+        doReturn(hashOps).when(redis).opsForHash();
+        when(hashOps.entries("deck:room-1:deck-1:manifest")).thenReturn(fields);
+
+        SlideManifest.Snapshot snapshot = manifest.read("room-1", "deck-1");
+
+        assertThat(snapshot.version()).isEqualTo(3);
+        assertThat(snapshot.pages()).extracting(SlideManifest.Entry::page).containsExactly(1, 2, 10);
+        assertThat(snapshot.pages().get(1).widths()).containsExactly(640);
+    }
+
+    @Test
+    void pageLookupDistinguishesMissingManifestFromPendingPage() {
+        doReturn(hashOps).when(redis).opsForHash();
+        when(hashOps.multiGet(eq("deck:room-1:deck-1:manifest"), anyList()))
+            .thenReturn(Arrays.asList(null, null))
+            .thenReturn(Arrays.asList("2", null))
+            .thenReturn(Arrays.asList("2", "1600|900|h5|"));
+
+        assertThat(manifest.page("room-1", "deck-1", 5).known()).isFalse();
+        SlideManifest.PageLookup pending = manifest.page("room-1", "deck-1", 5);
+        assertThat(pending.known()).isTrue();
+        assertThat(pending.entry()).isNull();
+        assertThat(manifest.page("room-1", "deck-1", 5).entry().hash()).isEqualTo("h5");
+    }
+}
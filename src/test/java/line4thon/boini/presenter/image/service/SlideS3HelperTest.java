@@ -0,0 +1,85 @@
+package line4thon.boini.presenter.image.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.net.URL;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import line4thon.boini.global.config.AppProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
+import software.amazon.awssdk.services.s3.presigner.model.PresignedGetObjectRequest;
+
+class SlideS3HelperTest {
+
+    private final S3Presigner presigner = mock(S3Presigner.class);
+    private final AppProperties props = new AppProperties();
+    private final SlideS3Helper helper = new SlideS3Helper(presigner, props);
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() throws Exception {
+        props.getS3().setBucket("bucket");
+        PresignedGetObjectRequest presigned = mock(PresignedGetObjectRequest.class);
+        when(presigned.url()).thenReturn(new URL("http://bucket.s3.amazonaws.com/key?X-Amz-Signature=abc"));
+        when(presigner.presignGetObject(any(Consumer.class))).thenReturn(presigned);
+        when(presigner.presignGetObject(any(GetObjectPresignRequest.class))).thenReturn(presigned);
+    }
+
+    @Test
+    void reusesSignedUrlUntilRefreshPoint() {
+        String first = helper.buildUrl("presentations/r/d/thumbs/0001.webp", false);
+        String second = helper.buildUrl("presentations/r/d/thumbs/0001.webp", false);
+
+        assertThat(second).isEqualTo(first).startsWith("https://");
+        assertThat(helper.signCount()).isEqualTo(1);
+    }
+
+    @Test
+    void resignsOnceRefreshPointHasPassed() {
+        props.getS3().setPresignSeconds(0);
+
+        helper.buildUrl("presentations/r/d/thumbs/0001.webp", false);
+        helper.buildUrl("presentations/r/d/thumbs/0001.webp", false);
+
+        assertThat(helper.signCount()).isEqualTo(2);
+    }
+
+    @Test
+    void bulkSigningOnlySignsMissingKeys() {
+        helper.buildUrl("k1", false);
+
+        Map<String, String> urls = helper.buildUrls(List.of("k1", "k2", "k3"), false);
+
+        assertThat(urls).containsOnlyKeys("k1", "k2", "k3");
+        assertThat(helper.signCount()).isEqualTo(3);
+    }
+
+    @Test
+    void cloudfrontUrlsNeedNoSigning() {
+        props.getS3().setCloudfrontDomain("cdn.example.com/");
+
+        Map<String, String> urls = helper.buildUrls(List.of("a/b c.webp"), false);
+
+        assertThat(urls.get("a/b c.webp")).isEqualTo("https://cdn.example.com/a/b+c.webp");
+        assertThat(helper.signCount()).isZero();
+    }
+
+    @Test
+    void fullCacheKeepsServingCachedUrlsAndSignsNewKeysUncached() {
+        props.getS3().setPresignCacheMaxEntries(1);
+
+        helper.buildUrl("k1", false);
+        helper.buildUrl("k2", false); // 가득 참, k1 은 아직 신선하므로 정리하지 않고 캐시 없이 서명
+        helper.buildUrl("k2", false);
+        helper.buildUrl("k1", false);
+
+        assertThat(helper.signCount()).isEqualTo(3);
+    }
+}
@@ -5,6 +5,7 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -14,6 +15,7 @@ import java.util.List;
 import line4thon.boini.global.jwt.util.JwtUtil;
 import line4thon.boini.presenter.pdf.dto.FontEntry;
 import line4thon.boini.presenter.pdf.dto.response.AssemblyCompleteResponse;
+import line4thon.boini.presenter.pdf.dto.response.ChunkManifestResponse;
 import line4thon.boini.presenter.pdf.dto.response.ChunkUploadResult;
 import line4thon.boini.presenter.pdf.dto.response.FontUploadResponse;
 import line4thon.boini.presenter.pdf.dto.response.NeedsFontsResponse;
@@ -103,4 +105,14 @@ class ChunkUploadControllerTest {
                 .contentType(MediaType.APPLICATION_JSON).content("{\"proceedWithoutFonts\":false}"))
             .andExpect(status().isCreated());
     }
+
+    @Test
+    void manifestReturnsMissingChunks() throws Exception {
+        when(pdfChunkService.getManifest("u1")).thenReturn(ChunkManifestResponse.builder()
+            .uploadId("u1").totalChunks(3).receivedChunks(2).missingChunks(List.of(1)).status("IN_PROGRESS").build());
+        mvc.perform(get("/api/upload/u1/manifest"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data.missingChunks[0]").value(1))
+            .andExpect(jsonPath("$.data.receivedChunks").value(2));
+    }
 }
@@ -0,0 +1,54 @@
+package line4thon.boini.presenter.pdf.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.SetOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+class DeferredRenderStoreTest {
+
+    private final StringRedisTemplate redis = mock(StringRedisTemplate.class);
+    private final DeferredRenderStore store = new DeferredRenderStore(redis);
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void claimRebuildsTheParkedJob() {
+        when(redis.execute(any(RedisScript.class), anyList(), eq("deck-1"))).thenReturn(List.of(
+            "pdfId", "pdf-1", "roomId", "room-1", "deckId", "deck-1",
+            "sourceKey", "presentations/room-1/deck-1/source.pdf", "totalPages", "42"));
+
+        assertThat(store.claim("room-1", "deck-1")).contains(
+            new RenderJob("pdf-1", "room-1", "deck-1", "presentations/room-1/deck-1/source.pdf", 42));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void secondClaimFindsNothing() {
+        when(redis.execute(any(RedisScript.class), anyList(), eq("deck-1"))).thenReturn(List.of());
+
+        assertThat(store.claim("room-1", "deck-1")).isEmpty();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void claimRoomSkipsDecksAlreadyClaimedElsewhere() {
+        SetOperations<String, String> setOps = mock(SetOperations.class);
+        doReturn(setOps).when(redis).opsForSet();
+        when(setOps.members("pdf:render:room-1:deferred")).thenReturn(Set.of("deck-1", "deck-2"));
+        when(redis.execute(any(RedisScript.class), anyList(), eq("deck-1"))).thenReturn(List.of(
+            "pdfId", "pdf-1", "roomId", "room-1", "deckId", "deck-1", "sourceKey", "k", "totalPages", "30"));
+        when(redis.execute(any(RedisScript.class), anyList(), eq("deck-2"))).thenReturn(List.of());
+
+        assertThat(store.claimRoom("room-1")).extracting(RenderJob::deckId).containsExactly("deck-1");
+    }
+}
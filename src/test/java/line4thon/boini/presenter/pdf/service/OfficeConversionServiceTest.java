@@ -129,6 +129,86 @@ class OfficeConversionServiceTest {
         assertThat(service.fontconfigEnv()).isNull();
     }
 
+    @Test
+    void usesWorkerPoolWithoutStartingProcess() throws IOException {
+        AppProperties props = new AppProperties();
+        FakeWorkerPool pool = new FakeWorkerPool(props, true);
+        FakeOfficeConversionService service = new FakeOfficeConversionService(props, pool, 0, true, false);
+        Path source = Files.writeString(tempDir.resolve("deck.pptx"), "demo");
+
+        Path converted = service.convertToPdf(source);
+
+        assertThat(converted).exists();
+        assertThat(pool.calls()).isEqualTo(1);
+        assertThat(service.startedCommand()).isNull();
+    }
+
+    @Test
+    void fallsBackToProcessWhenWorkerPoolFails() throws IOException {
+        AppProperties props = new AppProperties();
+        Path executable = tempDir.resolve("bin/soffice-test");
+        props.getOffice().setSofficePath(executable.toString());
+        FakeWorkerPool pool = new FakeWorkerPool(props, false);
+        FakeOfficeConversionService service = new FakeOfficeConversionService(props, pool, 0, true, false)
+            .withExecutable(executable);
+        Path source = Files.writeString(tempDir.resolve("deck.pptx"), "demo");
+
+        Path converted = service.convertToPdf(source);
+
+        assertThat(converted).exists();
+        assertThat(pool.calls()).isEqualTo(1);
+        assertThat(service.startedCommand()).isEqualTo(executable.toString());
+    }
+
+    @Test
+    void skipsWorkerPoolWhenUploadedFontsNeedFontconfig() throws IOException {
+        AppProperties props = new AppProperties();
+        Path executable = tempDir.resolve("bin/soffice-test");
+        props.getOffice().setSofficePath(executable.toString());
+        FakeWorkerPool pool = new FakeWorkerPool(props, true);
+        FakeOfficeConversionService service = new FakeOfficeConversionService(props, pool, 0, true, false)
+            .withExecutable(executable);
+        Path source = Files.writeString(tempDir.resolve("deck.pptx"), "demo");
+        Path fontDir = Files.createDirectories(tempDir.resolve("fonts"));
+        Files.writeString(fontDir.resolve("MyFont.ttf"), "fontbytes");
+
+        service.convertToPdf(source, fontDir);
+
+        assertThat(pool.calls()).isZero();
+        assertThat(service.fontconfigEnv()).isNotNull();
+    }
+
+    private static class FakeWorkerPool extends OfficeWorkerPool {
+        private final boolean succeed;
+        private int calls;
+
+        FakeWorkerPool(AppProperties props, boolean succeed) {
+            super(props);
+            this.succeed = succeed;
+        }
+
+        int calls() {
+            return calls;
+        }
+
+        @Override
+        public boolean isAvailable() {
+            return true;
+        }
+
+        @Override
+        public boolean tryConvert(Path source, Path target) {
+            calls++;
+            if (!succeed) return false;
+            try {
+                Files.writeString(target, "%PDF");
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+            return true;
+        }
+    }
+
     private static class FakeOfficeConversionService extends OfficeConversionService {
         private final int exitCode;
         private final boolean createPdf;
@@ -145,7 +225,17 @@ class OfficeConversionServiceTest {
             boolean createPdf,
             boolean timeout
         ) {
-            super(props);
+            this(props, null, exitCode, createPdf, timeout);
+        }
+
+        FakeOfficeConversionService(
+            AppProperties props,
+            OfficeWorkerPool workerPool,
+            int exitCode,
+            boolean createPdf,
+            boolean timeout
+        ) {
+            super(props, workerPool);
             this.exitCode = exitCode;
             this.createPdf = createPdf;
             this.timeout = timeout;
@@ -0,0 +1,65 @@
+package line4thon.boini.presenter.pdf.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import line4thon.boini.global.config.AppProperties;
+import org.jodconverter.core.office.OfficeException;
+import org.jodconverter.core.office.OfficeManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class OfficeWorkerPoolTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void restartBackoffDoublesUpToThirtyMinutes() {
+        assertThat(OfficeWorkerPool.restartBackoff(1)).isEqualTo(Duration.ofMinutes(1));
+        assertThat(OfficeWorkerPool.restartBackoff(2)).isEqualTo(Duration.ofMinutes(2));
+        assertThat(OfficeWorkerPool.restartBackoff(5)).isEqualTo(Duration.ofMinutes(16));
+        assertThat(OfficeWorkerPool.restartBackoff(6)).isEqualTo(Duration.ofMinutes(30));
+        assertThat(OfficeWorkerPool.restartBackoff(40)).isEqualTo(Duration.ofMinutes(30));
+    }
+
+    @Test
+    void brokenDocumentsDoNotMarkThePoolUnhealthy() throws Exception {
+        OfficeManager manager = mock(OfficeManager.class);
+        when(manager.isRunning()).thenReturn(true);
+        doThrow(new OfficeException("Could not load document")).when(manager).execute(any());
+        OfficeWorkerPool pool = new OfficeWorkerPool(new AppProperties());
+        pool.useManager(manager);
+        Path source = Files.writeString(dir.resolve("broken.pptx"), "not a deck");
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(pool.tryConvert(source, dir.resolve("broken.pdf"))).isFalse();
+        }
+
+        assertThat(pool.isUnhealthy()).isFalse();
+    }
+
+    @Test
+    void repeatedTimeoutsMarkThePoolUnhealthy() throws Exception {
+        OfficeManager manager = mock(OfficeManager.class);
+        when(manager.isRunning()).thenReturn(true);
+        doThrow(new OfficeException("Task did not complete within timeout", new TimeoutException()))
+            .when(manager).execute(any());
+        OfficeWorkerPool pool = new OfficeWorkerPool(new AppProperties());
+        pool.useManager(manager);
+        Path source = Files.writeString(dir.resolve("deck.pptx"), "deck");
+
+        for (int i = 0; i < 3; i++) {
+            pool.tryConvert(source, dir.resolve("deck.pdf"));
+        }
+
+        assertThat(pool.isUnhealthy()).isTrue();
+    }
+}
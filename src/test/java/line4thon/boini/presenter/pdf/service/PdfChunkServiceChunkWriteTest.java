@@ -0,0 +1,255 @@
+package line4thon.boini.presenter.pdf.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import line4thon.boini.global.common.exception.CustomException;
+import line4thon.boini.global.config.AppProperties;
+import line4thon.boini.presenter.image.service.AsyncS3Uploader;
+import line4thon.boini.presenter.image.service.SlideNoteService;
+import line4thon.boini.presenter.pdf.dto.request.ChunkUploadRequest;
+import line4thon.boini.presenter.pdf.dto.response.ChunkManifestResponse;
+import line4thon.boini.presenter.pdf.dto.response.ChunkUploadResult;
+import line4thon.boini.presenter.pdf.exception.PdfErrorCode;
+import line4thon.boini.presenter.pdf.service.font.FontUploadValidator;
+import line4thon.boini.presenter.pdf.service.font.PresentationFontAnalysisService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.mock.web.MockMultipartFile;
+
+/**
+ * 청크가 조립 대상 파일의 제 위치(offset)에 바로 기록되고,
+ * 수신 비트맵 결과(이전 비트/수신 수)에 따라 조립 트리거 여부가 정해지는지 검증한다.
+ * 업로드 재개용 manifest 와 청크 체크섬 검증도 함께 다룬다.
+ */
+class PdfChunkServiceChunkWriteTest {
+
+    private static final String UPLOAD_ID = "22222222-2222-2222-2222-222222222222";
+    private static final byte[] FILE = "ABCDEFGHIJ".getBytes(StandardCharsets.US_ASCII);
+    private static final int CHUNK_SIZE = 4; // [ABCD][EFGH][IJ]
+
+    @TempDir
+    Path tempDir;
+
+    private final StringRedisTemplate redis = mock(StringRedisTemplate.class);
+    @SuppressWarnings("unchecked")
+    private final ValueOperations<String, String> ops = mock(ValueOperations.class);
+    private PdfChunkService service;
+
+    @BeforeEach
+    void setUp() {
+        AppProperties props = new AppProperties();
+        props.getPdf().setTempDir(tempDir.toString());
+        when(redis.opsForValue()).thenReturn(ops);
+        // 첫 청크가 저장한 세션 메타: totalChunks, fileSize, chunkSize
+        when(ops.multiGet(anyList())).thenReturn(Arrays.asList("3", "10", "4"));
+        service = new PdfChunkService(
+            props,
+            redis,
+            mock(PdfParseService.class),
+            mock(OfficeConversionService.class),
+            mock(SlideNotesExtractionService.class),
+            mock(SlideNoteService.class),
+            mock(AsyncS3Uploader.class),
+            mock(PresentationFontAnalysisService.class),
+            mock(FontUploadValidator.class),
+            new ObjectMapper(),
+            mock(SourcePdfMultipartUploader.class),
+            mock(RenderJobQueue.class));
+    }
+
+    @Test
+    void writesOutOfOrderChunksAtTheirOffsets() throws Exception {
+        receiptReturns(List.of(0L, 1L), List.of(0L, 2L));
+
+        service.receiveChunk(chunk(2));
+        ChunkUploadResult result = service.receiveChunk(chunk(0));
+
+        assertThat(result.complete()).isFalse();
+        assertThat(result.progress().getReceivedChunks()).isEqualTo(2);
+
+        byte[] written = Files.readAllBytes(tempDir.resolve(UPLOAD_ID).resolve("source.pdf"));
+        assertThat(written).hasSize(FILE.length);
+        assertThat(Arrays.copyOfRange(written, 0, 4)).isEqualTo("ABCD".getBytes(StandardCharsets.US_ASCII));
+        assertThat(Arrays.copyOfRange(written, 8, 10)).isEqualTo("IJ".getBytes(StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    void resentChunkDoesNotTriggerAssemblyAgain() {
+        // 이미 세워진 비트(이전 값 1) → 수신 수가 totalChunks 여도 조립하지 않음
+        receiptReturns(List.of(1L, 3L));
+
+        ChunkUploadResult result = service.receiveChunk(chunk(1));
+
+        assertThat(result.complete()).isFalse();
+        assertThat(result.progress().getStatus()).isEqualTo("IN_PROGRESS");
+        assertThat(result.progress().isDuplicate()).isTrue();
+    }
+
+    @Test
+    void rejectsChunkThatDoesNotFitInFile() {
+        ChunkUploadRequest request = chunk(1);
+        request.setFileSize(6); // offset 4 + 4 bytes > 6
+
+        assertThatThrownBy(() -> service.receiveChunk(request)).isInstanceOf(CustomException.class);
+    }
+
+    @Test
+    void rejectsChunkWhoseSizeDiffersFromTheSession() {
+        ChunkUploadRequest request = chunk(1);
+        request.setChunk(new MockMultipartFile("chunk", "blob", "application/octet-stream",
+            "EFG".getBytes(StandardCharsets.US_ASCII)));
+
+        assertThatThrownBy(() -> service.receiveChunk(request))
+            .isInstanceOf(CustomException.class)
+            .satisfies(t -> assertThat(((CustomException) t).getErrorCode())
+                .isEqualTo(PdfErrorCode.INVALID_CHUNK_SIZE));
+        assertThat(tempDir.resolve(UPLOAD_ID).resolve("source.pdf")).doesNotExist();
+    }
+
+    @Test
+    void lastChunkMustFillExactlyTheRemainingBytes() {
+        ChunkUploadRequest request = chunk(2);
+        request.setChunk(new MockMultipartFile("chunk", "blob", "application/octet-stream",
+            "HIJ".getBytes(StandardCharsets.US_ASCII))); // 10 - 3 = 7 은 청크 2개로 나눠지지 않음
+
+        assertThatThrownBy(() -> service.receiveChunk(request))
+            .isInstanceOf(CustomException.class)
+            .satisfies(t -> assertThat(((CustomException) t).getErrorCode())
+                .isEqualTo(PdfErrorCode.INVALID_CHUNK_SIZE));
+    }
+
+    @Test
+    void lastChunkArrivingFirstImpliesTheChunkSize() {
+        assertThat(PdfChunkService.impliedChunkSize(chunk(2))).isEqualTo(CHUNK_SIZE);
+        assertThat(PdfChunkService.impliedChunkSize(chunk(0))).isEqualTo(CHUNK_SIZE);
+    }
+
+    @Test
+    void checksumMismatchRejectsChunkWithoutMarkingIt() {
+        ChunkUploadRequest request = chunk(0);
+        request.setChunkChecksum("00".repeat(32));
+
+        assertThatThrownBy(() -> service.receiveChunk(request))
+            .isInstanceOf(CustomException.class)
+            .satisfies(t -> assertThat(((CustomException) t).getErrorCode())
+                .isEqualTo(PdfErrorCode.CHUNK_CHECKSUM_MISMATCH));
+        verify(redis, never()).execute(any(RedisScript.class), anyList(), any(), any());
+    }
+
+    @Test
+    void corruptRetryDoesNotOverwriteAChunkAlreadyReceived() throws Exception {
+        receiptReturns(List.of(0L, 1L));
+        service.receiveChunk(chunk(0));
+
+        ChunkUploadRequest retry = chunk(0);
+        retry.setChunk(new MockMultipartFile("chunk", "blob", "application/octet-stream",
+            "XXXX".getBytes(StandardCharsets.US_ASCII)));
+        // sha256("ABCD") 인데 본문은 손상됨
+        retry.setChunkChecksum("E12E115ACF4552B2568B55E93CBD39394C4EF81C82447FAFC997882A02D23677");
+
+        assertThatThrownBy(() -> service.receiveChunk(retry)).isInstanceOf(CustomException.class);
+        byte[] written = Files.readAllBytes(tempDir.resolve(UPLOAD_ID).resolve("source.pdf"));
+        assertThat(Arrays.copyOfRange(written, 0, 4)).isEqualTo("ABCD".getBytes(StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    void matchingChecksumIsAccepted() {
+        receiptReturns(List.of(0L, 1L));
+        ChunkUploadRequest request = chunk(0);
+        // sha256("ABCD")
+        request.setChunkChecksum("E12E115ACF4552B2568B55E93CBD39394C4EF81C82447FAFC997882A02D23677");
+
+        assertThat(service.receiveChunk(request).complete()).isFalse();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void manifestListsChunksWhoseBitIsNotSet() {
+        when(ops.get("pdf:upload:" + UPLOAD_ID + ":meta:totalChunks")).thenReturn("3");
+        when(redis.execute(any(RedisCallback.class))).thenReturn(new byte[] {(byte) 0b1010_0000});
+
+        ChunkManifestResponse manifest = service.getManifest(UPLOAD_ID);
+
+        assertThat(manifest.getMissingChunks()).containsExactly(1);
+        assertThat(manifest.getReceivedChunks()).isEqualTo(2);
+        assertThat(manifest.getStatus()).isEqualTo("IN_PROGRESS");
+    }
+
+    @Test
+    void manifestReturnsResultOfCompletedUpload() {
+        when(ops.get("pdf:upload:" + UPLOAD_ID + ":completed"))
+            .thenReturn("{\"pdfId\":\"pdf-abc\",\"totalChunks\":3}");
+
+        ChunkManifestResponse manifest = service.getManifest(UPLOAD_ID);
+
+        assertThat(manifest.getStatus()).isEqualTo("COMPLETED");
+        assertThat(manifest.getMissingChunks()).isEmpty();
+        assertThat(manifest.getReceivedChunks()).isEqualTo(3);
+        assertThat(manifest.getPdfId()).isEqualTo("pdf-abc");
+        assertThat(manifest.getStreamUrl()).isEqualTo("/api/pdf/pdf-abc/stream");
+    }
+
+    @Test
+    void chunkResentAfterCompletionReturnsTheStoredResult() {
+        when(ops.get("pdf:upload:" + UPLOAD_ID + ":completed"))
+            .thenReturn("{\"pdfId\":\"pdf-abc\",\"totalChunks\":3,\"fileName\":\"deck.pdf\",\"totalPages\":12}");
+
+        ChunkUploadResult result = service.receiveChunk(chunk(2));
+
+        assertThat(result.complete()).isTrue();
+        assertThat(result.assembled().getPdfId()).isEqualTo("pdf-abc");
+        assertThat(result.assembled().getStreamUrl()).isEqualTo("/api/pdf/pdf-abc/stream");
+        assertThat(result.assembled().getTotalPages()).isEqualTo(12);
+        // 세션 메타도, 조립 파일도, 수신 비트맵도 건드리지 않음
+        verify(ops, never()).multiGet(anyList());
+        verify(redis, never()).execute(any(RedisScript.class), anyList(), any(), any());
+        assertThat(tempDir.resolve(UPLOAD_ID)).doesNotExist();
+    }
+
+    @Test
+    void manifestRejectsUnknownSession() {
+        assertThatThrownBy(() -> service.getManifest(UPLOAD_ID))
+            .isInstanceOf(CustomException.class)
+            .satisfies(t -> assertThat(((CustomException) t).getErrorCode())
+                .isEqualTo(PdfErrorCode.UPLOAD_SESSION_NOT_FOUND));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void receiptReturns(List<Long> first, List<Long>... rest) {
+        when(redis.execute(any(RedisScript.class), anyList(), any(), any())).thenReturn(first, (Object[]) rest);
+    }
+
+    private ChunkUploadRequest chunk(int index) {
+        int from = index * CHUNK_SIZE;
+        int to = Math.min(from + CHUNK_SIZE, FILE.length);
+        ChunkUploadRequest request = new ChunkUploadRequest();
+        request.setUploadId(UPLOAD_ID);
+        request.setRoomId("room1");
+        request.setDeckId("deck1");
+        request.setFileName("deck.pdf");
+        request.setChunkIndex(index);
+        request.setTotalChunks(3);
+        request.setFileSize(FILE.length);
+        request.setChunk(new MockMultipartFile("chunk", "blob", "application/octet-stream",
+            Arrays.copyOfRange(FILE, from, to)));
+        return request;
+    }
+}
@@ -11,6 +11,7 @@ import java.nio.file.Path;
 import java.util.List;
 import line4thon.boini.global.common.exception.CustomException;
 import line4thon.boini.global.config.AppProperties;
+import line4thon.boini.presenter.image.service.AsyncS3Uploader;
 import line4thon.boini.presenter.image.service.SlideNoteService;
 import line4thon.boini.presenter.pdf.exception.PdfErrorCode;
 import line4thon.boini.presenter.pdf.service.font.FontUploadValidator;
@@ -20,7 +21,6 @@ import org.junit.jupiter.api.io.TempDir;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.core.ValueOperations;
 import org.springframework.mock.web.MockMultipartFile;
-import software.amazon.awssdk.services.s3.S3Client;
 
 /**
  * PdfChunkService 의 finalize/storeFonts 진입 가드(상태·uploadId 검증)를 실제로 구동하는 단위 테스트.
@@ -39,10 +39,12 @@ class PdfChunkServiceFontBranchTest {
         mock(OfficeConversionService.class),
         mock(SlideNotesExtractionService.class),
         mock(SlideNoteService.class),
-        mock(S3Client.class),
+        mock(AsyncS3Uploader.class),
         mock(PresentationFontAnalysisService.class),
         mock(FontUploadValidator.class),
-        new ObjectMapper());
+        new ObjectMapper(),
+        mock(SourcePdfMultipartUploader.class),
+        mock(RenderJobQueue.class));
 
     @SuppressWarnings("unchecked")
     private static ValueOperations<String, String> mockOps() {
@@ -133,10 +135,12 @@ class PdfChunkServiceFontBranchTest {
             mock(OfficeConversionService.class),
             mock(SlideNotesExtractionService.class),
             mock(SlideNoteService.class),
-            mock(S3Client.class),
+            mock(AsyncS3Uploader.class),
             mock(PresentationFontAnalysisService.class),
             mock(FontUploadValidator.class),
-            new ObjectMapper());
+            new ObjectMapper(),
+            mock(SourcePdfMultipartUploader.class),
+            mock(RenderJobQueue.class));
 
         Path fontDir = tempDir.resolve(VALID_ID).resolve("fonts");
         Files.createDirectories(fontDir);
@@ -0,0 +1,92 @@
+package line4thon.boini.presenter.pdf.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.List;
+import line4thon.boini.global.config.AppProperties;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.Limit;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+class PdfSseRegistryTest {
+
+    @SuppressWarnings("unchecked")
+    private final StreamOperations<String, Object, Object> streamOps = mock(StreamOperations.class);
+    private final StringRedisTemplate redis = mock(StringRedisTemplate.class);
+    private final PdfSseRegistry registry = new PdfSseRegistry(
+        redis, new ObjectMapper(), new AppProperties(), mock(RedisMessageListenerContainer.class));
+
+    @Test
+    void comparesStreamIdsNumerically() {
+        assertThat(PdfSseRegistry.compareIds("1700000000000-2", "1700000000000-10")).isNegative();
+        assertThat(PdfSseRegistry.compareIds("1700000000001-0", "1700000000000-99")).isPositive();
+        assertThat(PdfSseRegistry.compareIds("5-1", "5-1")).isZero();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void replaysFromLastEventIdOnReconnect() {
+        doReturn(streamOps).when(redis).opsForStream();
+        when(streamOps.range(eq("pdf:sse:pdf-1"), any(Range.class), any(Limit.class))).thenReturn(List.of());
+
+        registry.register("pdf-1", "1700000000000-3");
+
+        ArgumentCaptor<Range<String>> range = ArgumentCaptor.forClass(Range.class);
+        verify(streamOps).range(eq("pdf:sse:pdf-1"), range.capture(), any(Limit.class));
+        assertThat(range.getValue().getLowerBound().getValue()).contains("1700000000000-3");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void replaysEverythingWhenLastEventIdIsMissingOrMalformed() {
+        doReturn(streamOps).when(redis).opsForStream();
+        when(streamOps.range(eq("pdf:sse:pdf-1"), any(Range.class), any(Limit.class))).thenReturn(List.of());
+
+        registry.register("pdf-1", "not-an-id");
+
+        ArgumentCaptor<Range<String>> range = ArgumentCaptor.forClass(Range.class);
+        verify(streamOps).range(eq("pdf:sse:pdf-1"), range.capture(), any(Limit.class));
+        assertThat(range.getValue().getLowerBound().isBounded()).isFalse();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void keepsEverySubscriberOfTheSamePdf() {
+        doReturn(streamOps).when(redis).opsForStream();
+        when(streamOps.range(eq("pdf:sse:pdf-1"), any(Range.class), any(Limit.class))).thenReturn(List.of());
+
+        // 같은 덱을 두 탭에서 구독 → 두 번째 등록이 첫 번째를 덮어쓰면 안 됨
+        registry.register("pdf-1");
+        registry.register("pdf-1");
+        registry.onNotify("pdf-1");
+
+        // 등록 시 2회 + 알림으로 각 구독자 1회씩
+        verify(streamOps, timeout(1000).times(4)).range(eq("pdf:sse:pdf-1"), any(Range.class), any(Limit.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void boundsEachCatchUpRead() {
+        doReturn(streamOps).when(redis).opsForStream();
+        when(streamOps.range(eq("pdf:sse:pdf-1"), any(Range.class), any(Limit.class))).thenReturn(List.of());
+
+        registry.register("pdf-1");
+
+        ArgumentCaptor<Limit> limit = ArgumentCaptor.forClass(Limit.class);
+        verify(streamOps).range(eq("pdf:sse:pdf-1"), any(Range.class), limit.capture());
+        assertThat(limit.getValue().isUnlimited()).isFalse();
+    }
+}
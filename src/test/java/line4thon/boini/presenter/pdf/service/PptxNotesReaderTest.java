@@ -0,0 +1,65 @@
+package line4thon.boini.presenter.pdf.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import line4thon.boini.presenter.pdf.dto.SlideNoteDraft;
+import org.apache.poi.sl.usermodel.Placeholder;
+import org.apache.poi.sl.usermodel.TabStop;
+import org.apache.poi.xslf.usermodel.XMLSlideShow;
+import org.apache.poi.xslf.usermodel.XSLFNotes;
+import org.apache.poi.xslf.usermodel.XSLFSlide;
+import org.apache.poi.xslf.usermodel.XSLFTextShape;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class PptxNotesReaderTest {
+    @TempDir Path tempDir;
+
+    @Test
+    void readsNotesInSlideOrderAndSkipsSlidesWithoutNotes() throws Exception {
+        Path pptx = tempDir.resolve("deck.pptx");
+        try (XMLSlideShow ppt = new XMLSlideShow()) {
+            XSLFSlide first = ppt.createSlide();
+            ppt.createSlide();
+            XSLFSlide third = ppt.createSlide();
+            setNotes(ppt, first, "첫 장 노트\n두 번째 줄");
+            setNotes(ppt, third, "마지막 장");
+            try (OutputStream out = Files.newOutputStream(pptx)) { ppt.write(out); }
+        }
+
+        assertThat(PptxNotesReader.read(pptx)).containsExactly(
+            new SlideNoteDraft(1, "첫 장 노트\n두 번째 줄"),
+            new SlideNoteDraft(3, "마지막 장"));
+    }
+
+    @Test
+    void tabStopDefinitionsDoNotAddTabsToTheText() throws Exception {
+        Path pptx = tempDir.resolve("tabs.pptx");
+        try (XMLSlideShow ppt = new XMLSlideShow()) {
+            XSLFSlide slide = ppt.createSlide();
+            setNotes(ppt, slide, "이름\t값");
+            for (XSLFTextShape shape : ppt.getNotesSlide(slide).getPlaceholders()) {
+                if (shape.getTextType() == Placeholder.BODY) {
+                    // <a:pPr><a:tabLst><a:tab pos=".." algn="l"/>...
+                    shape.getTextParagraphs().get(0).addTabStops(72, TabStop.TabStopType.LEFT);
+                    shape.getTextParagraphs().get(0).addTabStops(144, TabStop.TabStopType.LEFT);
+                }
+            }
+            try (OutputStream out = Files.newOutputStream(pptx)) { ppt.write(out); }
+        }
+
+        assertThat(PptxNotesReader.read(pptx)).containsExactly(new SlideNoteDraft(1, "이름\t값"));
+    }
+
+    private static void setNotes(XMLSlideShow ppt, XSLFSlide slide, String text) {
+        XSLFNotes notes = ppt.getNotesSlide(slide);
+        for (XSLFTextShape shape : notes.getPlaceholders()) {
+            if (shape.getTextType() == Placeholder.BODY) {
+                shape.setText(text);
+            }
+        }
+    }
+}
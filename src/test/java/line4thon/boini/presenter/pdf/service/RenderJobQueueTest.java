@@ -0,0 +1,135 @@
+package line4thon.boini.presenter.pdf.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import line4thon.boini.global.config.AppProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.RedisStreamCommands.XClaimOptions;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.PendingMessage;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import software.amazon.awssdk.services.s3.S3Client;
+
+class RenderJobQueueTest {
+
+    private static final RecordId ID = RecordId.of("1700000000000-0");
+    private static final RenderJob JOB = new RenderJob("pdf-1", "room-1", "deck-1", "decks/room-1/deck-1/source.pdf", 12);
+
+    @TempDir
+    Path dir;
+
+    @SuppressWarnings("unchecked")
+    private final StreamOperations<String, Object, Object> streamOps = mock(StreamOperations.class);
+    private final StringRedisTemplate redis = mock(StringRedisTemplate.class);
+    private final PdfParseService pdfParseService = mock(PdfParseService.class);
+    private final PdfSseRegistry sseRegistry = mock(PdfSseRegistry.class);
+    private final AppProperties props = new AppProperties();
+    private RenderJobQueue queue;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        props.getPdf().setRenderQueueEnabled(true);
+        props.getPdf().setTempDir(dir.toString());
+        doReturn(streamOps).when(redis).opsForStream();
+        // poller 는 새 작업 없이 대기 (XREADGROUP BLOCK 대신 잠깐 쉼)
+        doAnswer(inv -> {
+            Thread.sleep(20);
+            return List.of();
+        }).when(streamOps).read(any(Consumer.class), any(StreamReadOptions.class), any(StreamOffset.class));
+
+        queue = new RenderJobQueue(redis, mock(S3Client.class), props, pdfParseService, sseRegistry);
+        queue.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        queue.stop();
+    }
+
+    @Test
+    void reclaimsAStalledJobAndResumesIt() throws Exception {
+        stallFor(1);
+
+        queue.reclaimStalled();
+
+        verify(pdfParseService, timeout(1000)).renderDeck(
+            eq("pdf-1"), eq("room-1"), eq("deck-1"), any(Path.class), eq(12), eq(true));
+        verify(streamOps, timeout(1000)).acknowledge(eq(RenderJobQueue.STREAM_KEY), eq(RenderJobQueue.GROUP), eq(ID));
+    }
+
+    @Test
+    void givesUpAfterTooManyDeliveries() throws Exception {
+        stallFor(props.getPdf().getRenderQueueMaxDeliveries());
+
+        queue.reclaimStalled();
+
+        verify(sseRegistry).emit(eq("pdf-1"), eq("error"), any());
+        verify(sseRegistry).complete("pdf-1");
+        verify(streamOps).acknowledge(eq(RenderJobQueue.STREAM_KEY), eq(RenderJobQueue.GROUP), eq(ID));
+        verify(pdfParseService, never()).renderDeck(
+            anyString(), anyString(), anyString(), any(Path.class), eq(12), eq(true));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void heartbeatClaimsJobsInFlight() throws Exception {
+        CountDownLatch rendering = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(inv -> {
+            rendering.countDown();
+            release.await();
+            return null;
+        }).when(pdfParseService).renderDeck(
+            anyString(), anyString(), anyString(), any(Path.class), eq(12), eq(true));
+        stallFor(1);
+        queue.reclaimStalled();
+        rendering.await();
+
+        queue.heartbeat();
+
+        verify(redis).execute(any(RedisCallback.class));
+        release.countDown();
+    }
+
+    // 다른 노드가 가져갔다가 멈춘 작업 하나 (deliveries: 지금까지 전달된 횟수)
+    private void stallFor(long deliveries) {
+        PendingMessage message = new PendingMessage(
+            ID, Consumer.from(RenderJobQueue.GROUP, "dead@node"), Duration.ofMinutes(10), deliveries);
+        doReturn(new PendingMessages(RenderJobQueue.GROUP, List.of(message)))
+            .when(streamOps).pending(eq(RenderJobQueue.STREAM_KEY), eq(RenderJobQueue.GROUP), any(Range.class), anyLong());
+
+        MapRecord<String, Object, Object> record = StreamRecords.<String, Object, Object>mapBacked(
+                new LinkedHashMap<>(JOB.toFields()))
+            .withStreamKey(RenderJobQueue.STREAM_KEY)
+            .withId(ID);
+        doReturn(List.of(record))
+            .when(streamOps).claim(eq(RenderJobQueue.STREAM_KEY), eq(RenderJobQueue.GROUP), anyString(), any(XClaimOptions.class));
+    }
+}
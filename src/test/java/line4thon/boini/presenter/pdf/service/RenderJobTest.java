@@ -0,0 +1,20 @@
+package line4thon.boini.presenter.pdf.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class RenderJobTest {
+
+    @Test
+    void roundTripsThroughStreamFields() {
+        RenderJob job = new RenderJob("pdf-1", "room-1", "deck-1", "decks/room-1/deck-1/source.pdf", 42);
+
+        // 스트림에서 읽은 값은 Map<Object, Object> 로 돌아옵니다.
+        Map<Object, Object> read = new HashMap<>(job.toFields());
+
+        assertThat(RenderJob.fromFields(read)).isEqualTo(job);
+    }
+}
@@ -0,0 +1,122 @@
+package line4thon.boini.presenter.pdf.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import line4thon.boini.global.config.AppProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartResponse;
+
+class SourcePdfMultipartUploaderTest {
+
+    private static final long MB = 1024 * 1024;
+    private static final long CHUNK = 2 * MB;      // 5MB 최소 part → 청크 3개(6MB)씩 한 part
+    private static final long FILE_SIZE = 7 * MB;  // part 2개, 청크 4개
+
+    @TempDir
+    Path tempDir;
+
+    private final S3Client s3 = mock(S3Client.class);
+    private SourcePdfMultipartUploader uploader;
+    private Path file;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        AppProperties props = new AppProperties();
+        props.getS3().setBucket("bucket");
+        props.getPdf().setMultipartPartSizeBytes(1);
+        uploader = new SourcePdfMultipartUploader(s3, props, Runnable::run);
+
+        file = tempDir.resolve("source.pdf");
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.setLength(FILE_SIZE);
+        }
+        when(s3.createMultipartUpload(any(CreateMultipartUploadRequest.class)))
+            .thenReturn(CreateMultipartUploadResponse.builder().uploadId("mpu-1").build());
+        when(s3.uploadPart(any(UploadPartRequest.class), any(RequestBody.class)))
+            .thenReturn(UploadPartResponse.builder().eTag("etag").build());
+    }
+
+    @Test
+    void uploadsPartAsSoonAsItsChunksArriveAndCompletesTheRest() {
+        uploader.begin("u1", "key/source.pdf", FILE_SIZE, CHUNK, 4);
+
+        uploader.onChunkReceived("u1", file, 1, index -> index != 2);
+        verify(s3, never()).uploadPart(any(UploadPartRequest.class), any(RequestBody.class));
+
+        uploader.onChunkReceived("u1", file, 2, index -> index <= 2);
+        verify(s3, times(1)).uploadPart(any(UploadPartRequest.class), any(RequestBody.class));
+
+        assertThat(uploader.complete("u1", file).join()).isTrue();
+
+        ArgumentCaptor<UploadPartRequest> parts = ArgumentCaptor.forClass(UploadPartRequest.class);
+        verify(s3, times(2)).uploadPart(parts.capture(), any(RequestBody.class));
+        assertThat(parts.getAllValues()).extracting(UploadPartRequest::partNumber).containsExactly(1, 2);
+        assertThat(parts.getAllValues()).extracting(UploadPartRequest::contentLength)
+            .containsExactly(6 * MB, 1 * MB);
+
+        ArgumentCaptor<CompleteMultipartUploadRequest> complete =
+            ArgumentCaptor.forClass(CompleteMultipartUploadRequest.class);
+        verify(s3).completeMultipartUpload(complete.capture());
+        assertThat(complete.getValue().multipartUpload().parts()).hasSize(2);
+    }
+
+    @Test
+    void completeReturnsBeforeRemainingPartsAreUploaded() {
+        List<Runnable> queued = new ArrayList<>();
+        AppProperties props = new AppProperties();
+        props.getS3().setBucket("bucket");
+        props.getPdf().setMultipartPartSizeBytes(1);
+        SourcePdfMultipartUploader deferred = new SourcePdfMultipartUploader(s3, props, queued::add);
+        deferred.begin("u1", "key/source.pdf", FILE_SIZE, CHUNK, 4);
+
+        CompletableFuture<Boolean> done = deferred.complete("u1", file);
+
+        assertThat(done).isNotDone();
+        verify(s3, never()).completeMultipartUpload(any(CompleteMultipartUploadRequest.class));
+
+        while (!queued.isEmpty()) queued.remove(0).run(); // part 2개 → complete 요청
+        assertThat(done.join()).isTrue();
+        verify(s3).completeMultipartUpload(any(CompleteMultipartUploadRequest.class));
+    }
+
+    @Test
+    void smallFilesAreLeftToSinglePut() {
+        uploader.begin("u1", "key/source.pdf", 3 * MB, CHUNK, 2);
+
+        assertThat(uploader.isActive("u1")).isFalse();
+        assertThat(uploader.complete("u1", file).join()).isFalse();
+        verify(s3, never()).createMultipartUpload(any(CreateMultipartUploadRequest.class));
+    }
+
+    @Test
+    void failedPartAbortsAndReportsFallback() {
+        when(s3.uploadPart(any(UploadPartRequest.class), any(RequestBody.class)))
+            .thenThrow(new IllegalStateException("network"));
+        uploader.begin("u1", "key/source.pdf", FILE_SIZE, CHUNK, 4);
+
+        assertThat(uploader.complete("u1", file).join()).isFalse();
+        verify(s3).abortMultipartUpload(any(AbortMultipartUploadRequest.class));
+    }
+}
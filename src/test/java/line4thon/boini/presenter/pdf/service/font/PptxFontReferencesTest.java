@@ -2,11 +2,16 @@ package line4thon.boini.presenter.pdf.service.font;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.LinkedHashSet;
 import java.util.Set;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.openxml4j.opc.PackagePart;
 import org.apache.poi.xslf.usermodel.XMLSlideShow;
 import org.apache.poi.xslf.usermodel.XSLFTextRun;
 import org.junit.jupiter.api.Test;
@@ -29,6 +34,40 @@ class PptxFontReferencesTest {
         assertThat(result.embedded()).isEmpty();
     }
 
+    @Test
+    void collectsFontsFromEverySlideInPartOrder() throws Exception {
+        Path pptx = tempDir.resolve("many.pptx");
+        try (XMLSlideShow ppt = new XMLSlideShow()) {
+            for (int i = 1; i <= 12; i++) {
+                XSLFTextRun run = ppt.createSlide().createTextBox().addNewTextParagraph().addNewTextRun();
+                run.setText("slide " + i);
+                run.setFontFamily("Font " + i);
+            }
+            try (OutputStream out = Files.newOutputStream(pptx)) { ppt.write(out); }
+        }
+        PptxFontReferences.Result result = PptxFontReferences.read(pptx);
+
+        // Reference: every relevant part's XML scanned one by one, in package part order.
+        Set<String> expected = new LinkedHashSet<>();
+        try (OPCPackage pkg = OPCPackage.open(pptx.toFile(), PackageAccess.READ)) {
+            for (PackagePart part : pkg.getParts()) {
+                String name = part.getPartName().getName();
+                if (name.startsWith("/ppt/theme/") || name.startsWith("/ppt/slides/")
+                    || name.startsWith("/ppt/slideLayouts/") || name.startsWith("/ppt/slideMasters/")
+                    || name.equals("/ppt/presentation.xml")) {
+                    try (InputStream in = part.getInputStream()) {
+                        PptxFontReferences.addReferencedFonts(
+                            new String(in.readAllBytes(), StandardCharsets.UTF_8), expected);
+                    }
+                }
+            }
+        }
+
+        for (int i = 1; i <= 12; i++) assertThat(result.referenced()).contains("Font " + i);
+        assertThat(result.referenced()).doesNotContain("+mn-lt", "+mj-lt");
+        assertThat(result.referenced()).containsExactlyElementsOf(expected);
+    }
+
     @Test
     void excludesThemePerScriptFallbackFonts() {
         // A realistic fontScheme: primary <a:latin> are the fonts actually used; the many
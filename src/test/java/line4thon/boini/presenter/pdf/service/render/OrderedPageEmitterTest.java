@@ -0,0 +1,51 @@
+package line4thon.boini.presenter.pdf.service.render;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class OrderedPageEmitterTest {
+
+    @Test
+    void holdsLaterPagesUntilEarlierPagesArrive() {
+        List<Integer> emitted = new ArrayList<>();
+        OrderedPageEmitter emitter = new OrderedPageEmitter(r -> emitted.add(r.pageIndex()));
+
+        emitter.accept(PageResult.success(2, "u2", 1, 1));
+        emitter.accept(PageResult.success(1, "u1", 1, 1));
+        assertThat(emitted).isEmpty();
+
+        emitter.accept(PageResult.success(0, "u0", 1, 1));
+        assertThat(emitted).containsExactly(0, 1, 2);
+        assertThat(emitter.emittedCount()).isEqualTo(3);
+    }
+
+    @Test
+    void failuresKeepTheirSlotAndDuplicatesAreIgnored() {
+        List<PageResult> emitted = new ArrayList<>();
+        OrderedPageEmitter emitter = new OrderedPageEmitter(emitted::add);
+
+        emitter.accept(PageResult.failure(0));
+        emitter.accept(PageResult.success(0, "late-duplicate", 1, 1));
+        emitter.accept(PageResult.success(1, "u1", 1, 1));
+
+        assertThat(emitted).extracting(PageResult::pageIndex).containsExactly(0, 1);
+        assertThat(emitted.get(0).failed()).isTrue();
+    }
+
+    @Test
+    void skipsPagesEmittedByAnEarlierAttempt() {
+        List<Integer> emitted = new ArrayList<>();
+        OrderedPageEmitter emitter = new OrderedPageEmitter(r -> emitted.add(r.pageIndex()), Set.of(0, 1, 3));
+
+        emitter.accept(PageResult.success(4, "u4", 1, 1));
+        emitter.accept(PageResult.success(1, "rerendered", 1, 1));
+        emitter.accept(PageResult.success(2, "u2", 1, 1));
+
+        assertThat(emitted).containsExactly(2, 4);
+        assertThat(emitter.emittedCount()).isEqualTo(5);
+    }
+}
@@ -0,0 +1,118 @@
+package line4thon.boini.presenter.pdf.service.render;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.interactive.annotation.PDAnnotation;
+import org.apache.pdfbox.pdmodel.interactive.annotation.PDAnnotationLink;
+import org.apache.pdfbox.pdmodel.interactive.annotation.PDAnnotationRubberStamp;
+import org.apache.pdfbox.pdmodel.interactive.annotation.PDAppearanceDictionary;
+import org.apache.pdfbox.pdmodel.interactive.annotation.PDAppearanceStream;
+import org.apache.pdfbox.pdmodel.interactive.documentnavigation.destination.PDPageFitDestination;
+import org.junit.jupiter.api.Test;
+
+class PageFingerprinterTest {
+
+    private static final String VARIANT = "dpi=150;webp";
+
+    @Test
+    void samePageContentGivesSameFingerprintRegardlessOfPosition() throws IOException {
+        try (PDDocument first = new PDDocument(); PDDocument second = new PDDocument()) {
+            addPage(first, 10);
+            addPage(first, 20);
+            addPage(second, 99);
+            addPage(second, 10);
+
+            String a = new PageFingerprinter().fingerprint(first.getPage(0), VARIANT);
+            String b = new PageFingerprinter().fingerprint(second.getPage(1), VARIANT);
+
+            assertThat(a).isEqualTo(b);
+        }
+    }
+
+    @Test
+    void contentOrVariantChangeGivesDifferentFingerprint() throws IOException {
+        try (PDDocument document = new PDDocument()) {
+            addPage(document, 10);
+            addPage(document, 11);
+            PageFingerprinter fingerprinter = new PageFingerprinter();
+
+            String original = fingerprinter.fingerprint(document.getPage(0), VARIANT);
+
+            assertThat(fingerprinter.fingerprint(document.getPage(1), VARIANT)).isNotEqualTo(original);
+            assertThat(fingerprinter.fingerprint(document.getPage(0), "dpi=300;webp")).isNotEqualTo(original);
+        }
+    }
+
+    @Test
+    void drawnAnnotationsChangeTheFingerprint() throws IOException {
+        try (PDDocument document = new PDDocument()) {
+            addPage(document, 10);
+            addPage(document, 10);
+            addPage(document, 10);
+            document.getPage(1).setAnnotations(List.of(stamp(document, "0 0 m 10 10 l S")));
+            document.getPage(2).setAnnotations(List.of(stamp(document, "0 10 m 10 0 l S")));
+            PageFingerprinter fingerprinter = new PageFingerprinter();
+
+            String plain = fingerprinter.fingerprint(document.getPage(0), VARIANT);
+            String stamped = fingerprinter.fingerprint(document.getPage(1), VARIANT);
+
+            assertThat(stamped).isNotEqualTo(plain);
+            assertThat(fingerprinter.fingerprint(document.getPage(2), VARIANT)).isNotEqualTo(stamped);
+        }
+    }
+
+    @Test
+    void linkTargetsDoNotChangeTheFingerprint() throws IOException {
+        try (PDDocument document = new PDDocument()) {
+            addPage(document, 10);
+            addPage(document, 10);
+            addPage(document, 99);
+            document.getPage(0).setAnnotations(List.of(link(document.getPage(1))));
+            document.getPage(1).setAnnotations(List.of(link(document.getPage(2))));
+            PageFingerprinter fingerprinter = new PageFingerprinter();
+
+            assertThat(fingerprinter.fingerprint(document.getPage(0), VARIANT))
+                .isEqualTo(fingerprinter.fingerprint(document.getPage(1), VARIANT));
+        }
+    }
+
+    private static PDAnnotation stamp(PDDocument document, String appearance) throws IOException {
+        PDAppearanceStream stream = new PDAppearanceStream(document);
+        stream.setBBox(new PDRectangle(10, 10));
+        try (OutputStream out = stream.getCOSObject().createOutputStream()) {
+            out.write(appearance.getBytes(StandardCharsets.US_ASCII));
+        }
+        PDAppearanceDictionary ap = new PDAppearanceDictionary();
+        ap.setNormalAppearance(stream);
+        PDAnnotationRubberStamp stamp = new PDAnnotationRubberStamp();
+        stamp.setRectangle(new PDRectangle(100, 100, 10, 10));
+        stamp.setAppearance(ap);
+        return stamp;
+    }
+
+    private static PDAnnotation link(PDPage target) {
+        PDPageFitDestination destination = new PDPageFitDestination();
+        destination.setPage(target);
+        PDAnnotationLink link = new PDAnnotationLink();
+        link.setRectangle(new PDRectangle(100, 100, 10, 10));
+        link.setDestination(destination);
+        return link;
+    }
+
+    private void addPage(PDDocument document, float boxSize) throws IOException {
+        PDPage page = new PDPage(PDRectangle.A4);
+        document.addPage(page);
+        try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+            content.addRect(50, 50, boxSize, boxSize);
+            content.fill();
+        }
+    }
+}
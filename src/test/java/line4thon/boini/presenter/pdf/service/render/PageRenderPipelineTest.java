@@ -0,0 +1,168 @@
+package line4thon.boini.presenter.pdf.service.render;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import line4thon.boini.global.config.AppProperties;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.rendering.PDFRenderer;
+import org.junit.jupiter.api.Test;
+
+/**
+ * PageRenderPipeline 을 실제 PDFBox 문서(빈 페이지)로 구동해 단계 간 전달과 실패 격리를 검증한다.
+ * encode/upload 는 가짜 구현으로 대체한다.
+ */
+class PageRenderPipelineTest {
+
+    private static AppProperties.Pdf budget() {
+        AppProperties.Pdf pdf = new AppProperties().getPdf();
+        pdf.setRenderThreads(1);
+        pdf.setEncodeThreads(2);
+        pdf.setUploadThreads(3);
+        pdf.setStageQueueCapacity(1);
+        return pdf;
+    }
+
+    private static PDDocument blankDocument(int pages) {
+        PDDocument document = new PDDocument();
+        for (int i = 0; i < pages; i++) {
+            document.addPage(new PDPage());
+        }
+        return document;
+    }
+
+    @Test
+    void deliversEveryPageInOrderThroughOrderedEmitter() throws Exception {
+        int totalPages = 8;
+        List<Integer> ordered = Collections.synchronizedList(new ArrayList<>());
+        OrderedPageEmitter emitter = new OrderedPageEmitter(r -> ordered.add(r.pageIndex()));
+
+        try (PDDocument document = blankDocument(totalPages)) {
+            new PageRenderPipeline(budget(), new FakeStages(-1))
+                .run(document, () -> blankDocument(totalPages), PageSource.sequential(totalPages), emitter);
+        }
+
+        assertThat(ordered).containsExactly(0, 1, 2, 3, 4, 5, 6, 7);
+    }
+
+    @Test
+    void failedPageIsReportedAndOthersContinue() throws Exception {
+        int totalPages = 4;
+        List<PageResult> results = Collections.synchronizedList(new ArrayList<>());
+
+        try (PDDocument document = blankDocument(totalPages)) {
+            new PageRenderPipeline(budget(), new FakeStages(2))
+                .run(document, () -> blankDocument(totalPages), PageSource.sequential(totalPages), results::add);
+        }
+
+        assertThat(results).hasSize(totalPages);
+        assertThat(results).filteredOn(PageResult::failed).extracting(PageResult::pageIndex).containsExactly(2);
+    }
+
+    @Test
+    void waitsForAsyncUploadsBeforeReturning() throws Exception {
+        int totalPages = 5;
+        List<PageResult> results = Collections.synchronizedList(new ArrayList<>());
+        FakeStages delegate = new FakeStages(-1);
+        PageRenderPipeline.Stages asyncStages = new PageRenderPipeline.Stages() {
+            @Override
+            public BufferedImage render(PDFRenderer renderer, PDPage page, int pageIndex) throws IOException {
+                return delegate.render(renderer, page, pageIndex);
+            }
+
+            @Override
+            public EncodedPage encode(int pageIndex, BufferedImage image) throws IOException {
+                return delegate.encode(pageIndex, image);
+            }
+
+            @Override
+            public String upload(EncodedPage page) {
+                throw new UnsupportedOperationException();
+            }
+
+            // 업로드 스레드가 아닌 다른 스레드에서 늦게 완료되는 전송
+            @Override
+            public CompletableFuture<String> uploadAsync(EncodedPage page) {
+                return CompletableFuture.supplyAsync(() -> delegate.upload(page),
+                    CompletableFuture.delayedExecutor(20, TimeUnit.MILLISECONDS));
+            }
+        };
+
+        try (PDDocument document = blankDocument(totalPages)) {
+            new PageRenderPipeline(budget(), asyncStages)
+                .run(document, () -> blankDocument(totalPages), PageSource.sequential(totalPages), results::add);
+        }
+
+        assertThat(results).hasSize(totalPages).noneMatch(PageResult::failed);
+    }
+
+    @Test
+    void deliversUploadResultsOffTheTransferCompletionThread() throws Exception {
+        int totalPages = 4;
+        List<String> sinkThreads = Collections.synchronizedList(new ArrayList<>());
+        List<String> completionThreads = Collections.synchronizedList(new ArrayList<>());
+        FakeStages delegate = new FakeStages(-1);
+        PageRenderPipeline.Stages asyncStages = new PageRenderPipeline.Stages() {
+            @Override
+            public BufferedImage render(PDFRenderer renderer, PDPage page, int pageIndex) throws IOException {
+                return delegate.render(renderer, page, pageIndex);
+            }
+
+            @Override
+            public EncodedPage encode(int pageIndex, BufferedImage image) throws IOException {
+                return delegate.encode(pageIndex, image);
+            }
+
+            @Override
+            public String upload(EncodedPage page) {
+                throw new UnsupportedOperationException();
+            }
+
+            // S3 SDK 응답 스레드를 흉내 낸 전송 완료 스레드, 완료 후 작업은 넘겨받은 executor 에서
+            @Override
+            public CompletableFuture<String> uploadAsync(EncodedPage page, Executor completionExecutor) {
+                return CompletableFuture.supplyAsync(() -> delegate.upload(page),
+                        CompletableFuture.delayedExecutor(10, TimeUnit.MILLISECONDS))
+                    .thenApplyAsync(url -> {
+                        completionThreads.add(Thread.currentThread().getName());
+                        return url;
+                    }, completionExecutor);
+            }
+        };
+
+        try (PDDocument document = blankDocument(totalPages)) {
+            new PageRenderPipeline(budget(), asyncStages).run(document, () -> blankDocument(totalPages),
+                PageSource.sequential(totalPages), r -> sinkThreads.add(Thread.currentThread().getName()));
+        }
+
+        assertThat(sinkThreads).hasSize(totalPages).allMatch(name -> name.startsWith("pdf-upload-done-"));
+        assertThat(completionThreads).hasSize(totalPages).allMatch(name -> name.startsWith("pdf-upload-done-"));
+    }
+
+    private record FakeStages(int failingPage) implements PageRenderPipeline.Stages {
+
+        @Override
+        public BufferedImage render(PDFRenderer renderer, PDPage page, int pageIndex) throws IOException {
+            return renderer.renderImageWithDPI(pageIndex, 10);
+        }
+
+        @Override
+        public EncodedPage encode(int pageIndex, BufferedImage image) throws IOException {
+            if (pageIndex == failingPage) throw new IOException("encode failure");
+            return new EncodedPage(pageIndex, new byte[0], new byte[0], image.getWidth(), image.getHeight());
+        }
+
+        @Override
+        public String upload(EncodedPage page) {
+            return "https://cdn.example/" + page.pageIndex();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package line4thon.boini.presenter.pdf.service.render;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class PageRenderSchedulerTest {
+
+    @Test
+    void rendersStartupPagesFirstThenPagesNearPresenter() {
+        PageRenderScheduler scheduler = new PageRenderScheduler(10, 2,
+            () -> new PageRenderScheduler.Hint(6, List.of()));
+
+        assertThat(drain(scheduler)).containsExactly(0, 1, 6, 7, 5, 8, 4, 9, 3, 2);
+    }
+
+    @Test
+    void requestedPagesComeRightAfterStartupPages() {
+        PageRenderScheduler scheduler = new PageRenderScheduler(6, 3,
+            () -> new PageRenderScheduler.Hint(null, List.of(4, 99)));
+
+        assertThat(drain(scheduler)).containsExactly(0, 1, 2, 4, 3, 5);
+    }
+
+    @Test
+    void promotedPageDoesNotDelayStartupPages() {
+        PageRenderScheduler scheduler = new PageRenderScheduler(8, 2, null);
+
+        scheduler.promote(6);
+
+        assertThat(drain(scheduler)).containsExactly(0, 1, 6, 2, 3, 4, 5, 7);
+    }
+
+    @Test
+    void promoteIgnoresPagesAlreadyHandedOut() {
+        PageRenderScheduler scheduler = new PageRenderScheduler(4, 0, null);
+
+        assertThat(scheduler.next()).isZero();
+        scheduler.promote(0);
+        scheduler.promote(3);
+
+        assertThat(drain(scheduler)).containsExactly(3, 1, 2);
+        assertThat(scheduler.remaining()).isZero();
+    }
+
+    @Test
+    void hintFailureFallsBackToSequentialOrder() {
+        PageRenderScheduler scheduler = new PageRenderScheduler(3, 0, () -> {
+            throw new IllegalStateException("redis down");
+        });
+
+        assertThat(drain(scheduler)).containsExactly(0, 1, 2);
+    }
+
+    @Test
+    void subsetSchedulerOnlyHandsOutItsOwnPages() {
+        PageRenderScheduler scheduler = new PageRenderScheduler(List.of(3, 4, 5, 6), 0,
+            () -> new PageRenderScheduler.Hint(null, List.of(1, 6)));
+
+        assertThat(drain(scheduler)).containsExactly(6, 3, 4, 5);
+    }
+
+    private List<Integer> drain(PageRenderScheduler scheduler) {
+        List<Integer> order = new ArrayList<>();
+        int page;
+        while ((page = scheduler.next()) >= 0) {
+            order.add(page);
+        }
+        return order;
+    }
+}
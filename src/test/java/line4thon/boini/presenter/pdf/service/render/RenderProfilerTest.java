@@ -0,0 +1,74 @@
+package line4thon.boini.presenter.pdf.service.render;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.awt.image.BufferedImage;
+import line4thon.boini.global.config.AppProperties;
+import line4thon.boini.presenter.pdf.service.render.RenderProfiler.PageContent;
+import line4thon.boini.presenter.pdf.service.render.RenderProfiler.RenderProfile;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.apache.pdfbox.pdmodel.graphics.image.LosslessFactory;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
+import org.junit.jupiter.api.Test;
+
+class RenderProfilerTest {
+
+    // 16:9 슬라이드 (LibreOffice 기본 내보내기 크기 28cm x 15.75cm)
+    private static final PDRectangle SLIDE = new PDRectangle(793.7f, 446.45f);
+
+    private final AppProperties.Pdf config = new AppProperties().getPdf();
+    private final RenderProfiler profiler = new RenderProfiler(config);
+
+    @Test
+    void textOnlySlideUsesVectorProfile() throws Exception {
+        try (PDDocument document = new PDDocument()) {
+            PDPage page = new PDPage(SLIDE);
+            document.addPage(page);
+            try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+                content.beginText();
+                content.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA), 24);
+                content.newLineAtOffset(50, 300);
+                content.showText("Agenda");
+                content.endText();
+                content.addRect(50, 50, 200, 100);
+                content.fill();
+            }
+
+            RenderProfile profile = profiler.profile(page);
+
+            assertThat(profile.content()).isEqualTo(PageContent.VECTOR);
+            assertThat(profile.quality()).isEqualTo(config.getVectorQuality());
+            assertThat(profile.dpi() * SLIDE.getWidth() / 72f).isCloseTo(config.getVectorLongEdgePx(), within(10f));
+        }
+    }
+
+    @Test
+    void slideWithPictureUsesRasterProfile() throws Exception {
+        try (PDDocument document = new PDDocument()) {
+            PDPage page = new PDPage(SLIDE);
+            document.addPage(page);
+            PDImageXObject picture = LosslessFactory.createFromImage(document, new BufferedImage(8, 8, BufferedImage.TYPE_INT_RGB));
+            try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+                content.drawImage(picture, 100, 100, 300, 200);
+            }
+
+            RenderProfile profile = profiler.profile(page);
+
+            assertThat(profile.content()).isEqualTo(PageContent.RASTER);
+            assertThat(profile.quality()).isEqualTo(config.getRasterQuality());
+            assertThat(profile.dpi()).isGreaterThan(profiler.profile(new PDPage(SLIDE)).dpi());
+        }
+    }
+
+    @Test
+    void dpiIsClampedForTinyAndHugePages() {
+        assertThat(profiler.dpiFor(new PDRectangle(72, 72), 1920)).isEqualTo(config.getMaxDpi());
+        assertThat(profiler.dpiFor(new PDRectangle(10_000, 5_000), 1920)).isEqualTo(config.getMinDpi());
+    }
+}
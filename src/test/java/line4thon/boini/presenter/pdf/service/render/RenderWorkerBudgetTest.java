@@ -0,0 +1,45 @@
+package line4thon.boini.presenter.pdf.service.render;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import line4thon.boini.global.config.AppProperties;
+import org.junit.jupiter.api.Test;
+
+class RenderWorkerBudgetTest {
+
+    private RenderWorkerBudget budget(int coreBudget) {
+        AppProperties props = new AppProperties();
+        props.getPdf().setRenderThreads(4);
+        props.getPdf().setPagesPerRenderWorker(10);
+        props.getPdf().setRenderCoreBudget(coreBudget);
+        return new RenderWorkerBudget(props);
+    }
+
+    @Test
+    void scalesWorkersWithPageCountUpToPerDeckMax() {
+        RenderWorkerBudget budget = budget(16);
+
+        assertThat(budget.desiredWorkers(3)).isEqualTo(1);
+        assertThat(budget.desiredWorkers(25)).isEqualTo(3);
+        assertThat(budget.desiredWorkers(200)).isEqualTo(4);
+    }
+
+    @Test
+    void sharesNodeBudgetAcrossDecksAndReturnsItOnClose() {
+        RenderWorkerBudget budget = budget(6);
+
+        RenderWorkerBudget.Lease first = budget.lease(200);
+        RenderWorkerBudget.Lease second = budget.lease(200);
+        RenderWorkerBudget.Lease third = budget.lease(200);
+
+        assertThat(first.workers()).isEqualTo(4);
+        assertThat(second.workers()).isEqualTo(2);
+        assertThat(third.workers()).isEqualTo(1); // 예산이 바닥나도 덱은 진행
+        assertThat(budget.inUse()).isEqualTo(7);
+
+        first.close();
+        first.close();
+        assertThat(budget.inUse()).isEqualTo(3);
+        assertThat(budget.lease(200).workers()).isEqualTo(3);
+    }
+}
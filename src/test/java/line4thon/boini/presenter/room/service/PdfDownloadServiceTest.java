@@ -0,0 +1,123 @@
+package line4thon.boini.presenter.room.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.util.Optional;
+import java.util.function.Consumer;
+import line4thon.boini.global.config.AppProperties;
+import line4thon.boini.presenter.image.service.LocalAssetCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.mock.web.MockHttpServletResponse;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+import software.amazon.awssdk.services.s3.presigner.model.PresignedGetObjectRequest;
+
+class PdfDownloadServiceTest {
+
+    private static final String DISPOSITION = "attachment; filename=\"deck.pdf\"";
+
+    private final S3Client s3Client = mock(S3Client.class);
+    private final S3Presigner presigner = mock(S3Presigner.class);
+    private final AppProperties props = new AppProperties();
+    private final LocalAssetCache localAssetCache = mock(LocalAssetCache.class);
+    private final PdfDownloadService service =
+        new PdfDownloadService(s3Client, presigner, props, localAssetCache);
+
+    @BeforeEach
+    void setUp() {
+        props.getS3().setBucket("bucket");
+        when(localAssetCache.read(any())).thenReturn(Optional.empty());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void redirectsToShortLivedPresignedUrlByDefault() throws Exception {
+        PresignedGetObjectRequest presigned = mock(PresignedGetObjectRequest.class);
+        when(presigned.url()).thenReturn(new URL("https://bucket.s3.amazonaws.com/deck.pdf?X-Amz-Signature=abc"));
+        when(presigner.presignGetObject(any(Consumer.class))).thenReturn(presigned);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        service.send("presentations/r/deck.pdf", DISPOSITION, null, null, response);
+
+        assertThat(response.getStatus()).isEqualTo(302);
+        assertThat(response.getRedirectedUrl()).contains("X-Amz-Signature=abc");
+        assertThat(response.getHeader("Cache-Control")).isEqualTo("no-store");
+    }
+
+    @Test
+    void proxiesSingleRangeAsPartialContent() throws Exception {
+        props.getS3().setDownloadMode("proxy");
+        GetObjectResponse meta = GetObjectResponse.builder()
+            .contentLength(4L).contentRange("bytes 0-3/10").eTag("\"e1\"").build();
+        when(s3Client.getObject(any(GetObjectRequest.class))).thenReturn(new ResponseInputStream<>(
+            meta, AbortableInputStream.create(new ByteArrayInputStream(new byte[] {1, 2, 3, 4}))));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        service.send("presentations/r/deck.pdf", DISPOSITION, "bytes=0-3", null, response);
+
+        ArgumentCaptor<GetObjectRequest> request = ArgumentCaptor.forClass(GetObjectRequest.class);
+        verify(s3Client).getObject(request.capture());
+        assertThat(request.getValue().range()).isEqualTo("bytes=0-3");
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getHeader("Content-Range")).isEqualTo("bytes 0-3/10");
+        assertThat(response.getHeader("ETag")).isEqualTo("\"e1\"");
+        assertThat(response.getContentAsByteArray()).containsExactly(1, 2, 3, 4);
+    }
+
+    @Test
+    void answersNotModifiedWhenEtagMatches() throws Exception {
+        props.getS3().setDownloadMode("proxy");
+        when(s3Client.getObject(any(GetObjectRequest.class)))
+            .thenThrow(S3Exception.builder().statusCode(304).build());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        service.send("presentations/r/deck.pdf", DISPOSITION, null, "\"e1\"", response);
+
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    void servesLocallyCachedPdfWithoutS3() throws Exception {
+        when(localAssetCache.read("presentations/r/deck.pdf"))
+            .thenReturn(Optional.of(ByteBuffer.wrap(new byte[] {1, 2, 3, 4, 5, 6})));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        service.send("presentations/r/deck.pdf", DISPOSITION, "bytes=-2", null, response);
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getHeader("Content-Range")).isEqualTo("bytes 4-5/6");
+        assertThat(response.getContentAsByteArray()).containsExactly(5, 6);
+        verifyNoInteractions(s3Client, presigner);
+    }
+
+    @Test
+    void parsesSingleRangeForms() {
+        assertThat(PdfDownloadService.parseRange("2-", 10)).containsExactly(2, 9);
+        assertThat(PdfDownloadService.parseRange("0-99", 10)).containsExactly(0, 9);
+        assertThat(PdfDownloadService.parseRange("10-", 10)).isEmpty();
+        assertThat(PdfDownloadService.parseRange("x-1", 10)).isNull();
+    }
+
+    @Test
+    void ignoresMultiRangeRequests() {
+        assertThat(PdfDownloadService.isSingleByteRange("bytes=0-99")).isTrue();
+        assertThat(PdfDownloadService.isSingleByteRange("bytes=0-9,20-29")).isFalse();
+        assertThat(PdfDownloadService.isSingleByteRange("items=0-9")).isFalse();
+    }
+}